@@ -0,0 +1,101 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+import static com.github.javaparser.utils.Utils.assertPositive;
+
+/**
+ * This class is used as a thin client for the {@link Daemon}. It only forwards
+ * the arguments and prints the answer, so it does not pay the startup of the
+ * complete parser.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class Client {
+
+	/**
+	 * Send the arguments to the daemon and print the answer. The first arguments
+	 * can be <code>--port &lt;port&gt;</code> to choose another port.
+	 * 
+	 * @param args
+	 *            all arguments
+	 * @throws IOException
+	 *             if the daemon is not reachable
+	 * @since 1.1.0
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = Daemon.DEFAULT_PORT;
+		int start = 0;
+
+		if (args.length > 1 && ("--port".equals(args[0]) || "-p".equals(args[0]))) {
+			port = Integer.parseInt(args[1]);
+			start = 2;
+		}
+
+		send(port, Arrays.copyOfRange(args, start, args.length), System.out);
+	}
+
+	/**
+	 * Send the arguments to the daemon and write the answer to the output stream.
+	 * The token of the daemon is read from its {@link Daemon#getTokenFile token
+	 * file}, and the working directory of the client is sent with the request,
+	 * because the daemon can run in another directory.
+	 * 
+	 * @param port
+	 *            local port of the daemon
+	 * @param arguments
+	 *            all arguments of the command
+	 * @param output
+	 *            stream to write the answer
+	 * @throws IOException
+	 *             if the daemon is not reachable or its token cannot be read
+	 * @since 1.1.0
+	 */
+	public static void send(int port, String[] arguments, OutputStream output) throws IOException {
+		assertPositive(port);
+		assertNotNull(arguments);
+		assertNotNull(output);
+
+		String token = Files.readString(Daemon.getTokenFile(port)).trim();
+
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			DataOutputStream request = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			request.writeUTF(token);
+			request.writeUTF(new File("").getAbsolutePath());
+			request.writeInt(arguments.length);
+
+			for (String argument : arguments) {
+				request.writeUTF(assertNotNull(argument));
+			}
+
+			request.flush();
+			socket.getInputStream().transferTo(output);
+			output.flush();
+		}
+	}
+}
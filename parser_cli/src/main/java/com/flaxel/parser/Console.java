@@ -18,6 +18,8 @@ package com.flaxel.parser;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import org.jline.reader.EndOfFileException;
 import org.jline.reader.LineReader;
@@ -30,6 +32,8 @@ import org.jline.reader.impl.LineReaderImpl;
 import org.jline.terminal.Terminal;
 import org.jline.terminal.TerminalBuilder;
 
+import com.flaxel.parser.utils.NonClosingOutputStream;
+
 import static com.github.javaparser.utils.Utils.assertNonEmpty;
 import static com.github.javaparser.utils.Utils.assertNotNull;
 
@@ -59,6 +63,12 @@ public class Console {
 	 */
 	private static OutputStream output;
 
+	/**
+	 * directory to resolve relative paths or null for the working directory of
+	 * the process
+	 */
+	private static Path directory;
+
 	/**
 	 * Initialize the console.
 	 * 
@@ -86,6 +96,67 @@ public class Console {
 
 		writer = reader.getTerminal().writer();
 		output = reader.getTerminal().output();
+		directory = null;
+	}
+
+	/**
+	 * Initialize the console without a terminal, e.g. to execute a single command
+	 * or a request of the daemon. The output stream is not closed by any handler.
+	 * 
+	 * @param output
+	 *            stream to write all information
+	 * @since 1.1.0
+	 */
+	public static void init(OutputStream output) {
+		init(output, null);
+	}
+
+	/**
+	 * Initialize the console without a terminal for a request of another working
+	 * directory, e.g. a request of a client of the daemon. The output stream is
+	 * not closed by any handler.
+	 * 
+	 * @param output
+	 *            stream to write all information
+	 * @param directory
+	 *            absolute directory to resolve relative paths or null for the
+	 *            working directory of the process
+	 * @since 1.1.0
+	 */
+	public static void init(OutputStream output, Path directory) {
+		assertNotNull(output);
+
+		if (directory != null && !directory.isAbsolute())
+			throw new IllegalArgumentException("The working directory must be absolute.");
+
+		reader = null;
+		Console.output = new NonClosingOutputStream(output);
+		Console.directory = directory;
+		writer = new PrintWriter(Console.output, true);
+	}
+
+	/**
+	 * Resolve a path against the working directory of the current request.
+	 * 
+	 * @param path
+	 *            any path
+	 * @return resolved path or the unchanged path if it is absolute
+	 * @since 1.1.0
+	 */
+	public static Path resolve(String path) {
+		assertNotNull(path);
+
+		return directory == null ? Paths.get(path) : directory.resolve(path);
+	}
+
+	/**
+	 * Check whether the console is connected to an interactive terminal.
+	 * 
+	 * @return true if the console reads from a terminal, otherwise false
+	 * @since 1.1.0
+	 */
+	public static boolean isInteractive() {
+		return reader != null;
 	}
 
 	/**
@@ -141,7 +212,9 @@ public class Console {
 	 * @since 1.0.0
 	 */
 	public static void clear() {
-		((LineReaderImpl) reader).clearScreen();
+		if (isInteractive()) {
+			((LineReaderImpl) reader).clearScreen();
+		}
 	}
 
 	/**
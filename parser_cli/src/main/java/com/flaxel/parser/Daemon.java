@@ -0,0 +1,228 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+
+import com.flaxel.parser.command.ParserCommand;
+
+import static com.github.javaparser.utils.Utils.assertPositive;
+
+import picocli.CommandLine;
+import picocli.CommandLine.DefaultExceptionHandler;
+import picocli.CommandLine.ExecutionException;
+import picocli.CommandLine.Help;
+import picocli.CommandLine.RunLast;
+
+/**
+ * This class is used to keep the parser running and to execute the requests of
+ * the {@link Client}. All type solvers and the compilation units, which they
+ * parsed to resolve types, stay in memory, so repeated requests for the same
+ * files are answered much faster. The analyzed files are parsed again on every
+ * request, because the handlers may change their compilation units.
+ * The requests are executed one after another, because all of them share the
+ * console.
+ * <p>
+ * Every request starts with the token of the session, which the daemon writes
+ * to a file only readable by its owner, and with the working directory of the
+ * client, against which all relative paths of the request are resolved.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class Daemon {
+
+	/**
+	 * default port of the daemon
+	 */
+	public static final int DEFAULT_PORT = 4711;
+
+	/**
+	 * maximum number of arguments for one request
+	 */
+	public static final int MAX_ARGUMENTS = 1024;
+
+	/**
+	 * milliseconds to wait for the request of a client
+	 */
+	public static final int TIMEOUT = 10_000;
+
+	/**
+	 * number of random bytes of a token
+	 */
+	private static final int TOKEN_BYTES = 32;
+
+	/**
+	 * local port of the daemon
+	 */
+	private final int port;
+
+	/**
+	 * Initialize the daemon.
+	 * 
+	 * @param port
+	 *            local port of the daemon
+	 * @since 1.1.0
+	 */
+	public Daemon(int port) {
+		this.port = assertPositive(port);
+	}
+
+	/**
+	 * Get the file with the token of the daemon on a port.
+	 * 
+	 * @param port
+	 *            local port of the daemon
+	 * @return file in the home directory of the user
+	 * @since 1.1.0
+	 */
+	public static Path getTokenFile(int port) {
+		return Paths.get(System.getProperty("user.home"), ".parser", "daemon-" + assertPositive(port) + ".token");
+	}
+
+	/**
+	 * Start the daemon and wait for requests until the process is stopped. The
+	 * daemon only accepts connections from the local machine, which know the
+	 * token of the session.
+	 * 
+	 * @throws IOException
+	 *             if the port cannot be opened or the token cannot be written
+	 * @since 1.1.0
+	 */
+	public void start() throws IOException {
+		Parser.setTypeSolverCaching(true);
+
+		try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+			Path tokenFile = getTokenFile(port);
+			byte[] token = writeToken(tokenFile);
+
+			try {
+				while (true) {
+					try (Socket socket = server.accept()) {
+						socket.setSoTimeout(TIMEOUT);
+						execute(socket, token);
+					} catch (IOException e) {
+						// ignore: the client has closed the connection or has not sent a request in time
+					}
+				}
+			} finally {
+				Files.deleteIfExists(tokenFile);
+			}
+		}
+	}
+
+	/**
+	 * Read the arguments of a request, execute the command and write all output
+	 * back to the client. A failure of the command is reported to the client.
+	 * 
+	 * @param socket
+	 *            connection to the client
+	 * @param token
+	 *            token of the session
+	 * @throws IOException
+	 *             if an i/o error occurred while the request is read or written
+	 * @since 1.1.0
+	 */
+	private void execute(Socket socket, byte[] token) throws IOException {
+		DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		byte[] received = input.readUTF().getBytes(StandardCharsets.UTF_8);
+		PrintStream output = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), true);
+
+		if (!MessageDigest.isEqual(token, received)) {
+			output.println("invalid token of the daemon");
+			output.flush();
+			return;
+		}
+
+		Path directory = Paths.get(input.readUTF());
+		int size = input.readInt();
+
+		if (!directory.isAbsolute())
+			throw new IOException(String.format("invalid working directory: %s", directory));
+
+		if (size < 0 || size > MAX_ARGUMENTS)
+			throw new IOException(String.format("invalid number of arguments: %d", size));
+
+		String[] arguments = new String[size];
+
+		for (int i = 0; i < size; i++) {
+			arguments[i] = input.readUTF();
+		}
+
+		Console.init(output, directory);
+
+		CommandLine commandLine = new CommandLine(new ParserCommand());
+		commandLine.registerConverter(File.class, (value) -> Console.resolve(value).toFile());
+		commandLine.registerConverter(Path.class, Console::resolve);
+
+		try {
+			commandLine.parseWithHandlers(new RunLast().useOut(output).useAnsi(Help.Ansi.AUTO),
+					new DefaultExceptionHandler<List<Object>>().useErr(output).useAnsi(Help.Ansi.AUTO), arguments);
+		} catch (RuntimeException | Error e) {
+			Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+			output.printf("not possible to execute the request: %s%n", cause);
+		}
+
+		output.flush();
+	}
+
+	/**
+	 * Write a new random token to a file, which only the owner can read.
+	 * 
+	 * @param file
+	 *            file of the token
+	 * @return token as bytes of its text
+	 * @throws IOException
+	 *             if the file cannot be written
+	 * @since 1.1.0
+	 */
+	private static byte[] writeToken(Path file) throws IOException {
+		byte[] random = new byte[TOKEN_BYTES];
+		new SecureRandom().nextBytes(random);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+		Files.deleteIfExists(file);
+
+		if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			Files.createDirectories(file.getParent(),
+					PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+			Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		} else {
+			Files.createDirectories(file.getParent());
+			Files.createFile(file);
+		}
+
+		Files.writeString(file, token);
+		return token.getBytes(StandardCharsets.UTF_8);
+	}
+}
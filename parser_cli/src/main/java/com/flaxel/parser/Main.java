@@ -43,7 +43,8 @@ public class Main {
 	public static final String PROMPT = "> ";
 
 	/**
-	 * create and start the terminal
+	 * create and start the terminal or execute a single command if there are any
+	 * arguments
 	 * 
 	 * @param args
 	 *            all arguments
@@ -53,6 +54,13 @@ public class Main {
 	 */
 	public static void main(String[] args) throws IOException {
 		ParserCommand command = new ParserCommand();
+
+		if (args.length > 0) {
+			Console.init(System.out);
+			CommandLine.run(command, args);
+			return;
+		}
+
 		Console.init(NAME, command);
 
 		while (true) {
@@ -0,0 +1,144 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser;
+
+import java.io.PrintWriter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.flaxel.parser.engine.Progress;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to render the progress of the engine. In the interactive
+ * console the progress is shown as a status line that is updated in place,
+ * otherwise a log line is written periodically to the error stream, so that
+ * the output of the command is not mixed up.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class ProgressRenderer implements AutoCloseable {
+
+	/**
+	 * interval in milliseconds to update the status line
+	 */
+	public static final long INTERACTIVE_INTERVAL = 250;
+
+	/**
+	 * interval in milliseconds to write a log line
+	 */
+	public static final long BATCH_INTERVAL = 5000;
+
+	/**
+	 * escape sequence to erase the rest of the line
+	 */
+	private static final String ERASE_LINE = "\u001B[K";
+
+	/**
+	 * progress that should be rendered
+	 */
+	private final Progress progress;
+
+	/**
+	 * true if the progress is rendered as status line, otherwise false
+	 */
+	private final boolean interactive;
+
+	/**
+	 * writer for the progress
+	 */
+	private final PrintWriter writer;
+
+	/**
+	 * executor to render the progress periodically or null if it is disabled
+	 */
+	private final ScheduledExecutorService executor;
+
+	/**
+	 * Initialize the renderer and start the periodic rendering.
+	 * 
+	 * @param progress
+	 *            progress that should be rendered
+	 * @param enabled
+	 *            true if the progress should be rendered, otherwise false
+	 * @since 1.1.0
+	 */
+	public ProgressRenderer(Progress progress, boolean enabled) {
+		this.progress = assertNotNull(progress);
+		this.interactive = Console.isInteractive();
+		this.writer = interactive ? Console.getWriter() : new PrintWriter(System.err, true);
+
+		if (enabled) {
+			long interval = interactive ? INTERACTIVE_INTERVAL : BATCH_INTERVAL;
+
+			this.executor = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+				Thread thread = new Thread(runnable, "progress");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.executor.scheduleAtFixedRate(this::render, interval, interval, TimeUnit.MILLISECONDS);
+		} else {
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * Render the current progress if the engine is running.
+	 * 
+	 * @since 1.1.0
+	 */
+	private void render() {
+		if (!progress.isRunning())
+			return;
+
+		if (interactive) {
+			writer.print("\r" + progress + ERASE_LINE);
+			writer.flush();
+		} else {
+			writer.println("progress: " + progress);
+		}
+	}
+
+	/**
+	 * Stop the rendering and write the final progress.
+	 * 
+	 * @since 1.1.0
+	 */
+	@Override
+	public void close() {
+		if (executor == null)
+			return;
+
+		executor.shutdownNow();
+
+		try {
+			executor.awaitTermination(INTERACTIVE_INTERVAL, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		if (interactive) {
+			writer.print("\r" + ERASE_LINE);
+		}
+
+		writer.printf("finished: %d files, %d errors in %.1f s%n", progress.getFiles(), progress.getErrors(),
+				progress.getElapsedTime().toMillis() / 1000.0);
+		writer.flush();
+	}
+}
@@ -16,9 +16,14 @@
 package com.flaxel.parser.command;
 
 import com.flaxel.parser.Console;
+import com.flaxel.parser.command.analyze.CloneCommand;
+import com.flaxel.parser.command.analyze.DependencyCommand;
+import com.flaxel.parser.command.analyze.ExportCommand;
 import com.flaxel.parser.command.analyze.FindCommand;
 import com.flaxel.parser.command.analyze.ListClassCommand;
 import com.flaxel.parser.command.analyze.ListMethodCallsCommand;
+import com.flaxel.parser.command.analyze.MetricsCommand;
+import com.flaxel.parser.command.analyze.PipelineCommand;
 
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
@@ -34,7 +39,9 @@ import picocli.CommandLine.Option;
 		aliases = "a",
 		description = "analyze your own code",
 		sortOptions = true,
-		subcommands = { ListClassCommand.class, ListMethodCallsCommand.class, FindCommand.class })
+		subcommands = { ListClassCommand.class, ListMethodCallsCommand.class, FindCommand.class,
+				ExportCommand.class, PipelineCommand.class, DependencyCommand.class,
+				CloneCommand.class, MetricsCommand.class })
 public class AnalyzeCommand implements Runnable {
 
 	/**
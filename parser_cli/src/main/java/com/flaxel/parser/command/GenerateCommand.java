@@ -20,6 +20,7 @@ import java.net.MalformedURLException;
 
 import com.flaxel.parser.Console;
 import com.flaxel.parser.Parser;
+import com.flaxel.parser.command.generate.BatchCommand;
 import com.flaxel.parser.command.generate.PojoCommand;
 
 import picocli.CommandLine;
@@ -36,7 +37,7 @@ import picocli.CommandLine.Option;
 		aliases = "g",
 		description = "generate your own code snippets",
 		sortOptions = true,
-		subcommands = { PojoCommand.class })
+		subcommands = { PojoCommand.class, BatchCommand.class })
 public class GenerateCommand implements Runnable {
 
 	/**
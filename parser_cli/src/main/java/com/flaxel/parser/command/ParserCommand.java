@@ -18,6 +18,7 @@ package com.flaxel.parser.command;
 import com.flaxel.parser.Console;
 import com.flaxel.parser.Main;
 import com.flaxel.parser.command.utils.ClearCommand;
+import com.flaxel.parser.command.utils.DaemonCommand;
 import com.flaxel.parser.command.utils.ExitCommand;
 import com.flaxel.parser.command.utils.ManifestVersionProvider;
 
@@ -40,7 +41,7 @@ import picocli.CommandLine.Option;
 			"@|green |__|         \\/              \\/      \\/   |@", "" },
 		versionProvider = ManifestVersionProvider.class,
 		subcommands = { AnalyzeCommand.class, GenerateCommand.class, TransformCommand.class, ClearCommand.class,
-			ExitCommand.class })
+			DaemonCommand.class, ExitCommand.class })
 public class ParserCommand implements Runnable {
 
 	/**
@@ -0,0 +1,133 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.command.analyze;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import com.flaxel.parser.Analyzer;
+import com.flaxel.parser.Console;
+import com.flaxel.parser.ProgressRenderer;
+import com.flaxel.parser.export.ExportWriter;
+import com.flaxel.parser.filter.PathFilter;
+import com.flaxel.parser.handler.analyze.ExportHandler;
+import com.flaxel.parser.handler.problem.AggregateHandler;
+import com.flaxel.parser.handler.problem.OutputHandler;
+import com.github.javaparser.Problem;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * This class represents the subcommand 'export' to write all declarations and
+ * method calls into a binary export.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+@Command(name = "export", description = "export declarations and method calls", sortOptions = true)
+public class ExportCommand implements Runnable {
+
+	/**
+	 * true if the help for the user should be printed, otherwise false
+	 */
+	@Option(names = { "--help", "-h" }, usageHelp = true, description = "display this help message")
+	private boolean usageHelpRequested;
+
+	/**
+	 * true if more information should be printed, otherwise false
+	 */
+	@Option(names = { "--verbose", "-v" }, description = "print more information")
+	private boolean verbose;
+
+	/**
+	 * file of the source code
+	 */
+	@Parameters(index = "0", description = "source code")
+	private File file;
+
+	/**
+	 * file of the export
+	 */
+	@Parameters(index = "1", description = "export file")
+	private File target;
+
+	/**
+	 * true if the progress should be shown, otherwise false
+	 */
+	@Option(names = { "--progress", "-p" }, description = "show the progress")
+	private boolean progress;
+
+	/**
+	 * glob or regex patterns of all files, which should be included
+	 */
+	@Option(names = { "--include" }, description = "include only matching files (glob or regex:...)")
+	private List<String> includes = new ArrayList<>();
+
+	/**
+	 * glob or regex patterns of all files and folders, which should be excluded
+	 */
+	@Option(names = { "--exclude", "-x" }, description = "exclude matching files and folders (glob or regex:...)")
+	private List<String> excludes = new ArrayList<>();
+
+	/**
+	 * true if all problems should be aggregated to a summary, otherwise false
+	 */
+	@Option(names = { "--aggregate" }, description = "aggregate all problems to a summary at the end")
+	private boolean aggregate;
+
+	/**
+	 * Execute the command.
+	 * 
+	 * @since 1.1.0
+	 */
+	@Override
+	public void run() {
+		if (usageHelpRequested) {
+			new CommandLine(this).usage(Console.getWriter());
+		}
+
+		AggregateHandler aggregateHandler = new AggregateHandler(Console.getOutput());
+		BiConsumer<File, List<Problem>> problemHandler = aggregate ? aggregateHandler
+				: new OutputHandler(Console.getOutput()).fullStacktrace(verbose);
+
+		Analyzer.getEngine().pathFilter(new PathFilter(includes, excludes));
+
+		try (ExportWriter writer = new ExportWriter(target.toPath());
+				ProgressRenderer renderer = new ProgressRenderer(Analyzer.getEngine().getProgress(), progress)) {
+			ExportHandler handler = new ExportHandler(writer);
+
+			if (file.isDirectory()) {
+				Analyzer.analyzeFolder(file, problemHandler, handler);
+			} else if (file.getName().endsWith(".zip")) {
+				Analyzer.analyzeZip(file, problemHandler, handler);
+			} else {
+				Analyzer.analyzeFile(file, problemHandler, handler);
+			}
+		} catch (IOException e) {
+			Console.print("not possible to export the source code");
+		}
+
+		if (aggregate) {
+			aggregateHandler.printSummary();
+		}
+	}
+}
@@ -17,11 +17,18 @@ package com.flaxel.parser.command.analyze;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
 
 import com.flaxel.parser.Analyzer;
 import com.flaxel.parser.Console;
+import com.flaxel.parser.ProgressRenderer;
+import com.flaxel.parser.filter.PathFilter;
 import com.flaxel.parser.handler.analyze.FindHandler;
+import com.flaxel.parser.handler.problem.AggregateHandler;
 import com.flaxel.parser.handler.problem.OutputHandler;
+import com.github.javaparser.Problem;
 
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
@@ -56,12 +63,42 @@ public class FindCommand implements Runnable {
 	@Parameters(index = "1", description = "regex to find content")
 	private String regex;
 
+	/**
+	 * true if every result should be written as json line, otherwise false
+	 */
+	@Option(names = { "--json", "-j" }, description = "write every result as json line")
+	private boolean json;
+
 	/**
 	 * true if more information should be printed, otherwise false
 	 */
 	@Option(names = { "--verbose", "-v" }, description = "print more information")
 	private boolean verbose;
 
+	/**
+	 * true if the progress should be shown, otherwise false
+	 */
+	@Option(names = { "--progress", "-p" }, description = "show the progress")
+	private boolean progress;
+
+	/**
+	 * glob or regex patterns of all files, which should be included
+	 */
+	@Option(names = { "--include" }, description = "include only matching files (glob or regex:...)")
+	private List<String> includes = new ArrayList<>();
+
+	/**
+	 * glob or regex patterns of all files and folders, which should be excluded
+	 */
+	@Option(names = { "--exclude", "-x" }, description = "exclude matching files and folders (glob or regex:...)")
+	private List<String> excludes = new ArrayList<>();
+
+	/**
+	 * true if all problems should be aggregated to a summary, otherwise false
+	 */
+	@Option(names = { "--aggregate" }, description = "aggregate all problems to a summary at the end")
+	private boolean aggregate;
+
 	/**
 	 * Execute the command.
 	 * 
@@ -73,10 +110,14 @@ public class FindCommand implements Runnable {
 			new CommandLine(this).usage(Console.getWriter());
 		}
 
-		FindHandler handler = new FindHandler(Console.getOutput(), regex);
-		OutputHandler problemHandler = new OutputHandler(Console.getOutput()).fullStacktrace(verbose);
+		FindHandler handler = new FindHandler(Console.getOutput(), regex).json(json);
+		AggregateHandler aggregateHandler = new AggregateHandler(Console.getOutput()).json(json);
+		BiConsumer<File, List<Problem>> problemHandler = aggregate ? aggregateHandler
+				: new OutputHandler(Console.getOutput()).fullStacktrace(verbose).json(json);
+
+		Analyzer.getEngine().pathFilter(new PathFilter(includes, excludes));
 
-		try {
+		try (ProgressRenderer renderer = new ProgressRenderer(Analyzer.getEngine().getProgress(), progress)) {
 			if (file.isDirectory()) {
 				Analyzer.analyzeFolder(file, problemHandler, handler);
 			} else if (file.getName().endsWith(".zip")) {
@@ -87,5 +128,9 @@ public class FindCommand implements Runnable {
 		} catch (IOException e) {
 			Console.print("not possible to find content");
 		}
+
+		if (aggregate) {
+			aggregateHandler.printSummary();
+		}
 	}
 }
@@ -0,0 +1,164 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.command.analyze;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import com.flaxel.parser.Analyzer;
+import com.flaxel.parser.Console;
+import com.flaxel.parser.ProgressRenderer;
+import com.flaxel.parser.engine.Engine;
+import com.flaxel.parser.filter.PathFilter;
+import com.flaxel.parser.handler.analyze.MetricsHandler;
+import com.flaxel.parser.handler.problem.AggregateHandler;
+import com.flaxel.parser.handler.problem.OutputHandler;
+import com.github.javaparser.Problem;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * This class represents the subcommand 'metrics' to compute the code metrics
+ * of all files, classes and methods.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+@Command(name = "metrics", description = "compute code metrics and their distributions", sortOptions = true)
+public class MetricsCommand implements Runnable {
+
+	/**
+	 * true if the help for the user should be printed, otherwise false
+	 */
+	@Option(names = { "--help", "-h" }, usageHelp = true, description = "display this help message")
+	private boolean usageHelpRequested;
+
+	/**
+	 * file of the source code
+	 */
+	@Parameters(index = "0", description = "source code")
+	private File file;
+
+	/**
+	 * true if the metrics of every file, class and method should be written,
+	 * otherwise false
+	 */
+	@Option(names = { "--details", "-d" }, description = "write the metrics of every file, class and method")
+	private boolean details;
+
+	/**
+	 * number of threads, which parse the files and compute the metrics
+	 */
+	@Option(names = { "--threads", "-t" }, description = "number of threads, which parse the files and compute the metrics")
+	private int threads = 1;
+
+	/**
+	 * true if every result should be written as json line, otherwise false
+	 */
+	@Option(names = { "--json", "-j" }, description = "write every result as json line")
+	private boolean json;
+
+	/**
+	 * true if more information should be printed, otherwise false
+	 */
+	@Option(names = { "--verbose", "-v" }, description = "print more information")
+	private boolean verbose;
+
+	/**
+	 * true if the progress should be shown, otherwise false
+	 */
+	@Option(names = { "--progress", "-p" }, description = "show the progress")
+	private boolean progress;
+
+	/**
+	 * glob or regex patterns of all files, which should be included
+	 */
+	@Option(names = { "--include" }, description = "include only matching files (glob or regex:...)")
+	private List<String> includes = new ArrayList<>();
+
+	/**
+	 * glob or regex patterns of all files and folders, which should be excluded
+	 */
+	@Option(names = { "--exclude", "-x" }, description = "exclude matching files and folders (glob or regex:...)")
+	private List<String> excludes = new ArrayList<>();
+
+	/**
+	 * true if all problems should be aggregated to a summary, otherwise false
+	 */
+	@Option(names = { "--aggregate" }, description = "aggregate all problems to a summary at the end")
+	private boolean aggregate;
+
+	/**
+	 * Execute the command.
+	 * 
+	 * @since 1.1.0
+	 */
+	@Override
+	public void run() {
+		if (usageHelpRequested) {
+			new CommandLine(this).usage(Console.getWriter());
+		}
+
+		MetricsHandler handler = new MetricsHandler(Console.getOutput()).details(details).json(json);
+
+		AggregateHandler aggregateHandler = new AggregateHandler(Console.getOutput()).json(json);
+		BiConsumer<File, List<Problem>> problemHandler = aggregate ? aggregateHandler
+				: new OutputHandler(Console.getOutput()).fullStacktrace(verbose).json(json);
+
+		Engine engine = Analyzer.getEngine().pathFilter(new PathFilter(includes, excludes));
+
+		// the engine is shared by all commands of a shell or daemon session
+		boolean staged = engine.isStaged();
+		int readers = engine.getReaders();
+		int parsers = engine.getParsers();
+		int handlers = engine.getHandlers();
+
+		try (ProgressRenderer renderer = new ProgressRenderer(engine.getProgress(), progress)) {
+			if (threads > 1) {
+				engine.stages(1, threads, threads);
+			}
+
+			if (file.isDirectory()) {
+				Analyzer.analyzeFolder(file, problemHandler, handler);
+			} else if (file.getName().endsWith(".zip")) {
+				Analyzer.analyzeZip(file, problemHandler, handler);
+			} else {
+				Analyzer.analyzeFile(file, problemHandler, handler);
+			}
+		} catch (IOException e) {
+			Console.print("not possible to compute the metrics");
+			return;
+		} finally {
+			if (staged) {
+				engine.stages(readers, parsers, handlers);
+			} else {
+				engine.sequential();
+			}
+		}
+
+		if (aggregate) {
+			aggregateHandler.printSummary();
+		}
+
+		handler.printReport();
+	}
+}
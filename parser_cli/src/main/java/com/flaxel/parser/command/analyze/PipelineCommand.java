@@ -0,0 +1,223 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.command.analyze;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.flaxel.parser.Analyzer;
+import com.flaxel.parser.Console;
+import com.flaxel.parser.ProgressRenderer;
+import com.flaxel.parser.filter.PathFilter;
+import com.flaxel.parser.handler.analyze.CompositeHandler;
+import com.flaxel.parser.handler.analyze.FindHandler;
+import com.flaxel.parser.handler.analyze.ListClassHandler;
+import com.flaxel.parser.handler.analyze.ListMethodCallHandler;
+import com.flaxel.parser.handler.problem.AggregateHandler;
+import com.flaxel.parser.handler.problem.OutputHandler;
+import com.flaxel.parser.utils.NonClosingOutputStream;
+import com.github.javaparser.Problem;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * This class represents the subcommand 'pipeline' to run several analyses over
+ * one parse of the source code.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+@Command(name = "pipeline", description = "run several analyses with one parse", sortOptions = true)
+public class PipelineCommand implements Runnable {
+
+	/**
+	 * target for the output on the console
+	 */
+	private static final String CONSOLE = "-";
+
+	/**
+	 * true if the help for the user should be printed, otherwise false
+	 */
+	@Option(names = { "--help", "-h" }, usageHelp = true, description = "display this help message")
+	private boolean usageHelpRequested;
+
+	/**
+	 * file of the source code
+	 */
+	@Parameters(index = "0", description = "source code")
+	private File file;
+
+	/**
+	 * target of the class members
+	 */
+	@Option(names = { "--class" }, description = "list class members to a file or '-'")
+	private String classTarget;
+
+	/**
+	 * target of the method calls
+	 */
+	@Option(names = { "--calls" }, description = "list method calls to a file or '-'")
+	private String callsTarget;
+
+	/**
+	 * targets with the regex to find content
+	 */
+	@Option(names = { "--find" }, description = "find content with a regex to a file or '-' (target=regex)")
+	private Map<String, String> findTargets = new LinkedHashMap<>();
+
+	/**
+	 * true if every result should be written as json line, otherwise false
+	 */
+	@Option(names = { "--json", "-j" }, description = "write every result as json line")
+	private boolean json;
+
+	/**
+	 * true if more information should be printed, otherwise false
+	 */
+	@Option(names = { "--verbose", "-v" }, description = "print more information")
+	private boolean verbose;
+
+	/**
+	 * true if the progress should be shown, otherwise false
+	 */
+	@Option(names = { "--progress", "-p" }, description = "show the progress")
+	private boolean progress;
+
+	/**
+	 * glob or regex patterns of all files, which should be included
+	 */
+	@Option(names = { "--include" }, description = "include only matching files (glob or regex:...)")
+	private List<String> includes = new ArrayList<>();
+
+	/**
+	 * glob or regex patterns of all files and folders, which should be excluded
+	 */
+	@Option(names = { "--exclude", "-x" }, description = "exclude matching files and folders (glob or regex:...)")
+	private List<String> excludes = new ArrayList<>();
+
+	/**
+	 * true if all problems should be aggregated to a summary, otherwise false
+	 */
+	@Option(names = { "--aggregate" }, description = "aggregate all problems to a summary at the end")
+	private boolean aggregate;
+
+	/**
+	 * Execute the command.
+	 * 
+	 * @since 1.1.0
+	 */
+	@Override
+	public void run() {
+		if (usageHelpRequested) {
+			new CommandLine(this).usage(Console.getWriter());
+		}
+
+		AggregateHandler aggregateHandler = new AggregateHandler(Console.getOutput()).json(json);
+		BiConsumer<File, List<Problem>> problemHandler = aggregate ? aggregateHandler
+				: new OutputHandler(Console.getOutput()).fullStacktrace(verbose).json(json);
+		List<OutputStream> targets = new ArrayList<>();
+
+		Analyzer.getEngine().pathFilter(new PathFilter(includes, excludes));
+
+		try (ProgressRenderer renderer = new ProgressRenderer(Analyzer.getEngine().getProgress(), progress)) {
+			CompositeHandler handler = new CompositeHandler();
+
+			if (classTarget != null) {
+				handler.add(new ListClassHandler(open(classTarget, targets)).verbose(verbose).json(json));
+			}
+
+			if (callsTarget != null) {
+				handler.add(new ListMethodCallHandler(open(callsTarget, targets)).json(json));
+			}
+
+			for (Map.Entry<String, String> find : findTargets.entrySet()) {
+				handler.add(new FindHandler(open(find.getKey(), targets), find.getValue()).json(json));
+			}
+
+			if (handler.size() == 0) {
+				Console.print("no analysis selected");
+				return;
+			}
+
+			if (file.isDirectory()) {
+				Analyzer.analyzeFolder(file, problemHandler, handler);
+			} else if (file.getName().endsWith(".zip")) {
+				Analyzer.analyzeZip(file, problemHandler, handler);
+			} else {
+				Analyzer.analyzeFile(file, problemHandler, handler);
+			}
+		} catch (IOException e) {
+			Console.print("not possible to run the pipeline");
+		} finally {
+			close(targets);
+		}
+
+		if (aggregate) {
+			aggregateHandler.printSummary();
+		}
+	}
+
+	/**
+	 * Open the output stream of a target. A file stream is wrapped, because the
+	 * handlers close their stream after every file.
+	 * 
+	 * @param target
+	 *            path to a file or '-' for the console
+	 * @param targets
+	 *            all opened file streams
+	 * @return output stream for a handler
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is opened
+	 * @since 1.1.0
+	 */
+	private static OutputStream open(String target, List<OutputStream> targets) throws IOException {
+		if (CONSOLE.equals(target))
+			return Console.getOutput();
+
+		OutputStream output = new BufferedOutputStream(Files.newOutputStream(Console.resolve(target)));
+		targets.add(output);
+
+		return new NonClosingOutputStream(output);
+	}
+
+	/**
+	 * Close all opened file streams.
+	 * 
+	 * @param targets
+	 *            all opened file streams
+	 * @since 1.1.0
+	 */
+	private static void close(List<OutputStream> targets) {
+		for (OutputStream output : targets) {
+			try {
+				output.close();
+			} catch (IOException e) {
+				Console.print("not possible to close an output file");
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.command.generate;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.flaxel.parser.Console;
+import com.flaxel.parser.Generator;
+import com.flaxel.parser.command.GenerateCommand;
+import com.flaxel.parser.generator.PojoBatchGenerator;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.ParentCommand;
+
+/**
+ * This class represents the subcommand 'batch' to generate many plain old java
+ * objects from a spec file.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+@Command(name = "batch", description = "create plain old java objects from a spec file", sortOptions = true)
+public class BatchCommand implements Runnable {
+
+	/**
+	 * parent command
+	 */
+	@ParentCommand
+	private GenerateCommand parent;
+
+	/**
+	 * true if the help for the user should be printed, otherwise false
+	 */
+	@Option(names = { "--help", "-h" }, usageHelp = true, description = "display this help message")
+	private boolean usageHelpRequested;
+
+	/**
+	 * true if an all args constructor should be added, otherwise false
+	 */
+	@Option(names = { "-a", "--all_args" }, description = "add an all args constructor")
+	private boolean allArgsConstructor;
+
+	/**
+	 * true if a no args constructor should be added, otherwise false
+	 */
+	@Option(names = { "-n", "--no_args" }, description = "add a no args constructor")
+	private boolean noArgsConstructor;
+
+	/**
+	 * true if the toString method should be added, otherwise false
+	 */
+	@Option(names = { "-s", "--to_string" }, description = "add a sring representation")
+	private boolean toString;
+
+	/**
+	 * true if the equals and hash method should be added, otherwise false
+	 */
+	@Option(names = { "-e", "--equal_hash" }, description = "add the equals and hash method")
+	private boolean equalsHashCode;
+
+	/**
+	 * number of threads to print and write the classes
+	 */
+	@Option(names = { "-t", "--threads" }, description = "number of threads")
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * spec file with all classes
+	 */
+	@Parameters(index = "0", description = "spec file")
+	private File spec;
+
+	/**
+	 * folder where the classes should be saved
+	 */
+	@Parameters(index = "1", description = "target folder")
+	private File target;
+
+	/**
+	 * Execute the command.
+	 * 
+	 * @since 1.1.0
+	 */
+	@Override
+	public void run() {
+		if (usageHelpRequested) {
+			new CommandLine(this).usage(Console.getWriter());
+		}
+
+		try {
+			List<Path> files = new PojoBatchGenerator(parent.getClassLoader()).fullArgsConstructor(allArgsConstructor)
+					.noArgsConstructor(noArgsConstructor)
+					.toString(toString)
+					.equalsAndHashCode(equalsHashCode)
+					.callSuper(true)
+					.parallelism(threads)
+					.generate(spec.toPath(), target.toPath(), Generator.DEFAULT_CHARSET);
+
+			Console.println("%d files are written", files.size());
+		} catch (IOException | IllegalArgumentException | AssertionError e) {
+			Console.println(e.getMessage());
+		}
+	}
+}
@@ -17,11 +17,18 @@ package com.flaxel.parser.command.transform;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
 
 import com.flaxel.parser.Analyzer;
 import com.flaxel.parser.Console;
+import com.flaxel.parser.ProgressRenderer;
+import com.flaxel.parser.filter.PathFilter;
+import com.flaxel.parser.handler.problem.AggregateHandler;
 import com.flaxel.parser.handler.problem.OutputHandler;
 import com.flaxel.parser.handler.transform.RenameHandler;
+import com.github.javaparser.Problem;
 
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
@@ -56,6 +63,30 @@ public class RemoveCommand implements Runnable {
 	@Parameters(index = "1", description = "regex to find content")
 	private String regex;
 
+	/**
+	 * true if the progress should be shown, otherwise false
+	 */
+	@Option(names = { "--progress", "-p" }, description = "show the progress")
+	private boolean progress;
+
+	/**
+	 * glob or regex patterns of all files, which should be included
+	 */
+	@Option(names = { "--include" }, description = "include only matching files (glob or regex:...)")
+	private List<String> includes = new ArrayList<>();
+
+	/**
+	 * glob or regex patterns of all files and folders, which should be excluded
+	 */
+	@Option(names = { "--exclude", "-x" }, description = "exclude matching files and folders (glob or regex:...)")
+	private List<String> excludes = new ArrayList<>();
+
+	/**
+	 * true if all problems should be aggregated to a summary, otherwise false
+	 */
+	@Option(names = { "--aggregate" }, description = "aggregate all problems to a summary at the end")
+	private boolean aggregate;
+
 	/**
 	 * Execute the command.
 	 * 
@@ -68,9 +99,13 @@ public class RemoveCommand implements Runnable {
 		}
 
 		RenameHandler handler = new RenameHandler(regex, (oldValue) -> "").verbose(Console.getOutput());
-		OutputHandler problemHandler = new OutputHandler(Console.getOutput());
+		AggregateHandler aggregateHandler = new AggregateHandler(Console.getOutput());
+		BiConsumer<File, List<Problem>> problemHandler = aggregate ? aggregateHandler
+				: new OutputHandler(Console.getOutput());
 
-		try {
+		Analyzer.getEngine().pathFilter(new PathFilter(includes, excludes));
+
+		try (ProgressRenderer renderer = new ProgressRenderer(Analyzer.getEngine().getProgress(), progress)) {
 			if (file.isDirectory()) {
 				Analyzer.analyzeFolder(file, problemHandler, handler);
 			} else if (file.getName().endsWith(".zip")) {
@@ -81,5 +116,9 @@ public class RemoveCommand implements Runnable {
 		} catch (IOException e) {
 			Console.print("not possible to edit class");
 		}
+
+		if (aggregate) {
+			aggregateHandler.printSummary();
+		}
 	}
 }
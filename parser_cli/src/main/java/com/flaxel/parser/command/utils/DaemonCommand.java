@@ -0,0 +1,69 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.command.utils;
+
+import java.io.IOException;
+
+import com.flaxel.parser.Console;
+import com.flaxel.parser.Daemon;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * This class represents a command to keep the parser running in the background
+ * and to answer the requests of the client.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+@Command(name = "daemon", description = "keep the parser running for requests", sortOptions = true)
+public class DaemonCommand implements Runnable {
+
+	/**
+	 * true if the help for the user should be printed, otherwise false
+	 */
+	@Option(names = { "--help", "-h" }, usageHelp = true, description = "display this help message")
+	private boolean usageHelpRequested;
+
+	/**
+	 * local port of the daemon
+	 */
+	@Option(names = { "--port", "-p" }, description = "local port of the daemon")
+	private int port = Daemon.DEFAULT_PORT;
+
+	/**
+	 * Execute the command.
+	 * 
+	 * @since 1.1.0
+	 */
+	@Override
+	public void run() {
+		if (usageHelpRequested) {
+			new CommandLine(this).usage(Console.getWriter());
+			return;
+		}
+
+		Console.println("daemon is listening on port %d", port);
+
+		try {
+			new Daemon(port).start();
+		} catch (IOException e) {
+			Console.println("not possible to start daemon: %s", e.getMessage());
+		}
+	}
+}
@@ -26,14 +26,16 @@ import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
-import com.github.javaparser.JavaParser;
+import com.flaxel.parser.engine.CollectorHandler;
+import com.flaxel.parser.engine.DeclarationsOnly;
+import com.flaxel.parser.engine.Engine;
+import com.flaxel.parser.engine.ParseMode;
+import com.flaxel.parser.engine.SourceHeader;
+import com.flaxel.parser.engine.UnitCollector;
 import com.github.javaparser.ParseResult;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.Problem;
 import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.utils.SourceRoot;
-import com.github.javaparser.utils.SourceRoot.Callback.Result;
-import com.github.javaparser.utils.SourceZip;
 
 import static com.github.javaparser.utils.Utils.assertNotNull;
 
@@ -50,6 +52,16 @@ public class Analyzer {
 	 */
 	private static ParserConfiguration configuration = new ParserConfiguration();
 
+	/**
+	 * engine to parse all files of a folder or an archive
+	 */
+	private static Engine engine = new Engine();
+
+	/**
+	 * mode how much of a source file is parsed
+	 */
+	private static ParseMode parseMode = ParseMode.AUTO;
+
 	/**
 	 * default charset for encoding
 	 */
@@ -91,6 +103,69 @@ public class Analyzer {
 		return configuration;
 	}
 
+	/**
+	 * Set the engine to parse all files of a folder or an archive.
+	 * 
+	 * @param engine
+	 *            new engine
+	 * @since 1.1.0
+	 */
+	public static void setEngine(Engine engine) {
+		Analyzer.engine = assertNotNull(engine);
+	}
+
+	/**
+	 * Get the current engine to parse all files of a folder or an archive.
+	 * 
+	 * @return current engine
+	 * @since 1.1.0
+	 */
+	public static Engine getEngine() {
+		return engine;
+	}
+
+	/**
+	 * Set the mode how much of a source file is parsed. With
+	 * {@link ParseMode#AUTO} the method bodies are only skipped if the unit
+	 * handler and the unit filter implement {@link DeclarationsOnly}.
+	 * 
+	 * @param parseMode
+	 *            new parse mode
+	 * @since 1.1.0
+	 */
+	public static void setParseMode(ParseMode parseMode) {
+		Analyzer.parseMode = assertNotNull(parseMode);
+	}
+
+	/**
+	 * Get the current mode how much of a source file is parsed.
+	 * 
+	 * @return current parse mode
+	 * @since 1.1.0
+	 */
+	public static ParseMode getParseMode() {
+		return parseMode;
+	}
+
+	/**
+	 * Resolve the parse mode for a unit filter and a unit handler.
+	 * 
+	 * @param unitFilter
+	 *            filter for compilation unit
+	 * @param unitHandler
+	 *            handler for compilation unit
+	 * @return {@link ParseMode#FULL} or {@link ParseMode#DECLARATIONS}
+	 * @since 1.1.0
+	 */
+	static ParseMode resolveParseMode(Predicate<CompilationUnit> unitFilter,
+			BiConsumer<File, CompilationUnit> unitHandler) {
+		if (parseMode != ParseMode.AUTO)
+			return parseMode;
+
+		boolean filterDeclarations = unitFilter == DEFAULT_UNIT_FILTER || DeclarationsOnly.test(unitFilter);
+		return filterDeclarations && DeclarationsOnly.test(unitHandler) ? ParseMode.DECLARATIONS : ParseMode.FULL;
+	}
+
 	/**
 	 * Analyze java code from a file.
 	 * 
@@ -103,7 +178,8 @@ public class Analyzer {
 	 * @param unitHandler
 	 *            handler for compilation unit and resolving
 	 * @throws FileNotFoundException
-	 *             if the file cannot be opened to read it
+	 *             if the file cannot be opened to read it or its type solver
+	 *             cannot be created
 	 * @since 1.0.0
 	 */
 	public static void analyzeFile(File file, Charset charset, BiConsumer<File, List<Problem>> problemHandler,
@@ -112,11 +188,18 @@ public class Analyzer {
 		try {
 			configuration.setSymbolResolver(Parser.createTypeSolver(file));
 		} catch (IOException e) {
-			// ignore: never happens
+			throw (FileNotFoundException) new FileNotFoundException(file.getPath()).initCause(e);
+		}
+		ParseResult<CompilationUnit> result;
+
+		try {
+			result = engine.parseFile(file.toPath(), charset, configuration,
+					resolveParseMode(DEFAULT_UNIT_FILTER, unitHandler));
+		} catch (IOException e) {
+			throw (FileNotFoundException) new FileNotFoundException(file.getPath()).initCause(e);
 		}
-		JavaParser parser = new JavaParser(configuration);
-		analyze(file, parser.parse(file, charset), DEFAULT_FILE_FILTER, DEFAULT_UNIT_FILTER, problemHandler,
-				unitHandler);
+
+		analyze(file, result, DEFAULT_FILE_FILTER, DEFAULT_UNIT_FILTER, problemHandler, unitHandler);
 	}
 
 	/**
@@ -269,10 +352,9 @@ public class Analyzer {
 			BiConsumer<File, CompilationUnit> unitHandler) throws IOException {
 		assertNotNull(folder);
 		configuration.setSymbolResolver(Parser.createTypeSolver(folder));
-		SourceRoot root = new SourceRoot(folder, configuration);
-		root.parse("", (localPath, absolutePath, result) -> {
-			analyze(absolutePath.toFile(), result, fileFilter, unitFilter, problemHandler, unitHandler);
-			return Result.DONT_SAVE;
+		engine.parseFolder(folder, configuration, fileFilter,
+				resolveParseMode(unitFilter, unitHandler), (file, result) -> {
+			analyze(file, result, DEFAULT_FILE_FILTER, unitFilter, problemHandler, unitHandler);
 		});
 	}
 
@@ -581,9 +663,9 @@ public class Analyzer {
 			BiConsumer<File, CompilationUnit> unitHandler) throws IOException {
 		assertNotNull(zipPath);
 		configuration.setSymbolResolver(Parser.createTypeSolver(zipPath));
-		SourceZip archive = new SourceZip(zipPath, configuration);
-		archive.parse((relativeZipEntryPath, result) -> {
-			analyze(relativeZipEntryPath.toFile(), result, fileFilter, unitFilter, problemHandler, unitHandler);
+		engine.parseZip(zipPath, configuration, fileFilter,
+				resolveParseMode(unitFilter, unitHandler), (file, result) -> {
+			analyze(file, result, DEFAULT_FILE_FILTER, unitFilter, problemHandler, unitHandler);
 		});
 	}
 
@@ -870,6 +952,361 @@ public class Analyzer {
 		analyzeZip(zipFile, DEFAULT_FILE_FILTER, DEFAULT_FILE_PROBLEM_HANDLER, DEFAULT_UNIT_FILTER, unitHandler);
 	}
 
+	/**
+	 * Read the headers of all files in a folder without parsing them, e.g. to
+	 * build a dependency graph. No symbol resolver is needed.
+	 * 
+	 * @param folder
+	 *            path to the folder
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param headerHandler
+	 *            handler for the header of a file
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public static void scanFolder(Path folder, Predicate<File> fileFilter, BiConsumer<File, SourceHeader> headerHandler)
+			throws IOException {
+		engine.scanFolder(folder, fileFilter, headerHandler);
+	}
+
+	/**
+	 * Read the headers of all files in a folder without parsing them.
+	 * 
+	 * @param folder
+	 *            path to the folder
+	 * @param headerHandler
+	 *            handler for the header of a file
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public static void scanFolder(Path folder, BiConsumer<File, SourceHeader> headerHandler) throws IOException {
+		scanFolder(folder, DEFAULT_FILE_FILTER, headerHandler);
+	}
+
+	/**
+	 * Read the headers of all files in a folder without parsing them.
+	 * 
+	 * @param folder
+	 *            path to the folder
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param headerHandler
+	 *            handler for the header of a file
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public static void scanFolder(File folder, Predicate<File> fileFilter, BiConsumer<File, SourceHeader> headerHandler)
+			throws IOException {
+		scanFolder(assertNotNull(folder).toPath(), fileFilter, headerHandler);
+	}
+
+	/**
+	 * Read the headers of all files in a folder without parsing them.
+	 * 
+	 * @param folder
+	 *            path to the folder
+	 * @param headerHandler
+	 *            handler for the header of a file
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public static void scanFolder(File folder, BiConsumer<File, SourceHeader> headerHandler) throws IOException {
+		scanFolder(folder, DEFAULT_FILE_FILTER, headerHandler);
+	}
+
+	/**
+	 * Read the headers of all files in a zip file without parsing them.
+	 * 
+	 * @param zipPath
+	 *            path to the file
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param headerHandler
+	 *            handler for the header of a file
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public static void scanZip(Path zipPath, Predicate<File> fileFilter, BiConsumer<File, SourceHeader> headerHandler)
+			throws IOException {
+		engine.scanZip(zipPath, fileFilter, headerHandler);
+	}
+
+	/**
+	 * Read the headers of all files in a zip file without parsing them.
+	 * 
+	 * @param zipPath
+	 *            path to the file
+	 * @param headerHandler
+	 *            handler for the header of a file
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public static void scanZip(Path zipPath, BiConsumer<File, SourceHeader> headerHandler) throws IOException {
+		scanZip(zipPath, DEFAULT_FILE_FILTER, headerHandler);
+	}
+
+	/**
+	 * Read the headers of all files in a zip file without parsing them.
+	 * 
+	 * @param zipFile
+	 *            path to the file
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param headerHandler
+	 *            handler for the header of a file
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public static void scanZip(File zipFile, Predicate<File> fileFilter, BiConsumer<File, SourceHeader> headerHandler)
+			throws IOException {
+		scanZip(assertNotNull(zipFile).toPath(), fileFilter, headerHandler);
+	}
+
+	/**
+	 * Read the headers of all files in a zip file without parsing them.
+	 * 
+	 * @param zipFile
+	 *            path to the file
+	 * @param headerHandler
+	 *            handler for the header of a file
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public static void scanZip(File zipFile, BiConsumer<File, SourceHeader> headerHandler) throws IOException {
+		scanZip(zipFile, DEFAULT_FILE_FILTER, headerHandler);
+	}
+
+	/**
+	 * Collect the result of an analysis from a file.<br>
+	 * Note: Uses UTF-8 encoding.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @param <R>
+	 *            type of the result
+	 * @param path
+	 *            path to the file where the user has read access
+	 * @param problemHandler
+	 *            handler for parsing problems
+	 * @param collector
+	 *            collector of the analysis
+	 * @return result of the analysis
+	 * @throws FileNotFoundException
+	 *             if the file cannot be opened to read it
+	 * @since 1.1.0
+	 */
+	public static <A, R> R collectFile(Path path, BiConsumer<File, List<Problem>> problemHandler,
+			UnitCollector<A, R> collector) throws FileNotFoundException {
+		CollectorHandler<A, R> handler = new CollectorHandler<>(collector);
+		analyzeFile(path, problemHandler, handler);
+		return handler.finish();
+	}
+
+	/**
+	 * Collect the result of an analysis from all files of a folder. Every thread
+	 * of a staged run accumulates into its own container, and the containers are
+	 * combined at the end.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @param <R>
+	 *            type of the result
+	 * @param folder
+	 *            path to the folder
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param problemHandler
+	 *            handler for parsing problems
+	 * @param unitFilter
+	 *            filter for compilation unit
+	 * @param collector
+	 *            collector of the analysis
+	 * @return result of the analysis
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is parsed
+	 * @since 1.1.0
+	 */
+	public static <A, R> R collectFolder(Path folder, Predicate<File> fileFilter,
+			BiConsumer<File, List<Problem>> problemHandler, Predicate<CompilationUnit> unitFilter,
+			UnitCollector<A, R> collector) throws IOException {
+		CollectorHandler<A, R> handler = new CollectorHandler<>(collector);
+		analyzeFolder(folder, fileFilter, problemHandler, unitFilter, handler);
+		return handler.finish();
+	}
+
+	/**
+	 * Collect the result of an analysis from all files of a folder.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @param <R>
+	 *            type of the result
+	 * @param folder
+	 *            path to the folder
+	 * @param problemHandler
+	 *            handler for parsing problems
+	 * @param collector
+	 *            collector of the analysis
+	 * @return result of the analysis
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is parsed
+	 * @since 1.1.0
+	 */
+	public static <A, R> R collectFolder(Path folder, BiConsumer<File, List<Problem>> problemHandler,
+			UnitCollector<A, R> collector) throws IOException {
+		return collectFolder(folder, DEFAULT_FILE_FILTER, problemHandler, DEFAULT_UNIT_FILTER, collector);
+	}
+
+	/**
+	 * Collect the result of an analysis from all files of a folder.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @param <R>
+	 *            type of the result
+	 * @param folder
+	 *            path to the folder
+	 * @param collector
+	 *            collector of the analysis
+	 * @return result of the analysis
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is parsed
+	 * @since 1.1.0
+	 */
+	public static <A, R> R collectFolder(Path folder, UnitCollector<A, R> collector) throws IOException {
+		return collectFolder(folder, DEFAULT_FILE_PROBLEM_HANDLER, collector);
+	}
+
+	/**
+	 * Collect the result of an analysis from all files of a folder.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @param <R>
+	 *            type of the result
+	 * @param folder
+	 *            folder with the files
+	 * @param problemHandler
+	 *            handler for parsing problems
+	 * @param collector
+	 *            collector of the analysis
+	 * @return result of the analysis
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is parsed
+	 * @since 1.1.0
+	 */
+	public static <A, R> R collectFolder(File folder, BiConsumer<File, List<Problem>> problemHandler,
+			UnitCollector<A, R> collector) throws IOException {
+		return collectFolder(assertNotNull(folder).toPath(), problemHandler, collector);
+	}
+
+	/**
+	 * Collect the result of an analysis from all java files of a zip file. Every
+	 * thread of a staged run accumulates into its own container, and the
+	 * containers are combined at the end.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @param <R>
+	 *            type of the result
+	 * @param zipPath
+	 *            path to the zip file
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param problemHandler
+	 *            handler for parsing problems
+	 * @param unitFilter
+	 *            filter for compilation unit
+	 * @param collector
+	 *            collector of the analysis
+	 * @return result of the analysis
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is parsed
+	 * @since 1.1.0
+	 */
+	public static <A, R> R collectZip(Path zipPath, Predicate<File> fileFilter,
+			BiConsumer<File, List<Problem>> problemHandler, Predicate<CompilationUnit> unitFilter,
+			UnitCollector<A, R> collector) throws IOException {
+		CollectorHandler<A, R> handler = new CollectorHandler<>(collector);
+		analyzeZip(zipPath, fileFilter, problemHandler, unitFilter, handler);
+		return handler.finish();
+	}
+
+	/**
+	 * Collect the result of an analysis from all java files of a zip file.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @param <R>
+	 *            type of the result
+	 * @param zipPath
+	 *            path to the zip file
+	 * @param problemHandler
+	 *            handler for parsing problems
+	 * @param collector
+	 *            collector of the analysis
+	 * @return result of the analysis
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is parsed
+	 * @since 1.1.0
+	 */
+	public static <A, R> R collectZip(Path zipPath, BiConsumer<File, List<Problem>> problemHandler,
+			UnitCollector<A, R> collector) throws IOException {
+		return collectZip(zipPath, DEFAULT_FILE_FILTER, problemHandler, DEFAULT_UNIT_FILTER, collector);
+	}
+
+	/**
+	 * Collect the result of an analysis from all java files of a zip file.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @param <R>
+	 *            type of the result
+	 * @param zipPath
+	 *            path to the zip file
+	 * @param collector
+	 *            collector of the analysis
+	 * @return result of the analysis
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is parsed
+	 * @since 1.1.0
+	 */
+	public static <A, R> R collectZip(Path zipPath, UnitCollector<A, R> collector) throws IOException {
+		return collectZip(zipPath, DEFAULT_FILE_PROBLEM_HANDLER, collector);
+	}
+
+	/**
+	 * Collect the result of an analysis from all java files of a zip file.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @param <R>
+	 *            type of the result
+	 * @param zipFile
+	 *            zip file with the java files
+	 * @param problemHandler
+	 *            handler for parsing problems
+	 * @param collector
+	 *            collector of the analysis
+	 * @return result of the analysis
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is parsed
+	 * @since 1.1.0
+	 */
+	public static <A, R> R collectZip(File zipFile, BiConsumer<File, List<Problem>> problemHandler,
+			UnitCollector<A, R> collector) throws IOException {
+		return collectZip(assertNotNull(zipFile).toPath(), problemHandler, collector);
+	}
+
 	/**
 	 * Analyze java code from a file.
 	 * 
@@ -17,18 +17,24 @@ package com.flaxel.parser;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import com.flaxel.parser.utils.IOUtils;
+import com.flaxel.parser.utils.SharedPrinter;
 import com.github.javaparser.ast.Node;
-import com.github.javaparser.printer.PrettyPrinter;
 
 import static com.github.javaparser.utils.Utils.assertNotNull;
 
@@ -43,7 +49,7 @@ public class Generator {
 	/**
 	 * printer to create a string from a node
 	 */
-	private static Function<Node, String> printer = new PrettyPrinter()::print;
+	private static Function<Node, String> printer = SharedPrinter.getDefault();
 
 	/**
 	 * default charset for encoding
@@ -250,7 +256,10 @@ public class Generator {
 	public static String generate(Supplier<? extends Node> supplier, Path path, Charset charset, OpenOption... options)
 			throws IOException {
 		String code = generate(supplier);
-		Files.writeString(path, code, charset, options);
+		try (WritableByteChannel channel = open(path, options)) {
+			IOUtils.write(code, channel, charset);
+		}
+
 		return code;
 	}
 
@@ -275,7 +284,195 @@ public class Generator {
 	public static String generate(Callable<? extends Node> callable, Path path, Charset charset, OpenOption... options)
 			throws Exception {
 		String code = generate(callable);
-		Files.writeString(path, code, charset, options);
+		try (WritableByteChannel channel = open(path, options)) {
+			IOUtils.write(code, channel, charset);
+		}
+
 		return code;
 	}
+
+	/**
+	 * Generate java code and write it to a writer. The code is written in
+	 * chunks, so that no further copy of the code is created.
+	 * 
+	 * @param supplier
+	 *            provider to generate code
+	 * @param writer
+	 *            target writer, which is not closed
+	 * @return number of written characters
+	 * @throws IOException
+	 *             if an i/o error occurred while the code is written
+	 * @since 1.1.0
+	 */
+	public static long generate(Supplier<? extends Node> supplier, Writer writer) throws IOException {
+		Node node = assertNotNull(supplier).get();
+		return IOUtils.write(printer.apply(node), writer);
+	}
+
+	/**
+	 * Generate java code and write it to a channel. The code is encoded in
+	 * chunks, so that no byte array of the whole code is created.
+	 * 
+	 * @param supplier
+	 *            provider to generate code
+	 * @param channel
+	 *            target channel, which is not closed
+	 * @param charset
+	 *            charset for encoding
+	 * @return number of written bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the code is written
+	 * @since 1.1.0
+	 */
+	public static long generate(Supplier<? extends Node> supplier, WritableByteChannel channel, Charset charset)
+			throws IOException {
+		Node node = assertNotNull(supplier).get();
+		return IOUtils.write(printer.apply(node), channel, charset);
+	}
+
+	/**
+	 * Generate java code and replace the file atomically.<br>
+	 * Note: Uses UTF-8 encoding.
+	 * 
+	 * @param supplier
+	 *            provider to generate code
+	 * @param path
+	 *            path to the file where the user has write access
+	 * @return number of written bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is written
+	 * @since 1.1.0
+	 */
+	public static long generateAtomic(Supplier<? extends Node> supplier, Path path) throws IOException {
+		return generateAtomic(supplier, path, DEFAULT_CHARSET);
+	}
+
+	/**
+	 * Generate java code and replace the file atomically. The code is written to
+	 * a temporary file in the same folder, which is renamed afterwards, so that
+	 * no partially written file is visible.
+	 * 
+	 * @param supplier
+	 *            provider to generate code
+	 * @param path
+	 *            path to the file where the user has write access
+	 * @param charset
+	 *            charset for encoding
+	 * @return number of written bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is written
+	 * @since 1.1.0
+	 */
+	public static long generateAtomic(Supplier<? extends Node> supplier, Path path, Charset charset)
+			throws IOException {
+		Node node = assertNotNull(supplier).get();
+		return IOUtils.writeAtomic(printer.apply(node), path, charset);
+	}
+
+	/**
+	 * Generate java code and write it to a writer. The code is written in
+	 * chunks, so that no further copy of the code is created.
+	 * 
+	 * @param callable
+	 *            provider to generate code
+	 * @param writer
+	 *            target writer, which is not closed
+	 * @return number of written characters
+	 * @throws Exception
+	 *             if an i/o error occurred while the code is written or the
+	 *             callback was not executable
+	 * @since 1.1.0
+	 */
+	public static long generate(Callable<? extends Node> callable, Writer writer) throws Exception {
+		Node node = assertNotNull(callable).call();
+		return IOUtils.write(printer.apply(node), writer);
+	}
+
+	/**
+	 * Generate java code and write it to a channel. The code is encoded in
+	 * chunks, so that no byte array of the whole code is created.
+	 * 
+	 * @param callable
+	 *            provider to generate code
+	 * @param channel
+	 *            target channel, which is not closed
+	 * @param charset
+	 *            charset for encoding
+	 * @return number of written bytes
+	 * @throws Exception
+	 *             if an i/o error occurred while the code is written or the
+	 *             callback was not executable
+	 * @since 1.1.0
+	 */
+	public static long generate(Callable<? extends Node> callable, WritableByteChannel channel, Charset charset)
+			throws Exception {
+		Node node = assertNotNull(callable).call();
+		return IOUtils.write(printer.apply(node), channel, charset);
+	}
+
+	/**
+	 * Generate java code and replace the file atomically.<br>
+	 * Note: Uses UTF-8 encoding.
+	 * 
+	 * @param callable
+	 *            provider to generate code
+	 * @param path
+	 *            path to the file where the user has write access
+	 * @return number of written bytes
+	 * @throws Exception
+	 *             if an i/o error occurred while the file is written or the
+	 *             callback was not executable
+	 * @since 1.1.0
+	 */
+	public static long generateAtomic(Callable<? extends Node> callable, Path path) throws Exception {
+		return generateAtomic(callable, path, DEFAULT_CHARSET);
+	}
+
+	/**
+	 * Generate java code and replace the file atomically. The code is written to
+	 * a temporary file in the same folder, which is renamed afterwards, so that
+	 * no partially written file is visible.
+	 * 
+	 * @param callable
+	 *            provider to generate code
+	 * @param path
+	 *            path to the file where the user has write access
+	 * @param charset
+	 *            charset for encoding
+	 * @return number of written bytes
+	 * @throws Exception
+	 *             if an i/o error occurred while the file is written or the
+	 *             callback was not executable
+	 * @since 1.1.0
+	 */
+	public static long generateAtomic(Callable<? extends Node> callable, Path path, Charset charset)
+			throws Exception {
+		Node node = assertNotNull(callable).call();
+		return IOUtils.writeAtomic(printer.apply(node), path, charset);
+	}
+
+	/**
+	 * Open a channel to write a file with the same default options as
+	 * {@link Files#newOutputStream(Path, OpenOption...)}.
+	 * 
+	 * @param path
+	 *            path to the file
+	 * @param options
+	 *            valid options specifying how the file is opened
+	 * @return writable channel
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is opened
+	 * @since 1.1.0
+	 */
+	private static WritableByteChannel open(Path path, OpenOption... options) throws IOException {
+		Set<OpenOption> openOptions = new HashSet<>(Arrays.asList(assertNotNull(options)));
+
+		if (openOptions.isEmpty()) {
+			openOptions.add(StandardOpenOption.CREATE);
+			openOptions.add(StandardOpenOption.TRUNCATE_EXISTING);
+		}
+
+		openOptions.add(StandardOpenOption.WRITE);
+		return Files.newByteChannel(path, openOptions);
+	}
 }
@@ -20,16 +20,32 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import com.flaxel.parser.engine.Engine;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
@@ -50,9 +66,61 @@ public class Parser {
 	 */
 	private static ParserConfiguration configuration = new ParserConfiguration();
 
+	/**
+	 * cache for all created type solvers with the absolute files as key
+	 */
+	private static final Map<List<File>, CachedTypeSolver> typeSolvers = new ConcurrentHashMap<>();
+
+	/**
+	 * true if the created type solvers should be cached, otherwise false
+	 */
+	private static boolean typeSolverCaching;
+
+	/**
+	 * Set the value whether the created type solvers should be cached. A cached
+	 * type solver keeps the compilation units, which it parsed to resolve types,
+	 * so that a long running process can answer repeated requests for the same
+	 * files much faster. It is created again as soon as a file was added, changed
+	 * or removed in a package folder, which it has read, or an archive was
+	 * changed. The parsed compilation units of the analyzed files are not cached,
+	 * because the handlers may change them.
+	 * 
+	 * @param typeSolverCaching
+	 *            new value
+	 * @since 1.1.0
+	 */
+	public static void setTypeSolverCaching(boolean typeSolverCaching) {
+		Parser.typeSolverCaching = typeSolverCaching;
+
+		if (!typeSolverCaching) {
+			clearTypeSolverCache();
+		}
+	}
+
+	/**
+	 * Get the value whether the created type solvers are cached.
+	 * 
+	 * @return true if the type solvers are cached, otherwise false
+	 * @since 1.1.0
+	 */
+	public static boolean isTypeSolverCaching() {
+		return typeSolverCaching;
+	}
+
+	/**
+	 * Remove all cached type solvers, e.g. if the source files were changed.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static void clearTypeSolverCache() {
+		typeSolvers.values().forEach(CachedTypeSolver::release);
+		typeSolvers.clear();
+	}
+
 	/**
 	 * Create a new combined type solver for all files and the jre. A file can be a
-	 * folder or a jar archive.
+	 * folder or a jar archive.<br>
+	 * Note: Returns a cached type solver if the caching is enabled.
 	 * 
 	 * @param files
 	 *            all files
@@ -64,19 +132,71 @@ public class Parser {
 	public static JavaSymbolSolver createTypeSolver(File... files) throws IOException {
 		assertNotNull(files);
 
-		List<String> availableArchives = List.of("jar", "zip");
+		if (!typeSolverCaching)
+			return newTypeSolver(JavaParserTypeSolver::new, files);
+
+		List<File> key = Arrays.stream(files)
+				.map((file) -> assertNotNull(file).getAbsoluteFile())
+				.collect(Collectors.toList());
+
+		try {
+			return typeSolvers.compute(key, (k, cached) -> {
+				if (cached != null && !cached.isStale())
+					return cached;
+
+				if (cached != null) {
+					cached.release();
+				}
+
+				try {
+					return new CachedTypeSolver(files);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}).solver;
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Check whether a file is an archive, which is read by a jar type solver.
+	 * 
+	 * @param file
+	 *            any file
+	 * @return true if it is a jar or zip archive, otherwise false
+	 * @since 1.1.0
+	 */
+	private static boolean isArchive(File file) {
+		return file.isFile() && List.of("jar", "zip").contains(file.getName().split("\\.")[1]);
+	}
+
+	/**
+	 * Create a new combined type solver for all files and the jre.
+	 * 
+	 * @param sources
+	 *            function to create a type solver for a source folder
+	 * @param files
+	 *            all files
+	 * @return java symbol resolver
+	 * @throws IOException
+	 *             if an i/o error occurred while a archive is read
+	 * @since 1.1.0
+	 */
+	private static JavaSymbolSolver newTypeSolver(BiFunction<File, ParserConfiguration, TypeSolver> sources,
+			File... files) throws IOException {
 		CombinedTypeSolver combined = new CombinedTypeSolver();
 		combined.add(new ReflectionTypeSolver());
 
 		for (File file : files) {
 			assertNotNull(file);
 			if (file.isDirectory()) {
-				combined.add(new JavaParserTypeSolver(file, configuration));
-			} else if (file.isFile() && availableArchives.contains(file.getName().split("\\.")[1])) {
+				combined.add(sources.apply(file, configuration));
+			} else if (isArchive(file)) {
 				combined.add(JarTypeSolver.getJarTypeSolver(file.getPath()));
 			} else {
-				if (file.getParent() != null) {
-					combined.add(new JavaParserTypeSolver(file.getParent()));
+				if (file.getParentFile() != null) {
+					combined.add(sources.apply(file.getParentFile(), new ParserConfiguration()));
 				}
 			}
 		}
@@ -158,6 +278,20 @@ public class Parser {
 		Parser.configuration = configuration;
 	}
 
+	/**
+	 * Set the engine to parse all files of a folder or an archive.
+	 * 
+	 * @param engine
+	 *            new engine
+	 * @since 1.1.0
+	 */
+	public static void setEngine(Engine engine) {
+		assertNotNull(engine);
+
+		Analyzer.setEngine(engine);
+		Transformer.setEngine(engine);
+	}
+
 	/**
 	 * Set a new printer to create a string from a {@link Node}
 	 * 
@@ -170,4 +304,197 @@ public class Parser {
 
 		Generator.setPrinter(printer);
 	}
+
+	/**
+	 * This class is used to cache a type solver with a watch service for all
+	 * package folders, which it has read, and the modification times of all
+	 * archives. So it is not necessary to walk the folders on every request.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class CachedTypeSolver {
+
+		/**
+		 * watch service for all read package folders
+		 */
+		private final WatchService watcher;
+
+		/**
+		 * all registered package folders
+		 */
+		private final Set<Path> folders = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * modification times of all archives, when the type solver was created
+		 */
+		private final Map<File, Long> archives = new HashMap<>();
+
+		/**
+		 * cached type solver
+		 */
+		private final JavaSymbolSolver solver;
+
+		/**
+		 * true if a watched file was changed or a folder could not be watched
+		 */
+		private volatile boolean stale;
+
+		/**
+		 * Initialize the cached type solver.
+		 * 
+		 * @param files
+		 *            all files
+		 * @throws IOException
+		 *             if an i/o error occurred while a archive is read or the
+		 *             watch service is created
+		 * @since 1.1.0
+		 */
+		CachedTypeSolver(File... files) throws IOException {
+			watcher = FileSystems.getDefault().newWatchService();
+
+			try {
+				for (File file : files) {
+					if (isArchive(file)) {
+						archives.put(file, file.lastModified());
+					}
+				}
+
+				solver = newTypeSolver((folder, configuration) -> new WatchedTypeSolver(folder, configuration, this),
+						files);
+			} catch (IOException | RuntimeException e) {
+				watcher.close();
+				throw e;
+			}
+		}
+
+		/**
+		 * Register a package folder, which is read by the type solver, so that
+		 * the type solver is stale as soon as a file in it was added, changed or
+		 * removed. The type solver is stale at once if the folder cannot be
+		 * watched.
+		 * 
+		 * @param folder
+		 *            package folder
+		 * @since 1.1.0
+		 */
+		void watch(Path folder) {
+			if (!folders.add(folder))
+				return;
+
+			try {
+				folder.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+						StandardWatchEventKinds.ENTRY_MODIFY);
+			} catch (IOException | ClosedWatchServiceException e) {
+				stale = true;
+			}
+		}
+
+		/**
+		 * Check whether a watched file was changed since the type solver was
+		 * created.
+		 * 
+		 * @return true if the type solver has to be created again, otherwise false
+		 * @since 1.1.0
+		 */
+		boolean isStale() {
+			if (!stale && watcher.poll() != null) {
+				stale = true;
+			}
+
+			if (!stale && archives.entrySet()
+					.stream()
+					.anyMatch((entry) -> entry.getKey().lastModified() != entry.getValue())) {
+				stale = true;
+			}
+
+			return stale;
+		}
+
+		/**
+		 * Close the watch service, because the type solver is not cached anymore.
+		 * 
+		 * @since 1.1.0
+		 */
+		void release() {
+			stale = true;
+
+			try {
+				watcher.close();
+			} catch (IOException e) {
+				// ignore: the type solver is not used anymore
+			}
+		}
+	}
+
+	/**
+	 * This class is used to watch all package folders, which are read to solve a
+	 * type.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class WatchedTypeSolver extends JavaParserTypeSolver {
+
+		/**
+		 * source folder of the type solver
+		 */
+		private final Path folder;
+
+		/**
+		 * cached type solver, which watches the package folders
+		 */
+		private final CachedTypeSolver cached;
+
+		/**
+		 * all names, whose package folders are watched
+		 */
+		private final Set<String> names = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * Initialize the watched type solver and watch the source folder.
+		 * 
+		 * @param folder
+		 *            source folder
+		 * @param configuration
+		 *            parser configuration
+		 * @param cached
+		 *            cached type solver, which watches the package folders
+		 * @since 1.1.0
+		 */
+		WatchedTypeSolver(File folder, ParserConfiguration configuration, CachedTypeSolver cached) {
+			super(folder, configuration);
+			this.folder = folder.toPath();
+			this.cached = cached;
+
+			cached.watch(this.folder);
+		}
+
+		/**
+		 * Watch all existing package folders of the name and solve the type.
+		 * 
+		 * @param name
+		 *            qualified name of the type
+		 * @return reference to the solved type
+		 * @since 1.1.0
+		 */
+		@Override
+		public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+			if (names.add(name)) {
+				String[] parts = name.split("\\.");
+				Path current = folder;
+
+				for (int i = 0; i < parts.length - 1; i++) {
+					current = current.resolve(parts[i]);
+
+					if (!Files.isDirectory(current))
+						break;
+
+					cached.watch(current);
+				}
+			}
+
+			return super.tryToSolveType(name);
+		}
+	}
 }
@@ -27,14 +27,12 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-import com.github.javaparser.JavaParser;
+import com.flaxel.parser.engine.Engine;
+import com.flaxel.parser.engine.ParseMode;
 import com.github.javaparser.ParseResult;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.Problem;
 import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.utils.SourceRoot;
-import com.github.javaparser.utils.SourceRoot.Callback.Result;
-import com.github.javaparser.utils.SourceZip;
 
 import static com.github.javaparser.utils.Utils.assertNotNull;
 
@@ -51,6 +49,11 @@ public class Transformer {
 	 */
 	private static ParserConfiguration configuration = new ParserConfiguration();
 
+	/**
+	 * engine to parse all files of a folder or an archive
+	 */
+	private static Engine engine = new Engine();
+
 	/**
 	 * default charset for encoding
 	 */
@@ -97,6 +100,27 @@ public class Transformer {
 		return configuration;
 	}
 
+	/**
+	 * Set the engine to parse all files of a folder or an archive.
+	 * 
+	 * @param engine
+	 *            new engine
+	 * @since 1.1.0
+	 */
+	public static void setEngine(Engine engine) {
+		Transformer.engine = assertNotNull(engine);
+	}
+
+	/**
+	 * Get the current engine to parse all files of a folder or an archive.
+	 * 
+	 * @return current engine
+	 * @since 1.1.0
+	 */
+	public static Engine getEngine() {
+		return engine;
+	}
+
 	/**
 	 * Transform java code from a file.
 	 * 
@@ -109,7 +133,8 @@ public class Transformer {
 	 * @param unitHandler
 	 *            handler for compilation unit and resolving
 	 * @throws FileNotFoundException
-	 *             if the file cannot be opened to read it
+	 *             if the file cannot be opened to read it or its type solver
+	 *             cannot be created
 	 * @since 1.0.0
 	 */
 	public static void transformFile(File file, Charset charset, BiConsumer<File, List<Problem>> problemHandler,
@@ -118,10 +143,17 @@ public class Transformer {
 		try {
 			configuration.setSymbolResolver(Parser.createTypeSolver(file));
 		} catch (IOException e) {
-			// ignore: never happens
+			throw (FileNotFoundException) new FileNotFoundException(file.getPath()).initCause(e);
 		}
-		JavaParser parser = new JavaParser(configuration);
-		transform(file, parser.parse(file, charset), DEFAULT_FILE_FILTER, DEFAULT_UNIT_FILTER, problemHandler,
+		ParseResult<CompilationUnit> result;
+
+		try {
+			result = engine.parseFile(file.toPath(), charset, configuration, ParseMode.FULL);
+		} catch (IOException e) {
+			throw (FileNotFoundException) new FileNotFoundException(file.getPath()).initCause(e);
+		}
+
+		transform(file, result, DEFAULT_FILE_FILTER, DEFAULT_UNIT_FILTER, problemHandler,
 				unitHandler);
 	}
 
@@ -275,10 +307,8 @@ public class Transformer {
 			BiConsumer<File, CompilationUnit> unitHandler) throws IOException {
 		assertNotNull(folder);
 		configuration.setSymbolResolver(Parser.createTypeSolver(folder));
-		SourceRoot root = new SourceRoot(folder, configuration);
-		root.parse("", (localPath, absolutePath, result) -> {
-			transform(absolutePath.toFile(), result, fileFilter, unitFilter, problemHandler, unitHandler);
-			return Result.DONT_SAVE;
+		engine.parseFolder(folder, configuration, fileFilter, (file, result) -> {
+			transform(file, result, DEFAULT_FILE_FILTER, unitFilter, problemHandler, unitHandler);
 		});
 	}
 
@@ -587,9 +617,8 @@ public class Transformer {
 			Consumer<CompilationUnit> unitHandler) throws IOException {
 		assertNotNull(zipPath);
 		configuration.setSymbolResolver(Parser.createTypeSolver(zipPath));
-		SourceZip archive = new SourceZip(zipPath, configuration);
-		archive.parse((relativeZipEntryPath, result) -> {
-			transform(relativeZipEntryPath.toFile(), result, fileFilter, unitFilter, problemHandler, unitHandler);
+		engine.parseZip(zipPath, configuration, fileFilter, (file, result) -> {
+			transform(file, result, DEFAULT_FILE_FILTER, unitFilter, problemHandler, unitHandler);
 		});
 	}
 
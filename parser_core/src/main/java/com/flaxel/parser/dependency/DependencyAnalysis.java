@@ -0,0 +1,245 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.dependency;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to analyze a dependency graph. All algorithms work on the
+ * int indices of the nodes and emit every result to a handler as soon as it is
+ * found, so that no result list is kept for large graphs.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class DependencyAnalysis {
+
+	/**
+	 * layer of a node, which does not belong to any layer
+	 */
+	public static final int NO_LAYER = -1;
+
+	/**
+	 * Find all strongly connected components with the algorithm of Tarjan. The
+	 * recursion is replaced by explicit int stacks, so that long dependency
+	 * chains do not overflow the thread stack. The components are emitted in
+	 * reverse topological order, i.e. a component is emitted after all
+	 * components it depends on.
+	 * 
+	 * @param graph
+	 *            dependency graph
+	 * @param componentHandler
+	 *            handler for the sorted node indices of every component
+	 * @return number of all components
+	 * @since 1.1.0
+	 */
+	public static int components(DependencyGraph graph, Consumer<int[]> componentHandler) {
+		assertNotNull(graph);
+		assertNotNull(componentHandler);
+
+		int size = graph.size();
+		int[] index = new int[size];
+		int[] low = new int[size];
+		boolean[] onStack = new boolean[size];
+		int[] stack = new int[size];
+		int[] callNode = new int[size];
+		int[] callEdge = new int[size];
+		int stackSize = 0;
+		int counter = 0;
+		int components = 0;
+
+		Arrays.fill(index, -1);
+
+		for (int root = 0; root < size; root++) {
+			if (index[root] != -1)
+				continue;
+
+			int depth = 0;
+			callNode[0] = root;
+			callEdge[0] = 0;
+			index[root] = low[root] = counter++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+
+			while (depth >= 0) {
+				int node = callNode[depth];
+
+				if (callEdge[depth] < graph.getDegree(node)) {
+					int next = graph.getDependency(node, callEdge[depth]++);
+
+					if (index[next] == -1) {
+						index[next] = low[next] = counter++;
+						stack[stackSize++] = next;
+						onStack[next] = true;
+						callNode[++depth] = next;
+						callEdge[depth] = 0;
+					} else if (onStack[next]) {
+						low[node] = Math.min(low[node], index[next]);
+					}
+
+					continue;
+				}
+
+				if (low[node] == index[node]) {
+					int start = stackSize;
+
+					do {
+						onStack[stack[--start]] = false;
+					} while (stack[start] != node);
+
+					int[] component = Arrays.copyOfRange(stack, start, stackSize);
+					stackSize = start;
+					Arrays.sort(component);
+					componentHandler.accept(component);
+					components++;
+				}
+
+				if (--depth >= 0) {
+					int parent = callNode[depth];
+					low[parent] = Math.min(low[parent], low[node]);
+				}
+			}
+		}
+
+		return components;
+	}
+
+	/**
+	 * Find all cycles, i.e. all strongly connected components with more than one
+	 * node.
+	 * 
+	 * @param graph
+	 *            dependency graph
+	 * @param cycleHandler
+	 *            handler for the sorted node indices of every cycle
+	 * @return number of all cycles
+	 * @since 1.1.0
+	 */
+	public static int cycles(DependencyGraph graph, Consumer<int[]> cycleHandler) {
+		assertNotNull(cycleHandler);
+
+		int[] cycles = new int[1];
+
+		components(graph, (component) -> {
+			if (component.length > 1) {
+				cycles[0]++;
+				cycleHandler.accept(component);
+			}
+		});
+
+		return cycles[0];
+	}
+
+	/**
+	 * Get the layer of every node. A layer is a package prefix, the first layer
+	 * is the top one. A node belongs to the layer with the longest matching
+	 * prefix.
+	 * 
+	 * @param graph
+	 *            dependency graph
+	 * @param layers
+	 *            package prefixes of all layers from top to bottom
+	 * @return layer of every node or {@link #NO_LAYER}
+	 * @since 1.1.0
+	 */
+	public static int[] layers(DependencyGraph graph, List<String> layers) {
+		assertNotNull(graph);
+		assertNotNull(layers);
+
+		int[] result = new int[graph.size()];
+
+		for (int node = 0; node < result.length; node++) {
+			String name = graph.getName(node);
+			int best = NO_LAYER;
+
+			for (int layer = 0; layer < layers.size(); layer++) {
+				String prefix = layers.get(layer);
+				boolean matches = name.equals(prefix)
+						|| (name.startsWith(prefix) && name.charAt(prefix.length()) == '.');
+
+				if (matches && (best == NO_LAYER || prefix.length() > layers.get(best).length())) {
+					best = layer;
+				}
+			}
+
+			result[node] = best;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Find all layering violations, i.e. all edges from a node in a lower layer
+	 * to a node in a higher layer. Nodes without layer are ignored.
+	 * 
+	 * @param graph
+	 *            dependency graph
+	 * @param layers
+	 *            package prefixes of all layers from top to bottom
+	 * @param violationHandler
+	 *            handler for the node indices of every violating edge
+	 * @return number of all violations
+	 * @since 1.1.0
+	 */
+	public static int layerViolations(DependencyGraph graph, List<String> layers, EdgeConsumer violationHandler) {
+		assertNotNull(violationHandler);
+
+		int[] layer = layers(graph, layers);
+		int violations = 0;
+
+		for (int from = 0; from < layer.length; from++) {
+			if (layer[from] == NO_LAYER)
+				continue;
+
+			for (int position = 0; position < graph.getDegree(from); position++) {
+				int to = graph.getDependency(from, position);
+
+				if (layer[to] != NO_LAYER && layer[to] < layer[from]) {
+					violations++;
+					violationHandler.accept(from, to);
+				}
+			}
+		}
+
+		return violations;
+	}
+
+	/**
+	 * This interface is used to handle an edge of a dependency graph without
+	 * boxing the node indices.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	@FunctionalInterface
+	public interface EdgeConsumer {
+
+		/**
+		 * Handle an edge.
+		 * 
+		 * @param from
+		 *            index of the dependent node
+		 * @param to
+		 *            index of the dependency
+		 * @since 1.1.0
+		 */
+		void accept(int from, int to);
+	}
+}
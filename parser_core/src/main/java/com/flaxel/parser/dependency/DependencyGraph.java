@@ -0,0 +1,289 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.dependency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to describe a directed dependency graph. Every node has an
+ * index, and the dependencies of a node are kept in a plain int array, so that
+ * algorithms over large graphs do not box any index. An external node is a
+ * dependency, which is not part of the analyzed source code.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class DependencyGraph {
+
+	/**
+	 * initial capacity of the dependencies of a node
+	 */
+	private static final int INITIAL_DEGREE = 4;
+
+	/**
+	 * empty dependencies
+	 */
+	private static final int[] NO_DEPENDENCIES = new int[0];
+
+	/**
+	 * names of all nodes by their index
+	 */
+	private final List<String> names = new ArrayList<>();
+
+	/**
+	 * indices of all nodes by their name
+	 */
+	private final Map<String, Integer> indices = new HashMap<>();
+
+	/**
+	 * all external nodes
+	 */
+	private final BitSet external = new BitSet();
+
+	/**
+	 * dependencies of all nodes by their index
+	 */
+	private int[][] dependencies = new int[16][];
+
+	/**
+	 * number of dependencies of all nodes by their index
+	 */
+	private int[] degrees = new int[16];
+
+	/**
+	 * number of all edges
+	 */
+	private int edges;
+
+	/**
+	 * Add a node, if it does not exist yet.
+	 * 
+	 * @param name
+	 *            name of the node
+	 * @return index of the node
+	 * @since 1.1.0
+	 */
+	public int addNode(String name) {
+		Integer index = indices.get(assertNotNull(name));
+
+		if (index != null)
+			return index;
+
+		int node = names.size();
+
+		if (node == degrees.length) {
+			dependencies = Arrays.copyOf(dependencies, node * 2);
+			degrees = Arrays.copyOf(degrees, node * 2);
+		}
+
+		names.add(name);
+		indices.put(name, node);
+		return node;
+	}
+
+	/**
+	 * Add an external node, if it does not exist yet.
+	 * 
+	 * @param name
+	 *            name of the node
+	 * @return index of the node
+	 * @since 1.1.0
+	 */
+	public int addExternalNode(String name) {
+		boolean exists = indices.containsKey(assertNotNull(name));
+		int node = addNode(name);
+
+		if (!exists) {
+			external.set(node);
+		}
+
+		return node;
+	}
+
+	/**
+	 * Add a dependency from one node to another one, if it does not exist yet.
+	 * 
+	 * @param from
+	 *            index of the dependent node
+	 * @param to
+	 *            index of the dependency
+	 * @return true if the edge was added, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean addEdge(int from, int to) {
+		checkIndex(from);
+		checkIndex(to);
+
+		if (hasEdge(from, to))
+			return false;
+
+		int[] targets = dependencies[from];
+
+		if (targets == null) {
+			targets = dependencies[from] = new int[INITIAL_DEGREE];
+		} else if (degrees[from] == targets.length) {
+			targets = dependencies[from] = Arrays.copyOf(targets, targets.length * 2);
+		}
+
+		targets[degrees[from]++] = to;
+		edges++;
+		return true;
+	}
+
+	/**
+	 * Get the value whether a dependency from one node to another one exists.
+	 * 
+	 * @param from
+	 *            index of the dependent node
+	 * @param to
+	 *            index of the dependency
+	 * @return true if the edge exists, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean hasEdge(int from, int to) {
+		checkIndex(from);
+		int[] targets = dependencies[from];
+
+		for (int i = 0; i < degrees[from]; i++) {
+			if (targets[i] == to)
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Get the number of all nodes.
+	 * 
+	 * @return number of nodes
+	 * @since 1.1.0
+	 */
+	public int size() {
+		return names.size();
+	}
+
+	/**
+	 * Get the number of all edges.
+	 * 
+	 * @return number of edges
+	 * @since 1.1.0
+	 */
+	public int getEdgeCount() {
+		return edges;
+	}
+
+	/**
+	 * Get the name of a node.
+	 * 
+	 * @param node
+	 *            index of the node
+	 * @return name of the node
+	 * @since 1.1.0
+	 */
+	public String getName(int node) {
+		checkIndex(node);
+		return names.get(node);
+	}
+
+	/**
+	 * Get the index of a node.
+	 * 
+	 * @param name
+	 *            name of the node
+	 * @return index of the node or -1 if it does not exist
+	 * @since 1.1.0
+	 */
+	public int indexOf(String name) {
+		return indices.getOrDefault(assertNotNull(name), -1);
+	}
+
+	/**
+	 * Get the value whether a node is not part of the analyzed source code.
+	 * 
+	 * @param node
+	 *            index of the node
+	 * @return true if the node is external, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean isExternal(int node) {
+		checkIndex(node);
+		return external.get(node);
+	}
+
+	/**
+	 * Get the number of dependencies of a node.
+	 * 
+	 * @param node
+	 *            index of the node
+	 * @return number of dependencies
+	 * @since 1.1.0
+	 */
+	public int getDegree(int node) {
+		checkIndex(node);
+		return degrees[node];
+	}
+
+	/**
+	 * Get a dependency of a node.
+	 * 
+	 * @param node
+	 *            index of the node
+	 * @param position
+	 *            position of the dependency between zero and the degree
+	 * @return index of the dependency
+	 * @since 1.1.0
+	 */
+	public int getDependency(int node, int position) {
+		checkIndex(node);
+
+		if (position < 0 || position >= degrees[node])
+			throw new IndexOutOfBoundsException("The node has no dependency at " + position + ".");
+
+		return dependencies[node][position];
+	}
+
+	/**
+	 * Get all dependencies of a node.
+	 * 
+	 * @param node
+	 *            index of the node
+	 * @return copy of the indices of all dependencies
+	 * @since 1.1.0
+	 */
+	public int[] getDependencies(int node) {
+		checkIndex(node);
+		return degrees[node] == 0 ? NO_DEPENDENCIES : Arrays.copyOf(dependencies[node], degrees[node]);
+	}
+
+	/**
+	 * Check whether a node exists.
+	 * 
+	 * @param node
+	 *            index of the node
+	 * @since 1.1.0
+	 */
+	private void checkIndex(int node) {
+		if (node < 0 || node >= names.size())
+			throw new IndexOutOfBoundsException("The node " + node + " does not exist.");
+	}
+}
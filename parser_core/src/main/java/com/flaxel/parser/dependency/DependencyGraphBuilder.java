@@ -0,0 +1,279 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.dependency;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.flaxel.parser.engine.SourceHeader;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to collect the headers of all source files and to build a
+ * dependency graph from their imports and super types, e.g. with
+ * {@link com.flaxel.parser.engine.Engine#scanFolder}. An import is resolved to
+ * the longest known class or package, an unknown import is an external node or
+ * skipped. On class level a wildcard import only links the classes of the
+ * package, whose simple name is used in the source. Dependencies within a
+ * package are only visible through the super types, because the members are
+ * not read.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class DependencyGraphBuilder implements BiConsumer<File, SourceHeader> {
+
+	/**
+	 * wildcard at the end of an import
+	 */
+	private static final String WILDCARD = ".*";
+
+	/**
+	 * level of the nodes
+	 */
+	private final DependencyLevel level;
+
+	/**
+	 * headers of all source files in the order of their handling
+	 */
+	private final List<SourceHeader> headers = new ArrayList<>();
+
+	/**
+	 * true if unknown dependencies should be external nodes, otherwise false
+	 */
+	private boolean external;
+
+	/**
+	 * Initialize the builder.
+	 * 
+	 * @param level
+	 *            level of the nodes
+	 * @since 1.1.0
+	 */
+	public DependencyGraphBuilder(DependencyLevel level) {
+		this.level = assertNotNull(level);
+	}
+
+	/**
+	 * Set the value whether unknown dependencies, e.g. the JDK or libraries,
+	 * should be external nodes.
+	 * 
+	 * @param external
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public DependencyGraphBuilder external(boolean external) {
+		this.external = external;
+		return this;
+	}
+
+	/**
+	 * Collect the header of a source file.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param header
+	 *            header of the source file
+	 * @since 1.1.0
+	 */
+	@Override
+	public synchronized void accept(File source, SourceHeader header) {
+		assertNotNull(source);
+		headers.add(assertNotNull(header));
+	}
+
+	/**
+	 * Build the dependency graph of all collected headers. The nodes of the
+	 * source code have the lowest indices in the order of their first header.
+	 * 
+	 * @return new dependency graph
+	 * @since 1.1.0
+	 */
+	public synchronized DependencyGraph build() {
+		DependencyGraph graph = new DependencyGraph();
+		Map<String, String> classes = new HashMap<>();
+		Map<String, List<String>> packages = new HashMap<>();
+
+		for (SourceHeader header : headers) {
+			List<String> members = packages.computeIfAbsent(header.getPackageName(), (name) -> new ArrayList<>());
+
+			header.getQualifiedTypeName().ifPresent((name) -> {
+				classes.put(name, header.getPackageName());
+				members.add(name);
+			});
+
+			if (level == DependencyLevel.PACKAGE) {
+				graph.addNode(header.getPackageName());
+			} else {
+				header.getQualifiedTypeName().ifPresent(graph::addNode);
+			}
+		}
+
+		for (SourceHeader header : headers) {
+			String name = level == DependencyLevel.PACKAGE ? header.getPackageName()
+					: header.getQualifiedTypeName().orElse(null);
+
+			if (name == null)
+				continue;
+
+			int from = graph.indexOf(name);
+
+			for (String dependency : header.getImports()) {
+				link(graph, from, dependency, header, classes, packages);
+			}
+
+			for (String dependency : header.getStaticImports()) {
+				link(graph, from, parent(dependency), header, classes, packages);
+			}
+
+			for (String superType : header.getSuperTypes()) {
+				String qualified = header.getPackageName().isEmpty() ? superType
+						: header.getPackageName() + "." + superType;
+
+				if (classes.containsKey(qualified)) {
+					addEdge(graph, from, node(qualified, classes), false);
+				} else if (classes.containsKey(superType)) {
+					addEdge(graph, from, node(superType, classes), false);
+				}
+			}
+		}
+
+		return graph;
+	}
+
+	/**
+	 * Get the number of all collected headers.
+	 * 
+	 * @return number of headers
+	 * @since 1.1.0
+	 */
+	public synchronized int size() {
+		return headers.size();
+	}
+
+	/**
+	 * Remove all collected headers, e.g. before the next run.
+	 * 
+	 * @since 1.1.0
+	 */
+	public synchronized void clear() {
+		headers.clear();
+	}
+
+	/**
+	 * Add the edges of an import. The import is resolved to the longest known
+	 * class or to a known package for a wildcard import.
+	 * 
+	 * @param graph
+	 *            dependency graph
+	 * @param from
+	 *            index of the dependent node
+	 * @param dependency
+	 *            name of the import
+	 * @param header
+	 *            header of the dependent source file
+	 * @param classes
+	 *            packages of all known classes
+	 * @param packages
+	 *            classes of all known packages
+	 * @since 1.1.0
+	 */
+	private void link(DependencyGraph graph, int from, String dependency, SourceHeader header,
+			Map<String, String> classes, Map<String, List<String>> packages) {
+		boolean wildcard = dependency.endsWith(WILDCARD);
+		String name = wildcard ? dependency.substring(0, dependency.length() - WILDCARD.length()) : dependency;
+
+		if (wildcard && packages.containsKey(name)) {
+			if (level == DependencyLevel.PACKAGE) {
+				addEdge(graph, from, name, false);
+			} else {
+				// an unused class of the package is no dependency and would create false cycles
+				packages.get(name).stream()
+						.filter((member) -> header.getNames().contains(member.substring(member.lastIndexOf('.') + 1)))
+						.forEach((member) -> addEdge(graph, from, member, false));
+			}
+
+			return;
+		}
+
+		for (String prefix = name; !prefix.isEmpty(); prefix = parent(prefix)) {
+			if (classes.containsKey(prefix)) {
+				addEdge(graph, from, node(prefix, classes), false);
+				return;
+			}
+		}
+
+		if (external && !name.isEmpty()) {
+			addEdge(graph, from, level == DependencyLevel.CLASS || wildcard ? name : parent(name), true);
+		}
+	}
+
+	/**
+	 * Get the name of the node of a known class.
+	 * 
+	 * @param name
+	 *            qualified name of the class
+	 * @param classes
+	 *            packages of all known classes
+	 * @return name of the class or of its package
+	 * @since 1.1.0
+	 */
+	private String node(String name, Map<String, String> classes) {
+		return level == DependencyLevel.PACKAGE ? classes.get(name) : name;
+	}
+
+	/**
+	 * Add an edge from a node to another node, which is created if necessary. A
+	 * node does not depend on itself.
+	 * 
+	 * @param graph
+	 *            dependency graph
+	 * @param from
+	 *            index of the dependent node
+	 * @param target
+	 *            name of the dependency
+	 * @param external
+	 *            true if the dependency is not part of the source code,
+	 *            otherwise false
+	 * @since 1.1.0
+	 */
+	private static void addEdge(DependencyGraph graph, int from, String target, boolean external) {
+		int to = external ? graph.addExternalNode(target) : graph.addNode(target);
+
+		if (from != to) {
+			graph.addEdge(from, to);
+		}
+	}
+
+	/**
+	 * Remove the last part of a qualified name.
+	 * 
+	 * @param name
+	 *            qualified name
+	 * @return name without the last part or an empty string
+	 * @since 1.1.0
+	 */
+	private static String parent(String name) {
+		int index = name.lastIndexOf('.');
+		return index < 0 ? "" : name.substring(0, index);
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * It contains the dependency graph of packages and classes, which is built from
+ * the headers of all source files.
+ */
+package com.flaxel.parser.dependency;
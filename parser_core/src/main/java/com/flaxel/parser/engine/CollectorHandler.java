@@ -0,0 +1,172 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.io.File;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to run a {@link UnitCollector} as handler of a run. Every
+ * thread, which calls the handler, gets its own container, so that the
+ * compilation units are accumulated without a lock. The containers are
+ * combined once, when the result is requested after the run, and released
+ * afterwards, so that no thread of a shared executor keeps them reachable. The
+ * combined container is kept until the next units are added.
+ * 
+ * @param <A>
+ *            type of the mutable container
+ * @param <R>
+ *            type of the result
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class CollectorHandler<A, R> implements BiConsumer<File, CompilationUnit>, DeclarationsOnly {
+
+	/**
+	 * collector of the analysis
+	 */
+	private final UnitCollector<A, R> collector;
+
+	/**
+	 * slots of all threads, which called the handler
+	 */
+	private final Queue<Slot<A>> slots = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * slot of the current thread
+	 */
+	private final ThreadLocal<Slot<A>> slot;
+
+	/**
+	 * container with all released containers or null
+	 */
+	private A combined;
+
+	/**
+	 * Initialize the handler.
+	 * 
+	 * @param collector
+	 *            collector of the analysis
+	 * @since 1.1.0
+	 */
+	public CollectorHandler(UnitCollector<A, R> collector) {
+		this.collector = assertNotNull(collector);
+		this.slot = ThreadLocal.withInitial(Slot::new);
+	}
+
+	/**
+	 * Get the value whether the collector only needs the declarations.
+	 * 
+	 * @return true if the bodies can be skipped, otherwise false
+	 * @since 1.1.0
+	 */
+	@Override
+	public boolean isDeclarationsOnly() {
+		return DeclarationsOnly.test(collector);
+	}
+
+	/**
+	 * Add the compilation unit to the container of the current thread.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param unit
+	 *            entire compilation unit
+	 * @since 1.1.0
+	 */
+	@Override
+	public void accept(File source, CompilationUnit unit) {
+		assertNotNull(source);
+		assertNotNull(unit);
+
+		Slot<A> current = slot.get();
+
+		if (current.container == null) {
+			current.container = collector.supplier().get();
+			slots.add(current);
+		}
+
+		collector.accumulator().accept(current.container, source, unit);
+	}
+
+	/**
+	 * Combine the containers of all threads into one container and release the
+	 * containers of the threads. It must not be called while a run calls the
+	 * handler.
+	 * 
+	 * @return combined container
+	 * @since 1.1.0
+	 */
+	public A combine() {
+		A result = combined == null ? collector.supplier().get() : combined;
+
+		for (Slot<A> current = slots.poll(); current != null; current = slots.poll()) {
+			result = collector.combiner().apply(result, current.container);
+			current.container = null;
+		}
+
+		combined = result;
+		return result;
+	}
+
+	/**
+	 * Combine the containers of all threads and finish the result. It must not
+	 * be called while a run calls the handler.
+	 * 
+	 * @return result of the analysis
+	 * @since 1.1.0
+	 */
+	public R finish() {
+		return collector.finisher().apply(combine());
+	}
+
+	/**
+	 * Release the containers of all threads and the combined container, e.g.
+	 * before the next run.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void clear() {
+		for (Slot<A> current = slots.poll(); current != null; current = slots.poll()) {
+			current.container = null;
+		}
+
+		combined = null;
+	}
+
+	/**
+	 * This class is used to keep the container of a thread, so that it can be
+	 * released.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class Slot<A> {
+
+		/**
+		 * container of the thread or null if it was released
+		 */
+		private A container;
+	}
+}
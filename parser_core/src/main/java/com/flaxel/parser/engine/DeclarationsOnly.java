@@ -0,0 +1,52 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+/**
+ * This interface is used to mark a handler or a filter, which only needs the
+ * declarations of a compilation unit and no bodies of methods, constructors
+ * and initializers. A run with {@link ParseMode#AUTO} skips the bodies if the
+ * handler and the filter are marked.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public interface DeclarationsOnly {
+
+	/**
+	 * Get the value whether only the declarations are needed. A composite can
+	 * decide it from its parts.
+	 * 
+	 * @return true if the bodies can be skipped, otherwise false
+	 * @since 1.1.0
+	 */
+	default boolean isDeclarationsOnly() {
+		return true;
+	}
+
+	/**
+	 * Check whether an object only needs the declarations.
+	 * 
+	 * @param object
+	 *            any handler or filter
+	 * @return true if the object is marked and only needs the declarations,
+	 *         otherwise false
+	 * @since 1.1.0
+	 */
+	static boolean test(Object object) {
+		return object instanceof DeclarationsOnly && ((DeclarationsOnly) object).isDeclarationsOnly();
+	}
+}
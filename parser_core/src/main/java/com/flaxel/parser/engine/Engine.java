@@ -0,0 +1,972 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.flaxel.parser.filter.PathFilter;
+import com.flaxel.parser.filter.SourcePredicate;
+import com.flaxel.parser.utils.SourceReader;
+import com.flaxel.parser.utils.Threads;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.Provider;
+import com.github.javaparser.Providers;
+import com.github.javaparser.ast.CompilationUnit;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to walk through folders and archives and to parse all
+ * java files. All files are collected before the parsing starts, so that the
+ * progress knows the total number of files and bytes.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class Engine {
+
+	/**
+	 * pattern for the name of a directory that can contain java files
+	 */
+	private static final Pattern JAVA_IDENTIFIER = Pattern
+			.compile("\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*");
+
+	/**
+	 * default capacity of each queue between two stages
+	 */
+	public static final int DEFAULT_QUEUE_DEPTH = 16;
+
+	/**
+	 * default maximal number of bytes, which are read ahead
+	 */
+	public static final long DEFAULT_PREFETCH_BYTES = 8L << 20;
+
+	/**
+	 * file filter, which accepts all files
+	 */
+	private static final Predicate<File> ACCEPT_ALL = (file) -> true;
+
+	/**
+	 * progress of the current or last run
+	 */
+	private final Progress progress = new Progress();
+
+	/**
+	 * filter for the relative paths of all files and folders
+	 */
+	private PathFilter pathFilter = new PathFilter();
+
+	/**
+	 * charset of the files in a folder or an archive
+	 */
+	private Charset charset = StandardCharsets.UTF_8;
+
+	/**
+	 * true if the charset of every file should be detected, otherwise false
+	 */
+	private boolean charsetDetection = true;
+
+	/**
+	 * number of threads, which read the source files in a staged run
+	 */
+	private int readers = 1;
+
+	/**
+	 * number of threads, which parse the source files in a staged run, or zero
+	 * for a sequential run
+	 */
+	private int parsers;
+
+	/**
+	 * number of threads, which call the handler in a staged run
+	 */
+	private int handlers = 1;
+
+	/**
+	 * capacity of each queue between two stages
+	 */
+	private int queueDepth = DEFAULT_QUEUE_DEPTH;
+
+	/**
+	 * number of threads, which read ahead in a sequential run, or zero
+	 */
+	private int prefetchThreads;
+
+	/**
+	 * maximal number of bytes, which are read ahead in a sequential run
+	 */
+	private long prefetchBytes = DEFAULT_PREFETCH_BYTES;
+
+	/**
+	 * shared executor for the stages and the prefetch or null for own pools
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * true if every run should create its own executor with a virtual thread per
+	 * task, otherwise false
+	 */
+	private boolean virtualThreads;
+
+	/**
+	 * order in which the source files are dispatched
+	 */
+	private Schedule schedule = Schedule.AUTO;
+
+	/**
+	 * Run the reader, the parser and the handler in their own stages, which are
+	 * connected by bounded queues. A handler with more than one thread must be
+	 * thread-safe, and the handler gets the files in any order if more than one
+	 * parser is used.
+	 * 
+	 * @param readers
+	 *            number of threads, which read the source files
+	 * @param parsers
+	 *            number of threads, which parse the source files
+	 * @param handlers
+	 *            number of threads, which call the handler
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public Engine stages(int readers, int parsers, int handlers) {
+		if (readers < 1 || parsers < 1 || handlers < 1)
+			throw new IllegalArgumentException("Every stage needs at least one thread.");
+
+		this.readers = readers;
+		this.parsers = parsers;
+		this.handlers = handlers;
+		return this;
+	}
+
+	/**
+	 * Run the reader, the parser and the handler sequentially in the thread of
+	 * the caller. This is the default.
+	 * 
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public Engine sequential() {
+		this.readers = 1;
+		this.parsers = 0;
+		this.handlers = 1;
+		return this;
+	}
+
+	/**
+	 * Set the capacity of each queue between two stages.
+	 * 
+	 * @param queueDepth
+	 *            new capacity
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public Engine queueDepth(int queueDepth) {
+		if (queueDepth < 1)
+			throw new IllegalArgumentException("The queue depth must be positive.");
+
+		this.queueDepth = queueDepth;
+		return this;
+	}
+
+	/**
+	 * Get the value whether the engine runs in stages.
+	 * 
+	 * @return true if the engine runs in stages, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean isStaged() {
+		return parsers > 0;
+	}
+
+	/**
+	 * Get the number of threads, which read the source files in a staged run.
+	 * 
+	 * @return number of reader threads
+	 * @since 1.1.0
+	 */
+	public int getReaders() {
+		return readers;
+	}
+
+	/**
+	 * Get the number of threads, which parse the source files in a staged run.
+	 * 
+	 * @return number of parser threads or zero for a sequential run
+	 * @since 1.1.0
+	 */
+	public int getParsers() {
+		return parsers;
+	}
+
+	/**
+	 * Get the number of threads, which call the handler in a staged run.
+	 * 
+	 * @return number of handler threads
+	 * @since 1.1.0
+	 */
+	public int getHandlers() {
+		return handlers;
+	}
+
+	/**
+	 * Get the capacity of each queue between two stages.
+	 * 
+	 * @return queue depth
+	 * @since 1.1.0
+	 */
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	/**
+	 * Read the next source files of a sequential run in a small i/o pool, while
+	 * the current file is parsed. The files are still parsed and handled in the
+	 * thread of the caller and in their order. A staged run reads ahead in its
+	 * reader stage.
+	 * 
+	 * @param threads
+	 *            number of threads, which read ahead, or zero to read every file
+	 *            when it is parsed
+	 * @param bytes
+	 *            maximal number of bytes, which are read ahead
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public Engine prefetch(int threads, long bytes) {
+		if (threads < 0)
+			throw new IllegalArgumentException("The number of threads must not be negative.");
+
+		if (bytes < 1)
+			throw new IllegalArgumentException("The prefetch window must be positive.");
+
+		this.prefetchThreads = threads;
+		this.prefetchBytes = bytes;
+		return this;
+	}
+
+	/**
+	 * Get the value whether the engine reads ahead in a sequential run.
+	 * 
+	 * @return true if the engine reads ahead, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean isPrefetching() {
+		return prefetchThreads > 0;
+	}
+
+	/**
+	 * Get the number of threads, which read ahead in a sequential run.
+	 * 
+	 * @return number of prefetch threads
+	 * @since 1.1.0
+	 */
+	public int getPrefetchThreads() {
+		return prefetchThreads;
+	}
+
+	/**
+	 * Get the maximal number of bytes, which are read ahead in a sequential run.
+	 * 
+	 * @return prefetch window in bytes
+	 * @since 1.1.0
+	 */
+	public long getPrefetchBytes() {
+		return prefetchBytes;
+	}
+
+	/**
+	 * Set a shared executor, which runs the stages of a staged run and the reads
+	 * of the prefetch instead of own pools. The executor must be able to run all
+	 * threads of the stages at once, e.g. a cached pool or a virtual thread per
+	 * task, and it is never shut down by the engine. This suits i/o-bound
+	 * stages, e.g. a handler that writes thousands of files, which can use
+	 * more threads than cores.
+	 * 
+	 * @param executor
+	 *            new executor or null for own pools
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public Engine executor(ExecutorService executor) {
+		this.executor = executor;
+		this.virtualThreads = false;
+		return this;
+	}
+
+	/**
+	 * Run the stages and the prefetch with a virtual thread per task, if the JDK
+	 * supports it, otherwise with a cached pool of daemon threads (see
+	 * {@link Threads#newVirtualThreadExecutor()}). The engine creates the
+	 * executor for every run and shuts it down at the end of the run, and a
+	 * shared executor is removed.
+	 * 
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public Engine virtualThreads() {
+		this.executor = null;
+		this.virtualThreads = true;
+		return this;
+	}
+
+	/**
+	 * Get the value whether every run creates its own executor with a virtual
+	 * thread per task.
+	 * 
+	 * @return true if virtual threads are used, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * Get the shared executor for the stages and the prefetch.
+	 * 
+	 * @return shared executor or empty if the engine uses own pools or virtual
+	 *         threads
+	 * @since 1.1.0
+	 */
+	public Optional<ExecutorService> getExecutor() {
+		return Optional.ofNullable(executor);
+	}
+
+	/**
+	 * Set the order in which the source files of a folder or an archive are
+	 * dispatched. The size of every file is known from the walk, so that no
+	 * file is read for the schedule.
+	 * 
+	 * @param schedule
+	 *            new schedule
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public Engine schedule(Schedule schedule) {
+		this.schedule = assertNotNull(schedule);
+		return this;
+	}
+
+	/**
+	 * Get the order in which the source files are dispatched.
+	 * 
+	 * @return schedule
+	 * @since 1.1.0
+	 */
+	public Schedule getSchedule() {
+		return schedule;
+	}
+
+	/**
+	 * Set the charset of the files in a folder or an archive. If the detection is
+	 * enabled, it is the fallback for files without byte order mark.
+	 * 
+	 * @param charset
+	 *            new charset
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public Engine charset(Charset charset) {
+		this.charset = assertNotNull(charset);
+		return this;
+	}
+
+	/**
+	 * Get the charset of the files in a folder or an archive.
+	 * 
+	 * @return charset of the files
+	 * @since 1.1.0
+	 */
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * Set the value whether the charset of every file should be detected. A byte
+	 * order mark is always used. Without it a file is only scanned if the
+	 * expected charset is UTF-8, so that ISO-8859-1 files are not decoded with
+	 * errors.
+	 * 
+	 * @param charsetDetection
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public Engine charsetDetection(boolean charsetDetection) {
+		this.charsetDetection = charsetDetection;
+		return this;
+	}
+
+	/**
+	 * Get the value whether the charset of every file is detected.
+	 * 
+	 * @return true if the charset is detected, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean isCharsetDetection() {
+		return charsetDetection;
+	}
+
+	/**
+	 * Set the filter for the relative paths of all files and folders. Excluded
+	 * folders are skipped during the walk, so that their content is never listed.
+	 * 
+	 * @param pathFilter
+	 *            new path filter
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public Engine pathFilter(PathFilter pathFilter) {
+		this.pathFilter = assertNotNull(pathFilter);
+		return this;
+	}
+
+	/**
+	 * Get the filter for the relative paths of all files and folders.
+	 * 
+	 * @return path filter
+	 * @since 1.1.0
+	 */
+	public PathFilter getPathFilter() {
+		return pathFilter;
+	}
+
+	/**
+	 * Get the progress of the current or last run.
+	 * 
+	 * @return progress of the engine
+	 * @since 1.1.0
+	 */
+	public Progress getProgress() {
+		return progress;
+	}
+
+	/**
+	 * Collect all java files of a folder. Hidden directories, directories whose
+	 * name is not a java identifier and directories excluded by the path filter
+	 * are skipped.
+	 * 
+	 * @param folder
+	 *            path to the folder
+	 * @return all java files
+	 * @throws IOException
+	 *             if an i/o error occurred while the folder is read
+	 * @since 1.1.0
+	 */
+	public List<SourceFile> walk(Path folder) throws IOException {
+		assertNotNull(folder);
+
+		if (!Files.isDirectory(folder))
+			throw new IllegalArgumentException("Only directories are allowed as root path!");
+
+		List<SourceFile> files = new ArrayList<>();
+		PathFilter filter = pathFilter;
+
+		Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes)
+					throws IOException {
+				if (directory.equals(folder))
+					return FileVisitResult.CONTINUE;
+
+				String name = directory.getFileName().toString();
+				return !JAVA_IDENTIFIER.matcher(name).matches() || !filter.testFolder(folder.relativize(directory))
+						|| Files.isHidden(directory)
+						? FileVisitResult.SKIP_SUBTREE
+						: FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+				if (!attributes.isDirectory() && file.toString().endsWith(".java")
+						&& filter.test(folder.relativize(file))) {
+					files.add(new SourceFile(file, attributes.size()));
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+		});
+
+		return files;
+	}
+
+	/**
+	 * Parse all java files of a folder.
+	 * 
+	 * @param folder
+	 *            path to the folder
+	 * @param configuration
+	 *            configuration for the parser
+	 * @param resultHandler
+	 *            handler for every file and its parse result
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public void parseFolder(Path folder, ParserConfiguration configuration,
+			BiConsumer<File, ParseResult<CompilationUnit>> resultHandler) throws IOException {
+		parseFolder(folder, configuration, ACCEPT_ALL, resultHandler);
+	}
+
+	/**
+	 * Parse all java files of a folder, which are accepted by the file filter.
+	 * The filter is tested before a file is parsed, a
+	 * {@link SourcePredicate} on the read content.
+	 * 
+	 * @param folder
+	 *            path to the folder
+	 * @param configuration
+	 *            configuration for the parser
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param resultHandler
+	 *            handler for every file and its parse result
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public void parseFolder(Path folder, ParserConfiguration configuration, Predicate<File> fileFilter,
+			BiConsumer<File, ParseResult<CompilationUnit>> resultHandler) throws IOException {
+		parseFolder(folder, configuration, fileFilter, ParseMode.FULL, resultHandler);
+	}
+
+	/**
+	 * Parse all java files of a folder, which are accepted by the file filter.
+	 * The filter is tested before a file is parsed, a
+	 * {@link SourcePredicate} on the read content.
+	 * 
+	 * @param folder
+	 *            path to the folder
+	 * @param configuration
+	 *            configuration for the parser
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param mode
+	 *            mode how much of a file is parsed, {@link ParseMode#AUTO} is
+	 *            handled as {@link ParseMode#FULL}
+	 * @param resultHandler
+	 *            handler for every file and its parse result
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public void parseFolder(Path folder, ParserConfiguration configuration, Predicate<File> fileFilter,
+			ParseMode mode, BiConsumer<File, ParseResult<CompilationUnit>> resultHandler) throws IOException {
+		assertNotNull(configuration);
+		assertNotNull(fileFilter);
+		assertNotNull(mode);
+		assertNotNull(resultHandler);
+
+		run(tasks(folder), configuration, fileFilter, mode, resultHandler);
+	}
+
+	/**
+	 * Parse all java files of a zip file. The handler gets the relative path of
+	 * the zip entry.
+	 * 
+	 * @param zip
+	 *            path to the zip file
+	 * @param configuration
+	 *            configuration for the parser
+	 * @param resultHandler
+	 *            handler for every file and its parse result
+	 * @throws IOException
+	 *             if an i/o error occurred while the zip file is read
+	 * @since 1.1.0
+	 */
+	public void parseZip(Path zip, ParserConfiguration configuration,
+			BiConsumer<File, ParseResult<CompilationUnit>> resultHandler) throws IOException {
+		parseZip(zip, configuration, ACCEPT_ALL, resultHandler);
+	}
+
+	/**
+	 * Parse all java files of a zip file, which are accepted by the file filter.
+	 * The filter and the handler get the relative path of the zip entry. The
+	 * filter is tested before an entry is parsed, a
+	 * {@link SourcePredicate} on the read content.
+	 * 
+	 * @param zip
+	 *            path to the zip file
+	 * @param configuration
+	 *            configuration for the parser
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param resultHandler
+	 *            handler for every file and its parse result
+	 * @throws IOException
+	 *             if an i/o error occurred while the zip file is read
+	 * @since 1.1.0
+	 */
+	public void parseZip(Path zip, ParserConfiguration configuration, Predicate<File> fileFilter,
+			BiConsumer<File, ParseResult<CompilationUnit>> resultHandler) throws IOException {
+		parseZip(zip, configuration, fileFilter, ParseMode.FULL, resultHandler);
+	}
+
+	/**
+	 * Parse all java files of a zip file, which are accepted by the file filter.
+	 * The filter and the handler get the relative path of the zip entry. The
+	 * filter is tested before an entry is parsed, a
+	 * {@link SourcePredicate} on the read content.
+	 * 
+	 * @param zip
+	 *            path to the zip file
+	 * @param configuration
+	 *            configuration for the parser
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param mode
+	 *            mode how much of a file is parsed, {@link ParseMode#AUTO} is
+	 *            handled as {@link ParseMode#FULL}
+	 * @param resultHandler
+	 *            handler for every file and its parse result
+	 * @throws IOException
+	 *             if an i/o error occurred while the zip file is read
+	 * @since 1.1.0
+	 */
+	public void parseZip(Path zip, ParserConfiguration configuration, Predicate<File> fileFilter, ParseMode mode,
+			BiConsumer<File, ParseResult<CompilationUnit>> resultHandler) throws IOException {
+		assertNotNull(zip);
+		assertNotNull(configuration);
+		assertNotNull(fileFilter);
+		assertNotNull(mode);
+		assertNotNull(resultHandler);
+
+		try (ZipFile archive = open(zip)) {
+			run(tasks(archive), configuration, fileFilter, mode, resultHandler);
+		}
+	}
+
+	/**
+	 * Read the headers of all java files of a folder, which are accepted by the
+	 * file filter (see {@link HeaderScanner}). No file is parsed, so that this is
+	 * much faster than a parse, e.g. to build a dependency graph. The files are
+	 * read ahead like in a sequential parse.
+	 * 
+	 * @param folder
+	 *            path to the folder
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param headerHandler
+	 *            handler for every file and its header
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	public void scanFolder(Path folder, Predicate<File> fileFilter, BiConsumer<File, SourceHeader> headerHandler)
+			throws IOException {
+		assertNotNull(fileFilter);
+		assertNotNull(headerHandler);
+
+		scan(tasks(folder), fileFilter, headerHandler);
+	}
+
+	/**
+	 * Read the headers of all java files of a zip file, which are accepted by the
+	 * file filter. The filter and the handler get the relative path of the zip
+	 * entry.
+	 * 
+	 * @param zip
+	 *            path to the zip file
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param headerHandler
+	 *            handler for every file and its header
+	 * @throws IOException
+	 *             if an i/o error occurred while the zip file is read
+	 * @since 1.1.0
+	 */
+	public void scanZip(Path zip, Predicate<File> fileFilter, BiConsumer<File, SourceHeader> headerHandler)
+			throws IOException {
+		assertNotNull(zip);
+		assertNotNull(fileFilter);
+		assertNotNull(headerHandler);
+
+		try (ZipFile archive = open(zip)) {
+			scan(tasks(archive), fileFilter, headerHandler);
+		}
+	}
+
+	/**
+	 * Create the tasks for all java files of a folder.
+	 * 
+	 * @param folder
+	 *            path to the folder
+	 * @return all source files
+	 * @throws IOException
+	 *             if an i/o error occurred while the folder is read
+	 * @since 1.1.0
+	 */
+	private List<SourceTask> tasks(Path folder) throws IOException {
+		List<SourceFile> files = walk(folder);
+		List<SourceTask> tasks = new ArrayList<>(files.size());
+
+		for (SourceFile source : files) {
+			Path path = source.getPath();
+			tasks.add(new SourceTask(path.toFile(), source.getSize(),
+					() -> SourceReader.read(path, charset, charsetDetection), Optional.of(path)));
+		}
+
+		return tasks;
+	}
+
+	/**
+	 * Open a zip file.
+	 * 
+	 * @param zip
+	 *            path to the zip file
+	 * @return opened zip file
+	 * @throws IOException
+	 *             if the path is a directory or the zip file cannot be opened
+	 * @since 1.1.0
+	 */
+	private static ZipFile open(Path zip) throws IOException {
+		if (Files.isDirectory(zip))
+			throw new FileNotFoundException(String.format("%s (Is a directory)", zip));
+
+		return new ZipFile(zip.toFile());
+	}
+
+	/**
+	 * Create the tasks for all java files of a zip file, which are accepted by
+	 * the path filter.
+	 * 
+	 * @param archive
+	 *            opened zip file
+	 * @return all source files
+	 * @since 1.1.0
+	 */
+	private List<SourceTask> tasks(ZipFile archive) {
+		PathFilter filter = pathFilter;
+
+		return archive.stream()
+				.filter((entry) -> !entry.isDirectory() && entry.getName().endsWith(".java"))
+				.filter((entry) -> filter.isEmpty() || filter.test(Paths.get(entry.getName())))
+				.map((entry) -> new SourceTask(Paths.get(entry.getName()).toFile(), Math.max(entry.getSize(), 0),
+						() -> read(archive, entry), Optional.empty()))
+				.collect(Collectors.toCollection(ArrayList::new));
+	}
+
+	/**
+	 * Read the headers of all source files in the thread of the caller.
+	 * 
+	 * @param tasks
+	 *            all source files
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param headerHandler
+	 *            handler for every file and its header
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	private void scan(List<SourceTask> tasks, Predicate<File> fileFilter,
+			BiConsumer<File, SourceHeader> headerHandler) throws IOException {
+		progress.start(tasks.size(), tasks.stream().mapToLong(SourceTask::getSize).sum());
+		ExecutorService runExecutor = openExecutor();
+
+		try (Prefetcher prefetcher = new Prefetcher(tasks, fileFilter, prefetchThreads, prefetchBytes,
+				runExecutor)) {
+			for (Prefetcher.Entry entry = prefetcher.take(); entry != null; entry = prefetcher.take()) {
+				SourceTask task = entry.getTask();
+
+				if (entry.isAccepted()) {
+					headerHandler.accept(task.getFile(), HeaderScanner.scan(entry.getContent()));
+				}
+
+				progress.update(task.getSize(), true);
+			}
+		} finally {
+			closeExecutor(runExecutor);
+			progress.finish();
+		}
+	}
+
+	/**
+	 * Read, parse and handle all source files of a run. Without stages every file
+	 * is handled in the thread of the caller, before the next file is read. The
+	 * tasks are sorted by the schedule of the engine.
+	 * 
+	 * @param tasks
+	 *            all source files
+	 * @param configuration
+	 *            configuration for the parser
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param mode
+	 *            mode how much of a file is parsed
+	 * @param resultHandler
+	 *            handler for every file and its parse result
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read
+	 * @since 1.1.0
+	 */
+	private void run(List<SourceTask> tasks, ParserConfiguration configuration, Predicate<File> fileFilter,
+			ParseMode mode, BiConsumer<File, ParseResult<CompilationUnit>> resultHandler) throws IOException {
+		progress.start(tasks.size(), tasks.stream().mapToLong(SourceTask::getSize).sum());
+
+		if (schedule == Schedule.LARGEST_FIRST || (schedule == Schedule.AUTO && parsers > 1)) {
+			tasks.sort(Comparator.comparingLong(SourceTask::getSize).reversed());
+		}
+
+		ExecutorService runExecutor = openExecutor();
+
+		try {
+			if (isStaged()) {
+				new StagedPipeline(readers, parsers, handlers, queueDepth, runExecutor).run(tasks, configuration,
+						fileFilter, mode, resultHandler, progress);
+				return;
+			}
+
+			JavaParser parser = new JavaParser(configuration);
+
+			try (Prefetcher prefetcher = new Prefetcher(tasks, fileFilter, prefetchThreads, prefetchBytes,
+					runExecutor)) {
+				for (Prefetcher.Entry entry = prefetcher.take(); entry != null; entry = prefetcher.take()) {
+					SourceTask task = entry.getTask();
+
+					if (!entry.isAccepted()) {
+						progress.update(task.getSize(), true);
+						continue;
+					}
+
+					ParseResult<CompilationUnit> result = task.parse(parser, entry.getContent(), mode);
+
+					resultHandler.accept(task.getFile(), result);
+					progress.update(task.getSize(), result.isSuccessful());
+				}
+			}
+		} finally {
+			closeExecutor(runExecutor);
+			progress.finish();
+		}
+	}
+
+	/**
+	 * Get the executor for a run. With virtual threads a new executor is
+	 * created for a staged or prefetching run, which is owned by the run.
+	 * 
+	 * @return executor for the run or null for own pools
+	 * @since 1.1.0
+	 */
+	private ExecutorService openExecutor() {
+		return virtualThreads && (isStaged() || isPrefetching()) ? Threads.newVirtualThreadExecutor() : executor;
+	}
+
+	/**
+	 * Shut down the executor of a run, if it is owned by the run. A shared
+	 * executor is never shut down.
+	 * 
+	 * @param runExecutor
+	 *            executor of the run
+	 * @since 1.1.0
+	 */
+	private void closeExecutor(ExecutorService runExecutor) {
+		if (runExecutor != null && runExecutor != executor) {
+			runExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * Read the content of a zip entry.
+	 * 
+	 * @param archive
+	 *            opened zip file
+	 * @param entry
+	 *            entry of a source file
+	 * @return content of the source file
+	 * @throws IOException
+	 *             if an i/o error occurred while the entry is read
+	 * @since 1.1.0
+	 */
+	private String read(ZipFile archive, ZipEntry entry) throws IOException {
+		try (InputStream input = archive.getInputStream(entry)) {
+			return SourceReader.read(input, charset, charsetDetection);
+		}
+	}
+
+	/**
+	 * Parse a single java file. The file is read with pooled buffers. If the
+	 * charset detection is enabled, the given charset is the fallback.
+	 * 
+	 * @param path
+	 *            path to the file
+	 * @param charset
+	 *            charset for decoding
+	 * @param configuration
+	 *            configuration for the parser
+	 * @param mode
+	 *            mode how much of the file is parsed
+	 * @return parse result with the file as storage
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is read
+	 * @since 1.1.0
+	 */
+	public ParseResult<CompilationUnit> parseFile(Path path, Charset charset, ParserConfiguration configuration,
+			ParseMode mode) throws IOException {
+		assertNotNull(path);
+		assertNotNull(configuration);
+
+		ParseResult<CompilationUnit> result = new JavaParser(configuration).parse(ParseStart.COMPILATION_UNIT,
+				provider(SourceReader.read(path, charset, charsetDetection), mode));
+		result.getResult().ifPresent((unit) -> unit.setStorage(path));
+
+		return result;
+	}
+
+	/**
+	 * Create a provider for the content of a source file. The bodies are skipped
+	 * with {@link ParseMode#DECLARATIONS}.
+	 * 
+	 * @param content
+	 *            content of the source file
+	 * @param mode
+	 *            mode how much of the source file is parsed
+	 * @return provider for the source code
+	 * @since 1.1.0
+	 */
+	public static Provider provider(CharSequence content, ParseMode mode) {
+		assertNotNull(content);
+		assertNotNull(mode);
+
+		return Providers.provider(
+				mode == ParseMode.DECLARATIONS ? SourceStripper.stripBodies(content) : content.toString());
+	}
+}
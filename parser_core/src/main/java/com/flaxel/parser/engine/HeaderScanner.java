@@ -0,0 +1,225 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.flaxel.parser.filter.SourceScanner;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to read the header of a source file without a parse. The
+ * scanner stops at the opening brace of the first type declaration, so that
+ * the members are never lexed. Annotations, comments and literals before the
+ * type are skipped. Only a source with a wildcard import is lexed completely
+ * a second time, so that the classes used through the import are known.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class HeaderScanner {
+
+	/**
+	 * Read the package declaration, all imports and the header of the first type
+	 * declaration.
+	 * 
+	 * @param text
+	 *            java source code
+	 * @return header of the source code
+	 * @since 1.1.0
+	 */
+	public static SourceHeader scan(CharSequence text) {
+		SourceScanner scanner = new SourceScanner(assertNotNull(text));
+		String packageName = "";
+		List<String> imports = new ArrayList<>();
+		List<String> staticImports = new ArrayList<>();
+
+		boolean found = scanner.next();
+
+		while (found) {
+			if (scanner.is("@")) {
+				if (!scanner.next())
+					break;
+
+				if (!scanner.is("interface")) {
+					found = skipAnnotation(scanner);
+					continue;
+				}
+			}
+
+			if (scanner.is("package")) {
+				packageName = name(scanner);
+			} else if (scanner.is("import")) {
+				if (!scanner.next())
+					break;
+
+				if (scanner.is("static")) {
+					staticImports.add(name(scanner));
+				} else {
+					imports.add(scanner.token() + name(scanner));
+				}
+			} else if (scanner.is("class") || scanner.is("interface") || scanner.is("enum")
+					|| scanner.is("record")) {
+				String typeName = scanner.next() && scanner.isIdentifier() ? scanner.token().toString() : null;
+				return new SourceHeader(packageName, imports, staticImports, typeName,
+						typeName != null ? superTypes(scanner) : new ArrayList<>(), names(text, imports));
+			}
+
+			found = scanner.next();
+		}
+
+		return new SourceHeader(packageName, imports, staticImports, null, new ArrayList<>(), names(text, imports));
+	}
+
+	/**
+	 * Collect all identifiers of the source, if it has a wildcard import.
+	 * 
+	 * @param text
+	 *            java source code
+	 * @param imports
+	 *            names of all imports
+	 * @return all identifiers or an empty set without wildcard import
+	 * @since 1.1.0
+	 */
+	private static Set<String> names(CharSequence text, List<String> imports) {
+		if (!SourceHeader.hasWildcardImport(imports))
+			return Collections.emptySet();
+
+		Set<String> names = new HashSet<>();
+		SourceScanner scanner = new SourceScanner(text);
+
+		while (scanner.next()) {
+			if (scanner.isIdentifier()) {
+				names.add(scanner.token().toString());
+			}
+		}
+
+		return names;
+	}
+
+	/**
+	 * Read a qualified name until the next semicolon.
+	 * 
+	 * @param scanner
+	 *            scanner after the keyword
+	 * @return qualified name
+	 * @since 1.1.0
+	 */
+	private static String name(SourceScanner scanner) {
+		StringBuilder name = new StringBuilder();
+
+		while (scanner.next() && !scanner.is(";")) {
+			name.append(scanner.token());
+		}
+
+		return name.toString();
+	}
+
+	/**
+	 * Skip the name and the arguments of an annotation.
+	 * 
+	 * @param scanner
+	 *            scanner at the first part of the name
+	 * @return true if a token after the annotation was found, otherwise false
+	 * @since 1.1.0
+	 */
+	private static boolean skipAnnotation(SourceScanner scanner) {
+		boolean found = scanner.next();
+
+		while (found && scanner.is(".")) {
+			found = scanner.next() && scanner.next();
+		}
+
+		if (!found || !scanner.is("("))
+			return found;
+
+		int depth = 1;
+
+		while (depth > 0 && scanner.next()) {
+			depth += scanner.is("(") ? 1 : scanner.is(")") ? -1 : 0;
+		}
+
+		return scanner.next();
+	}
+
+	/**
+	 * Read all extended and implemented types until the opening brace of the
+	 * type. Type parameters, type arguments, record components and annotations
+	 * are skipped.
+	 * 
+	 * @param scanner
+	 *            scanner at the name of the type
+	 * @return names of all super types
+	 * @since 1.1.0
+	 */
+	private static List<String> superTypes(SourceScanner scanner) {
+		List<String> types = new ArrayList<>();
+		StringBuilder name = new StringBuilder();
+		boolean collect = false;
+		boolean annotation = false;
+		int angles = 0;
+		int parentheses = 0;
+
+		while (scanner.next() && !(angles == 0 && parentheses == 0 && scanner.is("{"))) {
+			if (scanner.is("<")) {
+				angles++;
+			} else if (scanner.is(">")) {
+				angles--;
+			} else if (scanner.is("(")) {
+				parentheses++;
+			} else if (scanner.is(")")) {
+				parentheses--;
+			} else if (angles > 0 || parentheses > 0) {
+				continue;
+			} else if (scanner.is("extends") || scanner.is("implements") || scanner.is("permits")) {
+				add(types, name);
+				collect = !scanner.is("permits");
+			} else if (scanner.is(",")) {
+				add(types, name);
+			} else if (scanner.is("@")) {
+				annotation = true;
+			} else if (annotation) {
+				annotation = false;
+			} else if (collect && (scanner.isIdentifier() || scanner.is("."))) {
+				name.append(scanner.token());
+			}
+		}
+
+		add(types, name);
+		return types;
+	}
+
+	/**
+	 * Add a collected name to the list and reset the builder.
+	 * 
+	 * @param types
+	 *            names of all super types
+	 * @param name
+	 *            collected name
+	 * @since 1.1.0
+	 */
+	private static void add(List<String> types, StringBuilder name) {
+		if (name.length() > 0) {
+			types.add(name.toString());
+			name.setLength(0);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+/**
+ * This enum is used to describe how much of a source file is parsed.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public enum ParseMode {
+
+	/**
+	 * parse the whole source file
+	 */
+	FULL,
+
+	/**
+	 * parse only the declarations, all bodies of methods, constructors and
+	 * initializers are empty (see {@link SourceStripper})
+	 */
+	DECLARATIONS,
+
+	/**
+	 * parse only the declarations if the handler and the filter implement
+	 * {@link DeclarationsOnly}, otherwise the whole source file
+	 */
+	AUTO
+}
@@ -0,0 +1,293 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Predicate;
+
+import com.flaxel.parser.utils.Threads;
+
+/**
+ * This class is used to read the next source files of a run in a small i/o
+ * pool, while the current file is parsed in the thread of the caller. The
+ * files are returned in the order of the tasks and the read-ahead window is
+ * bounded by bytes, so that a slow disk does not stall every parse and a huge
+ * file does not fill the memory. Without threads every file is read when it is
+ * taken. A shared executor can replace the own pool, e.g. one with virtual
+ * threads.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+class Prefetcher implements Closeable {
+
+	/**
+	 * factory for all threads of the i/o pool
+	 */
+	private static final ThreadFactory FACTORY = Threads.daemonFactory("parser-prefetch-");
+
+	/**
+	 * all source files of the run
+	 */
+	private final List<SourceTask> tasks;
+
+	/**
+	 * filter, which is tested before a file is read and, if it is a source
+	 * predicate, on the content of the file
+	 */
+	private final Predicate<File> fileFilter;
+
+	/**
+	 * maximal number of bytes, which are read ahead
+	 */
+	private final long window;
+
+	/**
+	 * i/o pool or null if every file is read when it is taken
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * true if the i/o pool is shared and must not be shut down, otherwise false
+	 */
+	private final boolean shared;
+
+	/**
+	 * all files, which are filtered or read ahead, in the order of the tasks
+	 */
+	private final Deque<Entry> pending = new ArrayDeque<>();
+
+	/**
+	 * index of the next task, which is not filtered yet
+	 */
+	private int next;
+
+	/**
+	 * number of bytes, which are read ahead
+	 */
+	private long bytes;
+
+	/**
+	 * Initialize the prefetcher.
+	 * 
+	 * @param tasks
+	 *            all source files of the run
+	 * @param fileFilter
+	 *            filter, which is tested before a file is read
+	 * @param threads
+	 *            number of threads of the i/o pool or zero to read every file
+	 *            when it is taken
+	 * @param window
+	 *            maximal number of bytes, which are read ahead, a larger file is
+	 *            only read ahead if no other file is pending
+	 * @param executor
+	 *            shared executor, which replaces the own i/o pool, or null
+	 * @since 1.1.0
+	 */
+	Prefetcher(List<SourceTask> tasks, Predicate<File> fileFilter, int threads, long window,
+			ExecutorService executor) {
+		this.tasks = tasks;
+		this.fileFilter = fileFilter;
+		this.window = window;
+		this.shared = threads > 0 && executor != null;
+		this.executor = threads == 0 ? null : shared ? executor : Executors.newFixedThreadPool(threads, FACTORY);
+	}
+
+	/**
+	 * Take the next source file. The next files are read ahead, before the
+	 * method returns.
+	 * 
+	 * @return next source file or null if all files are taken
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is read or the thread
+	 *             is interrupted
+	 * @since 1.1.0
+	 */
+	Entry take() throws IOException {
+		fill();
+
+		Entry entry = pending.poll();
+
+		if (entry == null || !entry.accepted)
+			return entry;
+
+		if (entry.future == null)
+			return accept(entry, entry.task.load());
+
+		String content = null;
+
+		try {
+			content = entry.future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("The prefetch was interrupted.");
+		} catch (ExecutionException e) {
+			StagedPipeline.rethrow(e.getCause());
+		} finally {
+			bytes -= entry.task.getSize();
+		}
+
+		fill();
+		return accept(entry, content);
+	}
+
+	/**
+	 * Test the content of a file with the file filter, if it is a source
+	 * predicate, and set the content of an accepted file.
+	 * 
+	 * @param entry
+	 *            entry of the file
+	 * @param content
+	 *            content of the file
+	 * @return entry of the file
+	 * @since 1.1.0
+	 */
+	private Entry accept(Entry entry, String content) {
+		if (entry.task.accept(fileFilter, content)) {
+			entry.content = content;
+		} else {
+			entry.accepted = false;
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Filter the next tasks and start to read them, until the window is full.
+	 * Without threads only one task is filtered.
+	 * 
+	 * @since 1.1.0
+	 */
+	private void fill() {
+		while (next < tasks.size() && (executor == null ? pending.isEmpty()
+				: bytes == 0 || bytes + tasks.get(next).getSize() <= window)) {
+			SourceTask task = tasks.get(next++);
+
+			if (!fileFilter.test(task.getFile())) {
+				pending.add(new Entry(task, false, null));
+			} else if (executor == null) {
+				pending.add(new Entry(task, true, null));
+			} else {
+				bytes += task.getSize();
+				pending.add(new Entry(task, true, executor.submit(task::load)));
+			}
+		}
+	}
+
+	/**
+	 * Cancel all reads, which are not needed anymore, and stop the own i/o pool.
+	 * 
+	 * @since 1.1.0
+	 */
+	@Override
+	public void close() {
+		pending.stream()
+				.filter((entry) -> entry.future != null)
+				.forEach((entry) -> entry.future.cancel(true));
+		pending.clear();
+
+		if (executor != null && !shared) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * This class is used to describe a source file, which was taken.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	static class Entry {
+
+		/**
+		 * source file of the entry
+		 */
+		private final SourceTask task;
+
+		/**
+		 * true if the file filter accepted the file, otherwise false
+		 */
+		private boolean accepted;
+
+		/**
+		 * content, which is read ahead, or null
+		 */
+		private final Future<String> future;
+
+		/**
+		 * content of the source file
+		 */
+		private String content;
+
+		/**
+		 * Initialize the entry.
+		 * 
+		 * @param task
+		 *            source file of the entry
+		 * @param accepted
+		 *            true if the file filter accepted the file, otherwise false
+		 * @param future
+		 *            content, which is read ahead, or null
+		 * @since 1.1.0
+		 */
+		private Entry(SourceTask task, boolean accepted, Future<String> future) {
+			this.task = task;
+			this.accepted = accepted;
+			this.future = future;
+		}
+
+		/**
+		 * Get the source file of the entry.
+		 * 
+		 * @return source file
+		 * @since 1.1.0
+		 */
+		SourceTask getTask() {
+			return task;
+		}
+
+		/**
+		 * Get the value whether the file filter accepted the file.
+		 * 
+		 * @return true if the file should be parsed, otherwise false
+		 * @since 1.1.0
+		 */
+		boolean isAccepted() {
+			return accepted;
+		}
+
+		/**
+		 * Get the content of the source file.
+		 * 
+		 * @return content or null if the file was not accepted
+		 * @since 1.1.0
+		 */
+		String getContent() {
+			return content;
+		}
+	}
+}
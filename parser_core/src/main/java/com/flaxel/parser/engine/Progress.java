@@ -0,0 +1,282 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is used to observe the progress of the engine. The engine only
+ * increments some counters for every file, all rates and the estimated time are
+ * calculated when they are requested, e.g. by a renderer in another thread.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class Progress {
+
+	/**
+	 * number of processed files
+	 */
+	private final LongAdder files = new LongAdder();
+
+	/**
+	 * number of processed bytes
+	 */
+	private final LongAdder bytes = new LongAdder();
+
+	/**
+	 * number of files with parsing problems
+	 */
+	private final LongAdder errors = new LongAdder();
+
+	/**
+	 * number of all files that should be processed
+	 */
+	private volatile long totalFiles;
+
+	/**
+	 * number of all bytes that should be processed
+	 */
+	private volatile long totalBytes;
+
+	/**
+	 * start time in nanoseconds
+	 */
+	private volatile long startTime;
+
+	/**
+	 * end time in nanoseconds
+	 */
+	private volatile long endTime;
+
+	/**
+	 * true if the engine is running, otherwise false
+	 */
+	private volatile boolean running;
+
+	/**
+	 * Reset all counters and start a new run.
+	 * 
+	 * @param totalFiles
+	 *            number of all files that should be processed
+	 * @param totalBytes
+	 *            number of all bytes that should be processed
+	 * @since 1.1.0
+	 */
+	void start(long totalFiles, long totalBytes) {
+		files.reset();
+		bytes.reset();
+		errors.reset();
+
+		this.totalFiles = totalFiles;
+		this.totalBytes = totalBytes;
+		this.startTime = System.nanoTime();
+		this.running = true;
+	}
+
+	/**
+	 * Count a processed file.
+	 * 
+	 * @param size
+	 *            size of the file in bytes
+	 * @param successful
+	 *            true if the file was parsed without problems, otherwise false
+	 * @since 1.1.0
+	 */
+	void update(long size, boolean successful) {
+		files.increment();
+		bytes.add(size);
+
+		if (!successful) {
+			errors.increment();
+		}
+	}
+
+	/**
+	 * Finish the current run.
+	 * 
+	 * @since 1.1.0
+	 */
+	void finish() {
+		this.endTime = System.nanoTime();
+		this.running = false;
+	}
+
+	/**
+	 * Get the value whether the engine is running.
+	 * 
+	 * @return true if the engine is running, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Get the number of processed files.
+	 * 
+	 * @return number of files
+	 * @since 1.1.0
+	 */
+	public long getFiles() {
+		return files.sum();
+	}
+
+	/**
+	 * Get the number of processed bytes.
+	 * 
+	 * @return number of bytes
+	 * @since 1.1.0
+	 */
+	public long getBytes() {
+		return bytes.sum();
+	}
+
+	/**
+	 * Get the number of files with parsing problems.
+	 * 
+	 * @return number of files
+	 * @since 1.1.0
+	 */
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	/**
+	 * Get the number of all files that should be processed.
+	 * 
+	 * @return number of files
+	 * @since 1.1.0
+	 */
+	public long getTotalFiles() {
+		return totalFiles;
+	}
+
+	/**
+	 * Get the number of all bytes that should be processed.
+	 * 
+	 * @return number of bytes
+	 * @since 1.1.0
+	 */
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	/**
+	 * Get the elapsed time of the current or last run.
+	 * 
+	 * @return elapsed time
+	 * @since 1.1.0
+	 */
+	public Duration getElapsedTime() {
+		if (startTime == 0)
+			return Duration.ZERO;
+
+		return Duration.ofNanos((running ? System.nanoTime() : endTime) - startTime);
+	}
+
+	/**
+	 * Get the number of processed files per second.
+	 * 
+	 * @return files per second
+	 * @since 1.1.0
+	 */
+	public double getFilesPerSecond() {
+		return perSecond(getFiles());
+	}
+
+	/**
+	 * Get the number of processed bytes per second.
+	 * 
+	 * @return bytes per second
+	 * @since 1.1.0
+	 */
+	public double getBytesPerSecond() {
+		return perSecond(getBytes());
+	}
+
+	/**
+	 * Estimate the remaining time based on the processed bytes or, if the sizes
+	 * are unknown, based on the processed files.
+	 * 
+	 * @return remaining time or empty if it cannot be estimated yet
+	 * @since 1.1.0
+	 */
+	public Optional<Duration> getRemainingTime() {
+		double processed = totalBytes > 0 ? getBytes() : getFiles();
+		double total = totalBytes > 0 ? totalBytes : totalFiles;
+
+		if (processed <= 0 || total <= 0)
+			return Optional.empty();
+
+		long elapsed = getElapsedTime().toNanos();
+		long remaining = (long) (elapsed * Math.max(total - processed, 0) / processed);
+
+		return Optional.of(Duration.ofNanos(remaining));
+	}
+
+	/**
+	 * Calculate the rate of a counter.
+	 * 
+	 * @param count
+	 *            value of the counter
+	 * @return count per second
+	 * @since 1.1.0
+	 */
+	private double perSecond(long count) {
+		long elapsed = getElapsedTime().toNanos();
+		return elapsed > 0 ? count * 1e9 / elapsed : 0;
+	}
+
+	/**
+	 * Create a short summary of the progress, e.g.
+	 * <code>120/450 files, 35.2 files/s, 1.2 MB/s, 0 errors, eta 00:09</code>.
+	 * 
+	 * @return summary of the progress
+	 * @since 1.1.0
+	 */
+	@Override
+	public String toString() {
+		String remaining = getRemainingTime().map((duration) -> {
+			return String.format("%02d:%02d", duration.toMinutes(), duration.toSecondsPart());
+		}).orElse("--:--");
+
+		return String.format("%d/%d files, %.1f files/s, %s/s, %d errors, eta %s", getFiles(), totalFiles,
+				getFilesPerSecond(), formatBytes(getBytesPerSecond()), getErrors(), remaining);
+	}
+
+	/**
+	 * Format a number of bytes with a binary unit.
+	 * 
+	 * @param bytes
+	 *            number of bytes
+	 * @return formatted number
+	 * @since 1.1.0
+	 */
+	private static String formatBytes(double bytes) {
+		String[] units = { "B", "KB", "MB", "GB" };
+		int unit = 0;
+
+		while (bytes >= 1024 && unit < units.length - 1) {
+			bytes /= 1024;
+			unit++;
+		}
+
+		return String.format("%.1f %s", bytes, units[unit]);
+	}
+}
@@ -0,0 +1,43 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+/**
+ * This enum is used to describe the order in which the source files of a run
+ * are dispatched to the stages.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public enum Schedule {
+
+	/**
+	 * dispatch the files in the order of the walk or the archive
+	 */
+	WALK,
+
+	/**
+	 * dispatch the largest files first, so that a huge file at the end of a run
+	 * does not keep one thread busy while the others are idle
+	 */
+	LARGEST_FIRST,
+
+	/**
+	 * dispatch the largest files first if more than one parser is used,
+	 * otherwise in the order of the walk
+	 */
+	AUTO
+}
@@ -0,0 +1,74 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.nio.file.Path;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to describe a source file that was found while walking
+ * through a folder.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class SourceFile {
+
+	/**
+	 * path of the source file
+	 */
+	private final Path path;
+
+	/**
+	 * size of the source file in bytes
+	 */
+	private final long size;
+
+	/**
+	 * Initialize the source file.
+	 * 
+	 * @param path
+	 *            path of the source file
+	 * @param size
+	 *            size of the source file in bytes
+	 * @since 1.1.0
+	 */
+	public SourceFile(Path path, long size) {
+		this.path = assertNotNull(path);
+		this.size = size;
+	}
+
+	/**
+	 * Get the path of the source file.
+	 * 
+	 * @return path of the source file
+	 * @since 1.1.0
+	 */
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Get the size of the source file.
+	 * 
+	 * @return size in bytes
+	 * @since 1.1.0
+	 */
+	public long getSize() {
+		return size;
+	}
+}
@@ -0,0 +1,249 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.Name;
+import com.github.javaparser.ast.expr.SimpleName;
+import com.github.javaparser.ast.nodeTypes.NodeWithExtends;
+import com.github.javaparser.ast.nodeTypes.NodeWithImplements;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to describe the header of a source file, i.e. the package
+ * declaration, all imports and the header of the first type declaration. It is
+ * the result of {@link HeaderScanner} or is created from a compilation unit.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class SourceHeader {
+
+	/**
+	 * name of the package or an empty string for the default package
+	 */
+	private final String packageName;
+
+	/**
+	 * names of all imports, a wildcard import ends with '.*'
+	 */
+	private final List<String> imports;
+
+	/**
+	 * names of all static imports, a wildcard import ends with '.*'
+	 */
+	private final List<String> staticImports;
+
+	/**
+	 * simple name of the first type or null
+	 */
+	private final String typeName;
+
+	/**
+	 * names of all extended and implemented types as written in the source
+	 */
+	private final List<String> superTypes;
+
+	/**
+	 * all identifiers of the source, which are only collected if the source has
+	 * a wildcard import
+	 */
+	private final Set<String> names;
+
+	/**
+	 * Initialize the header.
+	 * 
+	 * @param packageName
+	 *            name of the package or an empty string for the default package
+	 * @param imports
+	 *            names of all imports, a wildcard import ends with '.*'
+	 * @param staticImports
+	 *            names of all static imports, a wildcard import ends with '.*'
+	 * @param typeName
+	 *            simple name of the first type or null
+	 * @param superTypes
+	 *            names of all extended and implemented types as written in the
+	 *            source
+	 * @param names
+	 *            all identifiers of the source, which are only needed if the
+	 *            source has a wildcard import
+	 * @since 1.1.0
+	 */
+	public SourceHeader(String packageName, List<String> imports, List<String> staticImports, String typeName,
+			List<String> superTypes, Set<String> names) {
+		this.packageName = assertNotNull(packageName);
+		this.imports = Collections.unmodifiableList(assertNotNull(imports));
+		this.staticImports = Collections.unmodifiableList(assertNotNull(staticImports));
+		this.typeName = typeName;
+		this.superTypes = Collections.unmodifiableList(assertNotNull(superTypes));
+		this.names = Collections.unmodifiableSet(assertNotNull(names));
+	}
+
+	/**
+	 * Create the header of a parsed compilation unit, e.g. for a handler that
+	 * gets the unit of a full or a declarations-only parse.
+	 * 
+	 * @param unit
+	 *            compilation unit
+	 * @return header of the compilation unit
+	 * @since 1.1.0
+	 */
+	public static SourceHeader of(CompilationUnit unit) {
+		assertNotNull(unit);
+
+		String packageName = unit.getPackageDeclaration().map(PackageDeclaration::getNameAsString).orElse("");
+		List<String> imports = new ArrayList<>();
+		List<String> staticImports = new ArrayList<>();
+		List<String> superTypes = new ArrayList<>();
+
+		for (ImportDeclaration declaration : unit.getImports()) {
+			String name = declaration.getNameAsString() + (declaration.isAsterisk() ? ".*" : "");
+			(declaration.isStatic() ? staticImports : imports).add(name);
+		}
+
+		TypeDeclaration<?> type = unit.getTypes().isEmpty() ? null : unit.getType(0);
+
+		if (type instanceof NodeWithExtends) {
+			((NodeWithExtends<?>) type).getExtendedTypes().forEach((superType) -> superTypes.add(name(superType)));
+		}
+
+		if (type instanceof NodeWithImplements) {
+			((NodeWithImplements<?>) type).getImplementedTypes()
+					.forEach((superType) -> superTypes.add(name(superType)));
+		}
+
+		Set<String> names = new HashSet<>();
+
+		if (hasWildcardImport(imports)) {
+			unit.findAll(SimpleName.class).forEach((name) -> names.add(name.getIdentifier()));
+			unit.findAll(Name.class).forEach((name) -> names.add(name.getIdentifier()));
+		}
+
+		return new SourceHeader(packageName, imports, staticImports, type != null ? type.getNameAsString() : null,
+				superTypes, names);
+	}
+
+	/**
+	 * Check whether a list of imports contains a wildcard import.
+	 * 
+	 * @param imports
+	 *            names of all imports
+	 * @return true if an import ends with '.*', otherwise false
+	 * @since 1.1.0
+	 */
+	static boolean hasWildcardImport(List<String> imports) {
+		return imports.stream().anyMatch((name) -> name.endsWith(".*"));
+	}
+
+	/**
+	 * Get the name of a type with its scope, but without type arguments.
+	 * 
+	 * @param type
+	 *            class or interface type
+	 * @return name as written in the source
+	 * @since 1.1.0
+	 */
+	private static String name(ClassOrInterfaceType type) {
+		return type.getScope().map((scope) -> name(scope) + ".").orElse("") + type.getNameAsString();
+	}
+
+	/**
+	 * Get the name of the package.
+	 * 
+	 * @return name of the package or an empty string for the default package
+	 * @since 1.1.0
+	 */
+	public String getPackageName() {
+		return packageName;
+	}
+
+	/**
+	 * Get the names of all imports. A wildcard import ends with '.*'.
+	 * 
+	 * @return unmodifiable list of imports
+	 * @since 1.1.0
+	 */
+	public List<String> getImports() {
+		return imports;
+	}
+
+	/**
+	 * Get the names of all static imports. A wildcard import ends with '.*'.
+	 * 
+	 * @return unmodifiable list of static imports
+	 * @since 1.1.0
+	 */
+	public List<String> getStaticImports() {
+		return staticImports;
+	}
+
+	/**
+	 * Get the simple name of the first type.
+	 * 
+	 * @return simple name or empty if the file has no type, e.g.
+	 *         package-info.java
+	 * @since 1.1.0
+	 */
+	public Optional<String> getTypeName() {
+		return Optional.ofNullable(typeName);
+	}
+
+	/**
+	 * Get the qualified name of the first type.
+	 * 
+	 * @return qualified name or empty if the file has no type
+	 * @since 1.1.0
+	 */
+	public Optional<String> getQualifiedTypeName() {
+		return getTypeName().map((name) -> packageName.isEmpty() ? name : packageName + "." + name);
+	}
+
+	/**
+	 * Get the names of all extended and implemented types of the first type. The
+	 * names are written as in the source, i.e. they can be simple or qualified,
+	 * and have no type arguments.
+	 * 
+	 * @return unmodifiable list of super types
+	 * @since 1.1.0
+	 */
+	public List<String> getSuperTypes() {
+		return superTypes;
+	}
+
+	/**
+	 * Get all identifiers of the source, e.g. to find the classes, which are
+	 * used through a wildcard import. The identifiers are only collected if the
+	 * source has a wildcard import.
+	 * 
+	 * @return unmodifiable set of identifiers or an empty set
+	 * @since 1.1.0
+	 */
+	public Set<String> getNames() {
+		return names;
+	}
+}
@@ -0,0 +1,332 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to remove the bodies of all methods, constructors and
+ * initializers from java source code, so that only the declarations have to be
+ * parsed. The content of a body is replaced with spaces, line breaks are kept,
+ * so that all positions of the declarations stay the same.<br>
+ * Bodies with local or anonymous classes, field initializers and the bodies of
+ * enum constants are kept, because they contain declarations too.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class SourceStripper {
+
+	/**
+	 * Remove the bodies of all methods, constructors and initializers.
+	 * 
+	 * @param text
+	 *            java source code
+	 * @return source code with empty bodies
+	 * @since 1.1.0
+	 */
+	public static String stripBodies(CharSequence text) {
+		char[] source = assertNotNull(text).toString().toCharArray();
+		Deque<Frame> frames = new ArrayDeque<>();
+
+		boolean typeKeyword = false;
+		boolean enumKeyword = false;
+		boolean assign = false;
+		int parentheses = 0;
+		char previous = 0;
+		String previousWord = "";
+
+		int i = 0;
+
+		while (i < source.length) {
+			char c = source[i];
+
+			if (Character.isWhitespace(c)) {
+				i++;
+				continue;
+			}
+
+			int skipped = skipCommentOrLiteral(source, i);
+
+			if (skipped != i) {
+				i = skipped;
+				previous = c == '/' ? previous : c;
+				continue;
+			}
+
+			if (Character.isJavaIdentifierStart(c)) {
+				int start = i;
+
+				while (i < source.length && Character.isJavaIdentifierPart(source[i])) {
+					i++;
+				}
+
+				String word = new String(source, start, i - start);
+
+				if (previous != '.' && (word.equals("class") || word.equals("interface") || word.equals("enum"))) {
+					typeKeyword = true;
+					enumKeyword = word.equals("enum");
+				}
+
+				previous = 'a';
+				previousWord = word;
+				continue;
+			}
+
+			Frame frame = frames.peek();
+
+			switch (c) {
+			case '(':
+				parentheses++;
+				break;
+			case ')':
+				parentheses = Math.max(parentheses - 1, 0);
+				break;
+			case '=':
+				assign |= parentheses == 0;
+				break;
+			case ';':
+				assign = false;
+
+				if (frame != null && parentheses == 0) {
+					frame.constants = false;
+				}
+				break;
+			case '}':
+				frames.poll();
+				assign = false;
+				break;
+			case '{':
+				int close = findClose(source, i);
+
+				if (typeKeyword) {
+					frames.push(new Frame(enumKeyword));
+					typeKeyword = false;
+					assign = false;
+					break;
+				}
+
+				boolean member = frame != null && parentheses == 0 && !assign && !frame.constants
+						&& !previousWord.equals("default");
+
+				if (member && !declaresTypes(source, i, close)) {
+					for (int j = i + 1; j < close; j++) {
+						if (source[j] != '\n' && source[j] != '\r') {
+							source[j] = ' ';
+						}
+					}
+				}
+
+				i = close + 1;
+				previous = '}';
+				previousWord = "";
+				continue;
+			default:
+				break;
+			}
+
+			previous = c;
+			previousWord = "";
+			i++;
+		}
+
+		return new String(source);
+	}
+
+	/**
+	 * Skip a comment, a string literal or a character literal.
+	 * 
+	 * @param source
+	 *            java source code
+	 * @param index
+	 *            current position
+	 * @return position after the comment or literal or the current position if
+	 *         there is none
+	 * @since 1.1.0
+	 */
+	private static int skipCommentOrLiteral(char[] source, int index) {
+		char c = source[index];
+		int length = source.length;
+
+		if (c == '/' && index + 1 < length && source[index + 1] == '/') {
+			while (index < length && source[index] != '\n') {
+				index++;
+			}
+
+			return index;
+		}
+
+		if (c == '/' && index + 1 < length && source[index + 1] == '*') {
+			index += 2;
+
+			while (index + 1 < length && !(source[index] == '*' && source[index + 1] == '/')) {
+				index++;
+			}
+
+			return Math.min(index + 2, length);
+		}
+
+		if (c == '"' || c == '\'') {
+			index++;
+
+			while (index < length && source[index] != c && source[index] != '\n') {
+				index += source[index] == '\\' ? 2 : 1;
+			}
+
+			return Math.min(index + 1, length);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Find the closing brace for an opening brace.
+	 * 
+	 * @param source
+	 *            java source code
+	 * @param open
+	 *            position of the opening brace
+	 * @return position of the closing brace or the end of the source code
+	 * @since 1.1.0
+	 */
+	private static int findClose(char[] source, int open) {
+		int depth = 0;
+		int i = open;
+
+		while (i < source.length) {
+			int skipped = skipCommentOrLiteral(source, i);
+
+			if (skipped != i) {
+				i = skipped;
+				continue;
+			}
+
+			if (source[i] == '{') {
+				depth++;
+			} else if (source[i] == '}' && --depth == 0) {
+				return i;
+			}
+
+			i++;
+		}
+
+		return source.length;
+	}
+
+	/**
+	 * Check whether a body declares a local class or an anonymous class.
+	 * 
+	 * @param source
+	 *            java source code
+	 * @param open
+	 *            position of the opening brace
+	 * @param close
+	 *            position of the closing brace
+	 * @return true if the body contains a type declaration, otherwise false
+	 * @since 1.1.0
+	 */
+	private static boolean declaresTypes(char[] source, int open, int close) {
+		boolean[] creations = new boolean[16];
+		int parentheses = 0;
+		char previous = 0;
+		boolean closed = false;
+		int i = open + 1;
+
+		while (i < close) {
+			char c = source[i];
+
+			if (Character.isWhitespace(c)) {
+				i++;
+				continue;
+			}
+
+			int skipped = skipCommentOrLiteral(source, i);
+
+			if (skipped != i) {
+				i = skipped;
+				continue;
+			}
+
+			if (Character.isJavaIdentifierStart(c)) {
+				int start = i;
+
+				while (i < close && Character.isJavaIdentifierPart(source[i])) {
+					i++;
+				}
+
+				String word = new String(source, start, i - start);
+
+				if (previous != '.' && (word.equals("class") || word.equals("interface") || word.equals("enum")))
+					return true;
+
+				if (word.equals("new") && parentheses < creations.length) {
+					creations[parentheses] = true;
+				}
+
+				previous = 'a';
+				closed = false;
+				continue;
+			}
+
+			if (c == '{' && closed)
+				return true;
+
+			closed = false;
+
+			if (c == '(') {
+				parentheses++;
+			} else if (c == ')' && parentheses > 0) {
+				parentheses--;
+				closed = parentheses < creations.length && creations[parentheses];
+			} else if ((c == ';' || c == '{' || c == '}') && parentheses < creations.length) {
+				creations[parentheses] = false;
+			}
+
+			previous = c;
+			i++;
+		}
+
+		return false;
+	}
+
+	/**
+	 * This class is used to store the state of a type body.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class Frame {
+
+		/**
+		 * true if the enum constants are not finished, otherwise false
+		 */
+		private boolean constants;
+
+		/**
+		 * Initialize the frame.
+		 * 
+		 * @param enumeration
+		 *            true if it is the body of an enum
+		 * @since 1.1.0
+		 */
+		Frame(boolean enumeration) {
+			this.constants = enumeration;
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import com.flaxel.parser.filter.SourcePredicate;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ast.CompilationUnit;
+
+/**
+ * This class is used to describe a source file of a run, which can be read and
+ * parsed independently of the other files.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+class SourceTask {
+
+	/**
+	 * file, which is passed to the filter and the handler
+	 */
+	private final File file;
+
+	/**
+	 * size of the source file in bytes
+	 */
+	private final long size;
+
+	/**
+	 * loader for the content of the source file
+	 */
+	private final Loader loader;
+
+	/**
+	 * path, which is set as storage of the compilation unit
+	 */
+	private final Optional<Path> storage;
+
+	/**
+	 * Initialize the task.
+	 * 
+	 * @param file
+	 *            file, which is passed to the filter and the handler
+	 * @param size
+	 *            size of the source file in bytes
+	 * @param loader
+	 *            loader for the content of the source file
+	 * @param storage
+	 *            path, which is set as storage of the compilation unit
+	 * @since 1.1.0
+	 */
+	SourceTask(File file, long size, Loader loader, Optional<Path> storage) {
+		this.file = file;
+		this.size = size;
+		this.loader = loader;
+		this.storage = storage;
+	}
+
+	/**
+	 * Get the file, which is passed to the filter and the handler.
+	 * 
+	 * @return file of the task
+	 * @since 1.1.0
+	 */
+	File getFile() {
+		return file;
+	}
+
+	/**
+	 * Get the size of the source file.
+	 * 
+	 * @return size in bytes
+	 * @since 1.1.0
+	 */
+	long getSize() {
+		return size;
+	}
+
+	/**
+	 * Read the content of the source file.
+	 * 
+	 * @return content of the source file
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is read
+	 * @since 1.1.0
+	 */
+	String load() throws IOException {
+		return loader.load();
+	}
+
+	/**
+	 * Test the content of the source file with the file filter, if it is a
+	 * {@link SourcePredicate}. Every other filter was already tested before the
+	 * file was read.
+	 * 
+	 * @param fileFilter
+	 *            filter for a file
+	 * @param content
+	 *            content of the source file
+	 * @return true if the file should be parsed, otherwise false
+	 * @since 1.1.0
+	 */
+	boolean accept(Predicate<File> fileFilter, String content) {
+		return !(fileFilter instanceof SourcePredicate) || SourcePredicate.test(fileFilter, file, content);
+	}
+
+	/**
+	 * Parse the content of the source file.
+	 * 
+	 * @param parser
+	 *            parser of the current thread
+	 * @param content
+	 *            content of the source file
+	 * @param mode
+	 *            mode how much of the source file is parsed
+	 * @return parse result
+	 * @since 1.1.0
+	 */
+	ParseResult<CompilationUnit> parse(JavaParser parser, String content, ParseMode mode) {
+		ParseResult<CompilationUnit> result = parser.parse(ParseStart.COMPILATION_UNIT,
+				Engine.provider(content, mode));
+		storage.ifPresent((path) -> result.getResult().ifPresent((unit) -> unit.setStorage(path)));
+
+		return result;
+	}
+
+	/**
+	 * This interface is used to read the content of a source file.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	@FunctionalInterface
+	interface Loader {
+
+		/**
+		 * Read the content of the source file.
+		 * 
+		 * @return content of the source file
+		 * @throws IOException
+		 *             if an i/o error occurred while the file is read
+		 * @since 1.1.0
+		 */
+		String load() throws IOException;
+	}
+}
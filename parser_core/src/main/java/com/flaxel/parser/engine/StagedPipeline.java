@@ -0,0 +1,491 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import com.flaxel.parser.utils.Threads;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+
+/**
+ * This class is used to run the reader, the parser and the handler stage of a
+ * run in their own threads. The stages are connected by bounded queues, so
+ * that a slow stage blocks the previous one and the memory stays bounded. The
+ * first error stops all stages and is thrown by {@link #run}. A stage stops
+ * between two items, and only threads, which wait on a queue, are interrupted,
+ * so that a handler is never interrupted while it writes a file. The stages
+ * run in an own pool or in a shared executor, which is not shut down.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+class StagedPipeline {
+
+	/**
+	 * item, which marks the end of a queue
+	 */
+	private static final Item END = new Item(null, null, null);
+
+	/**
+	 * factory for all threads of the stages
+	 */
+	private static final ThreadFactory FACTORY = Threads.daemonFactory("parser-stage-");
+
+	/**
+	 * number of threads, which read the source files
+	 */
+	private final int readers;
+
+	/**
+	 * number of threads, which parse the source files
+	 */
+	private final int parsers;
+
+	/**
+	 * number of threads, which call the handler
+	 */
+	private final int handlers;
+
+	/**
+	 * capacity of each queue between two stages
+	 */
+	private final int queueDepth;
+
+	/**
+	 * shared executor for all stages or null for an own pool
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * Initialize the pipeline.
+	 * 
+	 * @param readers
+	 *            number of threads, which read the source files
+	 * @param parsers
+	 *            number of threads, which parse the source files
+	 * @param handlers
+	 *            number of threads, which call the handler
+	 * @param queueDepth
+	 *            capacity of each queue between two stages
+	 * @param executor
+	 *            executor for all stages, which must run all threads of the
+	 *            stages at once, or null for an own pool
+	 * @since 1.1.0
+	 */
+	StagedPipeline(int readers, int parsers, int handlers, int queueDepth, ExecutorService executor) {
+		this.readers = readers;
+		this.parsers = parsers;
+		this.handlers = handlers;
+		this.queueDepth = queueDepth;
+		this.executor = executor;
+	}
+
+	/**
+	 * Read, parse and handle all tasks. The method returns after all stages are
+	 * finished.
+	 * 
+	 * @param tasks
+	 *            all source files
+	 * @param configuration
+	 *            configuration for the parsers
+	 * @param fileFilter
+	 *            filter, which is tested before a file is read and, if it is a
+	 *            source predicate, on the content of the file
+	 * @param mode
+	 *            mode how much of a file is parsed
+	 * @param resultHandler
+	 *            handler for every file and its parse result
+	 * @param progress
+	 *            progress of the run
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read or the run is
+	 *             interrupted
+	 * @since 1.1.0
+	 */
+	void run(List<SourceTask> tasks, ParserConfiguration configuration, Predicate<File> fileFilter, ParseMode mode,
+			BiConsumer<File, ParseResult<CompilationUnit>> resultHandler, Progress progress) throws IOException {
+		BlockingQueue<Item> read = new ArrayBlockingQueue<>(queueDepth);
+		BlockingQueue<Item> parsed = new ArrayBlockingQueue<>(queueDepth);
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger activeReaders = new AtomicInteger(readers);
+		AtomicInteger activeParsers = new AtomicInteger(parsers);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Set<Thread> waiting = new HashSet<>();
+		CountDownLatch done = new CountDownLatch(readers + parsers + handlers);
+		ExecutorService pool = executor != null ? executor
+				: Executors.newFixedThreadPool(readers + parsers + handlers, FACTORY);
+
+		Stage reader = () -> {
+			try {
+				for (int index = next.getAndIncrement(); index < tasks.size(); index = next.getAndIncrement()) {
+					if (failure.get() != null)
+						return;
+
+					SourceTask task = tasks.get(index);
+
+					if (!fileFilter.test(task.getFile())) {
+						progress.update(task.getSize(), true);
+						continue;
+					}
+
+					String content = task.load();
+
+					if (!task.accept(fileFilter, content)) {
+						progress.update(task.getSize(), true);
+						continue;
+					}
+
+					put(read, new Item(task, content, null), waiting, failure);
+				}
+			} finally {
+				if (activeReaders.decrementAndGet() == 0) {
+					putEnd(read, parsers, waiting, failure);
+				}
+			}
+		};
+
+		Stage parser = () -> {
+			JavaParser javaParser = new JavaParser(configuration);
+
+			try {
+				for (Item item = take(read, waiting, failure); item != END; item = take(read, waiting, failure)) {
+					put(parsed, new Item(item.task, null, item.task.parse(javaParser, item.content, mode)), waiting,
+							failure);
+				}
+			} finally {
+				if (activeParsers.decrementAndGet() == 0) {
+					putEnd(parsed, handlers, waiting, failure);
+				}
+			}
+		};
+
+		Stage handler = () -> {
+			for (Item item = take(parsed, waiting, failure); item != END; item = take(parsed, waiting, failure)) {
+				resultHandler.accept(item.task.getFile(), item.result);
+				progress.update(item.task.getSize(), item.result.isSuccessful());
+			}
+		};
+
+		try {
+			submit(pool, reader, readers, waiting, done, failure);
+			submit(pool, parser, parsers, waiting, done, failure);
+			submit(pool, handler, handlers, waiting, done, failure);
+			done.await();
+		} catch (InterruptedException e) {
+			InterruptedIOException interrupted = new InterruptedIOException("The run was interrupted.");
+
+			stop(waiting, failure, interrupted);
+			Thread.currentThread().interrupt();
+			throw interrupted;
+		} finally {
+			if (pool != executor) {
+				pool.shutdown();
+			}
+		}
+
+		rethrow(failure.get());
+	}
+
+	/**
+	 * Submit a stage several times. A thread skips its stage after an error, and
+	 * the first error of any stage is kept and stops all other threads.
+	 * 
+	 * @param pool
+	 *            executor for all stages
+	 * @param stage
+	 *            stage to submit
+	 * @param count
+	 *            number of threads
+	 * @param waiting
+	 *            all threads, which currently wait on a queue
+	 * @param done
+	 *            latch, which counts the finished threads
+	 * @param failure
+	 *            first error of all stages
+	 * @since 1.1.0
+	 */
+	private static void submit(ExecutorService pool, Stage stage, int count, Set<Thread> waiting, CountDownLatch done,
+			AtomicReference<Throwable> failure) {
+		for (int i = 0; i < count; i++) {
+			try {
+				pool.execute(() -> {
+					try {
+						if (failure.get() == null) {
+							stage.run();
+						}
+					} catch (Throwable e) {
+						stop(waiting, failure, e);
+					} finally {
+						// a shared thread must not keep the interrupt of this run
+						Thread.interrupted();
+						done.countDown();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				stop(waiting, failure, e);
+				done.countDown();
+			}
+		}
+	}
+
+	/**
+	 * Keep the first error and interrupt all threads, which currently wait on a
+	 * queue. All other threads stop before their next item, so that no handler is
+	 * interrupted in the middle of a file. A shared executor is not shut down.
+	 * 
+	 * @param waiting
+	 *            all threads, which currently wait on a queue
+	 * @param failure
+	 *            first error of all stages
+	 * @param error
+	 *            new error
+	 * @since 1.1.0
+	 */
+	private static void stop(Set<Thread> waiting, AtomicReference<Throwable> failure, Throwable error) {
+		if (failure.compareAndSet(null, error)) {
+			synchronized (waiting) {
+				waiting.forEach(Thread::interrupt);
+			}
+		}
+	}
+
+	/**
+	 * Take the next item from a queue. The thread can be interrupted by
+	 * {@link #stop} only while it waits, and the end item is returned after an
+	 * error.
+	 * 
+	 * @param queue
+	 *            queue from the previous stage
+	 * @param waiting
+	 *            all threads, which currently wait on a queue
+	 * @param failure
+	 *            first error of all stages
+	 * @return next item or the end item
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while it waits
+	 * @since 1.1.0
+	 */
+	private static Item take(BlockingQueue<Item> queue, Set<Thread> waiting, AtomicReference<Throwable> failure)
+			throws InterruptedException {
+		if (!startWaiting(waiting, failure))
+			return END;
+
+		try {
+			return queue.take();
+		} finally {
+			stopWaiting(waiting, failure);
+		}
+	}
+
+	/**
+	 * Put an item into a queue. The thread can be interrupted by {@link #stop}
+	 * only while it waits, and nothing is put after an error.
+	 * 
+	 * @param queue
+	 *            queue to the next stage
+	 * @param item
+	 *            item to put
+	 * @param waiting
+	 *            all threads, which currently wait on a queue
+	 * @param failure
+	 *            first error of all stages
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while it waits
+	 * @since 1.1.0
+	 */
+	private static void put(BlockingQueue<Item> queue, Item item, Set<Thread> waiting,
+			AtomicReference<Throwable> failure) throws InterruptedException {
+		if (!startWaiting(waiting, failure))
+			return;
+
+		try {
+			queue.put(item);
+		} finally {
+			stopWaiting(waiting, failure);
+		}
+	}
+
+	/**
+	 * Register the current thread before it waits on a queue. The check and the
+	 * registration are atomic with {@link #stop}, so that a thread never starts to
+	 * wait after the other threads were interrupted.
+	 * 
+	 * @param waiting
+	 *            all threads, which currently wait on a queue
+	 * @param failure
+	 *            first error of all stages
+	 * @return true if the thread can wait, otherwise false after an error
+	 * @since 1.1.0
+	 */
+	private static boolean startWaiting(Set<Thread> waiting, AtomicReference<Throwable> failure) {
+		synchronized (waiting) {
+			if (failure.get() != null)
+				return false;
+
+			waiting.add(Thread.currentThread());
+			return true;
+		}
+	}
+
+	/**
+	 * Remove the current thread after it waited on a queue. An interrupt of
+	 * {@link #stop}, which arrived after the wait, is cleared, so that it does not
+	 * hit the work on the item.
+	 * 
+	 * @param waiting
+	 *            all threads, which currently wait on a queue
+	 * @param failure
+	 *            first error of all stages
+	 * @since 1.1.0
+	 */
+	private static void stopWaiting(Set<Thread> waiting, AtomicReference<Throwable> failure) {
+		synchronized (waiting) {
+			waiting.remove(Thread.currentThread());
+		}
+
+		if (failure.get() != null) {
+			Thread.interrupted();
+		}
+	}
+
+	/**
+	 * Put the end item for every thread of the next stage into a queue. Nothing
+	 * is put after an error, because the next stage is already stopped and its
+	 * queue can be full.
+	 * 
+	 * @param queue
+	 *            queue to the next stage
+	 * @param count
+	 *            number of threads of the next stage
+	 * @param waiting
+	 *            all threads, which currently wait on a queue
+	 * @param failure
+	 *            first error of all stages
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while it waits for space
+	 * @since 1.1.0
+	 */
+	private static void putEnd(BlockingQueue<Item> queue, int count, Set<Thread> waiting,
+			AtomicReference<Throwable> failure) throws InterruptedException {
+		for (int i = 0; i < count && failure.get() == null; i++) {
+			put(queue, END, waiting, failure);
+		}
+	}
+
+	/**
+	 * Throw the error of a stage in the thread of the caller.
+	 * 
+	 * @param failure
+	 *            error of a stage or null
+	 * @throws IOException
+	 *             if the error is an i/o error or a checked exception
+	 * @since 1.1.0
+	 */
+	static void rethrow(Throwable failure) throws IOException {
+		if (failure == null)
+			return;
+
+		if (failure instanceof IOException)
+			throw (IOException) failure;
+
+		if (failure instanceof RuntimeException)
+			throw (RuntimeException) failure;
+
+		if (failure instanceof Error)
+			throw (Error) failure;
+
+		throw new IOException(failure);
+	}
+
+	/**
+	 * This interface is used to describe the work of a thread in a stage.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	@FunctionalInterface
+	private interface Stage {
+
+		/**
+		 * Run the stage until its input queue is finished.
+		 * 
+		 * @throws Exception
+		 *             if the stage failed
+		 * @since 1.1.0
+		 */
+		void run() throws Exception;
+	}
+
+	/**
+	 * This class is used to pass a source file from one stage to the next one.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class Item {
+
+		/**
+		 * source file of the item
+		 */
+		private final SourceTask task;
+
+		/**
+		 * content of the source file, which was read
+		 */
+		private final String content;
+
+		/**
+		 * parse result of the source file
+		 */
+		private final ParseResult<CompilationUnit> result;
+
+		/**
+		 * Initialize the item.
+		 * 
+		 * @param task
+		 *            source file of the item
+		 * @param content
+		 *            content of the source file, which was read
+		 * @param result
+		 *            parse result of the source file
+		 * @since 1.1.0
+		 */
+		private Item(SourceTask task, String content, ParseResult<CompilationUnit> result) {
+			this.task = task;
+			this.content = content;
+			this.result = result;
+		}
+	}
+}
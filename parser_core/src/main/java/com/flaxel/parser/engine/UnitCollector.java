@@ -0,0 +1,170 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.engine;
+
+import java.io.File;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This interface is used to describe an analysis like a
+ * {@link java.util.stream.Collector}. Every worker of a run gets its own
+ * container and accumulates its compilation units into it without a lock. The
+ * containers of all workers, threads or shards are combined at the end, and
+ * the final container is turned into the result.
+ * <p>
+ * A collector, which also implements {@link DeclarationsOnly}, lets a run skip
+ * the bodies.
+ * 
+ * @param <A>
+ *            type of the mutable container
+ * @param <R>
+ *            type of the result
+ * @author flaxel
+ * @since 1.1.0
+ */
+public interface UnitCollector<A, R> {
+
+	/**
+	 * Get the function, which creates an empty container for a worker.
+	 * 
+	 * @return supplier of new containers
+	 * @since 1.1.0
+	 */
+	Supplier<A> supplier();
+
+	/**
+	 * Get the function, which adds a compilation unit to a container.
+	 * 
+	 * @return accumulator of the compilation units
+	 * @since 1.1.0
+	 */
+	Accumulator<A> accumulator();
+
+	/**
+	 * Get the function, which combines two containers. It can change and return
+	 * the first container, but must not change the second one.
+	 * 
+	 * @return combiner of two containers
+	 * @since 1.1.0
+	 */
+	BinaryOperator<A> combiner();
+
+	/**
+	 * Get the function, which turns the final container into the result.
+	 * 
+	 * @return finisher of the container
+	 * @since 1.1.0
+	 */
+	Function<A, R> finisher();
+
+	/**
+	 * Create a collector from its functions.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @param <R>
+	 *            type of the result
+	 * @param supplier
+	 *            supplier of new containers
+	 * @param accumulator
+	 *            accumulator of the compilation units
+	 * @param combiner
+	 *            combiner of two containers
+	 * @param finisher
+	 *            finisher of the container
+	 * @return new collector
+	 * @since 1.1.0
+	 */
+	static <A, R> UnitCollector<A, R> of(Supplier<A> supplier, Accumulator<A> accumulator,
+			BinaryOperator<A> combiner, Function<A, R> finisher) {
+		assertNotNull(supplier);
+		assertNotNull(accumulator);
+		assertNotNull(combiner);
+		assertNotNull(finisher);
+
+		return new UnitCollector<A, R>() {
+
+			@Override
+			public Supplier<A> supplier() {
+				return supplier;
+			}
+
+			@Override
+			public Accumulator<A> accumulator() {
+				return accumulator;
+			}
+
+			@Override
+			public BinaryOperator<A> combiner() {
+				return combiner;
+			}
+
+			@Override
+			public Function<A, R> finisher() {
+				return finisher;
+			}
+		};
+	}
+
+	/**
+	 * Create a collector, whose final container is the result.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container and the result
+	 * @param supplier
+	 *            supplier of new containers
+	 * @param accumulator
+	 *            accumulator of the compilation units
+	 * @param combiner
+	 *            combiner of two containers
+	 * @return new collector
+	 * @since 1.1.0
+	 */
+	static <A> UnitCollector<A, A> of(Supplier<A> supplier, Accumulator<A> accumulator, BinaryOperator<A> combiner) {
+		return of(supplier, accumulator, combiner, Function.identity());
+	}
+
+	/**
+	 * This interface is used to add a compilation unit to a container.
+	 * 
+	 * @param <A>
+	 *            type of the mutable container
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	@FunctionalInterface
+	interface Accumulator<A> {
+
+		/**
+		 * Add a compilation unit to a container.
+		 * 
+		 * @param container
+		 *            container of the current worker
+		 * @param source
+		 *            source file of the code
+		 * @param unit
+		 *            entire compilation unit
+		 * @since 1.1.0
+		 */
+		void accept(A container, File source, CompilationUnit unit);
+	}
+}
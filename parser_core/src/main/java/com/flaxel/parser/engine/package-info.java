@@ -0,0 +1,5 @@
+/**
+ * It contains the engine to walk through folders and archives and to parse all
+ * source files.
+ */
+package com.flaxel.parser.engine;
@@ -0,0 +1,340 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.export;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to read an export of the {@link ExportWriter}. The file is
+ * mapped into memory, so that only the header of every section is read while
+ * opening. The strings are decoded lazily on the first access.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class ExportReader {
+
+	/**
+	 * all possible declaration kinds
+	 */
+	private static final DeclarationKind[] KINDS = DeclarationKind.values();
+
+	/**
+	 * content of the export
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * byte offsets of all strings
+	 */
+	private final int[] stringOffsets;
+
+	/**
+	 * already decoded strings
+	 */
+	private final String[] strings;
+
+	/**
+	 * number of files
+	 */
+	private final int fileCount;
+
+	/**
+	 * offset of the file section
+	 */
+	private final int fileOffset;
+
+	/**
+	 * number of declarations
+	 */
+	private final int declarationCount;
+
+	/**
+	 * offset of the declaration section
+	 */
+	private final int declarationOffset;
+
+	/**
+	 * number of calls
+	 */
+	private final int callCount;
+
+	/**
+	 * offset of the call section
+	 */
+	private final int callOffset;
+
+	/**
+	 * Initialize the export reader with the content of an export.
+	 * 
+	 * @param buffer
+	 *            content of the export
+	 * @throws IOException
+	 *             if the content is not a valid export
+	 * @since 1.1.0
+	 */
+	public ExportReader(ByteBuffer buffer) throws IOException {
+		this.buffer = assertNotNull(buffer).duplicate();
+
+		try {
+			if (this.buffer.getInt(0) != ExportWriter.MAGIC)
+				throw new IOException("The content is not an export.");
+
+			if (this.buffer.getInt(4) != ExportWriter.VERSION)
+				throw new IOException("The version of the export is not supported.");
+
+			int offset = 8;
+			int count = this.buffer.getInt(offset);
+			offset += Integer.BYTES;
+
+			this.stringOffsets = new int[count];
+			this.strings = new String[count];
+
+			for (int i = 0; i < count; i++) {
+				stringOffsets[i] = offset;
+				offset += Integer.BYTES + this.buffer.getInt(offset);
+			}
+
+			this.fileCount = this.buffer.getInt(offset);
+			this.fileOffset = offset + Integer.BYTES;
+			offset = fileOffset + fileCount * Integer.BYTES;
+
+			this.declarationCount = this.buffer.getInt(offset);
+			this.declarationOffset = offset + Integer.BYTES;
+			offset = declarationOffset + 4 * declarationCount * Integer.BYTES;
+
+			this.callCount = this.buffer.getInt(offset);
+			this.callOffset = offset + Integer.BYTES;
+			offset = callOffset + 4 * callCount * Integer.BYTES;
+
+			if (offset > this.buffer.limit())
+				throw new IOException("The export is truncated.");
+		} catch (IndexOutOfBoundsException | BufferUnderflowException | NegativeArraySizeException e) {
+			throw new IOException("The export is truncated.", e);
+		}
+	}
+
+	/**
+	 * Open an export file by mapping it into memory.
+	 * 
+	 * @param path
+	 *            path of the export
+	 * @return export reader
+	 * @throws IOException
+	 *             if an i/o error occurred or the file is not a valid export
+	 * @since 1.1.0
+	 */
+	public static ExportReader open(Path path) throws IOException {
+		assertNotNull(path);
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new ExportReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Get the number of files.
+	 * 
+	 * @return number of files
+	 * @since 1.1.0
+	 */
+	public int getFileCount() {
+		return fileCount;
+	}
+
+	/**
+	 * Get the path of a file.
+	 * 
+	 * @param file
+	 *            index of the file
+	 * @return path of the file
+	 * @since 1.1.0
+	 */
+	public String getFile(int file) {
+		return getString(column(fileOffset, fileCount, 0, file));
+	}
+
+	/**
+	 * Get the number of declarations.
+	 * 
+	 * @return number of declarations
+	 * @since 1.1.0
+	 */
+	public int getDeclarationCount() {
+		return declarationCount;
+	}
+
+	/**
+	 * Get the file index of a declaration.
+	 * 
+	 * @param declaration
+	 *            index of the declaration
+	 * @return index of the file
+	 * @since 1.1.0
+	 */
+	public int getDeclarationFile(int declaration) {
+		return column(declarationOffset, declarationCount, 0, declaration);
+	}
+
+	/**
+	 * Get the kind of a declaration.
+	 * 
+	 * @param declaration
+	 *            index of the declaration
+	 * @return kind of the declaration
+	 * @since 1.1.0
+	 */
+	public DeclarationKind getDeclarationKind(int declaration) {
+		return KINDS[column(declarationOffset, declarationCount, 1, declaration)];
+	}
+
+	/**
+	 * Get the name of a declaration.
+	 * 
+	 * @param declaration
+	 *            index of the declaration
+	 * @return name of the declaration
+	 * @since 1.1.0
+	 */
+	public String getDeclarationName(int declaration) {
+		return getString(column(declarationOffset, declarationCount, 2, declaration));
+	}
+
+	/**
+	 * Get the line of a declaration.
+	 * 
+	 * @param declaration
+	 *            index of the declaration
+	 * @return line of the declaration
+	 * @since 1.1.0
+	 */
+	public int getDeclarationLine(int declaration) {
+		return column(declarationOffset, declarationCount, 3, declaration);
+	}
+
+	/**
+	 * Get the number of calls.
+	 * 
+	 * @return number of calls
+	 * @since 1.1.0
+	 */
+	public int getCallCount() {
+		return callCount;
+	}
+
+	/**
+	 * Get the file index of a call.
+	 * 
+	 * @param call
+	 *            index of the call
+	 * @return index of the file
+	 * @since 1.1.0
+	 */
+	public int getCallFile(int call) {
+		return column(callOffset, callCount, 0, call);
+	}
+
+	/**
+	 * Get the method call of a call site.
+	 * 
+	 * @param call
+	 *            index of the call
+	 * @return the method call
+	 * @since 1.1.0
+	 */
+	public String getCall(int call) {
+		return getString(column(callOffset, callCount, 1, call));
+	}
+
+	/**
+	 * Get the line of a call.
+	 * 
+	 * @param call
+	 *            index of the call
+	 * @return line of the call
+	 * @since 1.1.0
+	 */
+	public int getCallLine(int call) {
+		return column(callOffset, callCount, 2, call);
+	}
+
+	/**
+	 * Get the column of a call.
+	 * 
+	 * @param call
+	 *            index of the call
+	 * @return column of the call
+	 * @since 1.1.0
+	 */
+	public int getCallColumn(int call) {
+		return column(callOffset, callCount, 3, call);
+	}
+
+	/**
+	 * Get a deduplicated string. The string is decoded on the first access.
+	 * 
+	 * @param id
+	 *            id of the string
+	 * @return the string
+	 * @since 1.1.0
+	 */
+	public String getString(int id) {
+		String value = strings[id];
+
+		if (value == null) {
+			int offset = stringOffsets[id];
+			byte[] bytes = new byte[buffer.getInt(offset)];
+
+			ByteBuffer slice = buffer.duplicate();
+			slice.position(offset + Integer.BYTES);
+			slice.get(bytes);
+
+			value = new String(bytes, StandardCharsets.UTF_8);
+			strings[id] = value;
+		}
+
+		return value;
+	}
+
+	/**
+	 * Read a value of a column.
+	 * 
+	 * @param offset
+	 *            offset of the section
+	 * @param count
+	 *            number of rows in the section
+	 * @param column
+	 *            index of the column
+	 * @param row
+	 *            index of the row
+	 * @return the value
+	 * @since 1.1.0
+	 */
+	private int column(int offset, int count, int column, int row) {
+		if (row < 0 || row >= count)
+			throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", row, count));
+
+		return buffer.getInt(offset + (column * count + row) * Integer.BYTES);
+	}
+}
@@ -0,0 +1,426 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to write analysis results in a compact binary format. An
+ * export consists of a header and four sections:
+ * <ul>
+ * <li>header: magic number and version</li>
+ * <li>strings: count and every string as length-prefixed utf-8 bytes</li>
+ * <li>files: count and the column with the string ids of the paths</li>
+ * <li>declarations: count and the columns file, kind, name and line</li>
+ * <li>calls: count and the columns file, call, line and column</li>
+ * </ul>
+ * Every string is only written once and referenced by its id. All numbers are
+ * written in big-endian order. The columns are kept in memory until the writer
+ * is closed.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class ExportWriter implements Closeable {
+
+	/**
+	 * magic number at the beginning of every export
+	 */
+	public static final int MAGIC = 0x4A504558;
+
+	/**
+	 * current version of the format
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * size of the buffer to write the data in chunks
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * channel to write the export
+	 */
+	private final WritableByteChannel channel;
+
+	/**
+	 * ids of all deduplicated strings
+	 */
+	private final Map<String, Integer> stringIds = new HashMap<>();
+
+	/**
+	 * encoded bytes of all strings in the order of their ids
+	 */
+	private byte[][] strings = new byte[64][];
+
+	/**
+	 * string ids of the file paths
+	 */
+	private final IntColumn filePaths = new IntColumn();
+
+	/**
+	 * file indices of the declarations
+	 */
+	private final IntColumn declarationFiles = new IntColumn();
+
+	/**
+	 * kinds of the declarations
+	 */
+	private final IntColumn declarationKinds = new IntColumn();
+
+	/**
+	 * string ids of the declaration names
+	 */
+	private final IntColumn declarationNames = new IntColumn();
+
+	/**
+	 * lines of the declarations
+	 */
+	private final IntColumn declarationLines = new IntColumn();
+
+	/**
+	 * file indices of the calls
+	 */
+	private final IntColumn callFiles = new IntColumn();
+
+	/**
+	 * string ids of the calls
+	 */
+	private final IntColumn callNames = new IntColumn();
+
+	/**
+	 * lines of the calls
+	 */
+	private final IntColumn callLines = new IntColumn();
+
+	/**
+	 * columns of the calls
+	 */
+	private final IntColumn callColumns = new IntColumn();
+
+	/**
+	 * true if the writer is closed, otherwise false
+	 */
+	private boolean closed;
+
+	/**
+	 * Initialize the export writer.
+	 * 
+	 * @param channel
+	 *            channel to write the export, that is closed with the writer
+	 * @since 1.1.0
+	 */
+	public ExportWriter(WritableByteChannel channel) {
+		this.channel = assertNotNull(channel);
+	}
+
+	/**
+	 * Initialize the export writer for a file. An existing file is overwritten.
+	 * 
+	 * @param path
+	 *            path of the export
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is opened
+	 * @since 1.1.0
+	 */
+	public ExportWriter(Path path) throws IOException {
+		this(FileChannel.open(assertNotNull(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING));
+	}
+
+	/**
+	 * Add a new source file.
+	 * 
+	 * @param path
+	 *            path of the source file
+	 * @return index of the file
+	 * @since 1.1.0
+	 */
+	public synchronized int addFile(String path) {
+		assertNotNull(path);
+		assertOpen();
+
+		filePaths.add(stringId(path));
+		return filePaths.size() - 1;
+	}
+
+	/**
+	 * Add a new declaration of a file.
+	 * 
+	 * @param file
+	 *            index of the file
+	 * @param kind
+	 *            kind of the declaration
+	 * @param name
+	 *            name of the declaration
+	 * @param line
+	 *            line of the declaration
+	 * @since 1.1.0
+	 */
+	public synchronized void addDeclaration(int file, DeclarationKind kind, String name, int line) {
+		assertNotNull(kind);
+		assertNotNull(name);
+		assertFile(file);
+
+		declarationFiles.add(file);
+		declarationKinds.add(kind.ordinal());
+		declarationNames.add(stringId(name));
+		declarationLines.add(line);
+	}
+
+	/**
+	 * Add a new call site of a file.
+	 * 
+	 * @param file
+	 *            index of the file
+	 * @param call
+	 *            the method call
+	 * @param line
+	 *            line of the call
+	 * @param column
+	 *            column of the call
+	 * @since 1.1.0
+	 */
+	public synchronized void addCall(int file, String call, int line, int column) {
+		assertNotNull(call);
+		assertFile(file);
+
+		callFiles.add(file);
+		callNames.add(stringId(call));
+		callLines.add(line);
+		callColumns.add(column);
+	}
+
+	/**
+	 * Write all collected data to the channel and close it.
+	 * 
+	 * @throws IOException
+	 *             if an i/o error occurred while the data is written
+	 * @since 1.1.0
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed)
+			return;
+
+		closed = true;
+
+		try (channel) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			buffer.putInt(MAGIC).putInt(VERSION);
+
+			int count = stringIds.size();
+			buffer.putInt(count);
+
+			for (int i = 0; i < count; i++) {
+				byte[] bytes = strings[i];
+				ensure(buffer, Integer.BYTES).putInt(bytes.length);
+
+				for (int offset = 0; offset < bytes.length;) {
+					int length = Math.min(ensure(buffer, 1).remaining(), bytes.length - offset);
+					buffer.put(bytes, offset, length);
+					offset += length;
+				}
+			}
+
+			write(buffer, filePaths.size(), filePaths);
+			write(buffer, declarationFiles.size(), declarationFiles, declarationKinds, declarationNames,
+					declarationLines);
+			write(buffer, callFiles.size(), callFiles, callNames, callLines, callColumns);
+
+			flush(buffer);
+		}
+	}
+
+	/**
+	 * Write the count and all columns of a section.
+	 * 
+	 * @param buffer
+	 *            buffer to collect the data
+	 * @param count
+	 *            number of rows
+	 * @param columns
+	 *            all columns of the section
+	 * @throws IOException
+	 *             if an i/o error occurred while the data is written
+	 * @since 1.1.0
+	 */
+	private void write(ByteBuffer buffer, int count, IntColumn... columns) throws IOException {
+		ensure(buffer, Integer.BYTES).putInt(count);
+
+		for (IntColumn column : columns) {
+			for (int i = 0; i < count; i++) {
+				ensure(buffer, Integer.BYTES).putInt(column.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Flush the buffer if there is not enough space left.
+	 * 
+	 * @param buffer
+	 *            buffer to collect the data
+	 * @param bytes
+	 *            number of required bytes
+	 * @return the buffer
+	 * @throws IOException
+	 *             if an i/o error occurred while the data is written
+	 * @since 1.1.0
+	 */
+	private ByteBuffer ensure(ByteBuffer buffer, int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush(buffer);
+		}
+
+		return buffer;
+	}
+
+	/**
+	 * Write the content of the buffer to the channel and clear it.
+	 * 
+	 * @param buffer
+	 *            buffer to collect the data
+	 * @throws IOException
+	 *             if an i/o error occurred while the data is written
+	 * @since 1.1.0
+	 */
+	private void flush(ByteBuffer buffer) throws IOException {
+		buffer.flip();
+
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+
+		buffer.clear();
+	}
+
+	/**
+	 * Get the id of a string and add it if it is unknown.
+	 * 
+	 * @param value
+	 *            any string
+	 * @return id of the string
+	 * @since 1.1.0
+	 */
+	private int stringId(String value) {
+		Integer id = stringIds.get(value);
+
+		if (id == null) {
+			id = stringIds.size();
+
+			if (id == strings.length) {
+				strings = Arrays.copyOf(strings, id * 2);
+			}
+
+			strings[id] = value.getBytes(StandardCharsets.UTF_8);
+			stringIds.put(value, id);
+		}
+
+		return id;
+	}
+
+	/**
+	 * Check whether the file index exists.
+	 * 
+	 * @param file
+	 *            index of the file
+	 * @since 1.1.0
+	 */
+	private void assertFile(int file) {
+		assertOpen();
+
+		if (file < 0 || file >= filePaths.size())
+			throw new AssertionError("A file index was unexpectedly unknown.");
+	}
+
+	/**
+	 * Check whether the writer is not closed.
+	 * 
+	 * @since 1.1.0
+	 */
+	private void assertOpen() {
+		if (closed)
+			throw new IllegalStateException("The export writer is already closed.");
+	}
+
+	/**
+	 * This class is used as growable column of primitive integers.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class IntColumn {
+
+		/**
+		 * all values of the column
+		 */
+		private int[] values = new int[256];
+
+		/**
+		 * number of values
+		 */
+		private int size;
+
+		/**
+		 * Add a new value.
+		 * 
+		 * @param value
+		 *            any value
+		 * @since 1.1.0
+		 */
+		private void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+
+			values[size++] = value;
+		}
+
+		/**
+		 * Get a value.
+		 * 
+		 * @param index
+		 *            index of the value
+		 * @return the value
+		 * @since 1.1.0
+		 */
+		private int get(int index) {
+			return values[index];
+		}
+
+		/**
+		 * Get the number of values.
+		 * 
+		 * @return number of values
+		 * @since 1.1.0
+		 */
+		private int size() {
+			return size;
+		}
+	}
+}
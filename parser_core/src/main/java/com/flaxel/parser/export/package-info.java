@@ -0,0 +1,5 @@
+/**
+ * It contains all classes to write and read the binary export of analysis
+ * results.
+ */
+package com.flaxel.parser.export;
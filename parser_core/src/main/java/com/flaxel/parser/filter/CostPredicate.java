@@ -0,0 +1,132 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.filter;
+
+import java.util.function.Predicate;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to describe the relative cost of a predicate. A
+ * {@link PredicateCollection} evaluates cheap predicates before expensive ones.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ * @param <T>
+ *            type of the input
+ */
+public class CostPredicate<T> implements Predicate<T> {
+
+	/**
+	 * cost of a predicate, which only checks names or paths
+	 */
+	public static final int NAME = 1;
+
+	/**
+	 * cost of a predicate, which asks the file system
+	 */
+	public static final int IO = 10;
+
+	/**
+	 * cost of a predicate, which reads the content of a file
+	 */
+	public static final int TEXT = 100;
+
+	/**
+	 * cost of a predicate, which searches the syntax tree
+	 */
+	public static final int AST = 1000;
+
+	/**
+	 * cost of all predicates without a cost
+	 */
+	public static final int DEFAULT = AST;
+
+	/**
+	 * wrapped predicate
+	 */
+	private final Predicate<T> predicate;
+
+	/**
+	 * relative cost of the predicate
+	 */
+	private final int cost;
+
+	/**
+	 * Initialize the cost predicate.
+	 * 
+	 * @param predicate
+	 *            wrapped predicate
+	 * @param cost
+	 *            relative cost of the predicate
+	 * @since 1.1.0
+	 */
+	public CostPredicate(Predicate<T> predicate, int cost) {
+		this.predicate = assertNotNull(predicate);
+
+		if (cost < 0)
+			throw new IllegalArgumentException("The cost must not be negative.");
+
+		this.cost = cost;
+	}
+
+	/**
+	 * Get the cost of any predicate.
+	 * 
+	 * @param <T>
+	 *            type of the input
+	 * @param predicate
+	 *            any predicate
+	 * @return cost of the predicate or the default cost
+	 * @since 1.1.0
+	 */
+	public static <T> int costOf(Predicate<T> predicate) {
+		return assertNotNull(predicate) instanceof CostPredicate ? ((CostPredicate<T>) predicate).getCost()
+				: DEFAULT;
+	}
+
+	/**
+	 * Get the relative cost of the predicate.
+	 * 
+	 * @return cost
+	 * @since 1.1.0
+	 */
+	public int getCost() {
+		return cost;
+	}
+
+	/**
+	 * Get the wrapped predicate.
+	 * 
+	 * @return predicate
+	 * @since 1.1.0
+	 */
+	public Predicate<T> getPredicate() {
+		return predicate;
+	}
+
+	/**
+	 * Return the result of the wrapped predicate.
+	 * 
+	 * @param element
+	 *            input argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public boolean test(T element) {
+		return predicate.test(element);
+	}
+}
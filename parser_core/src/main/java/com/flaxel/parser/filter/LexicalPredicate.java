@@ -0,0 +1,132 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.filter;
+
+import java.io.File;
+import java.util.function.Predicate;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to filter files by their source code without a full
+ * parse. The predicate accepts every file before it is read and the engine
+ * tests the source code with {@link #testSource(File, CharSequence)}, as soon
+ * as it has read the file, so that it can reject files before the parser runs.
+ * The predicate never reads a file itself. It keeps its source test in
+ * {@link #and(LexicalPredicate) and}, {@link #or(LexicalPredicate) or},
+ * {@link #negate() negate} and in a {@link PredicateCollection}.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class LexicalPredicate extends CostPredicate<File> implements SourcePredicate<File> {
+
+	/**
+	 * predicate for the source code
+	 */
+	private final Predicate<CharSequence> source;
+
+	/**
+	 * Initialize the lexical predicate.
+	 * 
+	 * @param source
+	 *            predicate for the source code
+	 * @since 1.1.0
+	 */
+	public LexicalPredicate(Predicate<CharSequence> source) {
+		super((file) -> true, CostPredicate.TEXT);
+		this.source = assertNotNull(source);
+	}
+
+	/**
+	 * Accept every file, because the source code is tested after the file was
+	 * read.
+	 * 
+	 * @param file
+	 *            any file
+	 * @since 1.1.0
+	 */
+	@Override
+	public boolean test(File file) {
+		assertNotNull(file);
+
+		return true;
+	}
+
+	/**
+	 * Test the source code of a file, which was already read.
+	 * 
+	 * @param file
+	 *            any file
+	 * @param text
+	 *            source code of the file
+	 * @return result of the predicate
+	 * @since 1.1.0
+	 */
+	@Override
+	public boolean testSource(File file, CharSequence text) {
+		assertNotNull(file);
+
+		return testSource(text);
+	}
+
+	/**
+	 * Test the source code directly, e.g. if it was already read.
+	 * 
+	 * @param text
+	 *            source code
+	 * @return result of the predicate
+	 * @since 1.1.0
+	 */
+	public boolean testSource(CharSequence text) {
+		return source.test(assertNotNull(text));
+	}
+
+	/**
+	 * Return the combination of two lexical predicates with a logical and.
+	 * 
+	 * @param other
+	 *            other lexical predicate
+	 * @return combined predicate
+	 * @since 1.1.0
+	 */
+	public LexicalPredicate and(LexicalPredicate other) {
+		return new LexicalPredicate(source.and(assertNotNull(other).source));
+	}
+
+	/**
+	 * Return the combination of two lexical predicates with a logical or.
+	 * 
+	 * @param other
+	 *            other lexical predicate
+	 * @return combined predicate
+	 * @since 1.1.0
+	 */
+	public LexicalPredicate or(LexicalPredicate other) {
+		return new LexicalPredicate(source.or(assertNotNull(other).source));
+	}
+
+	/**
+	 * Return the logical negation of the lexical predicate.
+	 * 
+	 * @return negated predicate
+	 * @since 1.1.0
+	 */
+	@Override
+	public LexicalPredicate negate() {
+		return new LexicalPredicate(source.negate());
+	}
+}
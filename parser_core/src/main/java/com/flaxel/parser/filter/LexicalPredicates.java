@@ -0,0 +1,228 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.filter;
+
+import java.util.regex.Pattern;
+
+import static com.github.javaparser.utils.Utils.assertNonEmpty;
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used as a collection for all filters, which only scan the
+ * tokens of the source code, which the engine has read. They never reject a
+ * file, which the matching filter for a compilation unit would accept, but can
+ * skip the parsing of most other files.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class LexicalPredicates {
+
+	/**
+	 * all keywords, which can be a modifier of a declaration
+	 */
+	private static final String[] MODIFIERS = { "public", "protected", "private", "static", "final", "abstract",
+			"transient", "volatile", "synchronized", "native", "strictfp", "default" };
+
+	/**
+	 * file filter if the source code contains <code>static final</code> modifiers,
+	 * see {@link Predicates#UNIT_CONSTANTS}
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final LexicalPredicate FILE_CONSTANTS = new LexicalPredicate(
+			LexicalPredicates::containsStaticFinal);
+
+	/**
+	 * Create a file filter if the source code contains an identifier or keyword
+	 * outside of comments and literals.
+	 * 
+	 * @param identifier
+	 *            identifier or keyword
+	 * @return file filter
+	 * @since 1.1.0
+	 */
+	public static LexicalPredicate containsIdentifier(String identifier) {
+		assertNonEmpty(identifier);
+
+		return new LexicalPredicate((text) -> {
+			SourceScanner scanner = new SourceScanner(text);
+
+			while (scanner.next()) {
+				if (scanner.is(identifier))
+					return true;
+			}
+
+			return false;
+		});
+	}
+
+	/**
+	 * Create a file filter if the source code declares a class, interface, enum or
+	 * annotation whose name matches a regular expression.
+	 * 
+	 * @param regex
+	 *            regular expression for the name
+	 * @return file filter
+	 * @since 1.1.0
+	 */
+	public static LexicalPredicate declaresType(String regex) {
+		return declaresType(Pattern.compile(assertNonEmpty(regex)));
+	}
+
+	/**
+	 * Create a file filter if the source code declares a class, interface, enum or
+	 * annotation whose name matches a pattern.
+	 * 
+	 * @param pattern
+	 *            pattern for the name
+	 * @return file filter
+	 * @since 1.1.0
+	 */
+	public static LexicalPredicate declaresType(Pattern pattern) {
+		assertNotNull(pattern);
+
+		return new LexicalPredicate((text) -> {
+			SourceScanner scanner = new SourceScanner(text);
+			boolean afterDot = false;
+			boolean declaration = false;
+
+			while (scanner.next()) {
+				if (declaration && scanner.isIdentifier() && pattern.matcher(scanner.token()).matches())
+					return true;
+
+				declaration = !afterDot
+						&& (scanner.is("class") || scanner.is("interface") || scanner.is("enum"));
+				afterDot = scanner.is(".");
+			}
+
+			return false;
+		});
+	}
+
+	/**
+	 * Check whether the source code contains a run of modifiers with
+	 * <code>static</code> and <code>final</code>. Annotations between the
+	 * modifiers do not end the run.
+	 * 
+	 * @param text
+	 *            source code
+	 * @return true if a static final modifier was found, otherwise false
+	 * @since 1.1.0
+	 */
+	private static boolean containsStaticFinal(CharSequence text) {
+		SourceScanner scanner = new SourceScanner(text);
+		boolean isStatic = false;
+		boolean isFinal = false;
+		boolean found = scanner.next();
+
+		while (found) {
+			if (scanner.is("@")) {
+				found = skipAnnotation(scanner);
+				continue;
+			}
+
+			if (isModifier(scanner)) {
+				isStatic |= scanner.is("static");
+				isFinal |= scanner.is("final");
+
+				if (isStatic && isFinal)
+					return true;
+			} else {
+				isStatic = false;
+				isFinal = false;
+			}
+
+			found = scanner.next();
+		}
+
+		return false;
+	}
+
+	/**
+	 * Skip an annotation with its qualified name and its arguments. The scanner
+	 * must be on the <code>@</code> and is left on the first token after the
+	 * annotation.
+	 * 
+	 * @param scanner
+	 *            source scanner
+	 * @return true if a token follows the annotation, otherwise false
+	 * @since 1.1.0
+	 */
+	private static boolean skipAnnotation(SourceScanner scanner) {
+		boolean name = true;
+
+		while (scanner.next()) {
+			if (name) {
+				if (!scanner.isIdentifier())
+					return true;
+
+				name = false;
+			} else if (scanner.is(".")) {
+				name = true;
+			} else if (scanner.is("(")) {
+				return skipArguments(scanner) && scanner.next();
+			} else {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Skip the arguments of an annotation up to the closing parenthesis. Nested
+	 * parentheses are balanced.
+	 * 
+	 * @param scanner
+	 *            source scanner on the opening parenthesis
+	 * @return true if the closing parenthesis was found, otherwise false
+	 * @since 1.1.0
+	 */
+	private static boolean skipArguments(SourceScanner scanner) {
+		int depth = 1;
+
+		while (scanner.next()) {
+			if (scanner.is("(")) {
+				depth++;
+			} else if (scanner.is(")") && --depth == 0) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Check whether the current token of the scanner is a modifier.
+	 * 
+	 * @param scanner
+	 *            source scanner
+	 * @return true if the token is a modifier, otherwise false
+	 * @since 1.1.0
+	 */
+	private static boolean isModifier(SourceScanner scanner) {
+		if (!scanner.isIdentifier())
+			return false;
+
+		for (String modifier : MODIFIERS) {
+			if (scanner.is(modifier))
+				return true;
+		}
+
+		return false;
+	}
+}
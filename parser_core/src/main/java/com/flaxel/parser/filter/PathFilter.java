@@ -0,0 +1,298 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.filter;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static com.github.javaparser.utils.Utils.assertNonEmpty;
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to include or exclude files by their path relative to the
+ * root folder. A pattern is a glob (<code>glob:</code> or no prefix) or a
+ * regular expression (<code>regex:</code>), e.g. <code>**&#47;generated/**</code>.
+ * A leading <code>**&#47;</code> of a glob also matches at the root folder.<br>
+ * Exclude patterns are tested for folders too, so that an excluded folder is
+ * skipped with all its content and never listed. Include patterns are only
+ * tested for files.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class PathFilter implements Predicate<Path> {
+
+	/**
+	 * prefix for a glob pattern
+	 */
+	public static final String GLOB = "glob:";
+
+	/**
+	 * prefix for a regular expression
+	 */
+	public static final String REGEX = "regex:";
+
+	/**
+	 * all include rules
+	 */
+	private final List<Rule> includes;
+
+	/**
+	 * all exclude rules
+	 */
+	private final List<Rule> excludes;
+
+	/**
+	 * Initialize the path filter, which accepts all paths.
+	 * 
+	 * @since 1.1.0
+	 */
+	public PathFilter() {
+		this.includes = new ArrayList<>();
+		this.excludes = new ArrayList<>();
+	}
+
+	/**
+	 * Initialize the path filter.
+	 * 
+	 * @param includes
+	 *            all include patterns
+	 * @param excludes
+	 *            all exclude patterns
+	 * @since 1.1.0
+	 */
+	public PathFilter(List<String> includes, List<String> excludes) {
+		this();
+		assertNotNull(includes).forEach(this::include);
+		assertNotNull(excludes).forEach(this::exclude);
+	}
+
+	/**
+	 * Add a pattern for the files, which should be included. If no include
+	 * pattern exists, all files are included.
+	 * 
+	 * @param pattern
+	 *            glob or regular expression
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public PathFilter include(String pattern) {
+		includes.add(new Rule(pattern));
+		return this;
+	}
+
+	/**
+	 * Add a pattern for the files and folders, which should be excluded.
+	 * 
+	 * @param pattern
+	 *            glob or regular expression
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public PathFilter exclude(String pattern) {
+		excludes.add(new Rule(pattern));
+		return this;
+	}
+
+	/**
+	 * Get the value whether the filter accepts all paths.
+	 * 
+	 * @return true if no pattern exists, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean isEmpty() {
+		return includes.isEmpty() && excludes.isEmpty();
+	}
+
+	/**
+	 * Return the value whether a file is accepted.
+	 * 
+	 * @param path
+	 *            path relative to the root folder
+	 * @since 1.1.0
+	 */
+	@Override
+	public boolean test(Path path) {
+		assertNotNull(path);
+
+		for (Rule rule : excludes) {
+			if (rule.matchesFile(path))
+				return false;
+		}
+
+		if (includes.isEmpty())
+			return true;
+
+		for (Rule rule : includes) {
+			if (rule.matchesFile(path))
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Return the value whether the content of a folder should be visited.
+	 * 
+	 * @param path
+	 *            path relative to the root folder
+	 * @return false if the folder is excluded, otherwise true
+	 * @since 1.1.0
+	 */
+	public boolean testFolder(Path path) {
+		assertNotNull(path);
+
+		for (Rule rule : excludes) {
+			if (rule.matchesFolder(path))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * This class is used to match a path with a glob or a regular expression.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class Rule {
+
+		/**
+		 * all matchers for a file of a glob
+		 */
+		private final List<PathMatcher> fileMatchers;
+
+		/**
+		 * all additional matchers for a folder of a glob
+		 */
+		private final List<PathMatcher> folderMatchers;
+
+		/**
+		 * regular expression or null for a glob
+		 */
+		private final Pattern regex;
+
+		/**
+		 * Initialize the rule.
+		 * 
+		 * @param pattern
+		 *            glob or regular expression
+		 * @since 1.1.0
+		 */
+		Rule(String pattern) {
+			assertNonEmpty(pattern);
+
+			this.fileMatchers = new ArrayList<>();
+			this.folderMatchers = new ArrayList<>();
+
+			if (pattern.startsWith(REGEX)) {
+				this.regex = Pattern.compile(pattern.substring(REGEX.length()));
+				return;
+			}
+
+			this.regex = null;
+			String glob = assertNonEmpty(pattern.startsWith(GLOB) ? pattern.substring(GLOB.length()) : pattern);
+
+			addGlob(fileMatchers, glob);
+
+			if (glob.endsWith("/**")) {
+				addGlob(folderMatchers, glob.substring(0, glob.length() - 3));
+			}
+		}
+
+		/**
+		 * Add the matcher for a glob and for the glob without a leading
+		 * <code>**&#47;</code>.
+		 * 
+		 * @param matchers
+		 *            target list
+		 * @param glob
+		 *            glob pattern
+		 * @since 1.1.0
+		 */
+		private static void addGlob(List<PathMatcher> matchers, String glob) {
+			if (glob.isEmpty())
+				return;
+
+			matchers.add(FileSystems.getDefault().getPathMatcher(GLOB + glob));
+
+			if (glob.startsWith("**/") && glob.length() > 3) {
+				matchers.add(FileSystems.getDefault().getPathMatcher(GLOB + glob.substring(3)));
+			}
+		}
+
+		/**
+		 * Check whether the rule matches a file.
+		 * 
+		 * @param path
+		 *            relative path
+		 * @return true if the rule matches, otherwise false
+		 * @since 1.1.0
+		 */
+		boolean matchesFile(Path path) {
+			if (regex != null)
+				return regex.matcher(normalize(path)).matches();
+
+			for (PathMatcher matcher : fileMatchers) {
+				if (matcher.matches(path))
+					return true;
+			}
+
+			return false;
+		}
+
+		/**
+		 * Check whether the rule matches a folder and all its content.
+		 * 
+		 * @param path
+		 *            relative path
+		 * @return true if the rule matches, otherwise false
+		 * @since 1.1.0
+		 */
+		boolean matchesFolder(Path path) {
+			if (regex != null) {
+				String name = normalize(path);
+				return regex.matcher(name).matches() || regex.matcher(name + '/').matches();
+			}
+
+			for (PathMatcher matcher : folderMatchers) {
+				if (matcher.matches(path))
+					return true;
+			}
+
+			return matchesFile(path);
+		}
+
+		/**
+		 * Create a string of the path with slashes as separator.
+		 * 
+		 * @param path
+		 *            relative path
+		 * @return normalized string
+		 * @since 1.1.0
+		 */
+		private static String normalize(Path path) {
+			return path.toString().replace(File.separatorChar, '/');
+		}
+	}
+}
@@ -16,32 +16,64 @@
 package com.flaxel.parser.filter;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.flaxel.parser.utils.Utils.assertNonEmpty;
 import static com.github.javaparser.utils.Utils.assertNotNull;
 
 /**
- * This class is used to summarize all predicates in a collection.
+ * This class is used to summarize all predicates in a collection. The
+ * collection is immutable and can be shared between threads. The predicates
+ * are evaluated in the order of their cost (see {@link CostPredicate}), so that
+ * cheap predicates can short-circuit expensive ones. Predicates with the same
+ * cost keep their order.<br>
+ * An adaptive collection additionally counts how often a predicate decides the
+ * result and reorders the predicates, so that cheap and selective predicates
+ * are evaluated first.
  * 
  * @author flaxel
  * @since 1.0.0
  * @param <T>
  *            type of the input
  */
-public class PredicateCollection<T> implements Predicate<T> {
+public class PredicateCollection<T> implements Predicate<T>, SourcePredicate<T> {
 
 	/**
-	 * collection for all predicates
+	 * number of tested elements after that an adaptive collection is reordered
 	 */
-	private List<Predicate<T>> predicates;
+	public static final int REORDER_INTERVAL = 1024;
+
+	/**
+	 * collection for all predicates in the original order
+	 */
+	private final List<Predicate<T>> predicates;
 
 	/**
 	 * true if the predicates should be combined with a logical and, otherwise false
 	 */
-	private boolean conjunction;
+	private final boolean conjunction;
+
+	/**
+	 * true if the predicates should be reordered by their observed selectivity,
+	 * otherwise false
+	 */
+	private final boolean adaptive;
+
+	/**
+	 * all predicates in the order of the evaluation
+	 */
+	private volatile Entry<T>[] order;
+
+	/**
+	 * number of tested elements
+	 */
+	private final AtomicLong tests;
 
 	/**
 	 * Initialize the predicates filter.
@@ -63,30 +95,98 @@ public class PredicateCollection<T> implements Predicate<T> {
 	 * @since 1.0.0
 	 */
 	public PredicateCollection(List<Predicate<T>> predicates) {
-		this.predicates = assertNonEmpty(predicates);
-		this.conjunction = true;
+		this(predicates, true, false);
 	}
 
 	/**
-	 * Set the value whether the predicates should be combined with a logical and.
+	 * Initialize the predicates filter.
 	 * 
-	 * @return this instance
+	 * @param predicates
+	 *            all predicates
+	 * @param conjunction
+	 *            true if the predicates should be combined with a logical and,
+	 *            otherwise false
+	 * @param adaptive
+	 *            true if the predicates should be reordered by their observed
+	 *            selectivity, otherwise false
+	 * @since 1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public PredicateCollection(List<Predicate<T>> predicates, boolean conjunction, boolean adaptive) {
+		assertNonEmpty(predicates).forEach((predicate) -> assertNotNull(predicate));
+
+		this.predicates = List.copyOf(predicates);
+		this.conjunction = conjunction;
+		this.adaptive = adaptive;
+		this.tests = new AtomicLong();
+		this.order = this.predicates.stream()
+				.map(Entry::new)
+				.sorted(Comparator.comparingInt((entry) -> entry.cost))
+				.toArray(Entry[]::new);
+	}
+
+	/**
+	 * Return a collection, which combines the predicates with a logical and.
+	 * 
+	 * @return collection with a conjunction
 	 * @since 1.0.0
 	 */
 	public PredicateCollection<T> conjunction() {
-		this.conjunction = true;
-		return this;
+		return conjunction ? this : new PredicateCollection<>(predicates, true, adaptive);
 	}
 
 	/**
-	 * Set the value whether the predicates should be combined with a logical or.
+	 * Return a collection, which combines the predicates with a logical or.
 	 * 
-	 * @return this instance
+	 * @return collection with a disjunction
 	 * @since 1.0.0
 	 */
 	public PredicateCollection<T> disjunction() {
-		this.conjunction = false;
-		return this;
+		return conjunction ? new PredicateCollection<>(predicates, false, adaptive) : this;
+	}
+
+	/**
+	 * Return a collection, which reorders the predicates by their observed
+	 * selectivity or only by their cost.
+	 * 
+	 * @param adaptive
+	 *            true if the predicates should be reordered, otherwise false
+	 * @return collection with the new value
+	 * @since 1.1.0
+	 */
+	public PredicateCollection<T> adaptive(boolean adaptive) {
+		return this.adaptive == adaptive ? this : new PredicateCollection<>(predicates, conjunction, adaptive);
+	}
+
+	/**
+	 * Get the value whether the predicates are combined with a logical and.
+	 * 
+	 * @return true if it is a conjunction, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean isConjunction() {
+		return conjunction;
+	}
+
+	/**
+	 * Get the value whether the predicates are reordered by their observed
+	 * selectivity.
+	 * 
+	 * @return true if the collection is adaptive, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean isAdaptive() {
+		return adaptive;
+	}
+
+	/**
+	 * Get all predicates in the current order of the evaluation.
+	 * 
+	 * @return unmodifiable list of predicates
+	 * @since 1.1.0
+	 */
+	public List<Predicate<T>> getPredicates() {
+		return Arrays.stream(order).map((entry) -> entry.predicate).collect(Collectors.toUnmodifiableList());
 	}
 
 	/**
@@ -100,20 +200,127 @@ public class PredicateCollection<T> implements Predicate<T> {
 	public boolean test(T element) {
 		assertNotNull(element);
 
-		if (conjunction) {
-			for (Predicate<T> predicate : predicates) {
-				if (!assertNotNull(predicate).test(element))
-					return false;
+		Entry<T>[] entries = order;
+
+		if (!adaptive) {
+			for (Entry<T> entry : entries) {
+				if (entry.predicate.test(element) != conjunction)
+					return !conjunction;
+			}
+
+			return conjunction;
+		}
+
+		boolean result = conjunction;
+
+		for (Entry<T> entry : entries) {
+			entry.evaluations.increment();
+
+			if (entry.predicate.test(element) != conjunction) {
+				entry.decisions.increment();
+				result = !conjunction;
+				break;
 			}
+		}
 
-			return true;
+		if (tests.incrementAndGet() % REORDER_INTERVAL == 0) {
+			reorder(entries);
 		}
 
-		for (Predicate<T> predicate : predicates) {
-			if (assertNotNull(predicate).test(element))
-				return true;
+		return result;
+	}
+
+	/**
+	 * Return the result of the conjunction or disjunction with the source code
+	 * of the element. Every {@link SourcePredicate} tests the source code and
+	 * every other predicate tests the element.
+	 * 
+	 * @param element
+	 *            input argument
+	 * @param text
+	 *            source code of the element
+	 * @return result of the predicate
+	 * @since 1.1.0
+	 */
+	@Override
+	public boolean testSource(T element, CharSequence text) {
+		assertNotNull(element);
+		assertNotNull(text);
+
+		for (Entry<T> entry : order) {
+			if (SourcePredicate.test(entry.predicate, element, text) != conjunction)
+				return !conjunction;
 		}
 
-		return false;
+		return conjunction;
+	}
+
+	/**
+	 * Sort the predicates by the ratio of their cost and the probability that
+	 * they decide the result. The probability is smoothed, so that rarely
+	 * evaluated predicates are not moved too far.
+	 * 
+	 * @param entries
+	 *            current order of the predicates
+	 * @since 1.1.0
+	 */
+	private void reorder(Entry<T>[] entries) {
+		double[] ranks = new double[entries.length];
+
+		for (int i = 0; i < entries.length; i++) {
+			double probability = (entries[i].decisions.sum() + 1.0) / (entries[i].evaluations.sum() + 2.0);
+			ranks[i] = Math.max(entries[i].cost, 1) / probability;
+		}
+
+		order = IntStream.range(0, entries.length)
+				.boxed()
+				.sorted(Comparator.comparingDouble((i) -> ranks[i]))
+				.map((i) -> entries[i])
+				.toArray((size) -> Arrays.copyOf(entries, size));
+	}
+
+	/**
+	 * This class is used to store a predicate with its cost and statistics.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 * @param <T>
+	 *            type of the input
+	 */
+	private static class Entry<T> {
+
+		/**
+		 * predicate to evaluate
+		 */
+		private final Predicate<T> predicate;
+
+		/**
+		 * relative cost of the predicate
+		 */
+		private final int cost;
+
+		/**
+		 * number of evaluations
+		 */
+		private final LongAdder evaluations;
+
+		/**
+		 * number of evaluations, which decided the result
+		 */
+		private final LongAdder decisions;
+
+		/**
+		 * Initialize the entry.
+		 * 
+		 * @param predicate
+		 *            predicate to evaluate
+		 * @since 1.1.0
+		 */
+		Entry(Predicate<T> predicate) {
+			this.predicate = predicate;
+			this.cost = CostPredicate.costOf(predicate);
+			this.evaluations = new LongAdder();
+			this.decisions = new LongAdder();
+		}
 	}
 }
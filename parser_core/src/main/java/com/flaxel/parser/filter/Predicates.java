@@ -16,9 +16,9 @@
 package com.flaxel.parser.filter;
 
 import java.io.File;
-import java.util.List;
 import java.util.function.Predicate;
 
+import com.flaxel.parser.engine.DeclarationsOnly;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.FieldDeclaration;
 
@@ -37,31 +37,53 @@ public class Predicates {
 	 * 
 	 * @since 1.0.0
 	 */
-	public static final Predicate<File> FILE_READ_WRITE = (file) -> {
+	public static final Predicate<File> FILE_READ_WRITE = new CostPredicate<>((file) -> {
 		assertNotNull(file);
 		return file.canWrite() && file.canRead();
-	};
+	}, CostPredicate.IO);
 
 	/**
 	 * file filter if the file is not visible
 	 * 
 	 * @since 1.0.0
 	 */
-	public static final Predicate<File> FILE_HIDDEN = (file) -> {
+	public static final Predicate<File> FILE_HIDDEN = new CostPredicate<>((file) -> {
 		return assertNotNull(file).isHidden();
-	};
+	}, CostPredicate.IO);
 
 	/**
 	 * unit filter if the compilation unit contains constant variables
 	 * 
 	 * @since 1.0.0
 	 */
-	public static final Predicate<CompilationUnit> UNIT_CONSTANTS = (unit) -> {
+	public static final Predicate<CompilationUnit> UNIT_CONSTANTS = new DeclarationsPredicate<>((unit) -> {
 		assertNotNull(unit);
 
-		List<FieldDeclaration> constants = unit.findAll(FieldDeclaration.class,
-				(field) -> field.isFinal() && field.isStatic());
+		return unit.findFirst(FieldDeclaration.class, (field) -> field.isFinal() && field.isStatic()).isPresent();
+	}, CostPredicate.AST);
 
-		return !constants.isEmpty();
-	};
+	/**
+	 * This class is used to mark a predicate, which only needs the declarations
+	 * of a compilation unit.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 * @param <T>
+	 *            type of the input
+	 */
+	private static class DeclarationsPredicate<T> extends CostPredicate<T> implements DeclarationsOnly {
+
+		/**
+		 * Create a new predicate, which only needs the declarations.
+		 * 
+		 * @param predicate
+		 *            wrapped predicate
+		 * @param cost
+		 *            relative cost of the predicate
+		 * @since 1.1.0
+		 */
+		private DeclarationsPredicate(Predicate<T> predicate, int cost) {
+			super(predicate, cost);
+		}
+	}
 }
@@ -0,0 +1,65 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.filter;
+
+import java.util.function.Predicate;
+
+/**
+ * This interface is used to test an element by its source code, after the
+ * engine has read it. The engine tests the predicate on the text, which it
+ * already loaded with the detected charset, so that the predicate never reads
+ * a file itself and also works for the entries of an archive.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ * @param <T>
+ *            type of the input
+ */
+public interface SourcePredicate<T> {
+
+	/**
+	 * Test an element with its source code.
+	 * 
+	 * @param element
+	 *            input argument
+	 * @param text
+	 *            source code of the element
+	 * @return result of the predicate
+	 * @since 1.1.0
+	 */
+	boolean testSource(T element, CharSequence text);
+
+	/**
+	 * Test any predicate with the source code of an element. A predicate, which
+	 * is no source predicate, only tests the element.
+	 * 
+	 * @param <T>
+	 *            type of the input
+	 * @param predicate
+	 *            any predicate
+	 * @param element
+	 *            input argument
+	 * @param text
+	 *            source code of the element
+	 * @return result of the predicate
+	 * @since 1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> boolean test(Predicate<T> predicate, T element, CharSequence text) {
+		return predicate instanceof SourcePredicate ? ((SourcePredicate<T>) predicate).testSource(element, text)
+				: predicate.test(element);
+	}
+}
@@ -0,0 +1,154 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.filter;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to split java source code into simple tokens without a
+ * full parse. Comments, string literals and character literals are skipped, so
+ * that only identifiers, keywords and single symbols remain.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class SourceScanner {
+
+	/**
+	 * source code to scan
+	 */
+	private final CharSequence text;
+
+	/**
+	 * position of the next character
+	 */
+	private int position;
+
+	/**
+	 * start of the current token
+	 */
+	private int start;
+
+	/**
+	 * end of the current token (exclusive)
+	 */
+	private int end;
+
+	/**
+	 * Initialize the scanner.
+	 * 
+	 * @param text
+	 *            source code to scan
+	 * @since 1.1.0
+	 */
+	public SourceScanner(CharSequence text) {
+		this.text = assertNotNull(text);
+	}
+
+	/**
+	 * Move to the next token.
+	 * 
+	 * @return true if a token was found, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean next() {
+		int length = text.length();
+
+		while (position < length) {
+			char c = text.charAt(position);
+
+			if (Character.isWhitespace(c)) {
+				position++;
+			} else if (c == '/' && position + 1 < length && text.charAt(position + 1) == '/') {
+				while (position < length && text.charAt(position) != '\n') {
+					position++;
+				}
+			} else if (c == '/' && position + 1 < length && text.charAt(position + 1) == '*') {
+				position += 2;
+
+				while (position < length
+						&& !(text.charAt(position) == '*' && position + 1 < length && text.charAt(position + 1) == '/')) {
+					position++;
+				}
+
+				position = Math.min(position + 2, length);
+			} else if (c == '"' || c == '\'') {
+				position++;
+
+				while (position < length && text.charAt(position) != c && text.charAt(position) != '\n') {
+					position += text.charAt(position) == '\\' ? 2 : 1;
+				}
+
+				position = Math.min(position + 1, length);
+			} else if (Character.isJavaIdentifierStart(c)) {
+				start = position++;
+
+				while (position < length && Character.isJavaIdentifierPart(text.charAt(position))) {
+					position++;
+				}
+
+				end = position;
+				return true;
+			} else {
+				start = position++;
+				end = position;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Get the value whether the current token is an identifier or a keyword.
+	 * 
+	 * @return true if it is an identifier, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean isIdentifier() {
+		return Character.isJavaIdentifierStart(text.charAt(start));
+	}
+
+	/**
+	 * Get the value whether the current token is equal to a string.
+	 * 
+	 * @param token
+	 *            expected token
+	 * @return true if the token is equal, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean is(String token) {
+		if (end - start != token.length())
+			return false;
+
+		for (int i = 0; i < token.length(); i++) {
+			if (text.charAt(start + i) != token.charAt(i))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Get the current token.
+	 * 
+	 * @return current token
+	 * @since 1.1.0
+	 */
+	public CharSequence token() {
+		return text.subSequence(start, end);
+	}
+}
@@ -17,6 +17,8 @@ package com.flaxel.parser.generator;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -40,8 +42,6 @@ import com.github.javaparser.ast.expr.UnaryExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.IfStmt;
 import com.github.javaparser.ast.stmt.ReturnStmt;
-import com.github.javaparser.utils.ClassUtils;
-import com.github.javaparser.utils.Utils;
 import com.google.common.collect.Streams;
 
 import static com.flaxel.parser.utils.Utils.assertNonEmpty;
@@ -56,6 +56,16 @@ import static com.github.javaparser.utils.Utils.assertNotNull;
  */
 public class EqualsGenerator implements Supplier<Node> {
 
+	/**
+	 * name of the casted object in the generated method
+	 */
+	private static final String OTHER_NAME = "other";
+
+	/**
+	 * cache for the field templates with the shape and the helper class as key
+	 */
+	private static final Map<String, IfStmt> templates = new ConcurrentHashMap<>();
+
 	/**
 	 * name of the class
 	 */
@@ -140,7 +150,7 @@ public class EqualsGenerator implements Supplier<Node> {
 	@Override
 	public MethodDeclaration get() {
 		String objectName = "o";
-		String otherClassObject = "other";
+		String otherClassObject = OTHER_NAME;
 
 		BlockStmt body = new BlockStmt();
 
@@ -172,61 +182,15 @@ public class EqualsGenerator implements Supplier<Node> {
 		}
 
 		Streams.forEachPair(fieldTypes.stream(), fieldNames.stream(), (type, name) -> {
-			Expression condition = null;
-
-			if (ClassUtils.isPrimitiveOrWrapper(type)) {
-				String scope = Utils.capitalize(type.getSimpleName());
-
-				if (type.equals(char.class)) {
-					scope = "Character";
-				} else if (type.equals(int.class)) {
-					scope = "Integer";
-				}
-
-				condition = new BinaryExpr()
-						.setLeft(new MethodCallExpr().setScope(new NameExpr(scope))
-								.setName("compare")
-								.setArguments(new NodeList<>(new NameExpr(String.format("this.%s", name)),
-										new NameExpr(String.format("%s.%s", otherClassObject, name)))))
-						.setRight(new NameExpr("0"))
-						.setOperator(BinaryExpr.Operator.NOT_EQUALS);
-			} else if (type.isArray()) {
-				Class<Arrays> arrayClass = Arrays.class;
-
-				if (unit != null) {
-					unit.addImport(arrayClass);
-				}
-
-				String scopeName = (unit == null ? arrayClass.getName() : arrayClass.getSimpleName());
-
-				if (ClassUtils.isPrimitiveOrWrapper(type.getComponentType())) {
-					condition = new UnaryExpr().setOperator(UnaryExpr.Operator.LOGICAL_COMPLEMENT)
-							.setExpression(new MethodCallExpr()
-									.setArguments(new NodeList<>(new NameExpr(String.format("this.%s", name)),
-											new NameExpr(String.format("%s.%s", otherClassObject, name))))
-									.setScope(new NameExpr(scopeName))
-									.setName("equals"));
-				} else {
-					condition = new UnaryExpr().setOperator(UnaryExpr.Operator.LOGICAL_COMPLEMENT)
-							.setExpression(new MethodCallExpr()
-									.setArguments(new NodeList<>(new NameExpr(String.format("this.%s", name)),
-											new NameExpr(String.format("%s.%s", otherClassObject, name))))
-									.setScope(new NameExpr(scopeName))
-									.setName("deepEquals"));
-				}
-			} else {
-				condition = new UnaryExpr().setOperator(UnaryExpr.Operator.LOGICAL_COMPLEMENT)
-						.setExpression(new MethodCallExpr()
-								.setArguments(
-										new NodeList<>(new NameExpr(String.format("%s.%s", otherClassObject, name))))
-								.setScope(new NameExpr(String.format("this.%s", name)))
-								.setName("equals"));
+			FieldShape shape = FieldShape.of(type);
+
+			if (unit != null && shape != FieldShape.PRIMITIVE && shape != FieldShape.OBJECT) {
+				unit.addImport(Arrays.class);
 			}
 
-			IfStmt ifField = new IfStmt();
-			ifField.setCondition(condition);
-			ifField.setThenStmt(new ReturnStmt("false"));
-			body.addStatement(ifField);
+			String scope = shape.scope(type, unit == null);
+			IfStmt template = templates.computeIfAbsent(shape.key(scope), (key) -> createTemplate(shape, scope));
+			body.addStatement(FieldShape.instantiate(template, name));
 		});
 
 		body.addStatement(new ReturnStmt("true"));
@@ -241,4 +205,49 @@ public class EqualsGenerator implements Supplier<Node> {
 
 		return method;
 	}
+
+	/**
+	 * Create the template of the <code>if</code> statement, which compares a
+	 * field with the shape and the helper class.
+	 * 
+	 * @param shape
+	 *            shape of the field
+	 * @param scope
+	 *            name of the helper class
+	 * @return if statement with a placeholder as field name
+	 * @since 1.1.0
+	 */
+	private static IfStmt createTemplate(FieldShape shape, String scope) {
+		String name = FieldShape.PLACEHOLDER;
+		NameExpr thisField = new NameExpr(String.format("this.%s", name));
+		NameExpr otherField = new NameExpr(String.format("%s.%s", OTHER_NAME, name));
+		Expression condition = null;
+
+		switch (shape) {
+		case PRIMITIVE:
+			condition = new BinaryExpr()
+					.setLeft(new MethodCallExpr().setScope(new NameExpr(scope))
+							.setName("compare")
+							.setArguments(new NodeList<>(thisField, otherField)))
+					.setRight(new NameExpr("0"))
+					.setOperator(BinaryExpr.Operator.NOT_EQUALS);
+			break;
+		case PRIMITIVE_ARRAY:
+		case OBJECT_ARRAY:
+			condition = new UnaryExpr().setOperator(UnaryExpr.Operator.LOGICAL_COMPLEMENT)
+					.setExpression(new MethodCallExpr()
+							.setArguments(new NodeList<>(thisField, otherField))
+							.setScope(new NameExpr(scope))
+							.setName(shape == FieldShape.PRIMITIVE_ARRAY ? "equals" : "deepEquals"));
+			break;
+		default:
+			condition = new UnaryExpr().setOperator(UnaryExpr.Operator.LOGICAL_COMPLEMENT)
+					.setExpression(new MethodCallExpr()
+							.setArguments(new NodeList<>(otherField))
+							.setScope(thisField)
+							.setName("equals"));
+		}
+
+		return new IfStmt().setCondition(condition).setThenStmt(new ReturnStmt("false"));
+	}
 }
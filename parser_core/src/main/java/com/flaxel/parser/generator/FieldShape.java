@@ -0,0 +1,153 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.generator;
+
+import java.util.Arrays;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.SimpleName;
+import com.github.javaparser.utils.ClassUtils;
+import com.github.javaparser.utils.Utils;
+
+/**
+ * This enum is used to describe the shape of a field type. All generators
+ * build one statement template per shape and clone it for every field, so that
+ * the type of a field is only inspected once.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+enum FieldShape {
+
+	/**
+	 * primitive type or wrapper class
+	 */
+	PRIMITIVE,
+
+	/**
+	 * array with primitive or wrapper components
+	 */
+	PRIMITIVE_ARRAY,
+
+	/**
+	 * array with object components
+	 */
+	OBJECT_ARRAY,
+
+	/**
+	 * any other object
+	 */
+	OBJECT;
+
+	/**
+	 * name of the field in all templates, which is replaced by the real name
+	 */
+	static final String PLACEHOLDER = "$field";
+
+	/**
+	 * cache for the shape of all inspected types
+	 */
+	private static final ClassValue<FieldShape> shapes = new ClassValue<>() {
+
+		@Override
+		protected FieldShape computeValue(Class<?> type) {
+			if (ClassUtils.isPrimitiveOrWrapper(type))
+				return PRIMITIVE;
+
+			if (type.isArray())
+				return ClassUtils.isPrimitiveOrWrapper(type.getComponentType()) ? PRIMITIVE_ARRAY : OBJECT_ARRAY;
+
+			return OBJECT;
+		}
+	};
+
+	/**
+	 * Return the shape of a type.
+	 * 
+	 * @param type
+	 *            field type
+	 * @return shape of the type
+	 * @since 1.1.0
+	 */
+	static FieldShape of(Class<?> type) {
+		return shapes.get(type);
+	}
+
+	/**
+	 * Return the name of the class, which contains the static helper methods for
+	 * this shape, e.g. the wrapper class for primitives.
+	 * 
+	 * @param type
+	 *            field type
+	 * @param qualified
+	 *            true if the name of the {@link Arrays} class should be
+	 *            qualified, otherwise false
+	 * @return name of the helper class or an empty string for objects
+	 * @since 1.1.0
+	 */
+	String scope(Class<?> type, boolean qualified) {
+		switch (this) {
+		case PRIMITIVE:
+			if (type.equals(char.class))
+				return "Character";
+
+			if (type.equals(int.class))
+				return "Integer";
+
+			return Utils.capitalize(type.getSimpleName());
+		case PRIMITIVE_ARRAY:
+		case OBJECT_ARRAY:
+			return qualified ? Arrays.class.getName() : Arrays.class.getSimpleName();
+		default:
+			return "";
+		}
+	}
+
+	/**
+	 * Return the key of the template for this shape and the helper class.
+	 * 
+	 * @param scope
+	 *            name of the helper class
+	 * @return template key
+	 * @since 1.1.0
+	 */
+	String key(String scope) {
+		return name() + ':' + scope;
+	}
+
+	/**
+	 * Clone a template and replace the placeholder with the name of the field.
+	 * 
+	 * @param <T>
+	 *            type of the template
+	 * @param template
+	 *            prebuilt template
+	 * @param name
+	 *            name of the field
+	 * @return new node for the field
+	 * @since 1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	static <T extends Node> T instantiate(T template, String name) {
+		T node = (T) template.clone();
+		node.findAll(SimpleName.class)
+				.stream()
+				.filter((simpleName) -> simpleName.getIdentifier().contains(PLACEHOLDER))
+				.forEach((simpleName) -> simpleName
+						.setIdentifier(simpleName.getIdentifier().replace(PLACEHOLDER, name)));
+		return node;
+	}
+}
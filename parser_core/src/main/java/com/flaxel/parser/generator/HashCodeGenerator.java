@@ -17,7 +17,9 @@ package com.flaxel.parser.generator;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -29,8 +31,6 @@ import com.github.javaparser.ast.expr.AssignExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.ReturnStmt;
-import com.github.javaparser.utils.ClassUtils;
-import com.github.javaparser.utils.Utils;
 import com.google.common.collect.Streams;
 
 import static com.flaxel.parser.utils.Utils.assertNonEmpty;
@@ -45,6 +45,21 @@ import static com.github.javaparser.utils.Utils.assertPositive;
  */
 public class HashCodeGenerator implements Supplier<MethodDeclaration> {
 
+	/**
+	 * name of the prime variable in the generated method
+	 */
+	private static final String PRIME_NAME = "PRIME";
+
+	/**
+	 * name of the result variable in the generated method
+	 */
+	private static final String RESULT_NAME = "result";
+
+	/**
+	 * cache for the field templates with the shape and the helper class as key
+	 */
+	private static final Map<String, AssignExpr> templates = new ConcurrentHashMap<>();
+
 	/**
 	 * all field types of the class
 	 */
@@ -145,8 +160,8 @@ public class HashCodeGenerator implements Supplier<MethodDeclaration> {
 	 */
 	@Override
 	public MethodDeclaration get() {
-		String prime = "PRIME";
-		String result = "result";
+		String prime = PRIME_NAME;
+		String result = RESULT_NAME;
 
 		BlockStmt body = new BlockStmt();
 
@@ -168,41 +183,15 @@ public class HashCodeGenerator implements Supplier<MethodDeclaration> {
 		}
 
 		Streams.forEachPair(fieldTypes.stream(), fieldNames.stream(), (type, name) -> {
-			String addValue = null;
-
-			if (ClassUtils.isPrimitiveOrWrapper(type)) {
-				String scope = Utils.capitalize(type.getSimpleName());
-
-				if (type.equals(char.class)) {
-					scope = "Character";
-				} else if (type.equals(int.class)) {
-					scope = "Integer";
-				}
-
-				addValue = String.format("%s.hashCode(%s)", scope, name);
+			FieldShape shape = FieldShape.of(type);
 
-			} else if (type.isArray()) {
-				Class<Arrays> arrayClass = Arrays.class;
-
-				if (unit != null) {
-					unit.addImport(arrayClass);
-				}
-
-				String scopeName = (unit == null ? arrayClass.getName() : arrayClass.getSimpleName());
-
-				if (ClassUtils.isPrimitiveOrWrapper(type.getComponentType())) {
-					addValue = String.format("%s.hashCode(%s)", scopeName, name);
-				} else {
-					addValue = String.format("%s.deepHashCode(%s)", scopeName, name);
-				}
-			} else {
-				addValue = String.format("%s.hashCode()", name);
+			if (unit != null && shape != FieldShape.PRIMITIVE && shape != FieldShape.OBJECT) {
+				unit.addImport(Arrays.class);
 			}
 
-			AssignExpr exprField = new AssignExpr().setTarget(new NameExpr(result))
-					.setValue(new NameExpr(String.format("(%s * %s) + %s", result, prime, addValue)))
-					.setOperator(AssignExpr.Operator.ASSIGN);
-			body.addStatement(exprField);
+			String scope = shape.scope(type, unit == null);
+			AssignExpr template = templates.computeIfAbsent(shape.key(scope), (key) -> createTemplate(shape, scope));
+			body.addStatement(FieldShape.instantiate(template, name));
 		});
 
 		body.addStatement(new ReturnStmt(result));
@@ -216,4 +205,36 @@ public class HashCodeGenerator implements Supplier<MethodDeclaration> {
 
 		return method;
 	}
+
+	/**
+	 * Create the template of the assignment, which adds the hash code of a field
+	 * with the shape and the helper class to the result.
+	 * 
+	 * @param shape
+	 *            shape of the field
+	 * @param scope
+	 *            name of the helper class
+	 * @return assignment with a placeholder as field name
+	 * @since 1.1.0
+	 */
+	private static AssignExpr createTemplate(FieldShape shape, String scope) {
+		String name = FieldShape.PLACEHOLDER;
+		String addValue = null;
+
+		switch (shape) {
+		case PRIMITIVE:
+		case PRIMITIVE_ARRAY:
+			addValue = String.format("%s.hashCode(%s)", scope, name);
+			break;
+		case OBJECT_ARRAY:
+			addValue = String.format("%s.deepHashCode(%s)", scope, name);
+			break;
+		default:
+			addValue = String.format("%s.hashCode()", name);
+		}
+
+		return new AssignExpr().setTarget(new NameExpr(RESULT_NAME))
+				.setValue(new NameExpr(String.format("(%s * %s) + %s", RESULT_NAME, PRIME_NAME, addValue)))
+				.setOperator(AssignExpr.Operator.ASSIGN);
+	}
 }
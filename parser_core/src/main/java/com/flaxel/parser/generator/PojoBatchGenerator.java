@@ -0,0 +1,461 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.generator;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.flaxel.parser.Generator;
+import com.flaxel.parser.utils.GenerationUtils;
+import com.github.javaparser.ast.CompilationUnit;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+import static com.github.javaparser.utils.Utils.assertPositive;
+
+/**
+ * This class is used to generate many plain old java object (pojo) classes from
+ * a spec file. Every line of the spec file describes one class:
+ * 
+ * <pre>
+ * # comment
+ * com.example.UserDto id:long,name:String,roles:String[]
+ * </pre>
+ * 
+ * The types are loaded only once for the whole batch. The compilation units
+ * are built one after another, because the code snippets are parsed with the
+ * shared parser of {@link com.github.javaparser.StaticJavaParser}, but they are
+ * printed and written in parallel while the next units are built.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class PojoBatchGenerator {
+
+	/**
+	 * all primitive types by their name
+	 */
+	private static final Map<String, Class<?>> PRIMITIVES = Map.of("boolean", boolean.class, "byte", byte.class,
+			"char", char.class, "short", short.class, "int", int.class, "long", long.class, "float", float.class,
+			"double", double.class);
+
+	/**
+	 * class loader to load all field types
+	 */
+	private final ClassLoader loader;
+
+	/**
+	 * all loaded types of the batch by their name
+	 */
+	private final Map<String, Class<?>> types = new ConcurrentHashMap<>();
+
+	/**
+	 * all converted class names of the batch
+	 */
+	private final Map<String, String> classNames = new ConcurrentHashMap<>();
+
+	/**
+	 * all converted field names of the batch
+	 */
+	private final Map<String, String> fieldNames = new ConcurrentHashMap<>();
+
+	/**
+	 * true if the classes should include a constructor with all arguments,
+	 * otherwise false
+	 */
+	private boolean fullArgsConstructor;
+
+	/**
+	 * true if the classes should include a constructor with no arguments,
+	 * otherwise false
+	 */
+	private boolean noArgsConstructor;
+
+	/**
+	 * true if the classes should include the <code>equals</code> and
+	 * <code>hashCode</code> method, otherwise false
+	 */
+	private boolean equalsAndHashCode;
+
+	/**
+	 * true if the classes should include the <code>toString</code> method,
+	 * otherwise false
+	 */
+	private boolean toString;
+
+	/**
+	 * true if the <code>super.equals(o)</code> method should be called, otherwise
+	 * false
+	 */
+	private boolean callSuper;
+
+	/**
+	 * number of threads to print and write the classes
+	 */
+	private int parallelism;
+
+	/**
+	 * Initialize the batch generator.
+	 * 
+	 * @param loader
+	 *            class loader to load all field types
+	 * @since 1.1.0
+	 */
+	public PojoBatchGenerator(ClassLoader loader) {
+		this.loader = assertNotNull(loader);
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Initialize the batch generator with the class loader of this class.
+	 * 
+	 * @since 1.1.0
+	 */
+	public PojoBatchGenerator() {
+		this(PojoBatchGenerator.class.getClassLoader());
+	}
+
+	/**
+	 * Set the value whether the classes should include a constructor with no
+	 * arguments.
+	 * 
+	 * @param noArgsConstructor
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public PojoBatchGenerator noArgsConstructor(boolean noArgsConstructor) {
+		this.noArgsConstructor = assertNotNull(noArgsConstructor);
+		return this;
+	}
+
+	/**
+	 * Set the value whether the classes should include a constructor with all
+	 * arguments.
+	 * 
+	 * @param fullArgsConstructor
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public PojoBatchGenerator fullArgsConstructor(boolean fullArgsConstructor) {
+		this.fullArgsConstructor = assertNotNull(fullArgsConstructor);
+		return this;
+	}
+
+	/**
+	 * Set the value whether the classes should include the <code>toString</code>
+	 * method.
+	 * 
+	 * @param toString
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public PojoBatchGenerator toString(boolean toString) {
+		this.toString = assertNotNull(toString);
+		return this;
+	}
+
+	/**
+	 * Set the value whether the classes should include the <code>equals</code>
+	 * and <code>hashCode</code> method.
+	 * 
+	 * @param equalsAndHashCode
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public PojoBatchGenerator equalsAndHashCode(boolean equalsAndHashCode) {
+		this.equalsAndHashCode = assertNotNull(equalsAndHashCode);
+		return this;
+	}
+
+	/**
+	 * Set the value whether the <code>super.equals(o)</code> and
+	 * <code>super.hashCode()</code> method should be called.
+	 * 
+	 * @param callSuper
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public PojoBatchGenerator callSuper(boolean callSuper) {
+		this.callSuper = assertNotNull(callSuper);
+		return this;
+	}
+
+	/**
+	 * Set the number of threads to print and write the classes.
+	 * 
+	 * @param parallelism
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public PojoBatchGenerator parallelism(int parallelism) {
+		this.parallelism = assertPositive(parallelism);
+		return this;
+	}
+
+	/**
+	 * Create a generator for every class of a spec file.
+	 * 
+	 * @param spec
+	 *            path to the spec file
+	 * @param charset
+	 *            charset of the spec file
+	 * @return all generators
+	 * @throws IOException
+	 *             if an i/o error occurred while the spec file is read
+	 * @since 1.1.0
+	 */
+	public List<PojoGenerator> read(Path spec, Charset charset) throws IOException {
+		assertNotNull(spec);
+		assertNotNull(charset);
+
+		return parse(Files.readAllLines(spec, charset));
+	}
+
+	/**
+	 * Create a generator for every class of the spec lines.
+	 * 
+	 * @param lines
+	 *            all lines of a spec
+	 * @return all generators
+	 * @throws IllegalArgumentException
+	 *             if a line is not valid or a type does not exist
+	 * @since 1.1.0
+	 */
+	public List<PojoGenerator> parse(List<String> lines) {
+		assertNotNull(lines);
+
+		List<PojoGenerator> generators = new ArrayList<>();
+
+		for (int i = 0; i < lines.size(); i++) {
+			String line = assertNotNull(lines.get(i)).strip();
+
+			if (line.isEmpty() || line.startsWith("#"))
+				continue;
+
+			try {
+				generators.add(parseLine(line));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException(String.format("line %d: %s", i + 1, e.getMessage()), e);
+			}
+		}
+
+		return generators;
+	}
+
+	/**
+	 * Generate all classes of a spec file and write them into the package folders
+	 * of the target folder. Existing files are overwritten.
+	 * 
+	 * @param spec
+	 *            path to the spec file
+	 * @param target
+	 *            folder for all generated classes
+	 * @param charset
+	 *            charset of the spec file and the generated classes
+	 * @return paths of all written files
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is read or written
+	 * @since 1.1.0
+	 */
+	public List<Path> generate(Path spec, Path target, Charset charset) throws IOException {
+		return generate(read(spec, charset), target, charset);
+	}
+
+	/**
+	 * Generate all classes and write them into the package folders of the target
+	 * folder. Existing files are overwritten.
+	 * 
+	 * @param generators
+	 *            all generators
+	 * @param target
+	 *            folder for all generated classes
+	 * @param charset
+	 *            charset of the generated classes
+	 * @return paths of all written files
+	 * @throws IOException
+	 *             if an i/o error occurred while a file is written
+	 * @since 1.1.0
+	 */
+	public List<Path> generate(List<PojoGenerator> generators, Path target, Charset charset) throws IOException {
+		assertNotNull(generators);
+		assertNotNull(target);
+		assertNotNull(charset);
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(generators.size(), 1)));
+
+		try {
+			List<Future<Path>> futures = new ArrayList<>();
+
+			for (PojoGenerator generator : generators) {
+				CompilationUnit unit = generator.get();
+				futures.add(executor.submit(() -> write(unit, target, charset)));
+			}
+
+			List<Path> paths = new ArrayList<>();
+
+			for (Future<Path> future : futures) {
+				paths.add(future.get());
+			}
+
+			return paths;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("The generation was interrupted.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+
+			throw new IOException("The generation was not successful.", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Write a compilation unit into its package folder.
+	 * 
+	 * @param unit
+	 *            generated compilation unit
+	 * @param target
+	 *            folder for all generated classes
+	 * @param charset
+	 *            charset of the generated class
+	 * @return path of the written file
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is written
+	 * @since 1.1.0
+	 */
+	private Path write(CompilationUnit unit, Path target, Charset charset) throws IOException {
+		Path folder = unit.getPackageDeclaration()
+				.map((declaration) -> target.resolve(declaration.getNameAsString().replace('.', '/')))
+				.orElse(target);
+		Path file = folder.resolve(unit.getType(0).getNameAsString() + ".java");
+
+		Files.createDirectories(folder);
+		Files.writeString(file, Generator.getPrinter().apply(unit), charset);
+
+		return file;
+	}
+
+	/**
+	 * Create a generator for one line of a spec.
+	 * 
+	 * @param line
+	 *            line with the class name and all fields
+	 * @return generator for the class
+	 * @since 1.1.0
+	 */
+	private PojoGenerator parseLine(String line) {
+		String[] parts = line.split("\\s+", 2);
+
+		if (parts.length != 2)
+			throw new IllegalArgumentException("A class needs at least one field.");
+
+		int index = parts[0].lastIndexOf('.');
+		String packageName = index < 0 ? null : parts[0].substring(0, index);
+		String className = classNames.computeIfAbsent(parts[0].substring(index + 1),
+				GenerationUtils::capitalizeCamelCase);
+
+		List<Class<?>> fieldTypes = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+
+		for (String field : parts[1].split(",")) {
+			String[] pair = field.strip().split("\\s*:\\s*");
+
+			if (pair.length != 2 || pair[0].isEmpty() || pair[1].isEmpty())
+				throw new IllegalArgumentException(String.format("The field '%s' is not valid.", field.strip()));
+
+			names.add(fieldNames.computeIfAbsent(pair[0], GenerationUtils::decapitalizeCamelCase));
+			fieldTypes.add(type(pair[1]));
+		}
+
+		return new PojoGenerator(packageName, className, fieldTypes, names).fullArgsConstructor(fullArgsConstructor)
+				.noArgsConstructor(noArgsConstructor)
+				.toString(toString)
+				.equalsAndHashCode(equalsAndHashCode)
+				.callSuper(callSuper)
+				.includeFieldNames(true);
+	}
+
+	/**
+	 * Get the type of a name. The type is loaded once for the whole batch.
+	 * Primitive types, arrays and types of the package <code>java.lang</code>
+	 * without package name are supported.
+	 * 
+	 * @param name
+	 *            name of the type
+	 * @return loaded type
+	 * @since 1.1.0
+	 */
+	private Class<?> type(String name) {
+		Class<?> type = types.get(name);
+
+		if (type == null) {
+			type = loadType(name);
+			types.putIfAbsent(name, type);
+		}
+
+		return type;
+	}
+
+	/**
+	 * Load the type of a name.
+	 * 
+	 * @param name
+	 *            name of the type
+	 * @return loaded type
+	 * @since 1.1.0
+	 */
+	private Class<?> loadType(String name) {
+		if (name.endsWith("[]"))
+			return Array.newInstance(type(name.substring(0, name.length() - 2).strip()), 0).getClass();
+
+		Class<?> primitive = PRIMITIVES.get(name);
+
+		if (primitive != null)
+			return primitive;
+
+		try {
+			return Class.forName(name, false, loader);
+		} catch (ClassNotFoundException e) {
+			if (name.indexOf('.') < 0) {
+				try {
+					return Class.forName("java.lang." + name, false, loader);
+				} catch (ClassNotFoundException ignored) {
+					// report the original name
+				}
+			}
+
+			throw new IllegalArgumentException(String.format("The type %s does not exist.", name), e);
+		}
+	}
+}
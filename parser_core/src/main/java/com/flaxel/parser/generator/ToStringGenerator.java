@@ -17,17 +17,27 @@ package com.flaxel.parser.generator;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.flaxel.parser.utils.GenerationUtils;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Modifier.Keyword;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.SuperExpr;
+import com.github.javaparser.ast.expr.ThisExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
-import com.github.javaparser.utils.ClassUtils;
-import com.google.common.collect.Streams;
+import com.github.javaparser.ast.stmt.ReturnStmt;
 
 import static com.flaxel.parser.utils.Utils.assertNonEmpty;
 import static com.github.javaparser.utils.Utils.assertNonEmpty;
@@ -41,6 +51,11 @@ import static com.github.javaparser.utils.Utils.assertNotNull;
  */
 public class ToStringGenerator implements Supplier<MethodDeclaration> {
 
+	/**
+	 * cache for the field templates with the shape and the helper class as key
+	 */
+	private static final Map<String, Expression> templates = new ConcurrentHashMap<>();
+
 	/**
 	 * name of the class
 	 */
@@ -182,47 +197,43 @@ public class ToStringGenerator implements Supplier<MethodDeclaration> {
 	 */
 	@Override
 	public MethodDeclaration get() {
-		String separatorVariable = String.format("+ \"%s", separator.orElse(DEFAULT_SEPARATOR));
-		StringBuilder builder = new StringBuilder(String.format("return \"%s(", className));
+		String separatorText = String.format("%s ", separator.orElse(DEFAULT_SEPARATOR));
+		StringBuilder text = new StringBuilder(String.format("%s(", className));
+		Expression expression = null;
 
 		if (callSuper) {
 			if (includeFieldNames) {
-				builder.append("super=");
+				text.append("super=");
 			}
 
-			builder.append(String.format("\" + super.toString() %s ", separatorVariable));
+			expression = concat(concat(null, text), new MethodCallExpr(new SuperExpr(), "toString"));
+			text.setLength(0);
+			text.append(separatorText);
 		}
 
-		Streams.forEachPair(fieldTypes.stream(), fieldNames.stream(), (type, name) -> {
+		for (int i = 0; i < fieldNames.size(); i++) {
+			Class<?> type = fieldTypes.get(i);
+			String name = fieldNames.get(i);
+			FieldShape shape = FieldShape.of(type);
+
 			if (includeFieldNames) {
-				builder.append(String.format("%s=", name));
+				text.append(String.format("%s=", name));
 			}
 
-			if (type.isArray()) {
-				Class<Arrays> arrayClass = Arrays.class;
-
-				if (unit != null) {
-					unit.addImport(arrayClass);
-				}
-
-				String scopeName = (unit == null ? arrayClass.getName() : arrayClass.getSimpleName());
-
-				if (ClassUtils.isPrimitiveOrWrapper(type.getComponentType())) {
-					name = String.format("%s.toString(this.%s)", scopeName, name);
-				} else {
-					name = String.format("%s.deepToString(this.%s)", scopeName, name);
-				}
-			} else {
-				name = String.format("this.%s", name);
+			if (unit != null && (shape == FieldShape.PRIMITIVE_ARRAY || shape == FieldShape.OBJECT_ARRAY)) {
+				unit.addImport(Arrays.class);
 			}
 
-			builder.append(String.format("\" + %s %s ", name, separatorVariable));
-		});
+			String scope = shape == FieldShape.PRIMITIVE ? "" : shape.scope(type, unit == null);
+			Expression template = templates.computeIfAbsent(shape.key(scope), (key) -> createTemplate(shape, scope));
 
-		builder.delete(builder.length() - separatorVariable.length() - 1, builder.length()).append("+ \")\";");
+			expression = concat(concat(expression, text), FieldShape.instantiate(template, name));
+			text.setLength(0);
+			text.append(separatorText);
+		}
 
 		BlockStmt body = new BlockStmt();
-		body.addStatement(builder.toString());
+		body.addStatement(new ReturnStmt(concat(expression, new StringBuilder(")"))));
 
 		MethodDeclaration method = new MethodDeclaration();
 		method.addAnnotation(Override.class);
@@ -233,4 +244,60 @@ public class ToStringGenerator implements Supplier<MethodDeclaration> {
 
 		return method;
 	}
+
+	/**
+	 * Append a string literal to an expression, which is ignored if the text is
+	 * empty.
+	 * 
+	 * @param expression
+	 *            left expression or null
+	 * @param text
+	 *            text of the string literal
+	 * @return concatenated expression
+	 * @since 1.1.0
+	 */
+	private static Expression concat(Expression expression, CharSequence text) {
+		if (text.length() == 0)
+			return expression;
+
+		return concat(expression, new StringLiteralExpr().setString(text.toString()));
+	}
+
+	/**
+	 * Append an expression to another expression with the plus operator.
+	 * 
+	 * @param left
+	 *            left expression or null
+	 * @param right
+	 *            right expression
+	 * @return concatenated expression
+	 * @since 1.1.0
+	 */
+	private static Expression concat(Expression left, Expression right) {
+		return left == null ? right : new BinaryExpr(left, right, BinaryExpr.Operator.PLUS);
+	}
+
+	/**
+	 * Create the template of the expression, which returns the string
+	 * representation of a field with the shape and the helper class.
+	 * 
+	 * @param shape
+	 *            shape of the field
+	 * @param scope
+	 *            name of the helper class
+	 * @return expression with a placeholder as field name
+	 * @since 1.1.0
+	 */
+	private static Expression createTemplate(FieldShape shape, String scope) {
+		FieldAccessExpr field = new FieldAccessExpr(new ThisExpr(), FieldShape.PLACEHOLDER);
+
+		switch (shape) {
+		case PRIMITIVE_ARRAY:
+			return new MethodCallExpr(new NameExpr(scope), "toString", new NodeList<>(field));
+		case OBJECT_ARRAY:
+			return new MethodCallExpr(new NameExpr(scope), "deepToString", new NodeList<>(field));
+		default:
+			return field;
+		}
+	}
 }
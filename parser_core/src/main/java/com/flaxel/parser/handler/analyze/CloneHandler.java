@@ -0,0 +1,385 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.handler.analyze;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import com.flaxel.parser.engine.CollectorHandler;
+import com.flaxel.parser.engine.UnitCollector;
+import com.flaxel.parser.utils.JsonUtils;
+import com.github.javaparser.ast.CompilationUnit;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to find duplicate code in all method bodies and statement
+ * blocks. Every block is fingerprinted by a hash of its normalized subtree, in
+ * which identifiers and literals are left out, and every run of consecutive
+ * statements is fingerprinted as well to find near-duplicates. The handler
+ * runs the {@link CloneIndex#collector collector} of a {@link CloneIndex}, so
+ * that every thread fills its own index without a lock. The indices are merged
+ * and the report is written at the end of a run.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class CloneHandler implements BiConsumer<File, CompilationUnit> {
+
+	/**
+	 * default minimal number of nodes of a fragment
+	 */
+	public static final int DEFAULT_MIN_NODES = 40;
+
+	/**
+	 * default number of statements of a run
+	 */
+	public static final int DEFAULT_WINDOW = 5;
+
+	/**
+	 * default maximal number of locations per clone
+	 */
+	public static final int DEFAULT_MAX_LOCATIONS = 5;
+
+	/**
+	 * output stream to write the report
+	 */
+	private final OutputStream output;
+
+	/**
+	 * handler, which gives every thread its own index
+	 */
+	private CollectorHandler<CloneIndex, CloneIndex> handler;
+
+	/**
+	 * minimal number of nodes of a fragment
+	 */
+	private int minNodes = DEFAULT_MIN_NODES;
+
+	/**
+	 * number of statements of a run or 0 if no runs are fingerprinted
+	 */
+	private int window = DEFAULT_WINDOW;
+
+	/**
+	 * maximal number of locations per clone
+	 */
+	private int maxLocations = DEFAULT_MAX_LOCATIONS;
+
+	/**
+	 * true if every clone should be written as json line, otherwise false
+	 */
+	private boolean json;
+
+	/**
+	 * Initialize the clone handler.
+	 * 
+	 * @param output
+	 *            output stream to write the report
+	 * @since 1.1.0
+	 */
+	public CloneHandler(OutputStream output) {
+		this.output = assertNotNull(output);
+		this.handler = new CollectorHandler<>(getCollector());
+	}
+
+	/**
+	 * Set the minimal number of nodes of a block or a run of statements. All
+	 * fingerprints are removed.
+	 * 
+	 * @param minNodes
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public CloneHandler minNodes(int minNodes) {
+		CloneIndex.check(minNodes, window, maxLocations);
+
+		this.minNodes = minNodes;
+		this.handler = new CollectorHandler<>(getCollector());
+		return this;
+	}
+
+	/**
+	 * Set the number of consecutive statements of a run, which finds a
+	 * near-duplicate in a block. All fingerprints are removed.
+	 * 
+	 * @param window
+	 *            new value or 0 to find only duplicate blocks
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public CloneHandler window(int window) {
+		CloneIndex.check(minNodes, window, maxLocations);
+
+		this.window = window;
+		this.handler = new CollectorHandler<>(getCollector());
+		return this;
+	}
+
+	/**
+	 * Set the maximal number of locations, which are kept per clone. All
+	 * fingerprints are removed.
+	 * 
+	 * @param maxLocations
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public CloneHandler maxLocations(int maxLocations) {
+		CloneIndex.check(minNodes, window, maxLocations);
+
+		this.maxLocations = maxLocations;
+		this.handler = new CollectorHandler<>(getCollector());
+		return this;
+	}
+
+	/**
+	 * Set the value whether every clone should be written as json line.
+	 * 
+	 * @param json
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public CloneHandler json(boolean json) {
+		this.json = json;
+		return this;
+	}
+
+	/**
+	 * Get the collector with the current settings, e.g. to merge the indices of
+	 * several shards.
+	 * 
+	 * @return new collector
+	 * @since 1.1.0
+	 */
+	public UnitCollector<CloneIndex, CloneIndex> getCollector() {
+		return CloneIndex.collector(minNodes, window, maxLocations);
+	}
+
+	/**
+	 * Fingerprint all blocks of the compilation unit and add them to the index
+	 * of the current thread.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param unit
+	 *            entire compilation unit
+	 * @since 1.1.0
+	 */
+	@Override
+	public void accept(File source, CompilationUnit unit) {
+		handler.accept(source, unit);
+	}
+
+	/**
+	 * Merge the indices of all threads. The indices of the threads are released
+	 * and the merged index is kept until the next compilation unit is added. It
+	 * must not be called while a run calls the handler.
+	 * 
+	 * @return merged index with all fingerprints
+	 * @since 1.1.0
+	 */
+	public CloneIndex getIndex() {
+		return handler.finish();
+	}
+
+	/**
+	 * Get the number of all fragments, which were added.
+	 * 
+	 * @return number of fragments
+	 * @since 1.1.0
+	 */
+	public long getFragments() {
+		return getIndex().getFragments();
+	}
+
+	/**
+	 * Get the number of all distinct fingerprints.
+	 * 
+	 * @return number of fingerprints
+	 * @since 1.1.0
+	 */
+	public int getFingerprints() {
+		return getIndex().getFingerprints();
+	}
+
+	/**
+	 * Get all clones ordered by their size and their count.
+	 * 
+	 * @return all fingerprints, which occurred more than once
+	 * @since 1.1.0
+	 */
+	public List<Clone> getClones() {
+		return getIndex().getClones();
+	}
+
+	/**
+	 * Remove all fingerprints, e.g. before the next run.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void clear() {
+		handler.clear();
+	}
+
+	/**
+	 * Write all clones and a summary on the output stream.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void printReport() {
+		CloneIndex index = getIndex();
+		List<Clone> clones = index.getClones();
+		StringBuilder builder = new StringBuilder();
+
+		if (json) {
+			for (Clone clone : clones) {
+				builder.append(JsonUtils.line("type", "clone", "kind", clone.getKind(), "nodes", clone.getNodes(),
+						"count", clone.getCount(), "locations", String.join(", ", clone.getLocations())));
+			}
+
+			builder.append(JsonUtils.line("type", "summary", "clones", clones.size(), "fragments",
+					index.getFragments(), "fingerprints", index.getFingerprints()));
+		} else {
+			builder.append(String.format("%d clones in %d fragments, %d distinct%n%n", clones.size(),
+					index.getFragments(), index.getFingerprints()));
+
+			for (Clone clone : clones) {
+				builder.append(String.format("%d x %s of %d nodes%n", clone.getCount(), clone.getKind(),
+						clone.getNodes()));
+				clone.getLocations().forEach((location) -> builder.append(String.format("\tat %s%n", location)));
+
+				if (clone.getCount() > clone.getLocations().size()) {
+					builder.append(String.format("\t... %d more%n", clone.getCount() - clone.getLocations().size()));
+				}
+			}
+		}
+
+		try (output) {
+			output.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			// do nothing
+		}
+	}
+
+	/**
+	 * This class is used to describe all fragments with the same fingerprint.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	public static class Clone {
+
+		/**
+		 * number of nodes of every fragment
+		 */
+		private final int nodes;
+
+		/**
+		 * number of all fragments
+		 */
+		private final int count;
+
+		/**
+		 * true if the fragments are runs of statements, otherwise false
+		 */
+		private final boolean run;
+
+		/**
+		 * first locations of the fragments
+		 */
+		private final List<String> locations;
+
+		/**
+		 * Initialize the clone.
+		 * 
+		 * @param nodes
+		 *            number of nodes of every fragment
+		 * @param count
+		 *            number of all fragments
+		 * @param run
+		 *            true if the fragments are runs of statements, otherwise
+		 *            false
+		 * @param locations
+		 *            first locations of the fragments
+		 * @since 1.1.0
+		 */
+		Clone(int nodes, int count, boolean run, List<String> locations) {
+			this.nodes = nodes;
+			this.count = count;
+			this.run = run;
+			this.locations = Collections.unmodifiableList(locations);
+		}
+
+		/**
+		 * Get the number of nodes of every fragment.
+		 * 
+		 * @return number of nodes
+		 * @since 1.1.0
+		 */
+		public int getNodes() {
+			return nodes;
+		}
+
+		/**
+		 * Get the number of all fragments.
+		 * 
+		 * @return number of fragments
+		 * @since 1.1.0
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		/**
+		 * Get the value whether the first fragment is a run of statements and
+		 * therefore a near-duplicate.
+		 * 
+		 * @return true if it is a run, otherwise false for a block
+		 * @since 1.1.0
+		 */
+		public boolean isRun() {
+			return run;
+		}
+
+		/**
+		 * Get the kind of the fragments.
+		 * 
+		 * @return 'statements' for a run or 'block'
+		 * @since 1.1.0
+		 */
+		public String getKind() {
+			return run ? "statements" : "block";
+		}
+
+		/**
+		 * Get the first locations of the fragments.
+		 * 
+		 * @return unmodifiable list of locations
+		 * @since 1.1.0
+		 */
+		public List<String> getLocations() {
+			return locations;
+		}
+	}
+}
@@ -0,0 +1,537 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.handler.analyze;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.flaxel.parser.engine.UnitCollector;
+import com.flaxel.parser.handler.analyze.CloneHandler.Clone;
+import com.flaxel.parser.utils.LongIntMap;
+import com.github.javaparser.ast.CompilationUnit;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to index the fingerprints of all blocks and runs of
+ * statements. Every fingerprint only keeps its count, its size, its smallest
+ * locations and the fingerprint of its enclosing fragment in primitive arrays,
+ * so that the memory grows with the number of distinct fingerprints and not
+ * with the size of the syntax trees. A clone, whose occurrences are all
+ * enclosed by the same fragment, which is a clone as well, is not reported
+ * again, so that a clone is reported once at its outermost fragment. A run of
+ * statements is enclosed by the previous run, which overlaps with it, so that
+ * the shifted runs of a duplicated region are not reported either.
+ * <p>
+ * The index is not thread-safe, but two indices can be merged, so that every
+ * worker fills its own index with the {@link #collector collector}. All state
+ * is merged independently of the order, so that the result does not depend on
+ * the number of workers or on the order of the files.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class CloneIndex {
+
+	/**
+	 * initial capacity of the arrays
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * state of a fingerprint, whose occurrences are not enclosed by a fragment
+	 */
+	private static final byte OUTERMOST = 0;
+
+	/**
+	 * state of a fingerprint, whose occurrences are all enclosed by fragments
+	 * with the same fingerprint
+	 */
+	private static final byte ENCLOSED = 1;
+
+	/**
+	 * state of a fingerprint, whose occurrences are enclosed by different or no
+	 * fragments
+	 */
+	private static final byte MIXED = 2;
+
+	/**
+	 * minimal number of nodes of a fragment
+	 */
+	private final int minNodes;
+
+	/**
+	 * number of statements of a run or 0 if no runs are fingerprinted
+	 */
+	private final int window;
+
+	/**
+	 * maximal number of locations per clone
+	 */
+	private final int maxLocations;
+
+	/**
+	 * fingerprinter, which is reused for every compilation unit
+	 */
+	private final Fingerprinter fingerprinter;
+
+	/**
+	 * stack of the enclosing fragments, which is reused for every compilation
+	 * unit
+	 */
+	private int[] enclosing = new int[64];
+
+	/**
+	 * index of every fingerprint in the arrays
+	 */
+	private final LongIntMap index = new LongIntMap();
+
+	/**
+	 * fingerprint of every index
+	 */
+	private long[] fingerprints = new long[INITIAL_CAPACITY];
+
+	/**
+	 * number of occurrences of every fingerprint
+	 */
+	private int[] counts = new int[INITIAL_CAPACITY];
+
+	/**
+	 * number of nodes of every fingerprint
+	 */
+	private int[] nodes = new int[INITIAL_CAPACITY];
+
+	/**
+	 * true for every fingerprint of a run of statements
+	 */
+	private boolean[] runs = new boolean[INITIAL_CAPACITY];
+
+	/**
+	 * state of the enclosing fragments of every fingerprint
+	 */
+	private byte[] states = new byte[INITIAL_CAPACITY];
+
+	/**
+	 * fingerprint of the enclosing fragment of every enclosed fingerprint
+	 */
+	private long[] parents = new long[INITIAL_CAPACITY];
+
+	/**
+	 * path of the smallest location of every fingerprint
+	 */
+	private String[] firstPaths = new String[INITIAL_CAPACITY];
+
+	/**
+	 * line of the smallest location of every fingerprint
+	 */
+	private int[] firstLines = new int[INITIAL_CAPACITY];
+
+	/**
+	 * further smallest locations of all fingerprints, which occurred more than
+	 * once
+	 */
+	private final Map<Integer, List<Location>> locations = new HashMap<>();
+
+	/**
+	 * number of all fragments
+	 */
+	private long fragments;
+
+	/**
+	 * Initialize an empty index.
+	 * 
+	 * @param minNodes
+	 *            minimal number of nodes of a fragment
+	 * @param window
+	 *            number of statements of a run or 0 if no runs should be
+	 *            fingerprinted
+	 * @param maxLocations
+	 *            maximal number of locations per clone
+	 * @since 1.1.0
+	 */
+	public CloneIndex(int minNodes, int window, int maxLocations) {
+		check(minNodes, window, maxLocations);
+
+		this.minNodes = minNodes;
+		this.window = window;
+		this.maxLocations = maxLocations;
+		this.fingerprinter = new Fingerprinter(minNodes, window);
+	}
+
+	/**
+	 * Create a collector, which fingerprints every compilation unit and merges
+	 * the indices of all workers.
+	 * 
+	 * @param minNodes
+	 *            minimal number of nodes of a fragment
+	 * @param window
+	 *            number of statements of a run or 0 if no runs should be
+	 *            fingerprinted
+	 * @param maxLocations
+	 *            maximal number of locations per clone
+	 * @return new collector
+	 * @since 1.1.0
+	 */
+	public static UnitCollector<CloneIndex, CloneIndex> collector(int minNodes, int window, int maxLocations) {
+		check(minNodes, window, maxLocations);
+
+		return UnitCollector.of(() -> new CloneIndex(minNodes, window, maxLocations), CloneIndex::add,
+				CloneIndex::merge);
+	}
+
+	/**
+	 * Fingerprint all blocks of the compilation unit and add them to the index.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param unit
+	 *            entire compilation unit
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public CloneIndex add(File source, CompilationUnit unit) {
+		assertNotNull(source);
+		assertNotNull(unit);
+
+		fingerprinter.fingerprint(unit);
+		String path = source.getPath();
+		int depth = 0;
+
+		for (int fragment = 0; fragment < fingerprinter.size(); fragment++) {
+			while (depth > 0 && fingerprinter.getEnd(enclosing[depth - 1]) <= fragment) {
+				depth--;
+			}
+
+			if (depth == 0) {
+				add(fingerprinter.getHash(fragment), fingerprinter.getNodes(fragment), fingerprinter.isRun(fragment),
+						1, OUTERMOST, 0, path, fingerprinter.getLine(fragment));
+			} else {
+				add(fingerprinter.getHash(fragment), fingerprinter.getNodes(fragment), fingerprinter.isRun(fragment),
+						1, ENCLOSED, fingerprinter.getHash(enclosing[depth - 1]), path,
+						fingerprinter.getLine(fragment));
+			}
+
+			if (depth == enclosing.length) {
+				enclosing = Arrays.copyOf(enclosing, depth * 2);
+			}
+
+			enclosing[depth++] = fragment;
+		}
+
+		fragments += fingerprinter.size();
+		return this;
+	}
+
+	/**
+	 * Add all fingerprints of another index. The counts of the same fingerprint
+	 * are summed up and the smallest locations of both indices are kept.
+	 * 
+	 * @param other
+	 *            any index
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public CloneIndex merge(CloneIndex other) {
+		assertNotNull(other);
+
+		for (int otherId = 0; otherId < other.index.size(); otherId++) {
+			int id = add(other.fingerprints[otherId], other.nodes[otherId], other.runs[otherId],
+					other.counts[otherId], other.states[otherId], other.parents[otherId], other.firstPaths[otherId],
+					other.firstLines[otherId]);
+
+			for (Location location : other.locations.getOrDefault(otherId, Collections.emptyList())) {
+				addLocation(id, location.path, location.line);
+			}
+		}
+
+		fragments += other.fragments;
+		return this;
+	}
+
+	/**
+	 * Get the number of all fragments, which were added.
+	 * 
+	 * @return number of fragments
+	 * @since 1.1.0
+	 */
+	public long getFragments() {
+		return fragments;
+	}
+
+	/**
+	 * Get the number of all distinct fingerprints.
+	 * 
+	 * @return number of fingerprints
+	 * @since 1.1.0
+	 */
+	public int getFingerprints() {
+		return index.size();
+	}
+
+	/**
+	 * Get all clones ordered by their size, their count and their first
+	 * location. A clone, whose occurrences are all enclosed by the same clone,
+	 * is left out.
+	 * 
+	 * @return all fingerprints, which occurred more than once
+	 * @since 1.1.0
+	 */
+	public List<Clone> getClones() {
+		return IntStream.range(0, index.size())
+				.filter((id) -> counts[id] >= 2 && !isEnclosedByClone(id))
+				.boxed()
+				.sorted(Comparator.comparingInt((Integer id) -> -nodes[id])
+						.thenComparingInt((id) -> -counts[id])
+						.thenComparing((id) -> firstPaths[id])
+						.thenComparingInt((id) -> firstLines[id])
+						.thenComparingLong((id) -> fingerprints[id]))
+				.map(this::clone)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Check whether all occurrences of a fingerprint are enclosed by fragments
+	 * with the same fingerprint, which occurred more than once.
+	 * 
+	 * @param id
+	 *            index of the fingerprint
+	 * @return true if the fingerprint is nested in a clone, otherwise false
+	 * @since 1.1.0
+	 */
+	private boolean isEnclosedByClone(int id) {
+		if (states[id] != ENCLOSED)
+			return false;
+
+		int parent = index.get(parents[id]);
+		return parent != LongIntMap.MISSING && counts[parent] >= 2;
+	}
+
+	/**
+	 * Create the clone of a fingerprint.
+	 * 
+	 * @param id
+	 *            index of the fingerprint
+	 * @return clone with the smallest locations
+	 * @since 1.1.0
+	 */
+	private Clone clone(int id) {
+		List<String> all = new ArrayList<>();
+
+		if (maxLocations > 0) {
+			all.add(location(firstPaths[id], firstLines[id]));
+
+			for (Location location : locations.getOrDefault(id, Collections.emptyList())) {
+				all.add(location(location.path, location.line));
+			}
+		}
+
+		return new Clone(nodes[id], counts[id], runs[id], all);
+	}
+
+	/**
+	 * Add occurrences of a fingerprint.
+	 * 
+	 * @param fingerprint
+	 *            fingerprint of the fragment
+	 * @param size
+	 *            number of nodes
+	 * @param run
+	 *            true if the fragment is a run of statements, otherwise false
+	 * @param count
+	 *            number of occurrences
+	 * @param state
+	 *            state of the enclosing fragments
+	 * @param parent
+	 *            fingerprint of the enclosing fragment
+	 * @param path
+	 *            path of the smallest location
+	 * @param line
+	 *            line of the smallest location
+	 * @return index of the fingerprint
+	 * @since 1.1.0
+	 */
+	private int add(long fingerprint, int size, boolean run, int count, byte state, long parent, String path,
+			int line) {
+		int id = index.get(fingerprint);
+
+		if (id != LongIntMap.MISSING) {
+			counts[id] += count;
+
+			if (states[id] != state || parents[id] != parent) {
+				states[id] = MIXED;
+			}
+
+			addLocation(id, path, line);
+			return id;
+		}
+
+		id = index.size();
+
+		if (id == counts.length) {
+			int capacity = id * 2;
+			fingerprints = Arrays.copyOf(fingerprints, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+			nodes = Arrays.copyOf(nodes, capacity);
+			runs = Arrays.copyOf(runs, capacity);
+			states = Arrays.copyOf(states, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			firstPaths = Arrays.copyOf(firstPaths, capacity);
+			firstLines = Arrays.copyOf(firstLines, capacity);
+		}
+
+		index.put(fingerprint, id);
+		fingerprints[id] = fingerprint;
+		counts[id] = count;
+		nodes[id] = size;
+		runs[id] = run;
+		states[id] = state;
+		parents[id] = parent;
+		firstPaths[id] = path;
+		firstLines[id] = line;
+		return id;
+	}
+
+	/**
+	 * Add a location of a fingerprint, as long as it is one of the smallest
+	 * locations.
+	 * 
+	 * @param id
+	 *            index of the fingerprint
+	 * @param path
+	 *            path of the source file
+	 * @param line
+	 *            begin line
+	 * @since 1.1.0
+	 */
+	private void addLocation(int id, String path, int line) {
+		Location location = new Location(path, line);
+		Location first = new Location(firstPaths[id], firstLines[id]);
+
+		if (location.compareTo(first) < 0) {
+			firstPaths[id] = path;
+			firstLines[id] = line;
+			location = first;
+		}
+
+		if (maxLocations < 2)
+			return;
+
+		List<Location> kept = locations.computeIfAbsent(id, (key) -> new ArrayList<>());
+		int position = Collections.binarySearch(kept, location);
+		position = position < 0 ? -position - 1 : position;
+
+		if (position >= maxLocations - 1)
+			return;
+
+		kept.add(position, location);
+
+		if (kept.size() >= maxLocations) {
+			kept.remove(kept.size() - 1);
+		}
+	}
+
+	/**
+	 * Check the settings of an index.
+	 * 
+	 * @param minNodes
+	 *            minimal number of nodes of a fragment
+	 * @param window
+	 *            number of statements of a run
+	 * @param maxLocations
+	 *            maximal number of locations per clone
+	 * @since 1.1.0
+	 */
+	static void check(int minNodes, int window, int maxLocations) {
+		if (minNodes < 1)
+			throw new IllegalArgumentException("The minimal number of nodes must be positive.");
+
+		if (window < 0)
+			throw new IllegalArgumentException("The number of statements must not be negative.");
+
+		if (maxLocations < 0)
+			throw new IllegalArgumentException("The number of locations must not be negative.");
+	}
+
+	/**
+	 * Create the location of a fragment.
+	 * 
+	 * @param path
+	 *            path of the source file
+	 * @param line
+	 *            begin line or -1
+	 * @return location of the fragment
+	 * @since 1.1.0
+	 */
+	private static String location(String path, int line) {
+		return line < 0 ? path : path + ":" + line;
+	}
+
+	/**
+	 * This class is used to describe a further location of a fingerprint.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class Location implements Comparable<Location> {
+
+		/**
+		 * path of the source file
+		 */
+		private final String path;
+
+		/**
+		 * begin line or -1
+		 */
+		private final int line;
+
+		/**
+		 * Initialize the location.
+		 * 
+		 * @param path
+		 *            path of the source file
+		 * @param line
+		 *            begin line or -1
+		 * @since 1.1.0
+		 */
+		private Location(String path, int line) {
+			this.path = path;
+			this.line = line;
+		}
+
+		/**
+		 * Compare the location by its path and its line.
+		 * 
+		 * @param other
+		 *            other location
+		 * @return negative value, zero or positive value, if this location is
+		 *         less than, equal to or greater than the other location
+		 * @since 1.1.0
+		 */
+		@Override
+		public int compareTo(Location other) {
+			int result = path.compareTo(other.path);
+			return result != 0 ? result : Integer.compare(line, other.line);
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.handler.analyze;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import com.flaxel.parser.engine.DeclarationsOnly;
+import com.github.javaparser.ast.CompilationUnit;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to run several handlers over one parse of every file.
+ * Every handler has its own unit filter and writes to its own output, so that
+ * a combined report parses each file only once. The handlers get the same
+ * compilation unit and must not change it.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class CompositeHandler implements BiConsumer<File, CompilationUnit>, DeclarationsOnly {
+
+	/**
+	 * unit filter, which accepts all compilation units
+	 */
+	private static final Predicate<CompilationUnit> ACCEPT_ALL = (unit) -> true;
+
+	/**
+	 * all handlers in the order of their registration
+	 */
+	private final List<Entry> entries = new ArrayList<>();
+
+	/**
+	 * Add a handler, which gets every compilation unit.
+	 * 
+	 * @param handler
+	 *            handler for compilation unit
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public CompositeHandler add(BiConsumer<File, CompilationUnit> handler) {
+		return add(ACCEPT_ALL, handler);
+	}
+
+	/**
+	 * Add a handler, which only gets the compilation units accepted by the
+	 * filter.
+	 * 
+	 * @param unitFilter
+	 *            filter for compilation unit
+	 * @param handler
+	 *            handler for compilation unit
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public CompositeHandler add(Predicate<CompilationUnit> unitFilter, BiConsumer<File, CompilationUnit> handler) {
+		entries.add(new Entry(assertNotNull(unitFilter), assertNotNull(handler)));
+		return this;
+	}
+
+	/**
+	 * Get the number of all handlers.
+	 * 
+	 * @return number of handlers
+	 * @since 1.1.0
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Get the value whether all handlers and their filters only need the
+	 * declarations. A handler, which was added without filter, only needs a
+	 * marked handler.
+	 * 
+	 * @return true if the bodies can be skipped, otherwise false
+	 * @since 1.1.0
+	 */
+	@Override
+	public boolean isDeclarationsOnly() {
+		return !entries.isEmpty() && entries.stream()
+				.allMatch((entry) -> DeclarationsOnly.test(entry.handler)
+						&& (entry.unitFilter == ACCEPT_ALL || DeclarationsOnly.test(entry.unitFilter)));
+	}
+
+	/**
+	 * Pass the compilation unit to every handler, whose filter accepts it.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param unit
+	 *            compilation unit of the source file
+	 * @since 1.1.0
+	 */
+	@Override
+	public void accept(File source, CompilationUnit unit) {
+		assertNotNull(source);
+		assertNotNull(unit);
+
+		for (Entry entry : entries) {
+			if (entry.unitFilter.test(unit)) {
+				entry.handler.accept(source, unit);
+			}
+		}
+	}
+
+	/**
+	 * This class is used to describe a handler with its filter.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class Entry {
+
+		/**
+		 * filter for compilation unit
+		 */
+		private final Predicate<CompilationUnit> unitFilter;
+
+		/**
+		 * handler for compilation unit
+		 */
+		private final BiConsumer<File, CompilationUnit> handler;
+
+		/**
+		 * Initialize the entry.
+		 * 
+		 * @param unitFilter
+		 *            filter for compilation unit
+		 * @param handler
+		 *            handler for compilation unit
+		 * @since 1.1.0
+		 */
+		private Entry(Predicate<CompilationUnit> unitFilter, BiConsumer<File, CompilationUnit> handler) {
+			this.unitFilter = unitFilter;
+			this.handler = handler;
+		}
+	}
+}
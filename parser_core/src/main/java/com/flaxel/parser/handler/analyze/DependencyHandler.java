@@ -0,0 +1,247 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.handler.analyze;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import com.flaxel.parser.dependency.DependencyAnalysis;
+import com.flaxel.parser.dependency.DependencyGraph;
+import com.flaxel.parser.dependency.DependencyGraphBuilder;
+import com.flaxel.parser.dependency.DependencyLevel;
+import com.flaxel.parser.engine.DeclarationsOnly;
+import com.flaxel.parser.engine.SourceHeader;
+import com.flaxel.parser.utils.JsonUtils;
+import com.github.javaparser.ast.CompilationUnit;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to build the dependency graph of all packages or classes
+ * and to report its cycles and layering violations. The handler only needs the
+ * declarations of every compilation unit. The headers of a scan can be passed
+ * to the {@link #getHeaderHandler() header handler} instead, which is much
+ * faster. The report is written at the end of a run, every cycle and violation
+ * as soon as it is found.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class DependencyHandler implements BiConsumer<File, CompilationUnit>, DeclarationsOnly {
+
+	/**
+	 * output stream to write the report
+	 */
+	private final OutputStream output;
+
+	/**
+	 * builder of the dependency graph
+	 */
+	private final DependencyGraphBuilder builder;
+
+	/**
+	 * package prefixes of all layers from top to bottom
+	 */
+	private List<String> layers = new ArrayList<>();
+
+	/**
+	 * true if every result should be written as json line, otherwise false
+	 */
+	private boolean json;
+
+	/**
+	 * Initialize the dependency handler.
+	 * 
+	 * @param output
+	 *            output stream to write the report
+	 * @param level
+	 *            level of the nodes
+	 * @since 1.1.0
+	 */
+	public DependencyHandler(OutputStream output, DependencyLevel level) {
+		this.output = assertNotNull(output);
+		this.builder = new DependencyGraphBuilder(level);
+	}
+
+	/**
+	 * Set the package prefixes of all layers. A layer must not depend on a layer
+	 * before it.
+	 * 
+	 * @param layers
+	 *            package prefixes of all layers from top to bottom
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public DependencyHandler layers(List<String> layers) {
+		this.layers = new ArrayList<>(assertNotNull(layers));
+		return this;
+	}
+
+	/**
+	 * Set the value whether unknown dependencies should be external nodes.
+	 * 
+	 * @param external
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public DependencyHandler external(boolean external) {
+		builder.external(external);
+		return this;
+	}
+
+	/**
+	 * Set the value whether every result should be written as json line.
+	 * 
+	 * @param json
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public DependencyHandler json(boolean json) {
+		this.json = json;
+		return this;
+	}
+
+	/**
+	 * Get the handler for the headers of a scan, e.g. for
+	 * {@link com.flaxel.parser.Analyzer#scanFolder}.
+	 * 
+	 * @return header handler
+	 * @since 1.1.0
+	 */
+	public BiConsumer<File, SourceHeader> getHeaderHandler() {
+		return builder;
+	}
+
+	/**
+	 * Add the header of the compilation unit to the dependency graph.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param unit
+	 *            entire compilation unit
+	 * @since 1.1.0
+	 */
+	@Override
+	public void accept(File source, CompilationUnit unit) {
+		assertNotNull(source);
+		assertNotNull(unit);
+
+		builder.accept(source, SourceHeader.of(unit));
+	}
+
+	/**
+	 * Build the dependency graph of all handled files.
+	 * 
+	 * @return new dependency graph
+	 * @since 1.1.0
+	 */
+	public DependencyGraph getGraph() {
+		return builder.build();
+	}
+
+	/**
+	 * Build the dependency graph and write all cycles, all layering violations
+	 * and a summary on the output stream.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void printReport() {
+		DependencyGraph graph = getGraph();
+
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+			int cycles = DependencyAnalysis.cycles(graph, (cycle) -> write(writer, cycle(graph, cycle)));
+			int violations = DependencyAnalysis.layerViolations(graph, layers,
+					(from, to) -> write(writer, violation(graph, from, to)));
+
+			if (json) {
+				writer.write(JsonUtils.line("type", "summary", "nodes", graph.size(), "edges", graph.getEdgeCount(),
+						"cycles", cycles, "violations", violations));
+			} else {
+				writer.write(String.format("%d nodes, %d edges, %d cycles, %d layer violations%n", graph.size(),
+						graph.getEdgeCount(), cycles, violations));
+			}
+		} catch (IOException | UncheckedIOException e) {
+			// do nothing
+		}
+	}
+
+	/**
+	 * Format a cycle.
+	 * 
+	 * @param graph
+	 *            dependency graph
+	 * @param cycle
+	 *            sorted node indices of the cycle
+	 * @return line of the cycle
+	 * @since 1.1.0
+	 */
+	private String cycle(DependencyGraph graph, int[] cycle) {
+		List<String> names = new ArrayList<>(cycle.length);
+
+		for (int node : cycle) {
+			names.add(graph.getName(node));
+		}
+
+		return json ? JsonUtils.line("type", "cycle", "size", cycle.length, "nodes", String.join(", ", names))
+				: String.format("cycle of %d: %s%n", cycle.length, String.join(", ", names));
+	}
+
+	/**
+	 * Format a layering violation.
+	 * 
+	 * @param graph
+	 *            dependency graph
+	 * @param from
+	 *            index of the dependent node
+	 * @param to
+	 *            index of the dependency
+	 * @return line of the violation
+	 * @since 1.1.0
+	 */
+	private String violation(DependencyGraph graph, int from, int to) {
+		return json ? JsonUtils.line("type", "violation", "from", graph.getName(from), "to", graph.getName(to))
+				: String.format("layer violation: %s -> %s%n", graph.getName(from), graph.getName(to));
+	}
+
+	/**
+	 * Write a line, so that it is emitted as soon as it is found.
+	 * 
+	 * @param writer
+	 *            writer of the report
+	 * @param line
+	 *            formatted line
+	 * @since 1.1.0
+	 */
+	private static void write(Writer writer, String line) {
+		try {
+			writer.write(line);
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
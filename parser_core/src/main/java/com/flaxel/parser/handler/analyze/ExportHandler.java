@@ -0,0 +1,124 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.handler.analyze;
+
+import java.io.File;
+import java.util.function.BiConsumer;
+
+import com.flaxel.parser.export.DeclarationKind;
+import com.flaxel.parser.export.ExportWriter;
+import com.github.javaparser.Position;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.AnnotationDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to export all declarations and method calls of a class
+ * into a binary export. The export writer is not closed by the handler.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class ExportHandler implements BiConsumer<File, CompilationUnit> {
+
+	/**
+	 * writer to collect all information
+	 */
+	private final ExportWriter writer;
+
+	/**
+	 * Initialize the export handler.
+	 * 
+	 * @param writer
+	 *            writer to collect all information
+	 * @since 1.1.0
+	 */
+	public ExportHandler(ExportWriter writer) {
+		this.writer = assertNotNull(writer);
+	}
+
+	/**
+	 * Add the file with all declarations and method calls to the export.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param unit
+	 *            entire compilation unit
+	 * @since 1.1.0
+	 */
+	@Override
+	public void accept(File source, CompilationUnit unit) {
+		assertNotNull(source);
+		assertNotNull(unit);
+
+		int file = writer.addFile(source.getAbsolutePath());
+
+		unit.findAll(ClassOrInterfaceDeclaration.class).forEach((classOrInterface) -> {
+			writer.addDeclaration(file, DeclarationKind.CLASS, classOrInterface.getNameAsString(),
+					line(classOrInterface));
+		});
+
+		unit.findAll(ConstructorDeclaration.class).forEach((constructor) -> {
+			writer.addDeclaration(file, DeclarationKind.CONSTRUCTOR, constructor.getDeclarationAsString(false, false),
+					line(constructor));
+		});
+
+		unit.findAll(FieldDeclaration.class).forEach((field) -> {
+			for (VariableDeclarator variable : field.getVariables()) {
+				writer.addDeclaration(file, DeclarationKind.FIELD, variable.getNameAsString(), line(variable));
+			}
+		});
+
+		unit.findAll(MethodDeclaration.class).forEach((method) -> {
+			writer.addDeclaration(file, DeclarationKind.METHOD, method.getDeclarationAsString(false, false),
+					line(method));
+		});
+
+		unit.findAll(AnnotationDeclaration.class).forEach((annotation) -> {
+			writer.addDeclaration(file, DeclarationKind.ANNOTATION, annotation.getNameAsString(), line(annotation));
+		});
+
+		unit.findAll(EnumDeclaration.class).forEach((enums) -> {
+			writer.addDeclaration(file, DeclarationKind.ENUM, enums.getNameAsString(), line(enums));
+		});
+
+		unit.findAll(MethodCallExpr.class).forEach((methodCall) -> {
+			Position position = methodCall.getBegin().orElse(Position.pos(-1, -1));
+			writer.addCall(file, methodCall.toString(), position.line, position.column);
+		});
+	}
+
+	/**
+	 * Get the line where a node begins.
+	 * 
+	 * @param node
+	 *            any node
+	 * @return line of the node
+	 * @since 1.1.0
+	 */
+	private int line(Node node) {
+		return node.getBegin().orElse(Position.pos(-1, -1)).line;
+	}
+}
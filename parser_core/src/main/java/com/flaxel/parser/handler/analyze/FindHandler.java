@@ -17,6 +17,7 @@ package com.flaxel.parser.handler.analyze;
 
 import java.io.File;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.OptionalInt;
 import java.util.function.BiConsumer;
@@ -26,9 +27,10 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import com.flaxel.parser.utils.JsonUtils;
+import com.flaxel.parser.utils.SharedPrinter;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
-import com.github.javaparser.printer.PrettyPrinter;
 import com.github.javaparser.utils.Utils;
 
 import static com.github.javaparser.utils.Utils.assertNonEmpty;
@@ -57,6 +59,11 @@ public class FindHandler implements BiConsumer<File, CompilationUnit> {
 	 */
 	private Function<Node, String> printer;
 
+	/**
+	 * true if every match should be written as json line, otherwise false
+	 */
+	private boolean json;
+
 	/**
 	 * Initialize the find handler.
 	 * 
@@ -67,7 +74,7 @@ public class FindHandler implements BiConsumer<File, CompilationUnit> {
 	 * @since 1.0.0
 	 */
 	public FindHandler(OutputStream output, Pattern pattern) {
-		this.printer = new PrettyPrinter()::print;
+		this.printer = SharedPrinter.getDefault();
 		this.output = assertNotNull(output);
 		this.pattern = assertNotNull(pattern);
 	}
@@ -98,6 +105,20 @@ public class FindHandler implements BiConsumer<File, CompilationUnit> {
 		return this;
 	}
 
+	/**
+	 * Set the value whether every match should be written as json line as soon as
+	 * it is found.
+	 * 
+	 * @param json
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public FindHandler json(boolean json) {
+		this.json = assertNotNull(json);
+		return this;
+	}
+
 	/**
 	 * Write information where you can find the source code snippet.
 	 * 
@@ -112,10 +133,36 @@ public class FindHandler implements BiConsumer<File, CompilationUnit> {
 		assertNotNull(source);
 		assertNotNull(unit);
 
-		String content = printer.apply(unit);
-		Matcher matcher = pattern.matcher(content);
+		find(source, printer.apply(unit));
+	}
+
+	/**
+	 * Write information where you can find the source code snippet in an already
+	 * printed compilation unit, e.g. if another handler printed it before.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param content
+	 *            printed compilation unit
+	 * @since 1.1.0
+	 */
+	public void find(File source, String content) {
+		assertNotNull(source);
+		Matcher matcher = pattern.matcher(assertNotNull(content));
 
 		try (output) {
+			if (json) {
+				String path = source.getCanonicalPath();
+
+				while (matcher.find()) {
+					String line = JsonUtils.line("file", path, "start", matcher.start(), "end", matcher.end(), "match",
+							matcher.group());
+					output.write(line.getBytes(StandardCharsets.UTF_8));
+				}
+
+				return;
+			}
+
 			List<MatchResult> results = matcher.results().collect(Collectors.toList());
 
 			if (!results.isEmpty()) {
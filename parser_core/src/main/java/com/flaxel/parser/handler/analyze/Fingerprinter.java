@@ -0,0 +1,428 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.handler.analyze;
+
+import java.util.Arrays;
+
+import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.comments.Comment;
+import com.github.javaparser.ast.expr.AssignExpr;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.type.PrimitiveType;
+
+/**
+ * This class is used to fingerprint all statement blocks of a compilation unit
+ * with a hash of their normalized subtree. The hash only depends on the node
+ * types and the operators, so that renamed identifiers and changed literals
+ * get the same fingerprint. Every run of consecutive statements in a block
+ * gets a fingerprint as well, which finds near-duplicates. A run has the same
+ * fingerprint as a block with the same statements.
+ * <p>
+ * The fragments are kept in the pre-order of their blocks, and every fragment
+ * knows the index after its nested fragments. A fragment is only kept, if its
+ * subtree has enough nodes.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+class Fingerprinter {
+
+	/**
+	 * factor to combine two hashes
+	 */
+	private static final long FACTOR = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * seed of every block and every run of statements
+	 */
+	private static final long BLOCK_SEED = seed(BlockStmt.class);
+
+	/**
+	 * minimal number of nodes of a fragment
+	 */
+	private final int minNodes;
+
+	/**
+	 * number of statements of a run or 0 if no runs are fingerprinted
+	 */
+	private final int window;
+
+	/**
+	 * fingerprints of all fragments
+	 */
+	private long[] hashes = new long[16];
+
+	/**
+	 * number of nodes of all fragments
+	 */
+	private int[] nodes = new int[16];
+
+	/**
+	 * begin lines of all fragments
+	 */
+	private int[] lines = new int[16];
+
+	/**
+	 * indices after the nested fragments of all fragments
+	 */
+	private int[] ends = new int[16];
+
+	/**
+	 * true for every fragment, which is a run of statements
+	 */
+	private boolean[] runs = new boolean[16];
+
+	/**
+	 * number of all fragments
+	 */
+	private int size;
+
+	/**
+	 * number of all visited nodes
+	 */
+	private int visited;
+
+	/**
+	 * Initialize the fingerprinter.
+	 * 
+	 * @param minNodes
+	 *            minimal number of nodes of a fragment
+	 * @param window
+	 *            number of statements of a run or 0 if no runs should be
+	 *            fingerprinted
+	 * @since 1.1.0
+	 */
+	Fingerprinter(int minNodes, int window) {
+		this.minNodes = minNodes;
+		this.window = window;
+	}
+
+	/**
+	 * Fingerprint all fragments of the node. The fragments of a previous node
+	 * are removed.
+	 * 
+	 * @param root
+	 *            any node, e.g. a compilation unit
+	 * @return fingerprint of the node
+	 * @since 1.1.0
+	 */
+	long fingerprint(Node root) {
+		size = 0;
+		visited = 0;
+
+		return hash(root);
+	}
+
+	/**
+	 * Get the number of all fragments.
+	 * 
+	 * @return number of fragments
+	 * @since 1.1.0
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Get the fingerprint of a fragment.
+	 * 
+	 * @param fragment
+	 *            index of the fragment
+	 * @return fingerprint
+	 * @since 1.1.0
+	 */
+	long getHash(int fragment) {
+		return hashes[fragment];
+	}
+
+	/**
+	 * Get the number of nodes of a fragment.
+	 * 
+	 * @param fragment
+	 *            index of the fragment
+	 * @return number of nodes
+	 * @since 1.1.0
+	 */
+	int getNodes(int fragment) {
+		return nodes[fragment];
+	}
+
+	/**
+	 * Get the begin line of a fragment.
+	 * 
+	 * @param fragment
+	 *            index of the fragment
+	 * @return line or -1 if the position is unknown
+	 * @since 1.1.0
+	 */
+	int getLine(int fragment) {
+		return lines[fragment];
+	}
+
+	/**
+	 * Get the index after the nested fragments of a fragment. The runs of a
+	 * block are nested in the block, and a run contains the following runs,
+	 * which overlap with it.
+	 * 
+	 * @param fragment
+	 *            index of the fragment
+	 * @return index of the next fragment, which is not nested
+	 * @since 1.1.0
+	 */
+	int getEnd(int fragment) {
+		return ends[fragment];
+	}
+
+	/**
+	 * Get the value whether a fragment is a run of statements.
+	 * 
+	 * @param fragment
+	 *            index of the fragment
+	 * @return true if it is a run, otherwise false for a block
+	 * @since 1.1.0
+	 */
+	boolean isRun(int fragment) {
+		return runs[fragment];
+	}
+
+	/**
+	 * Hash the subtree of a node and add the fragments of its blocks.
+	 * 
+	 * @param node
+	 *            any node
+	 * @return fingerprint of the subtree
+	 * @since 1.1.0
+	 */
+	private long hash(Node node) {
+		int first = visited++;
+		boolean block = node instanceof BlockStmt;
+		int fragment = block ? add() : -1;
+		int capacity = block ? node.getChildNodes().size() : 0;
+		long[] statements = new long[capacity];
+		int[] statementNodes = new int[capacity];
+		int[] statementLines = new int[capacity];
+		int count = 0;
+		long hash = seed(node);
+
+		for (Node child : node.getChildNodes()) {
+			if (child instanceof Comment)
+				continue;
+
+			int before = visited;
+			long childHash = hash(child);
+			hash = combine(hash, childHash);
+
+			if (block) {
+				statements[count] = childHash;
+				statementNodes[count] = visited - before;
+				statementLines[count++] = line(child);
+			}
+		}
+
+		hash = finish(hash);
+
+		if (block) {
+			int total = visited - first;
+
+			// all nested fragments are smaller than the block
+			if (total < minNodes) {
+				size = fragment;
+			} else {
+				set(fragment, hash, total, line(node), false);
+				addRuns(statements, statementNodes, statementLines, count);
+				ends[fragment] = size;
+			}
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Add the fragments of all runs of consecutive statements of a block, which
+	 * is longer than a run. A run contains all following runs, which overlap
+	 * with it.
+	 * 
+	 * @param statements
+	 *            fingerprints of all statements
+	 * @param statementNodes
+	 *            number of nodes of all statements
+	 * @param statementLines
+	 *            begin lines of all statements
+	 * @param count
+	 *            number of statements
+	 * @since 1.1.0
+	 */
+	private void addRuns(long[] statements, int[] statementNodes, int[] statementLines, int count) {
+		if (window == 0 || count <= window)
+			return;
+
+		int start = size;
+		int[] offsets = new int[count - window + 1];
+
+		for (int i = 0; i + window <= count; i++) {
+			long hash = BLOCK_SEED;
+			int total = 1;
+
+			for (int j = i; j < i + window; j++) {
+				hash = combine(hash, statements[j]);
+				total += statementNodes[j];
+			}
+
+			if (total >= minNodes) {
+				offsets[size - start] = i;
+				set(add(), finish(hash), total, statementLines[i], true);
+			}
+		}
+
+		for (int fragment = start, next = start; fragment < size; fragment++) {
+			while (next < size && offsets[next - start] < offsets[fragment - start] + window) {
+				next++;
+			}
+
+			ends[fragment] = next;
+		}
+	}
+
+	/**
+	 * Reserve the next fragment.
+	 * 
+	 * @return index of the fragment
+	 * @since 1.1.0
+	 */
+	private int add() {
+		if (size == hashes.length) {
+			int capacity = size * 2;
+			hashes = Arrays.copyOf(hashes, capacity);
+			nodes = Arrays.copyOf(nodes, capacity);
+			lines = Arrays.copyOf(lines, capacity);
+			ends = Arrays.copyOf(ends, capacity);
+			runs = Arrays.copyOf(runs, capacity);
+		}
+
+		ends[size] = size + 1;
+		return size++;
+	}
+
+	/**
+	 * Set the values of a fragment.
+	 * 
+	 * @param fragment
+	 *            index of the fragment
+	 * @param hash
+	 *            fingerprint
+	 * @param total
+	 *            number of nodes
+	 * @param line
+	 *            begin line
+	 * @param run
+	 *            true if it is a run of statements, otherwise false
+	 * @since 1.1.0
+	 */
+	private void set(int fragment, long hash, int total, int line, boolean run) {
+		hashes[fragment] = hash;
+		nodes[fragment] = total;
+		lines[fragment] = line;
+		runs[fragment] = run;
+	}
+
+	/**
+	 * Get the begin line of a node.
+	 * 
+	 * @param node
+	 *            any node
+	 * @return line or -1 if the position is unknown
+	 * @since 1.1.0
+	 */
+	private static int line(Node node) {
+		return node.getBegin().map((begin) -> begin.line).orElse(-1);
+	}
+
+	/**
+	 * Get the seed of a node, which contains its type and its operator. Names
+	 * and values of literals are left out.
+	 * 
+	 * @param node
+	 *            any node
+	 * @return seed of the hash
+	 * @since 1.1.0
+	 */
+	private static long seed(Node node) {
+		long seed = seed(node.getClass());
+
+		if (node instanceof BinaryExpr)
+			return combine(seed, ((BinaryExpr) node).getOperator().ordinal());
+
+		if (node instanceof UnaryExpr)
+			return combine(seed, ((UnaryExpr) node).getOperator().ordinal());
+
+		if (node instanceof AssignExpr)
+			return combine(seed, ((AssignExpr) node).getOperator().ordinal());
+
+		if (node instanceof Modifier)
+			return combine(seed, ((Modifier) node).getKeyword().ordinal());
+
+		if (node instanceof PrimitiveType)
+			return combine(seed, ((PrimitiveType) node).getType().ordinal());
+
+		return seed;
+	}
+
+	/**
+	 * Get the seed of a node type.
+	 * 
+	 * @param type
+	 *            type of the node
+	 * @return seed of the hash
+	 * @since 1.1.0
+	 */
+	private static long seed(Class<?> type) {
+		return finish(type.getName().hashCode());
+	}
+
+	/**
+	 * Combine a hash with the next value.
+	 * 
+	 * @param hash
+	 *            current hash
+	 * @param value
+	 *            next value
+	 * @return combined hash
+	 * @since 1.1.0
+	 */
+	private static long combine(long hash, long value) {
+		return (Long.rotateLeft(hash, 23) ^ value) * FACTOR;
+	}
+
+	/**
+	 * Spread the bits of a hash.
+	 * 
+	 * @param hash
+	 *            any hash
+	 * @return final hash
+	 * @since 1.1.0
+	 */
+	private static long finish(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
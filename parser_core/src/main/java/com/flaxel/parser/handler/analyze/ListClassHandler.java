@@ -18,11 +18,14 @@ package com.flaxel.parser.handler.analyze;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
+import com.flaxel.parser.engine.DeclarationsOnly;
+import com.flaxel.parser.utils.JsonUtils;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.AnnotationDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
@@ -40,7 +43,7 @@ import static com.github.javaparser.utils.Utils.assertNotNull;
  * @author flaxel
  * @since 1.0.0
  */
-public class ListClassHandler implements BiConsumer<File, CompilationUnit> {
+public class ListClassHandler implements BiConsumer<File, CompilationUnit>, DeclarationsOnly {
 
 	/**
 	 * output stream to print all information
@@ -57,6 +60,11 @@ public class ListClassHandler implements BiConsumer<File, CompilationUnit> {
 	 */
 	private boolean verbose;
 
+	/**
+	 * true if every element should be written as json line, otherwise false
+	 */
+	private boolean json;
+
 	/**
 	 * default separator for the problems
 	 */
@@ -113,6 +121,20 @@ public class ListClassHandler implements BiConsumer<File, CompilationUnit> {
 		return this;
 	}
 
+	/**
+	 * Set the value whether every element should be written as json line as soon
+	 * as it is found.
+	 * 
+	 * @param json
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public ListClassHandler json(boolean json) {
+		this.json = assertNotNull(json);
+		return this;
+	}
+
 	/**
 	 * Write all elements of a class to the output stream and write verbose
 	 * information if it is necessary.
@@ -128,37 +150,45 @@ public class ListClassHandler implements BiConsumer<File, CompilationUnit> {
 		assertNotNull(source);
 		assertNotNull(unit);
 
+		String path = source.getAbsolutePath();
 		String splitter = separator.orElse(DEFAULT_SEPARATOR).repeat(20);
 
 		StringBuilder builder = new StringBuilder();
-		builder.append(String.format("%s%n%s%n%s%n%n", splitter, verbose ? source.getAbsolutePath() : source.getName(),
-				splitter));
-
-		executeIfNotEmpty(builder, "classes", unit.findAll(ClassOrInterfaceDeclaration.class), (classOrInterface) -> {
-			return verbose ? classOrInterface.resolve().getQualifiedName() : classOrInterface.getNameAsString();
-		});
-
-		executeIfNotEmpty(builder, "constructors", unit.findAll(ConstructorDeclaration.class), (constructor) -> {
-			return verbose ? constructor.getDeclarationAsString() : constructor.getDeclarationAsString(false, false);
-		});
-
-		executeIfNotEmpty(builder, "fields", unit.findAll(FieldDeclaration.class), (field) -> {
-			return verbose ? field.getVariables().get(0).getNameAsString() : field.toString();
-		});
 
-		executeIfNotEmpty(builder, "methods", unit.findAll(MethodDeclaration.class), (method) -> {
-			return verbose ? method.getDeclarationAsString() : method.getDeclarationAsString(false, false);
-		});
-
-		executeIfNotEmpty(builder, "annotations", unit.findAll(AnnotationDeclaration.class), (annotation) -> {
-			return verbose ? annotation.resolve().getQualifiedName() : annotation.getNameAsString();
-		});
-
-		executeIfNotEmpty(builder, "enums", unit.findAll(EnumDeclaration.class), (enums) -> {
-			return String.format("%s %s", enums.getNameAsString(), verbose ? enums.getEntries().toString() : "");
-		});
+		if (!json) {
+			builder.append(String.format("%s%n%s%n%s%n%n", splitter, verbose ? path : source.getName(), splitter));
+		}
 
 		try (output) {
+			executeIfNotEmpty(builder, path, "classes", "class", unit.findAll(ClassOrInterfaceDeclaration.class),
+					(classOrInterface) -> {
+						return verbose ? classOrInterface.resolve().getQualifiedName()
+								: classOrInterface.getNameAsString();
+					});
+
+			executeIfNotEmpty(builder, path, "constructors", "constructor", unit.findAll(ConstructorDeclaration.class),
+					(constructor) -> {
+						return verbose ? constructor.getDeclarationAsString()
+								: constructor.getDeclarationAsString(false, false);
+					});
+
+			executeIfNotEmpty(builder, path, "fields", "field", unit.findAll(FieldDeclaration.class), (field) -> {
+				return verbose ? field.getVariables().get(0).getNameAsString() : field.toString();
+			});
+
+			executeIfNotEmpty(builder, path, "methods", "method", unit.findAll(MethodDeclaration.class), (method) -> {
+				return verbose ? method.getDeclarationAsString() : method.getDeclarationAsString(false, false);
+			});
+
+			executeIfNotEmpty(builder, path, "annotations", "annotation", unit.findAll(AnnotationDeclaration.class),
+					(annotation) -> {
+						return verbose ? annotation.resolve().getQualifiedName() : annotation.getNameAsString();
+					});
+
+			executeIfNotEmpty(builder, path, "enums", "enum", unit.findAll(EnumDeclaration.class), (enums) -> {
+				return String.format("%s %s", enums.getNameAsString(), verbose ? enums.getEntries().toString() : "");
+			});
+
 			output.write(builder.toString().getBytes());
 		} catch (IOException e) {
 			// do nothing
@@ -166,21 +196,32 @@ public class ListClassHandler implements BiConsumer<File, CompilationUnit> {
 	}
 
 	/**
-	 * Add new content.
+	 * Add new content or write every element as json line.
 	 * 
 	 * @param builder
 	 *            build a string
+	 * @param path
+	 *            path of the source file
 	 * @param content
 	 *            upper class of the elements
+	 * @param kind
+	 *            kind of one element in a json line
 	 * @param list
 	 *            all elements
 	 * @param function
 	 *            create the visible content for one element
+	 * @throws IOException
+	 *             if an i/o error occurred while a json line is written
 	 * @since 1.0.0
 	 */
-	private <T> void executeIfNotEmpty(StringBuilder builder, String content, List<T> list,
-			Function<T, String> function) {
-		if (!list.isEmpty()) {
+	private <T> void executeIfNotEmpty(StringBuilder builder, String path, String content, String kind, List<T> list,
+			Function<T, String> function) throws IOException {
+		if (json) {
+			for (T element : list) {
+				String line = JsonUtils.line("file", path, "kind", kind, "name", function.apply(element));
+				output.write(line.getBytes(StandardCharsets.UTF_8));
+			}
+		} else if (!list.isEmpty()) {
 			builder.append(String.format("%s:%n", content));
 			list.forEach(element -> builder.append(String.format("\t%s%n", function.apply(element))));
 			builder.append(String.format("%n"));
@@ -18,9 +18,11 @@ package com.flaxel.parser.handler.analyze;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.function.BiConsumer;
 
+import com.flaxel.parser.utils.JsonUtils;
 import com.github.javaparser.Position;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.expr.MethodCallExpr;
@@ -46,6 +48,11 @@ public class ListMethodCallHandler implements BiConsumer<File, CompilationUnit>
 	 */
 	private final OutputStream output;
 
+	/**
+	 * true if every method call should be written as json line, otherwise false
+	 */
+	private boolean json;
+
 	/**
 	 * Initialize the list method call handler.
 	 * 
@@ -70,6 +77,19 @@ public class ListMethodCallHandler implements BiConsumer<File, CompilationUnit>
 		return this;
 	}
 
+	/**
+	 * Set the value whether every method call should be written as json line.
+	 * 
+	 * @param json
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public ListMethodCallHandler json(boolean json) {
+		this.json = assertNotNull(json);
+		return this;
+	}
+
 	/**
 	 * Write all method calls of a class to the output stream.
 	 * 
@@ -88,10 +108,18 @@ public class ListMethodCallHandler implements BiConsumer<File, CompilationUnit>
 		PositionUtils.sortByBeginPosition(methodCalls, ignoringAnnotations);
 
 		try (output) {
+			String path = source.getAbsolutePath();
+
 			for (MethodCallExpr methodCall : methodCalls) {
-				String content = String.format("%s %s%n", methodCall.getBegin().orElse(Position.pos(-1, -1)),
-						methodCall);
-				output.write(content.getBytes());
+				Position position = methodCall.getBegin().orElse(Position.pos(-1, -1));
+
+				if (json) {
+					String line = JsonUtils.line("file", path, "line", position.line, "column", position.column, "call",
+							methodCall.toString());
+					output.write(line.getBytes(StandardCharsets.UTF_8));
+				} else {
+					output.write(String.format("%s %s%n", position, methodCall).getBytes());
+				}
 			}
 		} catch (IOException e) {
 			// do nothing
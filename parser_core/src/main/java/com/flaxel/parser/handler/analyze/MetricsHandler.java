@@ -0,0 +1,281 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.handler.analyze;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+
+import com.flaxel.parser.engine.CollectorHandler;
+import com.flaxel.parser.engine.UnitCollector;
+import com.flaxel.parser.metrics.ClassMetrics;
+import com.flaxel.parser.metrics.Metric;
+import com.flaxel.parser.metrics.MethodMetrics;
+import com.flaxel.parser.metrics.MetricsAccumulator;
+import com.flaxel.parser.metrics.QuantileSketch;
+import com.flaxel.parser.metrics.UnitMetrics;
+import com.flaxel.parser.utils.JsonUtils;
+import com.github.javaparser.ast.CompilationUnit;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to compute the metrics of all files, classes and methods
+ * and to report their distributions. The metrics of a compilation unit are
+ * computed in one pass, and the handler runs the {@link #getCollector()
+ * collector}, so that every thread adds them to its own accumulator without a
+ * lock. The accumulators are merged, when the report is written at the end of
+ * a run. The metrics of every file, class and method can be written as soon
+ * as they are computed.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class MetricsHandler implements BiConsumer<File, CompilationUnit> {
+
+	/**
+	 * quantiles of every metric in the report
+	 */
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+	/**
+	 * output stream to write the metrics
+	 */
+	private final OutputStream output;
+
+	/**
+	 * handler, which gives every thread its own accumulator
+	 */
+	private final CollectorHandler<MetricsAccumulator, MetricsAccumulator> handler;
+
+	/**
+	 * true if the metrics of every file, class and method should be written,
+	 * otherwise false
+	 */
+	private boolean details;
+
+	/**
+	 * true if every result should be written as json line, otherwise false
+	 */
+	private boolean json;
+
+	/**
+	 * Initialize the metrics handler.
+	 * 
+	 * @param output
+	 *            output stream to write the metrics
+	 * @since 1.1.0
+	 */
+	public MetricsHandler(OutputStream output) {
+		this.output = assertNotNull(output);
+		this.handler = new CollectorHandler<>(getCollector());
+	}
+
+	/**
+	 * Set the value whether the metrics of every file, class and method should
+	 * be written.
+	 * 
+	 * @param details
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public MetricsHandler details(boolean details) {
+		this.details = details;
+		return this;
+	}
+
+	/**
+	 * Set the value whether every result should be written as json line.
+	 * 
+	 * @param json
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public MetricsHandler json(boolean json) {
+		this.json = json;
+		return this;
+	}
+
+	/**
+	 * Get the collector of the metrics, which also writes the details, e.g. to
+	 * merge the accumulators of several shards.
+	 * 
+	 * @return new collector
+	 * @since 1.1.0
+	 */
+	public UnitCollector<MetricsAccumulator, MetricsAccumulator> getCollector() {
+		return UnitCollector.of(MetricsAccumulator::new, (accumulator, source, unit) -> {
+			UnitMetrics metrics = UnitMetrics.of(unit);
+			accumulator.add(metrics);
+
+			if (details) {
+				write(format(source.getPath(), metrics));
+			}
+		}, MetricsAccumulator::merge);
+	}
+
+	/**
+	 * Compute the metrics of the compilation unit and add them to the
+	 * accumulator of the current thread.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param unit
+	 *            entire compilation unit
+	 * @since 1.1.0
+	 */
+	@Override
+	public void accept(File source, CompilationUnit unit) {
+		assertNotNull(source);
+		assertNotNull(unit);
+
+		handler.accept(source, unit);
+	}
+
+	/**
+	 * Merge the accumulators of all threads. It must not be called while a run
+	 * calls the handler.
+	 * 
+	 * @return new accumulator with all metrics
+	 * @since 1.1.0
+	 */
+	public MetricsAccumulator getAccumulator() {
+		return handler.finish();
+	}
+
+	/**
+	 * Remove all metrics, e.g. before the next run.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void clear() {
+		handler.clear();
+	}
+
+	/**
+	 * Write the distribution of every metric and a summary on the output stream.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void printReport() {
+		MetricsAccumulator accumulator = getAccumulator();
+		StringBuilder builder = new StringBuilder();
+
+		if (json) {
+			for (Metric metric : Metric.values()) {
+				QuantileSketch sketch = accumulator.getDistribution(metric);
+
+				builder.append(JsonUtils.line("type", "metric", "name", metric.getName(), "count", sketch.getCount(),
+						"min", sketch.getMin(), "mean", Math.round(sketch.getMean() * 10) / 10.0, "p50",
+						sketch.getQuantile(QUANTILES[0]), "p90", sketch.getQuantile(QUANTILES[1]), "p99",
+						sketch.getQuantile(QUANTILES[2]), "max", sketch.getMax()));
+			}
+
+			builder.append(JsonUtils.line("type", "summary", "files", accumulator.getFiles(), "classes",
+					accumulator.getClasses(), "methods", accumulator.getMethods()));
+		} else {
+			builder.append(String.format("%d files, %d classes, %d methods%n%n", accumulator.getFiles(),
+					accumulator.getClasses(), accumulator.getMethods()));
+			builder.append(String.format("%-18s %8s %6s %8s %6s %6s %6s %6s%n", "metric", "count", "min", "mean",
+					"p50", "p90", "p99", "max"));
+
+			for (Metric metric : Metric.values()) {
+				QuantileSketch sketch = accumulator.getDistribution(metric);
+
+				builder.append(String.format("%-18s %8d %6d %8.1f %6d %6d %6d %6d%n", metric.getName(),
+						sketch.getCount(), sketch.getMin(), sketch.getMean(), sketch.getQuantile(QUANTILES[0]),
+						sketch.getQuantile(QUANTILES[1]), sketch.getQuantile(QUANTILES[2]), sketch.getMax()));
+			}
+		}
+
+		try (output) {
+			write(builder.toString());
+		} catch (IOException e) {
+			// do nothing
+		}
+	}
+
+	/**
+	 * Format the metrics of a file with all its classes and methods.
+	 * 
+	 * @param path
+	 *            path of the source file
+	 * @param metrics
+	 *            metrics of the file
+	 * @return lines of the metrics
+	 * @since 1.1.0
+	 */
+	private String format(String path, UnitMetrics metrics) {
+		StringBuilder builder = new StringBuilder();
+
+		if (json) {
+			builder.append(JsonUtils.line("type", "file", "path", path, "lines", metrics.getLines(), "classes",
+					metrics.getClasses().size()));
+		} else {
+			builder.append(String.format("file %s: lines %d, classes %d%n", path, metrics.getLines(),
+					metrics.getClasses().size()));
+		}
+
+		for (ClassMetrics type : metrics.getClasses()) {
+			String location = path + ":" + type.getLine();
+
+			builder.append(json
+					? JsonUtils.line("type", "class", "name", type.getName(), "location", location, "lines",
+							type.getLines(), "methods", type.getMethods(), "fanOut", type.getFanOut())
+					: String.format("class %s at %s: lines %d, methods %d, fan-out %d%n", type.getName(), location,
+							type.getLines(), type.getMethods(), type.getFanOut()));
+		}
+
+		for (MethodMetrics method : metrics.getMethods()) {
+			String name = method.getClassName() + "." + method.getName();
+			String location = path + ":" + method.getLine();
+
+			builder.append(json
+					? JsonUtils.line("type", "method", "name", name, "location", location, "lines", method.getLines(),
+							"complexity", method.getComplexity(), "nesting", method.getNesting(), "parameters",
+							method.getParameters(), "fanOut", method.getFanOut())
+					: String.format(
+							"method %s at %s: lines %d, complexity %d, nesting %d, parameters %d, fan-out %d%n", name,
+							location, method.getLines(), method.getComplexity(), method.getNesting(),
+							method.getParameters(), method.getFanOut()));
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Write a text on the output stream. The lines of several threads are not
+	 * mixed.
+	 * 
+	 * @param text
+	 *            any text
+	 * @since 1.1.0
+	 */
+	private void write(String text) {
+		synchronized (output) {
+			try {
+				output.write(text.getBytes(StandardCharsets.UTF_8));
+				output.flush();
+			} catch (IOException e) {
+				// do nothing
+			}
+		}
+	}
+}
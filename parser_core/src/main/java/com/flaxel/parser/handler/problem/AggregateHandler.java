@@ -0,0 +1,380 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.handler.problem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import com.flaxel.parser.utils.JsonUtils;
+import com.github.javaparser.Problem;
+
+import static com.flaxel.parser.utils.Utils.assertNonEmpty;
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to aggregate all compilation problems by their message.
+ * Every group keeps its count and the first locations, so that the memory is
+ * bounded and nothing is formatted while the files are parsed. The summary is
+ * written at the end of a run.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class AggregateHandler implements BiConsumer<File, List<Problem>> {
+
+	/**
+	 * default maximal number of locations per group
+	 */
+	public static final int DEFAULT_MAX_LOCATIONS = 5;
+
+	/**
+	 * default maximal number of groups
+	 */
+	public static final int DEFAULT_MAX_GROUPS = 1000;
+
+	/**
+	 * message of the group for all problems, which do not fit in the other groups
+	 */
+	public static final String OTHER_MESSAGE = "other problems";
+
+	/**
+	 * any output stream to write the summary
+	 */
+	private final OutputStream output;
+
+	/**
+	 * all groups with the message as key in the order of their first problem
+	 */
+	private final Map<String, Group> groups = new LinkedHashMap<>();
+
+	/**
+	 * group for all problems, which do not fit in the other groups
+	 */
+	private final Group other = new Group(OTHER_MESSAGE);
+
+	/**
+	 * maximal number of locations per group
+	 */
+	private int maxLocations = DEFAULT_MAX_LOCATIONS;
+
+	/**
+	 * maximal number of groups
+	 */
+	private int maxGroups = DEFAULT_MAX_GROUPS;
+
+	/**
+	 * true if every group should be written as json line, otherwise false
+	 */
+	private boolean json;
+
+	/**
+	 * number of files with problems
+	 */
+	private long files;
+
+	/**
+	 * number of all problems
+	 */
+	private long problems;
+
+	/**
+	 * Initialize the problem handler.
+	 * 
+	 * @param output
+	 *            stream to write the summary
+	 * @since 1.1.0
+	 */
+	public AggregateHandler(final OutputStream output) {
+		this.output = assertNotNull(output);
+	}
+
+	/**
+	 * Set the maximal number of locations, which are kept per group.
+	 * 
+	 * @param maxLocations
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public AggregateHandler maxLocations(int maxLocations) {
+		if (maxLocations < 0)
+			throw new IllegalArgumentException("The number of locations must not be negative.");
+
+		this.maxLocations = maxLocations;
+		return this;
+	}
+
+	/**
+	 * Set the maximal number of groups. All further messages are counted in one
+	 * group for other problems.
+	 * 
+	 * @param maxGroups
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public AggregateHandler maxGroups(int maxGroups) {
+		if (maxGroups < 0)
+			throw new IllegalArgumentException("The number of groups must not be negative.");
+
+		this.maxGroups = maxGroups;
+		return this;
+	}
+
+	/**
+	 * Set the value whether every group should be written as json line.
+	 * 
+	 * @param json
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public AggregateHandler json(boolean json) {
+		this.json = json;
+		return this;
+	}
+
+	/**
+	 * Add the compilation problems from the file to their groups.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param problems
+	 *            all compilation problems
+	 * @since 1.1.0
+	 */
+	@Override
+	public synchronized void accept(File source, List<Problem> problems) {
+		assertNotNull(source);
+		assertNonEmpty(problems);
+
+		files++;
+
+		for (Problem problem : problems) {
+			this.problems++;
+
+			Group group = groups.get(problem.getMessage());
+
+			if (group == null) {
+				if (groups.size() < maxGroups) {
+					group = new Group(problem.getMessage());
+					groups.put(problem.getMessage(), group);
+				} else {
+					group = other;
+				}
+			}
+
+			group.count++;
+
+			if (group.locations.size() < maxLocations) {
+				group.locations.add(location(source, problem));
+			}
+		}
+	}
+
+	/**
+	 * Get the number of files with problems.
+	 * 
+	 * @return number of files
+	 * @since 1.1.0
+	 */
+	public synchronized long getFiles() {
+		return files;
+	}
+
+	/**
+	 * Get the number of all problems.
+	 * 
+	 * @return number of problems
+	 * @since 1.1.0
+	 */
+	public synchronized long getProblems() {
+		return problems;
+	}
+
+	/**
+	 * Get all groups ordered by their count. The group for other problems is the
+	 * last one, if it is not empty.
+	 * 
+	 * @return copy of all groups
+	 * @since 1.1.0
+	 */
+	public synchronized List<Group> getGroups() {
+		List<Group> result = groups.values().stream()
+				.sorted(Comparator.comparingLong(Group::getCount).reversed())
+				.map(Group::copy)
+				.collect(Collectors.toCollection(ArrayList::new));
+
+		if (other.count > 0) {
+			result.add(other.copy());
+		}
+
+		return result;
+	}
+
+	/**
+	 * Remove all groups and counts, e.g. before the next run.
+	 * 
+	 * @since 1.1.0
+	 */
+	public synchronized void clear() {
+		groups.clear();
+		other.count = 0;
+		other.locations.clear();
+		files = 0;
+		problems = 0;
+	}
+
+	/**
+	 * Write the summary of all groups on the output stream.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void printSummary() {
+		List<Group> summary = getGroups();
+		StringBuilder builder = new StringBuilder();
+
+		if (json) {
+			for (Group group : summary) {
+				builder.append(JsonUtils.line("message", group.getMessage(), "count", group.getCount(), "locations",
+						String.join(", ", group.getLocations())));
+			}
+		} else {
+			builder.append(String.format("%d problems in %d files%n%n", getProblems(), getFiles()));
+
+			for (Group group : summary) {
+				builder.append(String.format("%d x %s%n", group.getCount(), group.getMessage()));
+				group.getLocations().forEach((location) -> builder.append(String.format("\tat %s%n", location)));
+
+				if (group.getCount() > group.getLocations().size()) {
+					builder.append(String.format("\t... %d more%n", group.getCount() - group.getLocations().size()));
+				}
+			}
+		}
+
+		try (output) {
+			output.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			// do nothing
+		}
+	}
+
+	/**
+	 * Create the location of a problem with the path and the begin of the range.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param problem
+	 *            any problem
+	 * @return location of the problem
+	 * @since 1.1.0
+	 */
+	private static String location(File source, Problem problem) {
+		return problem.getLocation()
+				.flatMap((location) -> location.getBegin().getRange())
+				.map((range) -> range.begin)
+				.map((begin) -> source.getPath() + ":" + begin.line + ":" + begin.column)
+				.orElse(source.getPath());
+	}
+
+	/**
+	 * This class is used to describe all problems with the same message.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	public static class Group {
+
+		/**
+		 * message of all problems
+		 */
+		private final String message;
+
+		/**
+		 * first locations of the problems
+		 */
+		private final List<String> locations = new ArrayList<>();
+
+		/**
+		 * number of all problems
+		 */
+		private long count;
+
+		/**
+		 * Initialize the group.
+		 * 
+		 * @param message
+		 *            message of all problems
+		 * @since 1.1.0
+		 */
+		private Group(String message) {
+			this.message = message;
+		}
+
+		/**
+		 * Create a copy of the group.
+		 * 
+		 * @return copy of the group
+		 * @since 1.1.0
+		 */
+		private Group copy() {
+			Group copy = new Group(message);
+			copy.count = count;
+			copy.locations.addAll(locations);
+			return copy;
+		}
+
+		/**
+		 * Get the message of all problems.
+		 * 
+		 * @return message
+		 * @since 1.1.0
+		 */
+		public String getMessage() {
+			return message;
+		}
+
+		/**
+		 * Get the number of all problems.
+		 * 
+		 * @return number of problems
+		 * @since 1.1.0
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * Get the first locations of the problems.
+		 * 
+		 * @return unmodifiable list of locations
+		 * @since 1.1.0
+		 */
+		public List<String> getLocations() {
+			return Collections.unmodifiableList(locations);
+		}
+	}
+}
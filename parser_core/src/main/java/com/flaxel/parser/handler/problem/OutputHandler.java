@@ -18,10 +18,12 @@ package com.flaxel.parser.handler.problem;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 
+import com.flaxel.parser.utils.JsonUtils;
 import com.github.javaparser.Problem;
 
 import static com.flaxel.parser.utils.Utils.assertNonEmpty;
@@ -51,6 +53,11 @@ public class OutputHandler implements BiConsumer<File, List<Problem>> {
 	 */
 	private boolean fullStacktrace;
 
+	/**
+	 * true if every problem should be written as json line, otherwise false
+	 */
+	private boolean json;
+
 	/**
 	 * default separator for the problems
 	 */
@@ -81,6 +88,19 @@ public class OutputHandler implements BiConsumer<File, List<Problem>> {
 		return this;
 	}
 
+	/**
+	 * Set the value whether every problem should be written as json line.
+	 * 
+	 * @param json
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public OutputHandler json(boolean json) {
+		this.json = assertNotNull(json);
+		return this;
+	}
+
 	/**
 	 * Set the separator for the problems.
 	 * 
@@ -121,6 +141,11 @@ public class OutputHandler implements BiConsumer<File, List<Problem>> {
 		assertNotNull(source);
 		assertNonEmpty(problems);
 
+		if (json) {
+			acceptJson(source, problems);
+			return;
+		}
+
 		StringBuilder builder = new StringBuilder(String.format("problems in the file: %s%n%n", source.getPath()));
 
 		for (Problem problem : problems) {
@@ -137,6 +162,29 @@ public class OutputHandler implements BiConsumer<File, List<Problem>> {
 		}
 	}
 
+	/**
+	 * Write every compilation problem as json line on the output stream.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param problems
+	 *            all compilation problems
+	 * @since 1.1.0
+	 */
+	private void acceptJson(File source, List<Problem> problems) {
+		try (output) {
+			for (Problem problem : problems) {
+				String line = fullStacktrace
+						? JsonUtils.line("file", source.getPath(), "message", problem.getVerboseMessage(), "details",
+								problem.toString())
+						: JsonUtils.line("file", source.getPath(), "message", problem.getVerboseMessage());
+				output.write(line.getBytes(StandardCharsets.UTF_8));
+			}
+		} catch (IOException e) {
+			// do nothing
+		}
+	}
+
 	/**
 	 * Create a message for a problem.
 	 * 
@@ -15,10 +15,11 @@
  */
 package com.flaxel.parser.handler.transform;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.file.Files;
+import java.nio.charset.Charset;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -26,9 +27,10 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.flaxel.parser.handler.analyze.FindHandler;
+import com.flaxel.parser.utils.IOUtils;
+import com.flaxel.parser.utils.SharedPrinter;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
-import com.github.javaparser.printer.PrettyPrinter;
 
 import static com.github.javaparser.utils.Utils.assertNonEmpty;
 import static com.github.javaparser.utils.Utils.assertNotNull;
@@ -71,6 +73,12 @@ public class RenameHandler implements BiConsumer<File, CompilationUnit> {
 	 */
 	private boolean verbose;
 
+	/**
+	 * true if a replaced source file should be forced to the storage device,
+	 * otherwise false
+	 */
+	private boolean sync;
+
 	/**
 	 * Initialize the rename handler.
 	 * 
@@ -83,7 +91,7 @@ public class RenameHandler implements BiConsumer<File, CompilationUnit> {
 	 * @since 1.0.0
 	 */
 	public RenameHandler(OutputStream output, Pattern pattern, Function<String, String> replacement) {
-		this.printer = new PrettyPrinter()::print;
+		this.printer = SharedPrinter.getDefault();
 		this.pattern = assertNotNull(pattern);
 		this.replacement = assertNotNull(replacement);
 		this.outputResult = Optional.ofNullable(output);
@@ -171,9 +179,27 @@ public class RenameHandler implements BiConsumer<File, CompilationUnit> {
 		return this;
 	}
 
+	/**
+	 * Set the value whether a replaced source file should be forced to the
+	 * storage device. This is disabled by default, because it costs one sync
+	 * per renamed file.
+	 * 
+	 * @param sync
+	 *            new value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public RenameHandler sync(boolean sync) {
+		this.sync = sync;
+		return this;
+	}
+
 	/**
 	 * Write the renamed file to the output stream and write verbose information if
-	 * it is necessary.
+	 * it is necessary. Without an output stream the whole content is encoded
+	 * first and the source file is replaced atomically, so that a failure never
+	 * leaves a truncated source file. A source file, which could not be replaced,
+	 * keeps its old content and is reported with the verbose information.
 	 * 
 	 * @param source
 	 *            source file of the code
@@ -188,19 +214,50 @@ public class RenameHandler implements BiConsumer<File, CompilationUnit> {
 
 		String content = printer.apply(unit);
 		Matcher matcher = pattern.matcher(content);
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length());
 
-		try (final OutputStream streamResult = outputResult.isPresent() ? outputResult.get()
-				: Files.newOutputStream(source.toPath());
+		try (final OutputStream streamResult = outputResult.isPresent() ? outputResult.get() : buffer;
 				final OutputStream streamVerbose = outputVerbose.orElse(streamResult)) {
 
 			if (verbose) {
 				FindHandler findHandler = new FindHandler(streamVerbose, pattern).printer(printer);
-				findHandler.accept(source, unit);
+				findHandler.find(source, content);
 			}
 
-			streamResult.write(matcher.replaceAll((result) -> replacement.apply(result.group())).getBytes());
+			// like the print stream, unmappable characters are replaced instead of failing
+			String renamed = matcher.replaceAll((result) -> replacement.apply(result.group()));
+			streamResult.write(renamed.getBytes(Charset.defaultCharset()));
+
+			if (outputResult.isEmpty()) {
+				replace(source, buffer.toByteArray(), streamVerbose);
+			}
 		} catch (IOException e) {
 			// do nothing
 		}
 	}
+
+	/**
+	 * Replace the source file atomically with the renamed code. If this fails,
+	 * the failure is written to the verbose output and the next file is renamed.
+	 * 
+	 * @param source
+	 *            source file of the code
+	 * @param content
+	 *            encoded renamed code
+	 * @param streamVerbose
+	 *            stream to print verbose information
+	 * @throws IOException
+	 *             if an i/o error occurred while the failure is written
+	 * @since 1.1.0
+	 */
+	private void replace(File source, byte[] content, OutputStream streamVerbose) throws IOException {
+		try {
+			IOUtils.writeAtomic(content, source.toPath(), sync);
+		} catch (IOException e) {
+			if (verbose) {
+				streamVerbose.write(String.format("The file %s could not be replaced: %s%n", source, e)
+						.getBytes(Charset.defaultCharset()));
+			}
+		}
+	}
 }
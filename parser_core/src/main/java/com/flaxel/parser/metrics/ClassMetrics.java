@@ -0,0 +1,156 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.metrics;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * This class is used to describe the metrics of a class, an interface, an
+ * enum or an annotation. The dependencies are the simple names of all used
+ * types, because the types are not resolved.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class ClassMetrics {
+
+	/**
+	 * qualified name of the class
+	 */
+	private final String name;
+
+	/**
+	 * simple name of the class
+	 */
+	private final String simpleName;
+
+	/**
+	 * begin line of the class
+	 */
+	private final int line;
+
+	/**
+	 * number of lines of the class
+	 */
+	private final int lines;
+
+	/**
+	 * number of methods and constructors of the class
+	 */
+	private final int methods;
+
+	/**
+	 * simple names of all types, which are used by the class
+	 */
+	private final Set<String> dependencies;
+
+	/**
+	 * Initialize the metrics.
+	 * 
+	 * @param name
+	 *            qualified name of the class
+	 * @param simpleName
+	 *            simple name of the class
+	 * @param line
+	 *            begin line of the class
+	 * @param lines
+	 *            number of lines of the class
+	 * @param methods
+	 *            number of methods and constructors of the class
+	 * @param dependencies
+	 *            simple names of all types, which are used by the class
+	 * @since 1.1.0
+	 */
+	ClassMetrics(String name, String simpleName, int line, int lines, int methods, Set<String> dependencies) {
+		this.name = name;
+		this.simpleName = simpleName;
+		this.line = line;
+		this.lines = lines;
+		this.methods = methods;
+		this.dependencies = Collections.unmodifiableSet(dependencies);
+	}
+
+	/**
+	 * Get the qualified name of the class.
+	 * 
+	 * @return name of the class
+	 * @since 1.1.0
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get the simple name of the class.
+	 * 
+	 * @return simple name of the class
+	 * @since 1.1.0
+	 */
+	public String getSimpleName() {
+		return simpleName;
+	}
+
+	/**
+	 * Get the begin line of the class.
+	 * 
+	 * @return line or -1 if the position is unknown
+	 * @since 1.1.0
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * Get the number of lines of the class.
+	 * 
+	 * @return number of lines
+	 * @since 1.1.0
+	 */
+	public int getLines() {
+		return lines;
+	}
+
+	/**
+	 * Get the number of methods and constructors of the class.
+	 * 
+	 * @return number of methods
+	 * @since 1.1.0
+	 */
+	public int getMethods() {
+		return methods;
+	}
+
+	/**
+	 * Get the number of types, which are used by the class.
+	 * 
+	 * @return fan-out of the class
+	 * @since 1.1.0
+	 */
+	public int getFanOut() {
+		return dependencies.size();
+	}
+
+	/**
+	 * Get the simple names of all types, which are used by the class.
+	 * 
+	 * @return unmodifiable set of names
+	 * @since 1.1.0
+	 */
+	public Set<String> getDependencies() {
+		return dependencies;
+	}
+}
@@ -0,0 +1,181 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.metrics;
+
+/**
+ * This class is used to describe the metrics of a method or a constructor.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class MethodMetrics {
+
+	/**
+	 * qualified name of the declaring class
+	 */
+	private final String className;
+
+	/**
+	 * name of the method
+	 */
+	private final String name;
+
+	/**
+	 * begin line of the method
+	 */
+	private final int line;
+
+	/**
+	 * number of lines of the method
+	 */
+	private final int lines;
+
+	/**
+	 * cyclomatic complexity of the method
+	 */
+	private final int complexity;
+
+	/**
+	 * maximal nesting depth of the statements
+	 */
+	private final int nesting;
+
+	/**
+	 * number of parameters
+	 */
+	private final int parameters;
+
+	/**
+	 * number of distinct names of the called methods
+	 */
+	private final int fanOut;
+
+	/**
+	 * Initialize the metrics.
+	 * 
+	 * @param className
+	 *            qualified name of the declaring class
+	 * @param name
+	 *            name of the method
+	 * @param line
+	 *            begin line of the method
+	 * @param lines
+	 *            number of lines of the method
+	 * @param complexity
+	 *            cyclomatic complexity of the method
+	 * @param nesting
+	 *            maximal nesting depth of the statements
+	 * @param parameters
+	 *            number of parameters
+	 * @param fanOut
+	 *            number of distinct names of the called methods
+	 * @since 1.1.0
+	 */
+	MethodMetrics(String className, String name, int line, int lines, int complexity, int nesting, int parameters,
+			int fanOut) {
+		this.className = className;
+		this.name = name;
+		this.line = line;
+		this.lines = lines;
+		this.complexity = complexity;
+		this.nesting = nesting;
+		this.parameters = parameters;
+		this.fanOut = fanOut;
+	}
+
+	/**
+	 * Get the qualified name of the declaring class.
+	 * 
+	 * @return name of the class
+	 * @since 1.1.0
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * Get the name of the method. A constructor has the simple name of its class.
+	 * 
+	 * @return name of the method
+	 * @since 1.1.0
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get the begin line of the method.
+	 * 
+	 * @return line or -1 if the position is unknown
+	 * @since 1.1.0
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * Get the number of lines of the method.
+	 * 
+	 * @return number of lines
+	 * @since 1.1.0
+	 */
+	public int getLines() {
+		return lines;
+	}
+
+	/**
+	 * Get the cyclomatic complexity of the method, i.e. one plus the number of
+	 * all branches, loops, catch clauses, case labels, conditional expressions
+	 * and conditional operators.
+	 * 
+	 * @return complexity
+	 * @since 1.1.0
+	 */
+	public int getComplexity() {
+		return complexity;
+	}
+
+	/**
+	 * Get the maximal nesting depth of the control statements. An else-if does
+	 * not nest deeper than its if.
+	 * 
+	 * @return nesting depth
+	 * @since 1.1.0
+	 */
+	public int getNesting() {
+		return nesting;
+	}
+
+	/**
+	 * Get the number of parameters.
+	 * 
+	 * @return number of parameters
+	 * @since 1.1.0
+	 */
+	public int getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * Get the number of distinct names of the called methods.
+	 * 
+	 * @return fan-out of the method
+	 * @since 1.1.0
+	 */
+	public int getFanOut() {
+		return fanOut;
+	}
+}
@@ -0,0 +1,97 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.metrics;
+
+/**
+ * This enum is used to describe all metrics, whose distribution is aggregated
+ * over a run.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public enum Metric {
+
+	/**
+	 * lines of a file
+	 */
+	FILE_LINES("file.lines"),
+
+	/**
+	 * lines of a class
+	 */
+	CLASS_LINES("class.lines"),
+
+	/**
+	 * number of classes, which use a class
+	 */
+	CLASS_FAN_IN("class.fan-in"),
+
+	/**
+	 * number of types, which are used by a class
+	 */
+	CLASS_FAN_OUT("class.fan-out"),
+
+	/**
+	 * lines of a method
+	 */
+	METHOD_LINES("method.lines"),
+
+	/**
+	 * cyclomatic complexity of a method
+	 */
+	METHOD_COMPLEXITY("method.complexity"),
+
+	/**
+	 * maximal nesting depth of the statements of a method
+	 */
+	METHOD_NESTING("method.nesting"),
+
+	/**
+	 * number of parameters of a method
+	 */
+	METHOD_PARAMETERS("method.parameters"),
+
+	/**
+	 * number of methods, which are called by a method
+	 */
+	METHOD_FAN_OUT("method.fan-out");
+
+	/**
+	 * name of the metric in a report
+	 */
+	private final String name;
+
+	/**
+	 * Initialize the metric.
+	 * 
+	 * @param name
+	 *            name of the metric in a report
+	 * @since 1.1.0
+	 */
+	Metric(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Get the name of the metric in a report.
+	 * 
+	 * @return name of the metric
+	 * @since 1.1.0
+	 */
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,220 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.metrics;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.flaxel.parser.engine.UnitCollector;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to aggregate the metrics of many compilation units. Every
+ * metric is kept in a {@link QuantileSketch}, so that the memory does not grow
+ * with the number of classes and methods. Every thread can fill its own
+ * accumulator, and the accumulators are merged at the end of a run.
+ * <p>
+ * The fan-in of a class is only known after all files, so the accumulator
+ * counts for every simple type name how many classes use it and how many
+ * classes declare it. The accumulator is not thread-safe, but its
+ * {@link #collector() collector} gives every worker its own one.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class MetricsAccumulator {
+
+	/**
+	 * distributions of all metrics, the fan-in of the classes stays empty
+	 */
+	private final Map<Metric, QuantileSketch> sketches = new EnumMap<>(Metric.class);
+
+	/**
+	 * number of declared classes per simple name
+	 */
+	private final Map<String, Integer> declared = new HashMap<>();
+
+	/**
+	 * number of classes, which use a type, per simple name
+	 */
+	private final Map<String, Integer> used = new HashMap<>();
+
+	/**
+	 * number of all files
+	 */
+	private long files;
+
+	/**
+	 * number of all classes
+	 */
+	private long classes;
+
+	/**
+	 * number of all methods
+	 */
+	private long methods;
+
+	/**
+	 * Initialize an empty accumulator.
+	 * 
+	 * @since 1.1.0
+	 */
+	public MetricsAccumulator() {
+		clear();
+	}
+
+	/**
+	 * Create a collector, which computes the metrics of every compilation unit
+	 * and merges the accumulators of all workers.
+	 * 
+	 * @return new collector
+	 * @since 1.1.0
+	 */
+	public static UnitCollector<MetricsAccumulator, MetricsAccumulator> collector() {
+		return UnitCollector.of(MetricsAccumulator::new, (accumulator, source, unit) -> {
+			accumulator.add(UnitMetrics.of(unit));
+		}, MetricsAccumulator::merge);
+	}
+
+	/**
+	 * Add the metrics of a compilation unit.
+	 * 
+	 * @param unit
+	 *            metrics of a compilation unit
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public MetricsAccumulator add(UnitMetrics unit) {
+		assertNotNull(unit);
+
+		files++;
+		sketches.get(Metric.FILE_LINES).add(unit.getLines());
+
+		for (ClassMetrics type : unit.getClasses()) {
+			classes++;
+			sketches.get(Metric.CLASS_LINES).add(type.getLines());
+			sketches.get(Metric.CLASS_FAN_OUT).add(type.getFanOut());
+			declared.merge(type.getSimpleName(), 1, Integer::sum);
+			type.getDependencies().forEach((dependency) -> used.merge(dependency, 1, Integer::sum));
+		}
+
+		for (MethodMetrics method : unit.getMethods()) {
+			methods++;
+			sketches.get(Metric.METHOD_LINES).add(method.getLines());
+			sketches.get(Metric.METHOD_COMPLEXITY).add(method.getComplexity());
+			sketches.get(Metric.METHOD_NESTING).add(method.getNesting());
+			sketches.get(Metric.METHOD_PARAMETERS).add(method.getParameters());
+			sketches.get(Metric.METHOD_FAN_OUT).add(method.getFanOut());
+		}
+
+		return this;
+	}
+
+	/**
+	 * Add all metrics of another accumulator.
+	 * 
+	 * @param other
+	 *            any accumulator
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public MetricsAccumulator merge(MetricsAccumulator other) {
+		assertNotNull(other);
+
+		other.sketches.forEach((metric, sketch) -> sketches.get(metric).merge(sketch));
+		other.declared.forEach((name, count) -> declared.merge(name, count, Integer::sum));
+		other.used.forEach((name, count) -> used.merge(name, count, Integer::sum));
+		files += other.files;
+		classes += other.classes;
+		methods += other.methods;
+		return this;
+	}
+
+	/**
+	 * Get the distribution of a metric. The fan-in of a class is the number of
+	 * classes, which use its simple name.
+	 * 
+	 * @param metric
+	 *            any metric
+	 * @return copy of the distribution
+	 * @since 1.1.0
+	 */
+	public QuantileSketch getDistribution(Metric metric) {
+		QuantileSketch sketch = new QuantileSketch();
+
+		if (assertNotNull(metric) != Metric.CLASS_FAN_IN)
+			return sketch.merge(sketches.get(metric));
+
+		declared.forEach((name, count) -> {
+			int fanIn = used.getOrDefault(name, 0);
+
+			for (int i = 0; i < count; i++) {
+				sketch.add(fanIn);
+			}
+		});
+
+		return sketch;
+	}
+
+	/**
+	 * Get the number of all files.
+	 * 
+	 * @return number of files
+	 * @since 1.1.0
+	 */
+	public long getFiles() {
+		return files;
+	}
+
+	/**
+	 * Get the number of all classes.
+	 * 
+	 * @return number of classes
+	 * @since 1.1.0
+	 */
+	public long getClasses() {
+		return classes;
+	}
+
+	/**
+	 * Get the number of all methods.
+	 * 
+	 * @return number of methods
+	 * @since 1.1.0
+	 */
+	public long getMethods() {
+		return methods;
+	}
+
+	/**
+	 * Remove all metrics, e.g. before the next run.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void clear() {
+		for (Metric metric : Metric.values()) {
+			sketches.put(metric, new QuantileSketch());
+		}
+
+		declared.clear();
+		used.clear();
+		files = 0;
+		classes = 0;
+		methods = 0;
+	}
+}
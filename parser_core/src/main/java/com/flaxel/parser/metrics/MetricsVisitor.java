@@ -0,0 +1,693 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.ast.body.AnnotationDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.ConditionalExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.SwitchExpr;
+import com.github.javaparser.ast.stmt.CatchClause;
+import com.github.javaparser.ast.stmt.DoStmt;
+import com.github.javaparser.ast.stmt.ForEachStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.IfStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.stmt.SwitchEntry;
+import com.github.javaparser.ast.stmt.SwitchStmt;
+import com.github.javaparser.ast.stmt.TryStmt;
+import com.github.javaparser.ast.stmt.WhileStmt;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+
+/**
+ * This class is used to compute the metrics of all classes and methods of a
+ * compilation unit in one pass. The visitor keeps a stack of the enclosing
+ * classes and methods, so that every node is only counted for its innermost
+ * class and method.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+class MetricsVisitor extends VoidVisitorAdapter<Void> {
+
+	/**
+	 * metrics of all classes in the order of their declaration
+	 */
+	private final List<ClassMetrics> classes = new ArrayList<>();
+
+	/**
+	 * metrics of all methods in the order of their declaration
+	 */
+	private final List<MethodMetrics> methods = new ArrayList<>();
+
+	/**
+	 * all enclosing classes with the innermost class on top
+	 */
+	private final Deque<TypeContext> types = new ArrayDeque<>();
+
+	/**
+	 * all enclosing methods with the innermost method on top
+	 */
+	private final Deque<MethodContext> callables = new ArrayDeque<>();
+
+	/**
+	 * name of the package or an empty string
+	 */
+	private String packageName = "";
+
+	/**
+	 * Get the metrics of all classes.
+	 * 
+	 * @return metrics in the order of the declarations
+	 * @since 1.1.0
+	 */
+	List<ClassMetrics> getClasses() {
+		return classes;
+	}
+
+	/**
+	 * Get the metrics of all methods.
+	 * 
+	 * @return metrics in the order of the declarations
+	 * @since 1.1.0
+	 */
+	List<MethodMetrics> getMethods() {
+		return methods;
+	}
+
+	/**
+	 * Keep the package name and visit all types.
+	 * 
+	 * @param n
+	 *            compilation unit
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(CompilationUnit n, Void arg) {
+		packageName = n.getPackageDeclaration().map(PackageDeclaration::getNameAsString).orElse("");
+		super.visit(n, arg);
+	}
+
+	/**
+	 * Collect the metrics of a class or an interface.
+	 * 
+	 * @param n
+	 *            declaration of the class
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(ClassOrInterfaceDeclaration n, Void arg) {
+		enter(n);
+		super.visit(n, arg);
+		leave();
+	}
+
+	/**
+	 * Collect the metrics of an enum.
+	 * 
+	 * @param n
+	 *            declaration of the enum
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(EnumDeclaration n, Void arg) {
+		enter(n);
+		super.visit(n, arg);
+		leave();
+	}
+
+	/**
+	 * Collect the metrics of an annotation.
+	 * 
+	 * @param n
+	 *            declaration of the annotation
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(AnnotationDeclaration n, Void arg) {
+		enter(n);
+		super.visit(n, arg);
+		leave();
+	}
+
+	/**
+	 * Collect the metrics of a method.
+	 * 
+	 * @param n
+	 *            declaration of the method
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(MethodDeclaration n, Void arg) {
+		enter(n, n.getNameAsString(), n.getParameters().size());
+		super.visit(n, arg);
+		leaveCallable();
+	}
+
+	/**
+	 * Collect the metrics of a constructor.
+	 * 
+	 * @param n
+	 *            declaration of the constructor
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(ConstructorDeclaration n, Void arg) {
+		enter(n, n.getNameAsString(), n.getParameters().size());
+		super.visit(n, arg);
+		leaveCallable();
+	}
+
+	/**
+	 * Add a used type to the innermost class.
+	 * 
+	 * @param n
+	 *            used type
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(ClassOrInterfaceType n, Void arg) {
+		if (!types.isEmpty()) {
+			types.peek().dependencies.add(n.getNameAsString());
+		}
+
+		// the scope is a package or an outer class and not a dependency of its own
+		n.getTypeArguments().ifPresent((arguments) -> arguments.forEach((type) -> type.accept(this, arg)));
+	}
+
+	/**
+	 * Add a called method to the innermost method.
+	 * 
+	 * @param n
+	 *            method call
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(MethodCallExpr n, Void arg) {
+		if (!callables.isEmpty()) {
+			callables.peek().calls.add(n.getNameAsString());
+		}
+
+		super.visit(n, arg);
+	}
+
+	/**
+	 * Count the branch and visit the nested statements. An else-if stays on
+	 * the level of its if.
+	 * 
+	 * @param n
+	 *            if statement
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(IfStmt n, Void arg) {
+		branch();
+		n.getCondition().accept(this, arg);
+		nested(n.getThenStmt());
+
+		n.getElseStmt().ifPresent((statement) -> {
+			if (statement instanceof IfStmt) {
+				statement.accept(this, arg);
+			} else {
+				nested(statement);
+			}
+		});
+	}
+
+	/**
+	 * Count the loop and visit its nested statements.
+	 * 
+	 * @param n
+	 *            for statement
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(ForStmt n, Void arg) {
+		branch();
+		nested(() -> super.visit(n, arg));
+	}
+
+	/**
+	 * Count the loop and visit its nested statements.
+	 * 
+	 * @param n
+	 *            for-each statement
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(ForEachStmt n, Void arg) {
+		branch();
+		nested(() -> super.visit(n, arg));
+	}
+
+	/**
+	 * Count the loop and visit its nested statements.
+	 * 
+	 * @param n
+	 *            while statement
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(WhileStmt n, Void arg) {
+		branch();
+		nested(() -> super.visit(n, arg));
+	}
+
+	/**
+	 * Count the loop and visit its nested statements.
+	 * 
+	 * @param n
+	 *            do statement
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(DoStmt n, Void arg) {
+		branch();
+		nested(() -> super.visit(n, arg));
+	}
+
+	/**
+	 * Visit the nested entries of a switch statement.
+	 * 
+	 * @param n
+	 *            switch statement
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(SwitchStmt n, Void arg) {
+		nested(() -> super.visit(n, arg));
+	}
+
+	/**
+	 * Visit the nested entries of a switch expression.
+	 * 
+	 * @param n
+	 *            switch expression
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(SwitchExpr n, Void arg) {
+		nested(() -> super.visit(n, arg));
+	}
+
+	/**
+	 * Count a case label, but not the default label.
+	 * 
+	 * @param n
+	 *            entry of a switch
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(SwitchEntry n, Void arg) {
+		if (!n.getLabels().isEmpty()) {
+			branch();
+		}
+
+		super.visit(n, arg);
+	}
+
+	/**
+	 * Visit the nested statements of a try statement.
+	 * 
+	 * @param n
+	 *            try statement
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(TryStmt n, Void arg) {
+		nested(() -> super.visit(n, arg));
+	}
+
+	/**
+	 * Count a catch clause.
+	 * 
+	 * @param n
+	 *            catch clause
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(CatchClause n, Void arg) {
+		branch();
+		super.visit(n, arg);
+	}
+
+	/**
+	 * Count a conditional expression.
+	 * 
+	 * @param n
+	 *            conditional expression
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(ConditionalExpr n, Void arg) {
+		branch();
+		super.visit(n, arg);
+	}
+
+	/**
+	 * Count a conditional and or a conditional or.
+	 * 
+	 * @param n
+	 *            binary expression
+	 * @param arg
+	 *            unused argument
+	 * @since 1.1.0
+	 */
+	@Override
+	public void visit(BinaryExpr n, Void arg) {
+		if (n.getOperator() == BinaryExpr.Operator.AND || n.getOperator() == BinaryExpr.Operator.OR) {
+			branch();
+		}
+
+		super.visit(n, arg);
+	}
+
+	/**
+	 * Enter a class and reserve its place in the metrics.
+	 * 
+	 * @param type
+	 *            declaration of the class
+	 * @since 1.1.0
+	 */
+	private void enter(TypeDeclaration<?> type) {
+		String simpleName = type.getNameAsString();
+		String outer = types.isEmpty() ? packageName : types.peek().name;
+		String name = outer.isEmpty() ? simpleName : outer + "." + simpleName;
+
+		types.push(new TypeContext(classes.size(), name, simpleName, type));
+		classes.add(null);
+	}
+
+	/**
+	 * Leave the innermost class and set its metrics.
+	 * 
+	 * @since 1.1.0
+	 */
+	private void leave() {
+		TypeContext context = types.pop();
+		context.dependencies.remove(context.simpleName);
+
+		classes.set(context.index, new ClassMetrics(context.name, context.simpleName, line(context.node),
+				lines(context.node), context.methods, context.dependencies));
+	}
+
+	/**
+	 * Enter a method and reserve its place in the metrics.
+	 * 
+	 * @param node
+	 *            declaration of the method
+	 * @param name
+	 *            name of the method
+	 * @param parameters
+	 *            number of parameters
+	 * @since 1.1.0
+	 */
+	private void enter(Node node, String name, int parameters) {
+		TypeContext type = types.peek();
+		type.methods++;
+
+		callables.push(new MethodContext(methods.size(), type.name, name, parameters, node));
+		methods.add(null);
+	}
+
+	/**
+	 * Leave the innermost method and set its metrics.
+	 * 
+	 * @since 1.1.0
+	 */
+	private void leaveCallable() {
+		MethodContext context = callables.pop();
+
+		methods.set(context.index, new MethodMetrics(context.className, context.name, line(context.node),
+				lines(context.node), context.complexity, context.maxDepth, context.parameters, context.calls.size()));
+	}
+
+	/**
+	 * Count a branch for the complexity of the innermost method.
+	 * 
+	 * @since 1.1.0
+	 */
+	private void branch() {
+		if (!callables.isEmpty()) {
+			callables.peek().complexity++;
+		}
+	}
+
+	/**
+	 * Visit a statement one level deeper.
+	 * 
+	 * @param statement
+	 *            nested statement
+	 * @since 1.1.0
+	 */
+	private void nested(Statement statement) {
+		nested(() -> statement.accept(this, null));
+	}
+
+	/**
+	 * Run a visit one level deeper in the innermost method.
+	 * 
+	 * @param visit
+	 *            visit of the nested nodes
+	 * @since 1.1.0
+	 */
+	private void nested(Runnable visit) {
+		MethodContext context = callables.peek();
+
+		if (context == null) {
+			visit.run();
+			return;
+		}
+
+		context.maxDepth = Math.max(context.maxDepth, ++context.depth);
+		visit.run();
+		context.depth--;
+	}
+
+	/**
+	 * Get the begin line of a node.
+	 * 
+	 * @param node
+	 *            any node
+	 * @return line or -1 if the position is unknown
+	 * @since 1.1.0
+	 */
+	static int line(Node node) {
+		return node.getBegin().map((begin) -> begin.line).orElse(-1);
+	}
+
+	/**
+	 * Get the number of lines of a node.
+	 * 
+	 * @param node
+	 *            any node
+	 * @return number of lines or 0 if the position is unknown
+	 * @since 1.1.0
+	 */
+	static int lines(Node node) {
+		return node.getRange().map((range) -> range.end.line - range.begin.line + 1).orElse(0);
+	}
+
+	/**
+	 * This class is used to collect the metrics of a class while it is visited.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class TypeContext {
+
+		/**
+		 * index of the class in the metrics
+		 */
+		private final int index;
+
+		/**
+		 * qualified name of the class
+		 */
+		private final String name;
+
+		/**
+		 * simple name of the class
+		 */
+		private final String simpleName;
+
+		/**
+		 * declaration of the class
+		 */
+		private final Node node;
+
+		/**
+		 * simple names of all used types
+		 */
+		private final Set<String> dependencies = new HashSet<>();
+
+		/**
+		 * number of methods and constructors
+		 */
+		private int methods;
+
+		/**
+		 * Initialize the context.
+		 * 
+		 * @param index
+		 *            index of the class in the metrics
+		 * @param name
+		 *            qualified name of the class
+		 * @param simpleName
+		 *            simple name of the class
+		 * @param node
+		 *            declaration of the class
+		 * @since 1.1.0
+		 */
+		private TypeContext(int index, String name, String simpleName, Node node) {
+			this.index = index;
+			this.name = name;
+			this.simpleName = simpleName;
+			this.node = node;
+		}
+	}
+
+	/**
+	 * This class is used to collect the metrics of a method while it is visited.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class MethodContext {
+
+		/**
+		 * index of the method in the metrics
+		 */
+		private final int index;
+
+		/**
+		 * qualified name of the declaring class
+		 */
+		private final String className;
+
+		/**
+		 * name of the method
+		 */
+		private final String name;
+
+		/**
+		 * number of parameters
+		 */
+		private final int parameters;
+
+		/**
+		 * declaration of the method
+		 */
+		private final Node node;
+
+		/**
+		 * names of all called methods
+		 */
+		private final Set<String> calls = new HashSet<>();
+
+		/**
+		 * cyclomatic complexity
+		 */
+		private int complexity = 1;
+
+		/**
+		 * current nesting depth
+		 */
+		private int depth;
+
+		/**
+		 * maximal nesting depth
+		 */
+		private int maxDepth;
+
+		/**
+		 * Initialize the context.
+		 * 
+		 * @param index
+		 *            index of the method in the metrics
+		 * @param className
+		 *            qualified name of the declaring class
+		 * @param name
+		 *            name of the method
+		 * @param parameters
+		 *            number of parameters
+		 * @param node
+		 *            declaration of the method
+		 * @since 1.1.0
+		 */
+		private MethodContext(int index, String className, String name, int parameters, Node node) {
+			this.index = index;
+			this.className = className;
+			this.name = name;
+			this.parameters = parameters;
+			this.node = node;
+		}
+	}
+}
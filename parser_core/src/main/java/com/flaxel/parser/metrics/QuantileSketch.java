@@ -0,0 +1,247 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.metrics;
+
+import java.util.Arrays;
+
+/**
+ * This class is used to estimate the quantiles of a stream of non-negative
+ * values without storing them. Every value is counted in a bucket, whose
+ * bounds grow logarithmically, so that every quantile has a relative error of
+ * at most one percent and the memory only depends on the range of the values.
+ * Two sketches are merged by adding their buckets, so that partial sketches of
+ * several threads give the same result as one sketch.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class QuantileSketch {
+
+	/**
+	 * relative accuracy of every quantile
+	 */
+	public static final double ACCURACY = 0.01;
+
+	/**
+	 * ratio between the bounds of a bucket
+	 */
+	private static final double GAMMA = (1 + ACCURACY) / (1 - ACCURACY);
+
+	/**
+	 * logarithm of the ratio between the bounds of a bucket
+	 */
+	private static final double LOG_GAMMA = Math.log(GAMMA);
+
+	/**
+	 * counts of all positive values per bucket
+	 */
+	private long[] buckets = new long[0];
+
+	/**
+	 * number of all values, which are zero
+	 */
+	private long zeros;
+
+	/**
+	 * number of all values
+	 */
+	private long count;
+
+	/**
+	 * sum of all values
+	 */
+	private long sum;
+
+	/**
+	 * smallest value
+	 */
+	private long min = Long.MAX_VALUE;
+
+	/**
+	 * largest value
+	 */
+	private long max = Long.MIN_VALUE;
+
+	/**
+	 * Add a value.
+	 * 
+	 * @param value
+	 *            non-negative value
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public QuantileSketch add(long value) {
+		if (value < 0)
+			throw new IllegalArgumentException("The value must not be negative.");
+
+		if (value == 0) {
+			zeros++;
+		} else {
+			int bucket = bucket(value);
+
+			if (bucket >= buckets.length) {
+				buckets = Arrays.copyOf(buckets, Math.max(bucket + 1, buckets.length * 2));
+			}
+
+			buckets[bucket]++;
+		}
+
+		count++;
+		sum += value;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+		return this;
+	}
+
+	/**
+	 * Add all values of another sketch.
+	 * 
+	 * @param other
+	 *            any sketch
+	 * @return this instance
+	 * @since 1.1.0
+	 */
+	public QuantileSketch merge(QuantileSketch other) {
+		if (other.buckets.length > buckets.length) {
+			buckets = Arrays.copyOf(buckets, other.buckets.length);
+		}
+
+		for (int i = 0; i < other.buckets.length; i++) {
+			buckets[i] += other.buckets[i];
+		}
+
+		zeros += other.zeros;
+		count += other.count;
+		sum += other.sum;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		return this;
+	}
+
+	/**
+	 * Get the number of all values.
+	 * 
+	 * @return number of values
+	 * @since 1.1.0
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Get the sum of all values.
+	 * 
+	 * @return sum
+	 * @since 1.1.0
+	 */
+	public long getSum() {
+		return sum;
+	}
+
+	/**
+	 * Get the smallest value.
+	 * 
+	 * @return smallest value or 0 if the sketch is empty
+	 * @since 1.1.0
+	 */
+	public long getMin() {
+		return count == 0 ? 0 : min;
+	}
+
+	/**
+	 * Get the largest value.
+	 * 
+	 * @return largest value or 0 if the sketch is empty
+	 * @since 1.1.0
+	 */
+	public long getMax() {
+		return count == 0 ? 0 : max;
+	}
+
+	/**
+	 * Get the mean of all values.
+	 * 
+	 * @return mean or 0 if the sketch is empty
+	 * @since 1.1.0
+	 */
+	public double getMean() {
+		return count == 0 ? 0 : (double) sum / count;
+	}
+
+	/**
+	 * Estimate a quantile of all values. The quantiles 0 and 1 are the exact
+	 * smallest and largest value.
+	 * 
+	 * @param quantile
+	 *            quantile between 0 and 1, e.g. 0.9 for the 90th percentile
+	 * @return estimated value or 0 if the sketch is empty
+	 * @since 1.1.0
+	 */
+	public long getQuantile(double quantile) {
+		if (quantile < 0 || quantile > 1)
+			throw new IllegalArgumentException("The quantile must be between 0 and 1.");
+
+		if (count == 0)
+			return 0;
+
+		long rank = (long) Math.floor(quantile * (count - 1));
+
+		if (rank == 0)
+			return min;
+
+		if (rank == count - 1)
+			return max;
+
+		if (rank < zeros)
+			return 0;
+
+		long seen = zeros;
+
+		for (int i = 0; i < buckets.length; i++) {
+			seen += buckets[i];
+
+			if (rank < seen)
+				return Math.max(min, Math.min(max, Math.round(value(i))));
+		}
+
+		return max;
+	}
+
+	/**
+	 * Get the bucket of a positive value.
+	 * 
+	 * @param value
+	 *            positive value
+	 * @return index of the bucket
+	 * @since 1.1.0
+	 */
+	private static int bucket(long value) {
+		return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+	}
+
+	/**
+	 * Get the value, which represents all values of a bucket with the smallest
+	 * relative error.
+	 * 
+	 * @param bucket
+	 *            index of the bucket
+	 * @return value of the bucket
+	 * @since 1.1.0
+	 */
+	private static double value(int bucket) {
+		return 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+	}
+}
@@ -0,0 +1,110 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.metrics;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to describe the metrics of a compilation unit with all
+ * its classes and methods. All metrics are computed in one pass over the unit.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class UnitMetrics {
+
+	/**
+	 * number of lines of the compilation unit
+	 */
+	private final int lines;
+
+	/**
+	 * metrics of all classes
+	 */
+	private final List<ClassMetrics> classes;
+
+	/**
+	 * metrics of all methods
+	 */
+	private final List<MethodMetrics> methods;
+
+	/**
+	 * Initialize the metrics.
+	 * 
+	 * @param lines
+	 *            number of lines of the compilation unit
+	 * @param classes
+	 *            metrics of all classes
+	 * @param methods
+	 *            metrics of all methods
+	 * @since 1.1.0
+	 */
+	private UnitMetrics(int lines, List<ClassMetrics> classes, List<MethodMetrics> methods) {
+		this.lines = lines;
+		this.classes = Collections.unmodifiableList(classes);
+		this.methods = Collections.unmodifiableList(methods);
+	}
+
+	/**
+	 * Compute the metrics of a compilation unit.
+	 * 
+	 * @param unit
+	 *            entire compilation unit
+	 * @return metrics of the unit
+	 * @since 1.1.0
+	 */
+	public static UnitMetrics of(CompilationUnit unit) {
+		MetricsVisitor visitor = new MetricsVisitor();
+		assertNotNull(unit).accept(visitor, null);
+
+		return new UnitMetrics(MetricsVisitor.lines(unit), visitor.getClasses(), visitor.getMethods());
+	}
+
+	/**
+	 * Get the number of lines of the compilation unit.
+	 * 
+	 * @return number of lines
+	 * @since 1.1.0
+	 */
+	public int getLines() {
+		return lines;
+	}
+
+	/**
+	 * Get the metrics of all classes.
+	 * 
+	 * @return unmodifiable list in the order of the declarations
+	 * @since 1.1.0
+	 */
+	public List<ClassMetrics> getClasses() {
+		return classes;
+	}
+
+	/**
+	 * Get the metrics of all methods.
+	 * 
+	 * @return unmodifiable list in the order of the declarations
+	 * @since 1.1.0
+	 */
+	public List<MethodMetrics> getMethods() {
+		return methods;
+	}
+}
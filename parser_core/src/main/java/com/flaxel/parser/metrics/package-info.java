@@ -0,0 +1,5 @@
+/**
+ * It contains the code metrics of files, classes and methods and their
+ * mergeable distributions.
+ */
+package com.flaxel.parser.metrics;
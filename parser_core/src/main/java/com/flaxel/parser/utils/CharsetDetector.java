@@ -0,0 +1,169 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to detect the charset of a source file from its bytes. A
+ * byte order mark is checked first. Without it the bytes are scanned once,
+ * which checks for ASCII, valid UTF-8 and the zero bytes of UTF-16 at the same
+ * time.
+ *
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class CharsetDetector {
+
+	/**
+	 * charset for bytes, which are neither ASCII nor valid UTF-8
+	 */
+	public static final Charset LEGACY_CHARSET = StandardCharsets.ISO_8859_1;
+
+	/**
+	 * Detect the charset of the remaining bytes of a buffer. The position of the
+	 * buffer is moved behind a byte order mark. Without a byte order mark the
+	 * fallback charset is returned, unless it is UTF-8 or ASCII. In this case the
+	 * bytes are scanned and the result is {@link StandardCharsets#US_ASCII},
+	 * {@link StandardCharsets#UTF_8}, UTF-16 or {@link #LEGACY_CHARSET}.
+	 * 
+	 * @param bytes
+	 *            buffer with all bytes
+	 * @param fallback
+	 *            charset if the bytes do not show their charset
+	 * @return detected charset
+	 * @since 1.1.0
+	 */
+	public static Charset detect(ByteBuffer bytes, Charset fallback) {
+		assertNotNull(bytes);
+		assertNotNull(fallback);
+
+		int position = bytes.position();
+		int remaining = bytes.remaining();
+
+		if (remaining >= 3 && (bytes.get(position) & 0xff) == 0xef && (bytes.get(position + 1) & 0xff) == 0xbb
+				&& (bytes.get(position + 2) & 0xff) == 0xbf) {
+			bytes.position(position + 3);
+			return StandardCharsets.UTF_8;
+		}
+
+		if (remaining >= 2) {
+			int first = bytes.get(position) & 0xff;
+			int second = bytes.get(position + 1) & 0xff;
+
+			if (first == 0xfe && second == 0xff) {
+				bytes.position(position + 2);
+				return StandardCharsets.UTF_16BE;
+			}
+
+			if (first == 0xff && second == 0xfe) {
+				bytes.position(position + 2);
+				return StandardCharsets.UTF_16LE;
+			}
+		}
+
+		if (!fallback.equals(StandardCharsets.UTF_8) && !fallback.equals(StandardCharsets.US_ASCII))
+			return fallback;
+
+		return scan(bytes);
+	}
+
+	/**
+	 * Detect the charset of a byte array.
+	 * 
+	 * @param bytes
+	 *            all bytes
+	 * @return detected charset
+	 * @see #detect(ByteBuffer, Charset)
+	 * @since 1.1.0
+	 */
+	public static Charset detect(byte[] bytes) {
+		return detect(ByteBuffer.wrap(assertNotNull(bytes)), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Scan the remaining bytes of a buffer without a byte order mark.
+	 * 
+	 * @param bytes
+	 *            buffer with all bytes
+	 * @return detected charset
+	 * @since 1.1.0
+	 */
+	private static Charset scan(ByteBuffer bytes) {
+		boolean ascii = true;
+		boolean utf8 = true;
+		int continuation = 0;
+		int evenZeros = 0;
+		int oddZeros = 0;
+
+		for (int i = bytes.position(), end = bytes.limit(); i < end; i++) {
+			int value = bytes.get(i) & 0xff;
+
+			if (value == 0) {
+				if (((i - bytes.position()) & 1) == 0) {
+					evenZeros++;
+				} else {
+					oddZeros++;
+				}
+			}
+
+			if (value < 0x80) {
+				utf8 &= continuation == 0;
+				continuation = 0;
+				continue;
+			}
+
+			ascii = false;
+
+			if (!utf8)
+				continue;
+
+			if (continuation > 0) {
+				utf8 = (value & 0xc0) == 0x80;
+				continuation--;
+			} else if (value >= 0xc2 && value <= 0xdf) {
+				continuation = 1;
+			} else if (value >= 0xe0 && value <= 0xef) {
+				continuation = 2;
+			} else if (value >= 0xf0 && value <= 0xf4) {
+				continuation = 3;
+			} else {
+				utf8 = false;
+			}
+		}
+
+		utf8 &= continuation == 0;
+
+		if (evenZeros + oddZeros > 0) {
+			int length = bytes.remaining();
+
+			if (oddZeros > length / 4 && evenZeros < oddZeros / 8)
+				return StandardCharsets.UTF_16LE;
+
+			if (evenZeros > length / 4 && oddZeros < evenZeros / 8)
+				return StandardCharsets.UTF_16BE;
+		}
+
+		if (ascii)
+			return StandardCharsets.US_ASCII;
+
+		return utf8 ? StandardCharsets.UTF_8 : LEGACY_CHARSET;
+	}
+}
@@ -0,0 +1,333 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used as a utils collection to write large texts without
+ * creating a second copy of the whole text as byte array. The text is encoded
+ * in small chunks, which are written directly to the target.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class IOUtils {
+
+	/**
+	 * size of the chunks in characters or bytes
+	 */
+	public static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * encode buffer of the current thread
+	 */
+	private static final ThreadLocal<ByteBuffer> buffers = ThreadLocal
+			.withInitial(() -> ByteBuffer.allocate(CHUNK_SIZE));
+
+	/**
+	 * Write a text in chunks to a writer.
+	 * 
+	 * @param text
+	 *            text to write
+	 * @param writer
+	 *            target writer, which is not closed
+	 * @return number of written characters
+	 * @throws IOException
+	 *             if an i/o error occurred while the text is written
+	 * @since 1.1.0
+	 */
+	public static long write(CharSequence text, Writer writer) throws IOException {
+		assertNotNull(text);
+		assertNotNull(writer);
+
+		if (text instanceof String) {
+			String string = (String) text;
+
+			for (int offset = 0; offset < string.length(); offset += CHUNK_SIZE) {
+				writer.write(string, offset, Math.min(CHUNK_SIZE, string.length() - offset));
+			}
+		} else {
+			for (int offset = 0; offset < text.length(); offset += CHUNK_SIZE) {
+				writer.append(text, offset, Math.min(text.length(), offset + CHUNK_SIZE));
+			}
+		}
+
+		return text.length();
+	}
+
+	/**
+	 * Encode a text in chunks and write it to a channel. The encode buffer of the
+	 * current thread is reused for every call.
+	 * 
+	 * @param text
+	 *            text to write
+	 * @param channel
+	 *            target channel, which is not closed
+	 * @param charset
+	 *            charset for encoding
+	 * @return number of written bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the text is written or the
+	 *             text is not encodable with the charset
+	 * @since 1.1.0
+	 */
+	public static long write(CharSequence text, WritableByteChannel channel, Charset charset) throws IOException {
+		return write(text, channel, charset, buffers.get());
+	}
+
+	/**
+	 * Encode a text in chunks and write it to a channel. The buffer is used for
+	 * all chunks, so that a caller can reuse it.
+	 * 
+	 * @param text
+	 *            text to write
+	 * @param channel
+	 *            target channel, which is not closed
+	 * @param charset
+	 *            charset for encoding
+	 * @param buffer
+	 *            buffer for the encoded chunks
+	 * @return number of written bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the text is written or the
+	 *             text is not encodable with the charset
+	 * @since 1.1.0
+	 */
+	public static long write(CharSequence text, WritableByteChannel channel, Charset charset, ByteBuffer buffer)
+			throws IOException {
+		assertNotNull(text);
+		assertNotNull(channel);
+		CharsetEncoder encoder = assertNotNull(charset).newEncoder();
+		assertNotNull(buffer).clear();
+
+		CharBuffer chars = CharBuffer.wrap(text);
+		long written = 0;
+		CoderResult result;
+
+		do {
+			result = encoder.encode(chars, buffer, true);
+
+			if (result.isError()) {
+				result.throwException();
+			}
+
+			written += drain(buffer, channel);
+		} while (result.isOverflow());
+
+		do {
+			result = encoder.flush(buffer);
+			written += drain(buffer, channel);
+		} while (result.isOverflow());
+
+		return written;
+	}
+
+	/**
+	 * Encode a text in chunks and replace the file atomically. The text is
+	 * written to a temporary file in the same folder, which is moved to the
+	 * target path afterwards. So other processes never see a partially written
+	 * file. The temporary file is forced to the storage device before it is
+	 * moved.
+	 * 
+	 * @param text
+	 *            text to write
+	 * @param path
+	 *            path to the file where the user has write access
+	 * @param charset
+	 *            charset for encoding
+	 * @return number of written bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is written or moved
+	 * @since 1.1.0
+	 */
+	public static long writeAtomic(CharSequence text, Path path, Charset charset) throws IOException {
+		assertNotNull(text);
+		assertNotNull(charset);
+
+		return writeAtomic(path, (channel) -> write(text, channel, charset), true);
+	}
+
+	/**
+	 * Write encoded content and replace the file atomically. The content is
+	 * written to a temporary file in the same folder, which is moved to the
+	 * target path afterwards.
+	 * 
+	 * @param content
+	 *            encoded content to write
+	 * @param path
+	 *            path to the file where the user has write access
+	 * @param sync
+	 *            true if the temporary file should be forced to the storage
+	 *            device before it is moved, otherwise false
+	 * @return number of written bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is written or moved
+	 * @since 1.1.0
+	 */
+	public static long writeAtomic(byte[] content, Path path, boolean sync) throws IOException {
+		assertNotNull(content);
+
+		return writeAtomic(path, (channel) -> {
+			ByteBuffer buffer = ByteBuffer.wrap(content);
+
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+
+			return content.length;
+		}, sync);
+	}
+
+	/**
+	 * Write the content to a temporary file in the same folder and move it to
+	 * the target path. The temporary file is deleted if anything fails, so that
+	 * the target keeps its old content. A replaced file keeps its permissions and
+	 * a new file gets the default permissions of the process.
+	 * 
+	 * @param path
+	 *            path to the file where the user has write access
+	 * @param content
+	 *            content, which is written to the temporary file
+	 * @param sync
+	 *            true if the temporary file should be forced to the storage
+	 *            device before it is moved, otherwise false
+	 * @return number of written bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is written or moved
+	 * @since 1.1.0
+	 */
+	private static long writeAtomic(Path path, Content content, boolean sync) throws IOException {
+		Path target = assertNotNull(path).toAbsolutePath();
+		Path temp = createTemp(target);
+
+		try {
+			long written;
+
+			if (Files.exists(target) && target.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+				Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+			}
+
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING)) {
+				written = content.write(channel);
+
+				if (sync) {
+					channel.force(false);
+				}
+			}
+
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			return written;
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Create an empty temporary file in the folder of the target. Unlike
+	 * {@link Files#createTempFile}, the file is created with the default
+	 * permissions of the process and not only for the owner.
+	 * 
+	 * @param target
+	 *            absolute path of the target file
+	 * @return path of the temporary file
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is created
+	 * @since 1.1.0
+	 */
+	private static Path createTemp(Path target) throws IOException {
+		while (true) {
+			Path temp = target.resolveSibling(
+					"." + target.getFileName() + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+
+			try {
+				return Files.createFile(temp);
+			} catch (FileAlreadyExistsException e) {
+				// try the next name
+			}
+		}
+	}
+
+	/**
+	 * Write all encoded bytes of the buffer to the channel and clear the buffer.
+	 * 
+	 * @param buffer
+	 *            buffer in write mode
+	 * @param channel
+	 *            target channel
+	 * @return number of written bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the bytes are written
+	 * @since 1.1.0
+	 */
+	private static int drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+		buffer.flip();
+		int size = buffer.remaining();
+
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+
+		buffer.clear();
+		return size;
+	}
+
+	/**
+	 * This interface is used to write the content of an atomically replaced
+	 * file.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	@FunctionalInterface
+	private interface Content {
+
+		/**
+		 * Write the content to the channel of the temporary file.
+		 * 
+		 * @param channel
+		 *            channel of the temporary file
+		 * @return number of written bytes
+		 * @throws IOException
+		 *             if an i/o error occurred while the content is written
+		 * @since 1.1.0
+		 */
+		long write(FileChannel channel) throws IOException;
+	}
+}
@@ -0,0 +1,123 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.utils;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used as a utils collection to create json lines. Every line is
+ * a complete json object, so that other tools can read the output while it is
+ * written.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class JsonUtils {
+
+	/**
+	 * Create a json object in one line. The arguments are alternating keys and
+	 * values. Numbers and booleans are written without quotes, all other values
+	 * as strings.
+	 * 
+	 * @param pairs
+	 *            alternating keys and values
+	 * @return json object with a line break at the end
+	 * @since 1.1.0
+	 */
+	public static String line(Object... pairs) {
+		assertNotNull(pairs);
+
+		if (pairs.length % 2 != 0)
+			throw new IllegalArgumentException("Keys and values must be the same size.");
+
+		StringBuilder builder = new StringBuilder(64).append('{');
+
+		for (int i = 0; i < pairs.length; i += 2) {
+			if (i > 0) {
+				builder.append(',');
+			}
+
+			quote(builder, String.valueOf(assertNotNull(pairs[i]))).append(':');
+			Object value = pairs[i + 1];
+
+			if (value == null) {
+				builder.append("null");
+			} else if (value instanceof Number || value instanceof Boolean) {
+				builder.append(value);
+			} else {
+				quote(builder, value.toString());
+			}
+		}
+
+		return builder.append('}').append('\n').toString();
+	}
+
+	/**
+	 * Create a json string with quotes and escape all special characters.
+	 * 
+	 * @param value
+	 *            any string
+	 * @return json string
+	 * @since 1.1.0
+	 */
+	public static String quote(String value) {
+		return quote(new StringBuilder(assertNotNull(value).length() + 2), value).toString();
+	}
+
+	/**
+	 * Append a json string with quotes and escape all special characters.
+	 * 
+	 * @param builder
+	 *            build a string
+	 * @param value
+	 *            any string
+	 * @return the builder
+	 * @since 1.1.0
+	 */
+	private static StringBuilder quote(StringBuilder builder, String value) {
+		builder.append('"');
+
+		for (int i = 0; i < value.length(); i++) {
+			char character = value.charAt(i);
+
+			switch (character) {
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			case '\t':
+				builder.append("\\t");
+				break;
+			default:
+				if (character < 0x20) {
+					builder.append(String.format("\\u%04x", (int) character));
+				} else {
+					builder.append(character);
+				}
+			}
+		}
+
+		return builder.append('"');
+	}
+}
@@ -0,0 +1,260 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.utils;
+
+import java.util.Arrays;
+
+/**
+ * This class is used to map long keys to non-negative int values without
+ * boxing. The keys are kept in an open addressing table with linear probing,
+ * so that a map with millions of entries needs only two primitive arrays.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class LongIntMap {
+
+	/**
+	 * value of a key, which is not in the map
+	 */
+	public static final int MISSING = -1;
+
+	/**
+	 * minimal capacity of the table
+	 */
+	private static final int MIN_CAPACITY = 16;
+
+	/**
+	 * keys of all entries
+	 */
+	private long[] keys;
+
+	/**
+	 * values of all entries or {@link #MISSING} for an empty slot
+	 */
+	private int[] values;
+
+	/**
+	 * number of all entries
+	 */
+	private int size;
+
+	/**
+	 * Initialize an empty map.
+	 * 
+	 * @since 1.1.0
+	 */
+	public LongIntMap() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * Initialize an empty map, which holds the expected number of entries
+	 * without growing.
+	 * 
+	 * @param expectedSize
+	 *            expected number of entries
+	 * @since 1.1.0
+	 */
+	public LongIntMap(int expectedSize) {
+		if (expectedSize < 0)
+			throw new IllegalArgumentException("The expected size must not be negative.");
+
+		int capacity = MIN_CAPACITY;
+
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+
+		allocate(capacity);
+	}
+
+	/**
+	 * Get the value of a key.
+	 * 
+	 * @param key
+	 *            any key
+	 * @return value or {@link #MISSING} if the key is not in the map
+	 * @since 1.1.0
+	 */
+	public int get(long key) {
+		return values[slot(key)];
+	}
+
+	/**
+	 * Get the value whether a key is in the map.
+	 * 
+	 * @param key
+	 *            any key
+	 * @return true if the key is in the map, otherwise false
+	 * @since 1.1.0
+	 */
+	public boolean containsKey(long key) {
+		return get(key) != MISSING;
+	}
+
+	/**
+	 * Put a key with its value into the map.
+	 * 
+	 * @param key
+	 *            any key
+	 * @param value
+	 *            non-negative value
+	 * @return previous value or {@link #MISSING}
+	 * @since 1.1.0
+	 */
+	public int put(long key, int value) {
+		return put(key, value, true);
+	}
+
+	/**
+	 * Put a key with its value into the map, if the key is not in the map yet.
+	 * 
+	 * @param key
+	 *            any key
+	 * @param value
+	 *            non-negative value
+	 * @return current value or {@link #MISSING} if the value was put
+	 * @since 1.1.0
+	 */
+	public int putIfAbsent(long key, int value) {
+		return put(key, value, false);
+	}
+
+	/**
+	 * Get the number of all entries.
+	 * 
+	 * @return number of entries
+	 * @since 1.1.0
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Remove all entries.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void clear() {
+		Arrays.fill(values, MISSING);
+		size = 0;
+	}
+
+	/**
+	 * Put a key with its value into the map.
+	 * 
+	 * @param key
+	 *            any key
+	 * @param value
+	 *            non-negative value
+	 * @param replace
+	 *            true if an existing value should be replaced, otherwise false
+	 * @return previous value or {@link #MISSING}
+	 * @since 1.1.0
+	 */
+	private int put(long key, int value, boolean replace) {
+		if (value < 0)
+			throw new IllegalArgumentException("The value must not be negative.");
+
+		int slot = slot(key);
+		int previous = values[slot];
+
+		if (previous != MISSING) {
+			if (replace) {
+				values[slot] = value;
+			}
+
+			return previous;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+
+		if (++size * 2 > keys.length) {
+			grow();
+		}
+
+		return MISSING;
+	}
+
+	/**
+	 * Find the slot of a key, i.e. the slot with the key or the first empty slot.
+	 * 
+	 * @param key
+	 *            any key
+	 * @return index of the slot
+	 * @since 1.1.0
+	 */
+	private int slot(long key) {
+		int mask = keys.length - 1;
+		int slot = (int) mix(key) & mask;
+
+		while (values[slot] != MISSING && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+
+		return slot;
+	}
+
+	/**
+	 * Double the capacity of the table and insert all entries again.
+	 * 
+	 * @since 1.1.0
+	 */
+	private void grow() {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+
+		allocate(keys.length * 2);
+
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] != MISSING) {
+				int slot = slot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	/**
+	 * Create an empty table.
+	 * 
+	 * @param capacity
+	 *            capacity as power of two
+	 * @since 1.1.0
+	 */
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		Arrays.fill(values, MISSING);
+	}
+
+	/**
+	 * Spread the bits of a key, so that similar keys get different slots.
+	 * 
+	 * @param key
+	 *            any key
+	 * @return mixed key
+	 * @since 1.1.0
+	 */
+	private static long mix(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return key;
+	}
+}
@@ -0,0 +1,74 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.utils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to protect an output stream against closing. All handlers
+ * close their output stream after a file, so a shared stream like a socket or
+ * the console must be wrapped to stay open for the next file.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class NonClosingOutputStream extends FilterOutputStream {
+
+	/**
+	 * Initialize the non closing output stream.
+	 * 
+	 * @param output
+	 *            stream that should stay open
+	 * @since 1.1.0
+	 */
+	public NonClosingOutputStream(OutputStream output) {
+		super(assertNotNull(output));
+	}
+
+	/**
+	 * Write all bytes directly to the underlying stream.
+	 * 
+	 * @param bytes
+	 *            data to write
+	 * @param offset
+	 *            start offset in the data
+	 * @param length
+	 *            number of bytes to write
+	 * @throws IOException
+	 *             if an i/o error occurred
+	 * @since 1.1.0
+	 */
+	@Override
+	public void write(byte[] bytes, int offset, int length) throws IOException {
+		out.write(bytes, offset, length);
+	}
+
+	/**
+	 * Flush the underlying stream instead of closing it.
+	 * 
+	 * @throws IOException
+	 *             if an i/o error occurred
+	 * @since 1.1.0
+	 */
+	@Override
+	public void close() throws IOException {
+		out.flush();
+	}
+}
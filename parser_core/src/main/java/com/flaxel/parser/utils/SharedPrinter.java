@@ -0,0 +1,153 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.utils;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.function.Function;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.printer.PrettyPrinter;
+import com.github.javaparser.printer.PrettyPrinterConfiguration;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to print nodes with one pretty printer, which is shared by
+ * all threads, and to write the code with the pooled encode buffers of
+ * {@link IOUtils}. The pretty printer creates a new visitor for every node, so
+ * only the encode buffers are reused. The printer keeps its own copy of the
+ * configuration, so that a caller cannot change the printing of other threads.
+ * All generators and handlers share the default instance.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class SharedPrinter implements Function<Node, String> {
+
+	/**
+	 * shared printer with the default configuration
+	 */
+	private static final SharedPrinter DEFAULT = new SharedPrinter();
+
+	/**
+	 * own copy of the configuration
+	 */
+	private final PrettyPrinterConfiguration configuration;
+
+	/**
+	 * printer, which creates a new visitor for every call and can be shared
+	 */
+	private final PrettyPrinter printer;
+
+	/**
+	 * Initialize the printer with the default configuration.
+	 * 
+	 * @since 1.1.0
+	 */
+	public SharedPrinter() {
+		this(new PrettyPrinterConfiguration());
+	}
+
+	/**
+	 * Initialize the printer. The configuration is copied, so that later changes
+	 * have no effect on the printer.
+	 * 
+	 * @param configuration
+	 *            configuration for the printer
+	 * @since 1.1.0
+	 */
+	public SharedPrinter(PrettyPrinterConfiguration configuration) {
+		this.configuration = copy(assertNotNull(configuration));
+		this.printer = new PrettyPrinter(this.configuration);
+	}
+
+	/**
+	 * Get the shared printer with the default configuration.
+	 * 
+	 * @return shared printer
+	 * @since 1.1.0
+	 */
+	public static SharedPrinter getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Get a copy of the configuration of the printer.
+	 * 
+	 * @return printer configuration, which can be changed without effect on the
+	 *         printer
+	 * @since 1.1.0
+	 */
+	public PrettyPrinterConfiguration getConfiguration() {
+		return copy(configuration);
+	}
+
+	/**
+	 * Print a node with the shared printer.
+	 * 
+	 * @param node
+	 *            node to print
+	 * @return java code of the node
+	 * @since 1.1.0
+	 */
+	@Override
+	public String apply(Node node) {
+		return printer.print(assertNotNull(node));
+	}
+
+	/**
+	 * Print a node and write the encoded code to a channel with the encode
+	 * buffer of the current thread.
+	 * 
+	 * @param node
+	 *            node to print
+	 * @param channel
+	 *            target channel, which is not closed
+	 * @param charset
+	 *            charset for encoding
+	 * @return number of written bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the code is written
+	 * @since 1.1.0
+	 */
+	public long write(Node node, WritableByteChannel channel, Charset charset) throws IOException {
+		return IOUtils.write(apply(node), channel, charset);
+	}
+
+	/**
+	 * Create a copy of a printer configuration.
+	 * 
+	 * @param configuration
+	 *            configuration to copy
+	 * @return new configuration with the same values
+	 * @since 1.1.0
+	 */
+	private static PrettyPrinterConfiguration copy(PrettyPrinterConfiguration configuration) {
+		return new PrettyPrinterConfiguration().setIndentSize(configuration.getIndentSize())
+				.setIndentType(configuration.getIndentType())
+				.setTabWidth(configuration.getTabWidth())
+				.setPrintComments(configuration.isPrintComments())
+				.setPrintJavadoc(configuration.isPrintJavadoc())
+				.setColumnAlignParameters(configuration.isColumnAlignParameters())
+				.setColumnAlignFirstMethodChain(configuration.isColumnAlignFirstMethodChain())
+				.setEndOfLineCharacter(configuration.getEndOfLineCharacter())
+				.setOrderImports(configuration.isOrderImports())
+				.setMaxEnumConstantsToAlignHorizontally(configuration.getMaxEnumConstantsToAlignHorizontally())
+				.setVisitorFactory(configuration.getVisitorFactory());
+	}
+}
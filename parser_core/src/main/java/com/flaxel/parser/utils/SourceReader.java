@@ -0,0 +1,449 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to read source files with reused buffers. A read borrows
+ * a byte buffer, a char buffer and the decoders from a shared pool and returns
+ * them afterwards, so that reading many files does not allocate new buffers
+ * per file, even if every file is read by a new virtual thread. Large files are
+ * memory-mapped and ASCII content is copied without decoding.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class SourceReader {
+
+	/**
+	 * minimal size in bytes of a file, which is memory-mapped
+	 */
+	public static final int MAP_THRESHOLD = 1 << 20;
+
+	/**
+	 * maximal size in bytes or characters of a buffer, which is kept for the
+	 * next file
+	 */
+	public static final int MAX_POOLED_SIZE = 4 << 20;
+
+	/**
+	 * initial size in bytes or characters of a buffer
+	 */
+	private static final int INITIAL_SIZE = 16 << 10;
+
+	/**
+	 * maximal number of buffers in the pool
+	 */
+	private static final int MAX_POOLED_BUFFERS = 2 * Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * buffers, which are currently not used by a read
+	 */
+	private static final Queue<Buffers> pool = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * number of buffers in the pool
+	 */
+	private static final AtomicInteger pooled = new AtomicInteger();
+
+	/**
+	 * Read a source file. A file with at least {@link #MAP_THRESHOLD} bytes is
+	 * memory-mapped, a smaller file is read into a pooled buffer. Malformed input is replaced like a reader does it.
+	 * 
+	 * @param path
+	 *            path to the source file
+	 * @param charset
+	 *            charset for decoding
+	 * @return content of the source file
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is read
+	 * @since 1.1.0
+	 */
+	public static String read(Path path, Charset charset) throws IOException {
+		return read(path, charset, false);
+	}
+
+	/**
+	 * Read a source file and detect its charset with {@link CharsetDetector}
+	 * before the bytes are decoded once. A file with at least
+	 * {@link #MAP_THRESHOLD} bytes is memory-mapped, a smaller file is read into
+	 * a pooled buffer.
+	 * 
+	 * @param path
+	 *            path to the source file
+	 * @param charset
+	 *            charset for decoding, which is the fallback if the charset is
+	 *            detected
+	 * @param detect
+	 *            true if the charset should be detected, otherwise false
+	 * @return content of the source file without byte order mark
+	 * @throws IOException
+	 *             if an i/o error occurred while the file is read
+	 * @since 1.1.0
+	 */
+	public static String read(Path path, Charset charset, boolean detect) throws IOException {
+		assertNotNull(path);
+		assertNotNull(charset);
+
+		Buffers buffers = borrow();
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+
+			if (size >= MAP_THRESHOLD && size <= Integer.MAX_VALUE)
+				return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), charset, detect, buffers);
+
+			return decode(readFully(channel, (int) Math.min(size + 1, Integer.MAX_VALUE), buffers), charset, detect,
+					buffers);
+		} finally {
+			release(buffers);
+		}
+	}
+
+	/**
+	 * Read a source file from an input stream. The stream is read into a pooled
+	 * buffer, but it is not closed.
+	 * 
+	 * @param input
+	 *            input stream of the source file
+	 * @param charset
+	 *            charset for decoding
+	 * @return content of the source file
+	 * @throws IOException
+	 *             if an i/o error occurred while the stream is read
+	 * @since 1.1.0
+	 */
+	public static String read(InputStream input, Charset charset) throws IOException {
+		return read(input, charset, false);
+	}
+
+	/**
+	 * Read a source file from an input stream and detect its charset with
+	 * {@link CharsetDetector} before the bytes are decoded once. The stream is
+	 * read into a pooled buffer, but it is not closed.
+	 * 
+	 * @param input
+	 *            input stream of the source file
+	 * @param charset
+	 *            charset for decoding, which is the fallback if the charset is
+	 *            detected
+	 * @param detect
+	 *            true if the charset should be detected, otherwise false
+	 * @return content of the source file without byte order mark
+	 * @throws IOException
+	 *             if an i/o error occurred while the stream is read
+	 * @since 1.1.0
+	 */
+	public static String read(InputStream input, Charset charset, boolean detect) throws IOException {
+		assertNotNull(input);
+		assertNotNull(charset);
+
+		Buffers buffers = borrow();
+
+		try {
+			return decode(readFully(Channels.newChannel(input), INITIAL_SIZE, buffers), charset, detect, buffers);
+		} finally {
+			release(buffers);
+		}
+	}
+
+	/**
+	 * Read all bytes of a channel into a pooled buffer. The buffer grows if the
+	 * channel contains more bytes than expected.
+	 * 
+	 * @param channel
+	 *            channel to read
+	 * @param expected
+	 *            expected number of bytes
+	 * @param buffers
+	 *            borrowed buffers of the read
+	 * @return flipped buffer with all bytes
+	 * @throws IOException
+	 *             if an i/o error occurred while the channel is read
+	 * @since 1.1.0
+	 */
+	private static ByteBuffer readFully(ReadableByteChannel channel, int expected, Buffers buffers)
+			throws IOException {
+		ByteBuffer buffer = buffers.bytes(expected);
+
+		while (channel.read(buffer) >= 0) {
+			if (!buffer.hasRemaining()) {
+				buffer = buffers.grow(buffer);
+			}
+		}
+
+		return buffer.flip();
+	}
+
+	/**
+	 * Decode the bytes of a buffer. ASCII content is copied without decoding if
+	 * the charset is compatible with ASCII.
+	 * 
+	 * @param bytes
+	 *            buffer with all bytes
+	 * @param charset
+	 *            charset for decoding or fallback charset for the detection
+	 * @param detect
+	 *            true if the charset should be detected, otherwise false
+	 * @param buffers
+	 *            borrowed buffers of the read
+	 * @return decoded content
+	 * @throws CharacterCodingException
+	 *             never, because malformed input is replaced
+	 * @since 1.1.0
+	 */
+	private static String decode(ByteBuffer bytes, Charset charset, boolean detect, Buffers buffers)
+			throws CharacterCodingException {
+		// the detector has already checked every byte if it returns ascii
+		boolean ascii = false;
+
+		if (detect) {
+			charset = CharsetDetector.detect(bytes, charset);
+			ascii = charset.equals(StandardCharsets.US_ASCII);
+		}
+
+		if (bytes.hasArray() && isAsciiCompatible(charset)) {
+			byte[] array = bytes.array();
+			int offset = bytes.arrayOffset() + bytes.position();
+			int length = bytes.remaining();
+
+			if (ascii || charset.equals(StandardCharsets.ISO_8859_1) || isAscii(array, offset, length))
+				return new String(array, offset, length, StandardCharsets.ISO_8859_1);
+		}
+
+		CharsetDecoder decoder = buffers.decoder(charset);
+		CharBuffer chars = buffers.chars((int) (bytes.remaining() * (double) decoder.averageCharsPerByte()) + 16);
+
+		while (true) {
+			CoderResult result = bytes.hasRemaining() ? decoder.decode(bytes, chars, true)
+					: CoderResult.UNDERFLOW;
+
+			if (result.isUnderflow())
+				result = decoder.flush(chars);
+
+			if (result.isUnderflow())
+				break;
+
+			if (result.isOverflow()) {
+				chars = buffers.grow(chars);
+			} else {
+				result.throwException();
+			}
+		}
+
+		return chars.flip().toString();
+	}
+
+	/**
+	 * Borrow buffers from the pool or create new ones if the pool is empty.
+	 * 
+	 * @return buffers, which are only used by the caller
+	 * @since 1.1.0
+	 */
+	private static Buffers borrow() {
+		Buffers buffers = pool.poll();
+
+		if (buffers == null)
+			return new Buffers();
+
+		pooled.decrementAndGet();
+		return buffers;
+	}
+
+	/**
+	 * Return buffers to the pool. If the pool is full, the buffers are dropped.
+	 * 
+	 * @param buffers
+	 *            buffers, which are not used anymore
+	 * @since 1.1.0
+	 */
+	private static void release(Buffers buffers) {
+		if (pooled.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+			pool.offer(buffers);
+		} else {
+			pooled.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Check whether a charset encodes ASCII characters as single bytes.
+	 * 
+	 * @param charset
+	 *            charset to check
+	 * @return true if the charset is compatible with ASCII, otherwise false
+	 * @since 1.1.0
+	 */
+	private static boolean isAsciiCompatible(Charset charset) {
+		return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+				|| charset.equals(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Check whether all bytes of a range are ASCII characters.
+	 * 
+	 * @param array
+	 *            array with all bytes
+	 * @param offset
+	 *            first index of the range
+	 * @param length
+	 *            length of the range
+	 * @return true if all bytes are ASCII characters, otherwise false
+	 * @since 1.1.0
+	 */
+	static boolean isAscii(byte[] array, int offset, int length) {
+		for (int i = offset, end = offset + length; i < end; i++) {
+			if (array[i] < 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * This class is used to keep the buffers and decoders of one read.
+	 * 
+	 * @author flaxel
+	 * @since 1.1.0
+	 */
+	private static class Buffers {
+
+		/**
+		 * byte buffer for the next file
+		 */
+		private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_SIZE);
+
+		/**
+		 * char buffer for the next file
+		 */
+		private CharBuffer chars = CharBuffer.allocate(INITIAL_SIZE);
+
+		/**
+		 * decoder for every used charset
+		 */
+		private final Map<Charset, CharsetDecoder> decoders = new HashMap<>();
+
+		/**
+		 * Get a cleared byte buffer with at least the given capacity.
+		 * 
+		 * @param capacity
+		 *            minimal capacity
+		 * @return cleared byte buffer
+		 * @since 1.1.0
+		 */
+		private ByteBuffer bytes(int capacity) {
+			if (bytes.capacity() < capacity) {
+				ByteBuffer buffer = ByteBuffer.allocate(capacity);
+				return capacity <= MAX_POOLED_SIZE ? (bytes = buffer) : buffer;
+			}
+
+			return bytes.clear();
+		}
+
+		/**
+		 * Get a byte buffer with the double capacity and the content of the given
+		 * buffer.
+		 * 
+		 * @param buffer
+		 *            full buffer
+		 * @return larger buffer
+		 * @since 1.1.0
+		 */
+		private ByteBuffer grow(ByteBuffer buffer) {
+			ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, INITIAL_SIZE));
+			larger.put(buffer.flip());
+
+			if (larger.capacity() <= MAX_POOLED_SIZE) {
+				bytes = larger;
+			}
+
+			return larger;
+		}
+
+		/**
+		 * Get a cleared char buffer with at least the given capacity.
+		 * 
+		 * @param capacity
+		 *            minimal capacity
+		 * @return cleared char buffer
+		 * @since 1.1.0
+		 */
+		private CharBuffer chars(int capacity) {
+			if (chars.capacity() < capacity) {
+				CharBuffer buffer = CharBuffer.allocate(capacity);
+				return capacity <= MAX_POOLED_SIZE ? (chars = buffer) : buffer;
+			}
+
+			return chars.clear();
+		}
+
+		/**
+		 * Get a char buffer with the double capacity and the content of the given
+		 * buffer.
+		 * 
+		 * @param buffer
+		 *            full buffer
+		 * @return larger buffer
+		 * @since 1.1.0
+		 */
+		private CharBuffer grow(CharBuffer buffer) {
+			CharBuffer larger = CharBuffer.allocate(Math.max(buffer.capacity() * 2, INITIAL_SIZE));
+			larger.put(buffer.flip());
+
+			if (larger.capacity() <= MAX_POOLED_SIZE) {
+				chars = larger;
+			}
+
+			return larger;
+		}
+
+		/**
+		 * Get the reset decoder for a charset, which replaces malformed input.
+		 * 
+		 * @param charset
+		 *            charset of the decoder
+		 * @return reset decoder
+		 * @since 1.1.0
+		 */
+		private CharsetDecoder decoder(Charset charset) {
+			return decoders.computeIfAbsent(charset, (key) -> key.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE))
+					.reset();
+		}
+	}
+}
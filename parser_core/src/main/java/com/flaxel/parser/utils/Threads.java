@@ -0,0 +1,109 @@
+/**		
+ *		Copyright [2019] [flaxel]
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *		 
+ *		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package com.flaxel.parser.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.javaparser.utils.Utils.assertNotNull;
+
+/**
+ * This class is used to create the threads and executors of the engine. A
+ * virtual thread per task is used if the running JDK supports it, otherwise a
+ * cached pool of daemon threads, so that the code still runs on Java 11.
+ * 
+ * @author flaxel
+ * @since 1.1.0
+ */
+public class Threads {
+
+	/**
+	 * factory method of the JDK for a virtual thread per task or null
+	 */
+	private static final Method VIRTUAL_EXECUTOR = findVirtualExecutor();
+
+	/**
+	 * Create a factory for daemon threads, which are numbered with a prefix.
+	 * 
+	 * @param prefix
+	 *            prefix of the thread names
+	 * @return thread factory
+	 * @since 1.1.0
+	 */
+	public static ThreadFactory daemonFactory(String prefix) {
+		assertNotNull(prefix);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		return (runnable) -> {
+			Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Get the value whether the running JDK supports virtual threads.
+	 * 
+	 * @return true if virtual threads are supported, otherwise false
+	 * @since 1.1.0
+	 */
+	public static boolean isVirtualSupported() {
+		return VIRTUAL_EXECUTOR != null;
+	}
+
+	/**
+	 * Create an executor, which starts a new virtual thread for every task. On a
+	 * JDK without virtual threads a cached pool of daemon threads is created.
+	 * Both executors run any number of tasks at once, so they suit i/o-bound
+	 * stages with many blocked threads.
+	 * 
+	 * @return new executor, which must be shut down by the caller
+	 * @since 1.1.0
+	 */
+	public static ExecutorService newVirtualThreadExecutor() {
+		if (VIRTUAL_EXECUTOR != null) {
+			try {
+				return (ExecutorService) VIRTUAL_EXECUTOR.invoke(null);
+			} catch (ReflectiveOperationException e) {
+				// fall back to platform threads
+			}
+		}
+
+		return Executors.newCachedThreadPool(daemonFactory("parser-io-"));
+	}
+
+	/**
+	 * Find the factory method for a virtual thread per task. The method is
+	 * called once, because a JDK with preview virtual threads rejects it without
+	 * the preview flag.
+	 * 
+	 * @return factory method or null if it does not exist or is not usable
+	 * @since 1.1.0
+	 */
+	private static Method findVirtualExecutor() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			((ExecutorService) method.invoke(null)).shutdown();
+			return method;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+}
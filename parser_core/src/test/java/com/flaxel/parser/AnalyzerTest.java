@@ -3,15 +3,24 @@ package com.flaxel.parser;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
 
+import com.flaxel.parser.engine.Engine;
+import com.flaxel.parser.engine.ParseMode;
+import com.flaxel.parser.engine.UnitCollector;
+import com.flaxel.parser.filter.Predicates;
+import com.flaxel.parser.handler.analyze.ListClassHandler;
 import com.flaxel.parser.utils.TestUtils;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.ast.CompilationUnit;
@@ -541,4 +550,64 @@ public class AnalyzerTest {
 		assertEquals(configuration, Analyzer.getConfiguration());
 		assertNotEquals(new ParserConfiguration(), Analyzer.getConfiguration());
 	}
+
+	@Test
+	public void testSetGetEngine() {
+		Engine engine = new Engine();
+		Analyzer.setEngine(engine);
+
+		assertEquals(engine, Analyzer.getEngine());
+		assertThrows(AssertionError.class, () -> Analyzer.setEngine(null));
+	}
+
+	@Test
+	public void testSetGetParseMode() {
+		BiConsumer<File, CompilationUnit> handler = new ListClassHandler(OutputStream.nullOutputStream());
+
+		try {
+			assertEquals(ParseMode.AUTO, Analyzer.getParseMode());
+			assertEquals(ParseMode.DECLARATIONS, Analyzer.resolveParseMode(Analyzer.DEFAULT_UNIT_FILTER, handler));
+			assertEquals(ParseMode.DECLARATIONS, Analyzer.resolveParseMode(Predicates.UNIT_CONSTANTS, handler));
+			assertEquals(ParseMode.FULL, Analyzer.resolveParseMode(DEFAULT_NON_UNIT_FILTER, handler));
+			assertEquals(ParseMode.FULL,
+					Analyzer.resolveParseMode(Analyzer.DEFAULT_UNIT_FILTER, DEFAULT_FILE_UNIT_HANDLER));
+
+			Analyzer.setParseMode(ParseMode.FULL);
+			assertEquals(ParseMode.FULL, Analyzer.resolveParseMode(Analyzer.DEFAULT_UNIT_FILTER, handler));
+			assertThrows(AssertionError.class, () -> Analyzer.setParseMode(null));
+		} finally {
+			Analyzer.setParseMode(ParseMode.AUTO);
+		}
+	}
+
+	@Test
+	public void testCollect() throws IOException {
+		File folder = TestUtils.getInternFile("analyzed");
+		File zip = TestUtils.getInternFile("Analyzed.zip");
+		AtomicInteger folderUnits = new AtomicInteger();
+		AtomicInteger zipUnits = new AtomicInteger();
+		UnitCollector<List<String>, Integer> collector = UnitCollector.of(ArrayList::new,
+				(names, source, unit) -> names.add(source.getName()), (left, right) -> {
+					left.addAll(right);
+					return left;
+				}, List::size);
+
+		Analyzer.analyzeFolder(folder, (file, unit) -> folderUnits.incrementAndGet());
+		Analyzer.analyzeZip(zip, (file, unit) -> zipUnits.incrementAndGet());
+
+		assertEquals(folderUnits.get(), Analyzer.collectFolder(folder, Analyzer.DEFAULT_FILE_PROBLEM_HANDLER,
+				collector));
+		assertEquals(zipUnits.get(), Analyzer.collectZip(zip, Analyzer.DEFAULT_FILE_PROBLEM_HANDLER, collector));
+		assertEquals(0, Analyzer.collectFolder(folder.toPath(), DEFAULT_NON_FILE_FILTER,
+				Analyzer.DEFAULT_FILE_PROBLEM_HANDLER, Analyzer.DEFAULT_UNIT_FILTER, collector));
+
+		try {
+			Analyzer.getEngine().stages(1, 2, 2);
+
+			assertEquals(folderUnits.get(), Analyzer.collectFolder(folder.toPath(), collector));
+			assertEquals(zipUnits.get(), Analyzer.collectZip(zip.toPath(), collector));
+		} finally {
+			Analyzer.getEngine().sequential();
+		}
+	}
 }
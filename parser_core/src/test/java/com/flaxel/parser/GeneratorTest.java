@@ -1,13 +1,19 @@
 package com.flaxel.parser;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.Callable;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.flaxel.parser.utils.TestUtils;
 import com.github.javaparser.ast.CompilationUnit;
@@ -113,6 +119,46 @@ public class GeneratorTest {
 		assertThrows(NullPointerException.class, () -> Generator.generate(callable, path));
 	}
 
+	@Test
+	public void testSupplierGenerateWriter() throws IOException {
+		StringWriter writer = new StringWriter();
+
+		long written = Generator.generate(supplier, writer);
+
+		assertEquals(TestUtils.readInternFile("PrettyGenerated.txt"), writer.toString());
+		assertEquals(writer.toString().length(), written);
+	}
+
+	@Test
+	public void testCallableGenerateChannel() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		long written = Generator.generate(callable, Channels.newChannel(output), StandardCharsets.UTF_8);
+
+		assertEquals(TestUtils.readInternFile("PrettyGenerated.txt"), output.toString(StandardCharsets.UTF_8));
+		assertEquals(output.size(), written);
+	}
+
+	@Test
+	public void testSupplierGenerateAtomic(@TempDir Path folder) throws IOException {
+		Path path = folder.resolve("Test.java");
+		Files.writeString(path, "old content");
+
+		Generator.generateAtomic(supplier, path);
+
+		assertEquals(TestUtils.readInternFile("PrettyGenerated.txt"), Files.readString(path));
+		assertEquals(1, Files.list(folder).count());
+	}
+
+	@Test
+	public void testCallableGenerateAtomic(@TempDir Path folder) throws Exception {
+		Path path = folder.resolve("Test.java");
+
+		long written = Generator.generateAtomic(callable, path, StandardCharsets.UTF_8);
+
+		assertEquals(Files.size(path), written);
+	}
+
 	@Test
 	public void testSetPrinter() throws IOException {
 		Generator.setPrinter(LexicalPreservingPrinter::print);
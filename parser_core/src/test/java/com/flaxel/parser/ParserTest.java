@@ -3,17 +3,25 @@ package com.flaxel.parser;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import com.flaxel.parser.engine.Engine;
 import com.flaxel.parser.utils.TestUtils;
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class ParserTest {
 
@@ -35,6 +43,15 @@ public class ParserTest {
 		assertEquals(configuration, Transformer.getConfiguration());
 	}
 
+	@Test
+	public void testSetEngine() {
+		Engine engine = new Engine();
+		Parser.setEngine(engine);
+
+		assertEquals(engine, Analyzer.getEngine());
+		assertEquals(engine, Transformer.getEngine());
+	}
+
 	@Test
 	public void testCreateTypeSolverFile() throws IOException {
 		File file = TestUtils.getInternFile("Analyzed.txt");
@@ -53,6 +70,72 @@ public class ParserTest {
 		Parser.createTypeSolver(file, folder, archive);
 	}
 
+	@Test
+	public void testTypeSolverCaching() throws IOException {
+		File folder = TestUtils.getInternFile("analyzed");
+
+		try {
+			Parser.setTypeSolverCaching(true);
+			assertSame(Parser.createTypeSolver(folder), Parser.createTypeSolver(folder));
+
+			Parser.setTypeSolverCaching(false);
+			assertNotSame(Parser.createTypeSolver(folder), Parser.createTypeSolver(folder));
+		} finally {
+			Parser.setTypeSolverCaching(false);
+		}
+	}
+
+	@Test
+	public void testTypeSolverCachingChanged(@TempDir Path folder) throws IOException, InterruptedException {
+		Files.writeString(folder.resolve("A.java"), "class A {}");
+		Files.createDirectories(folder.resolve("a"));
+		Files.writeString(folder.resolve("a/B.java"), "package a; public class B {}");
+		Files.createDirectories(folder.resolve("b"));
+		Files.writeString(folder.resolve("b/C.java"), "package b; public class C {}");
+
+		try {
+			Parser.setTypeSolverCaching(true);
+			JavaSymbolSolver solver = Parser.createTypeSolver(folder.toFile());
+
+			assertSame(solver, Parser.createTypeSolver(folder.toFile()));
+
+			Files.writeString(folder.resolve("D.java"), "class D {}");
+			JavaSymbolSolver added = awaitTypeSolver(solver, folder.toFile());
+
+			assertNotSame(solver, added);
+			assertSame(added, Parser.createTypeSolver(folder.toFile()));
+
+			FieldDeclaration field = new JavaParser(new ParserConfiguration().setSymbolResolver(added))
+					.parse("class X { a.B b; }")
+					.getResult()
+					.orElseThrow()
+					.findFirst(FieldDeclaration.class)
+					.orElseThrow();
+			assertEquals("a.B", field.getElementType().resolve().describe());
+
+			Files.writeString(folder.resolve("b/C.java"), "package b; public class C { int c; }");
+			Thread.sleep(500);
+			assertSame(added, Parser.createTypeSolver(folder.toFile()));
+
+			Files.writeString(folder.resolve("a/B.java"), "package a; public class B { int b; }");
+			assertNotSame(added, awaitTypeSolver(added, folder.toFile()));
+		} finally {
+			Parser.setTypeSolverCaching(false);
+		}
+	}
+
+	private static JavaSymbolSolver awaitTypeSolver(JavaSymbolSolver solver, File folder)
+			throws IOException, InterruptedException {
+		JavaSymbolSolver current = Parser.createTypeSolver(folder);
+
+		for (int i = 0; i < 100 && current == solver; i++) {
+			Thread.sleep(50);
+			current = Parser.createTypeSolver(folder);
+		}
+
+		return current;
+	}
+
 	@Test
 	public void testCreateClassLoaderFile() throws IOException {
 		File file = TestUtils.getInternFile("Analyzed.txt");
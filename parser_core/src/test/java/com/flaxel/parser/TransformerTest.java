@@ -12,6 +12,7 @@ import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
 
+import com.flaxel.parser.engine.Engine;
 import com.flaxel.parser.utils.TestUtils;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.ast.CompilationUnit;
@@ -561,4 +562,13 @@ public class TransformerTest {
 		assertEquals(configuration, Transformer.getConfiguration());
 		assertNotEquals(new ParserConfiguration(), Transformer.getConfiguration());
 	}
+
+	@Test
+	public void testSetGetEngine() {
+		Engine engine = new Engine();
+		Transformer.setEngine(engine);
+
+		assertEquals(engine, Transformer.getEngine());
+		assertThrows(AssertionError.class, () -> Transformer.setEngine(null));
+	}
 }
@@ -0,0 +1,85 @@
+package com.flaxel.parser.dependency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DependencyAnalysisTest {
+
+	@Test
+	public void testComponents() {
+		DependencyGraph graph = graph("a>b", "b>c", "c>a", "c>d", "d>e", "e>d", "f>a");
+		List<int[]> components = new ArrayList<>();
+
+		assertEquals(3, DependencyAnalysis.components(graph, components::add));
+		assertArrayEquals(new int[] { 3, 4 }, components.get(0));
+		assertArrayEquals(new int[] { 0, 1, 2 }, components.get(1));
+		assertArrayEquals(new int[] { 5 }, components.get(2));
+
+		List<int[]> cycles = new ArrayList<>();
+
+		assertEquals(2, DependencyAnalysis.cycles(graph, cycles::add));
+		assertEquals(2, cycles.get(0).length);
+		assertEquals(3, cycles.get(1).length);
+	}
+
+	@Test
+	public void testComponentsDeepChain() {
+		DependencyGraph graph = new DependencyGraph();
+		int size = 100_000;
+
+		for (int i = 0; i < size; i++) {
+			graph.addNode("node" + i);
+		}
+
+		for (int i = 0; i < size - 1; i++) {
+			graph.addEdge(i, i + 1);
+		}
+
+		graph.addEdge(size - 1, 0);
+
+		List<int[]> cycles = new ArrayList<>();
+
+		assertEquals(1, DependencyAnalysis.cycles(graph, cycles::add));
+		assertEquals(size, cycles.get(0).length);
+	}
+
+	@Test
+	public void testLayerViolations() {
+		DependencyGraph graph = graph("app>app.core", "app.core>util", "util>app.core", "util>other", "other>app");
+		List<String> layers = List.of("app", "app.core", "util");
+		List<String> violations = new ArrayList<>();
+
+		assertArrayEquals(new int[] { 0, 1, 2, DependencyAnalysis.NO_LAYER },
+				DependencyAnalysis.layers(graph, layers));
+		assertEquals(1, DependencyAnalysis.layerViolations(graph, layers,
+				(from, to) -> violations.add(graph.getName(from) + ">" + graph.getName(to))));
+		assertEquals(List.of("util>app.core"), violations);
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		DependencyGraph graph = new DependencyGraph();
+
+		assertThrows(AssertionError.class, () -> DependencyAnalysis.components(null, (component) -> {}));
+		assertThrows(AssertionError.class, () -> DependencyAnalysis.cycles(graph, null));
+		assertThrows(AssertionError.class, () -> DependencyAnalysis.layers(graph, null));
+		assertThrows(AssertionError.class, () -> DependencyAnalysis.layerViolations(graph, List.of(), null));
+	}
+
+	private static DependencyGraph graph(String... edges) {
+		DependencyGraph graph = new DependencyGraph();
+
+		for (String edge : edges) {
+			String[] nodes = edge.split(">");
+			graph.addEdge(graph.addNode(nodes[0]), graph.addNode(nodes[1]));
+		}
+
+		return graph;
+	}
+}
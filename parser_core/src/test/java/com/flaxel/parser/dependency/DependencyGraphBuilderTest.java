@@ -0,0 +1,109 @@
+package com.flaxel.parser.dependency;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flaxel.parser.engine.HeaderScanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DependencyGraphBuilderTest {
+
+	private static final List<String> SOURCES = List.of(
+			"package app; import core.Model; import core.Model.Entry; import java.util.List; class Main {}",
+			"package app; import static util.Strings.join; class Helper extends Main {}",
+			"package core; import util.*; public class Model { Strings name; }",
+			"package core; import app.Main; class View extends Model {}",
+			"package util; public class Strings {}",
+			"package util; public class Numbers {}",
+			"package util;");
+
+	@Test
+	public void testBuildPackages() {
+		DependencyGraph graph = build(new DependencyGraphBuilder(DependencyLevel.PACKAGE));
+		int app = graph.indexOf("app");
+		int core = graph.indexOf("core");
+		int util = graph.indexOf("util");
+
+		assertEquals(3, graph.size());
+		assertEquals(0, app);
+		assertTrue(graph.hasEdge(app, core));
+		assertTrue(graph.hasEdge(app, util));
+		assertTrue(graph.hasEdge(core, util));
+		assertTrue(graph.hasEdge(core, app));
+		assertEquals(4, graph.getEdgeCount());
+	}
+
+	@Test
+	public void testBuildClasses() {
+		DependencyGraph graph = build(new DependencyGraphBuilder(DependencyLevel.CLASS));
+		int main = graph.indexOf("app.Main");
+		int helper = graph.indexOf("app.Helper");
+		int model = graph.indexOf("core.Model");
+		int view = graph.indexOf("core.View");
+
+		assertEquals(6, graph.size());
+		assertTrue(graph.hasEdge(main, model));
+		assertEquals(1, graph.getDegree(main));
+		assertTrue(graph.hasEdge(helper, graph.indexOf("util.Strings")));
+		assertTrue(graph.hasEdge(helper, main));
+		assertTrue(graph.hasEdge(model, graph.indexOf("util.Strings")));
+		assertFalse(graph.hasEdge(model, graph.indexOf("util.Numbers")));
+		assertTrue(graph.hasEdge(view, main));
+		assertTrue(graph.hasEdge(view, model));
+	}
+
+	@Test
+	public void testBuildWildcard() {
+		// an unused class of a wildcard import must not close a cycle
+		DependencyGraphBuilder builder = new DependencyGraphBuilder(DependencyLevel.CLASS);
+		builder.accept(new File("A.java"), HeaderScanner.scan("package a; import b.*; class A { B b; }"));
+		builder.accept(new File("B.java"), HeaderScanner.scan("package b; public class B {}"));
+		builder.accept(new File("C.java"), HeaderScanner.scan("package b; import a.*; public class C {}"));
+
+		DependencyGraph graph = builder.build();
+
+		assertTrue(graph.hasEdge(graph.indexOf("a.A"), graph.indexOf("b.B")));
+		assertFalse(graph.hasEdge(graph.indexOf("a.A"), graph.indexOf("b.C")));
+		assertEquals(0, graph.getDegree(graph.indexOf("b.C")));
+	}
+
+	@Test
+	public void testBuildExternal() {
+		DependencyGraphBuilder builder = new DependencyGraphBuilder(DependencyLevel.PACKAGE).external(true);
+		DependencyGraph graph = build(builder);
+		int java = graph.indexOf("java.util");
+
+		assertEquals(7, builder.size());
+		assertTrue(graph.isExternal(java));
+		assertFalse(graph.isExternal(graph.indexOf("app")));
+		assertTrue(graph.hasEdge(graph.indexOf("app"), java));
+
+		builder.clear();
+
+		assertEquals(0, builder.size());
+		assertEquals(0, builder.build().size());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		DependencyGraphBuilder builder = new DependencyGraphBuilder(DependencyLevel.CLASS);
+
+		assertThrows(AssertionError.class, () -> new DependencyGraphBuilder(null));
+		assertThrows(AssertionError.class, () -> builder.accept(null, HeaderScanner.scan("class Test {}")));
+		assertThrows(AssertionError.class, () -> builder.accept(new File("Test.java"), null));
+	}
+
+	private static DependencyGraph build(DependencyGraphBuilder builder) {
+		for (int i = 0; i < SOURCES.size(); i++) {
+			builder.accept(new File("Test" + i + ".java"), HeaderScanner.scan(SOURCES.get(i)));
+		}
+
+		return builder.build();
+	}
+}
@@ -0,0 +1,54 @@
+package com.flaxel.parser.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DependencyGraphTest {
+
+	@Test
+	public void testGraph() {
+		DependencyGraph graph = new DependencyGraph();
+		int first = graph.addNode("first");
+		int second = graph.addNode("second");
+		int external = graph.addExternalNode("java.util");
+
+		for (int i = 0; i < 40; i++) {
+			graph.addEdge(graph.addNode("node" + i), first);
+		}
+
+		assertEquals(first, graph.addNode("first"));
+		assertEquals(second, graph.addExternalNode("second"));
+		assertTrue(graph.addEdge(first, second));
+		assertTrue(graph.addEdge(first, external));
+		assertFalse(graph.addEdge(first, second));
+
+		assertEquals(43, graph.size());
+		assertEquals(42, graph.getEdgeCount());
+		assertEquals("second", graph.getName(second));
+		assertEquals(-1, graph.indexOf("unknown"));
+		assertTrue(graph.isExternal(external));
+		assertFalse(graph.isExternal(second));
+		assertTrue(graph.hasEdge(first, external));
+		assertFalse(graph.hasEdge(second, first));
+		assertEquals(2, graph.getDegree(first));
+		assertEquals(external, graph.getDependency(first, 1));
+		assertArrayEquals(new int[] { second, external }, graph.getDependencies(first));
+		assertArrayEquals(new int[0], graph.getDependencies(second));
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		DependencyGraph graph = new DependencyGraph();
+		int node = graph.addNode("node");
+
+		assertThrows(AssertionError.class, () -> graph.addNode(null));
+		assertThrows(IndexOutOfBoundsException.class, () -> graph.addEdge(node, 1));
+		assertThrows(IndexOutOfBoundsException.class, () -> graph.getName(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> graph.getDependency(node, 0));
+	}
+}
@@ -0,0 +1,105 @@
+package com.flaxel.parser.engine;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CollectorHandlerTest {
+
+	private static final UnitCollector<List<String>, Integer> COLLECTOR = UnitCollector.of(ArrayList::new,
+			(names, source, unit) -> names.add(source.getName()), (left, right) -> {
+				left.addAll(right);
+				return left;
+			}, List::size);
+
+	@Test
+	public void testFinish() throws InterruptedException {
+		CollectorHandler<List<String>, Integer> handler = new CollectorHandler<>(COLLECTOR);
+		CompilationUnit unit = StaticJavaParser.parse("class Main {}");
+		List<Thread> threads = new ArrayList<>();
+
+		// the containers are no synchronized lists, so every thread needs its own one
+		for (int i = 0; i < 4; i++) {
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					handler.accept(new File("Main.java"), unit);
+				}
+			});
+
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(40_000, handler.finish());
+		assertEquals(40_000, handler.finish());
+		assertEquals(40_000, handler.combine().size());
+
+		// the containers of the threads are released, the next units are added to the combined ones
+		handler.accept(new File("Main.java"), unit);
+		assertEquals(40_001, handler.finish());
+
+		handler.clear();
+
+		assertEquals(0, handler.finish());
+	}
+
+	@Test
+	public void testDeclarationsOnly() {
+		assertFalse(new CollectorHandler<>(COLLECTOR).isDeclarationsOnly());
+		assertTrue(new CollectorHandler<>(new DeclarationsCollector()).isDeclarationsOnly());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		CollectorHandler<List<String>, Integer> handler = new CollectorHandler<>(COLLECTOR);
+
+		assertThrows(AssertionError.class, () -> new CollectorHandler<>(null));
+		assertThrows(AssertionError.class, () -> handler.accept(null, StaticJavaParser.parse("class Main {}")));
+		assertThrows(AssertionError.class, () -> handler.accept(new File("Main.java"), null));
+		assertThrows(AssertionError.class, () -> UnitCollector.of(null, COLLECTOR.accumulator(), COLLECTOR.combiner()));
+		assertThrows(AssertionError.class, () -> UnitCollector.of(ArrayList::new, null, COLLECTOR.combiner()));
+		assertThrows(AssertionError.class, () -> UnitCollector.of(ArrayList::new, COLLECTOR.accumulator(), null));
+		assertThrows(AssertionError.class,
+				() -> UnitCollector.of(ArrayList::new, COLLECTOR.accumulator(), COLLECTOR.combiner(), null));
+	}
+
+	private static class DeclarationsCollector implements UnitCollector<List<String>, Integer>, DeclarationsOnly {
+
+		@Override
+		public Supplier<List<String>> supplier() {
+			return COLLECTOR.supplier();
+		}
+
+		@Override
+		public Accumulator<List<String>> accumulator() {
+			return COLLECTOR.accumulator();
+		}
+
+		@Override
+		public BinaryOperator<List<String>> combiner() {
+			return COLLECTOR.combiner();
+		}
+
+		@Override
+		public Function<List<String>, Integer> finisher() {
+			return COLLECTOR.finisher();
+		}
+	}
+}
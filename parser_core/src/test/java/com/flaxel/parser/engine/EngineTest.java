@@ -0,0 +1,460 @@
+package com.flaxel.parser.engine;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.flaxel.parser.filter.LexicalPredicates;
+import com.flaxel.parser.filter.PathFilter;
+import com.flaxel.parser.filter.PredicateCollection;
+import com.flaxel.parser.utils.TestUtils;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.CharLiteralExpr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EngineTest {
+
+	@Test
+	public void testWalk(@TempDir Path folder) throws IOException {
+		Files.createDirectories(folder.resolve("valid"));
+		Files.createDirectories(folder.resolve("not-valid"));
+		Files.createDirectories(folder.resolve(".hidden"));
+
+		Files.writeString(folder.resolve("Main.java"), "class Main {}");
+		Files.writeString(folder.resolve("valid/Test.java"), "class Test {}");
+		Files.writeString(folder.resolve("valid/Test.txt"), "class Test {}");
+		Files.writeString(folder.resolve("not-valid/Test.java"), "class Test {}");
+		Files.writeString(folder.resolve(".hidden/Test.java"), "class Test {}");
+
+		List<SourceFile> files = new Engine().walk(folder);
+
+		assertEquals(2, files.size());
+		assertEquals(13, files.get(0).getSize());
+		assertTrue(files.stream().allMatch((file) -> file.getPath().toString().endsWith(".java")));
+	}
+
+	@Test
+	public void testWalkPathFilter(@TempDir Path folder) throws IOException {
+		Files.createDirectories(folder.resolve("src/generated"));
+		Files.createDirectories(folder.resolve("src/main"));
+
+		Files.writeString(folder.resolve("src/generated/Test.java"), "class Test {}");
+		Files.writeString(folder.resolve("src/main/Main.java"), "class Main {}");
+		Files.writeString(folder.resolve("src/main/MainTest.java"), "class MainTest {}");
+
+		Engine engine = new Engine().pathFilter(new PathFilter().exclude("**/generated/**").exclude("**/*Test.java"));
+		List<SourceFile> files = engine.walk(folder);
+
+		assertEquals(1, files.size());
+		assertEquals(folder.resolve("src/main/Main.java"), files.get(0).getPath());
+	}
+
+	@Test
+	public void testParseFolder() throws IOException {
+		Engine engine = new Engine();
+		List<File> files = new ArrayList<>();
+
+		engine.parseFolder(TestUtils.getInternFile("analyzed").toPath(), new ParserConfiguration(),
+				(file, result) -> {
+					assertTrue(result.isSuccessful());
+					assertEquals(file.toPath(), result.getResult().get().getStorage().get().getPath());
+					files.add(file);
+				});
+
+		Progress progress = engine.getProgress();
+
+		assertEquals(1, files.size());
+		assertEquals(1, progress.getFiles());
+		assertEquals(1, progress.getTotalFiles());
+		assertEquals(progress.getTotalBytes(), progress.getBytes());
+		assertFalse(progress.isRunning());
+	}
+
+	@Test
+	public void testParseZip() throws IOException {
+		Engine engine = new Engine();
+		List<File> files = new ArrayList<>();
+
+		engine.parseZip(TestUtils.getInternFile("Analyzed.zip").toPath(), new ParserConfiguration(),
+				(file, result) -> files.add(file));
+
+		Progress progress = engine.getProgress();
+
+		assertEquals(List.of(new File("Analyzed.java"), new File("NoAnalyzed.java")), files);
+		assertEquals(2, progress.getFiles());
+		assertEquals(1, progress.getErrors());
+		assertEquals(54, progress.getBytes());
+	}
+
+	@Test
+	public void testParseFileFilter() throws IOException {
+		Engine engine = new Engine();
+		List<File> files = new ArrayList<>();
+
+		engine.parseZip(TestUtils.getInternFile("Analyzed.zip").toPath(), new ParserConfiguration(),
+				(file) -> file.getName().startsWith("No"), (file, result) -> files.add(file));
+
+		assertEquals(List.of(new File("NoAnalyzed.java")), files);
+		assertEquals(2, engine.getProgress().getFiles());
+
+		files.clear();
+		engine.parseFolder(TestUtils.getInternFile("analyzed").toPath(), new ParserConfiguration(),
+				(file) -> false, (file, result) -> files.add(file));
+
+		assertTrue(files.isEmpty());
+		assertEquals(1, engine.getProgress().getFiles());
+	}
+
+	@Test
+	public void testParseDeclarations(@TempDir Path folder) throws IOException {
+		Files.writeString(folder.resolve("Main.java"),
+				"class Main {\n\tint field = 1;\n\tvoid run() {\n\t\tSystem.out.println(field);\n\t}\n}\n");
+		List<CompilationUnit> units = new ArrayList<>();
+
+		new Engine().parseFolder(folder, new ParserConfiguration(), (file) -> true, ParseMode.DECLARATIONS,
+				(file, result) -> units.add(result.getResult().get()));
+
+		MethodDeclaration method = units.get(0).findFirst(MethodDeclaration.class).get();
+
+		assertEquals(1, units.size());
+		assertTrue(method.getBody().get().isEmpty());
+		assertEquals(3, method.getBegin().get().line);
+		assertEquals(5, method.getEnd().get().line);
+		assertEquals("1", units.get(0).findFirst(VariableDeclarator.class).get().getInitializer().get().toString());
+		assertEquals(folder.resolve("Main.java"), units.get(0).getStorage().get().getPath());
+	}
+
+	@Test
+	public void testParseCharsets(@TempDir Path folder) throws IOException {
+		Files.writeString(folder.resolve("Latin.java"), "class Latin { char c = 'ä'; }", StandardCharsets.ISO_8859_1);
+		Files.writeString(folder.resolve("Utf16.java"), "\ufeffclass Utf16 {}", StandardCharsets.UTF_16LE);
+		List<String> literals = new ArrayList<>();
+		Engine engine = new Engine();
+
+		engine.parseFolder(folder, new ParserConfiguration(), (file, result) -> {
+			assertTrue(result.isSuccessful());
+			result.getResult().get().findAll(CharLiteralExpr.class).forEach((literal) -> literals.add(literal.getValue()));
+		});
+
+		assertEquals(List.of("ä"), literals);
+		assertTrue(engine.isCharsetDetection());
+		assertEquals(StandardCharsets.UTF_8, engine.getCharset());
+
+		engine.charsetDetection(false).parseFolder(folder, new ParserConfiguration(), (file, result) -> {});
+		assertEquals(1, engine.getProgress().getErrors());
+	}
+
+	@Test
+	public void testParseSourcePredicate(@TempDir Path folder) throws IOException {
+		Path sources = Files.createDirectories(folder.resolve("sources"));
+		Path zip = folder.resolve("sources.zip");
+		Files.writeString(sources.resolve("Utf16.java"), "\ufeffclass Utf16 { static final int X = 1; }",
+				StandardCharsets.UTF_16LE);
+		Files.writeString(sources.resolve("Plain.java"), "class Plain { int x; }");
+
+		try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(zip))) {
+			output.putNextEntry(new ZipEntry("a/W.java"));
+			output.write("class W { static final int X = 1; }".getBytes(StandardCharsets.UTF_8));
+			output.putNextEntry(new ZipEntry("a/V.java"));
+			output.write("class V { int x; }".getBytes(StandardCharsets.UTF_8));
+		}
+
+		Predicate<File> plain = (file) -> file.getName().startsWith("Plain");
+		PredicateCollection<File> either = new PredicateCollection<>(List.of(plain, LexicalPredicates.FILE_CONSTANTS),
+				false, false);
+
+		for (Engine engine : List.of(new Engine(), new Engine().prefetch(2, 1024), new Engine().stages(1, 2, 2))) {
+			Set<String> folderFiles = new ConcurrentSkipListSet<>();
+			Set<String> zipFiles = new ConcurrentSkipListSet<>();
+			Set<String> eitherFiles = new ConcurrentSkipListSet<>();
+
+			engine.parseFolder(sources, new ParserConfiguration(), LexicalPredicates.FILE_CONSTANTS,
+					(file, result) -> folderFiles.add(file.getName()));
+			engine.parseZip(zip, new ParserConfiguration(), LexicalPredicates.FILE_CONSTANTS,
+					(file, result) -> zipFiles.add(file.getName()));
+			engine.parseFolder(sources, new ParserConfiguration(), either,
+					(file, result) -> eitherFiles.add(file.getName()));
+
+			assertEquals(Set.of("Utf16.java"), folderFiles);
+			assertEquals(Set.of("W.java"), zipFiles);
+			assertEquals(Set.of("Plain.java", "Utf16.java"), eitherFiles);
+		}
+	}
+
+	@Test
+	public void testParseStaged(@TempDir Path folder) throws IOException {
+		for (int i = 0; i < 50; i++) {
+			Files.writeString(folder.resolve("Test" + i + ".java"), "class Test" + i + " { void run() {} }");
+		}
+
+		Files.writeString(folder.resolve("Broken.java"), "class Broken {");
+
+		List<String> names = Collections.synchronizedList(new ArrayList<>());
+		Engine engine = new Engine().stages(2, 3, 1).queueDepth(2);
+
+		engine.parseFolder(folder, new ParserConfiguration(), (file) -> !file.getName().equals("Test0.java"),
+				(file, result) -> {
+					result.getResult().flatMap(CompilationUnit::getStorage)
+							.ifPresent((storage) -> assertEquals(file.toPath(), storage.getPath()));
+					names.add(file.getName());
+				});
+
+		Progress progress = engine.getProgress();
+
+		assertTrue(engine.isStaged());
+		assertEquals(50, names.size());
+		assertFalse(names.contains("Test0.java"));
+		assertEquals(51, progress.getFiles());
+		assertEquals(1, progress.getErrors());
+		assertEquals(progress.getTotalBytes(), progress.getBytes());
+		assertFalse(engine.sequential().isStaged());
+	}
+
+	@Test
+	public void testParseStagedFailure(@TempDir Path folder) throws IOException {
+		for (int i = 0; i < 20; i++) {
+			Files.writeString(folder.resolve("Test" + i + ".java"), "class Test" + i + " {}");
+		}
+
+		Engine engine = new Engine().stages(1, 2, 2).queueDepth(1);
+		IllegalStateException failure = new IllegalStateException("handler failed");
+
+		assertSame(failure, assertThrows(IllegalStateException.class,
+				() -> engine.parseFolder(folder, new ParserConfiguration(), (file, result) -> {
+					throw failure;
+				})));
+		assertThrows(UncheckedIOException.class,
+				() -> engine.parseFolder(folder, new ParserConfiguration(), (file) -> {
+					throw new UncheckedIOException(new IOException("filter failed"));
+				}, (file, result) -> {}));
+		assertFalse(engine.getProgress().isRunning());
+	}
+
+	@Test
+	public void testParseStagedFailureNoInterrupt(@TempDir Path folder) throws IOException {
+		for (int i = 0; i < 20; i++) {
+			Files.writeString(folder.resolve("Test" + i + ".java"), "class Test" + i + " {}");
+		}
+
+		Engine engine = new Engine().stages(1, 1, 2).queueDepth(1);
+		IllegalStateException failure = new IllegalStateException("handler failed");
+		CountDownLatch entered = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+		AtomicBoolean interrupted = new AtomicBoolean();
+
+		// the second handler is still in its file, when the first one fails
+		assertSame(failure, assertThrows(IllegalStateException.class,
+				() -> engine.parseFolder(folder, new ParserConfiguration(), (file, result) -> {
+					int call = calls.getAndIncrement();
+
+					try {
+						if (call == 0) {
+							entered.await();
+							throw failure;
+						} else if (call == 1) {
+							entered.countDown();
+							Thread.sleep(200);
+						}
+					} catch (InterruptedException e) {
+						interrupted.set(true);
+					}
+				})));
+		assertFalse(interrupted.get());
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void testParsePrefetch(@TempDir Path folder) throws IOException {
+		for (int i = 0; i < 30; i++) {
+			Files.writeString(folder.resolve("Test" + i + ".java"), "class Test" + i + " { void run() {} }");
+		}
+
+		List<String> names = new ArrayList<>();
+		Thread caller = Thread.currentThread();
+		Engine engine = new Engine().prefetch(2, 100);
+
+		engine.parseFolder(folder, new ParserConfiguration(), (file) -> !file.getName().equals("Test0.java"),
+				(file, result) -> {
+					assertSame(caller, Thread.currentThread());
+					assertTrue(result.isSuccessful());
+					names.add(file.getName());
+				});
+
+		List<String> expected = engine.walk(folder).stream()
+				.map((source) -> source.getPath().getFileName().toString())
+				.filter((name) -> !name.equals("Test0.java"))
+				.collect(Collectors.toList());
+
+		assertTrue(engine.isPrefetching());
+		assertEquals(expected, names);
+		assertEquals(30, engine.getProgress().getFiles());
+		assertFalse(engine.prefetch(0, Engine.DEFAULT_PREFETCH_BYTES).isPrefetching());
+	}
+
+	@Test
+	public void testParseExecutor(@TempDir Path folder) throws IOException {
+		for (int i = 0; i < 40; i++) {
+			Files.writeString(folder.resolve("Test" + i + ".java"), "class Test" + i + " {}");
+		}
+
+		ExecutorService executor = Executors.newCachedThreadPool();
+
+		try {
+			Set<String> names = ConcurrentHashMap.newKeySet();
+			Engine engine = new Engine().executor(executor).stages(2, 2, 16);
+
+			engine.parseFolder(folder, new ParserConfiguration(), (file, result) -> names.add(file.getName()));
+			engine.sequential().prefetch(4, 64).parseFolder(folder, new ParserConfiguration(),
+					(file, result) -> names.remove(file.getName()));
+
+			assertSame(executor, engine.getExecutor().get());
+			assertTrue(names.isEmpty());
+			assertFalse(executor.isShutdown());
+
+			IllegalStateException failure = new IllegalStateException("handler failed");
+
+			assertSame(failure, assertThrows(IllegalStateException.class, () -> engine.stages(1, 1, 1)
+					.parseFolder(folder, new ParserConfiguration(), (file, result) -> {
+						throw failure;
+					})));
+			assertFalse(executor.isShutdown());
+			assertFalse(engine.executor(null).getExecutor().isPresent());
+			assertTrue(engine.virtualThreads().isVirtualThreads());
+			assertFalse(engine.getExecutor().isPresent());
+			assertFalse(engine.executor(executor).isVirtualThreads());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testParseVirtualThreads(@TempDir Path folder) throws IOException, InterruptedException {
+		for (int i = 0; i < 40; i++) {
+			Files.writeString(folder.resolve("Test" + i + ".java"), "class Test" + i + " {}");
+		}
+
+		Set<String> names = ConcurrentHashMap.newKeySet();
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		Engine engine = new Engine().virtualThreads().stages(2, 2, 4);
+
+		engine.parseFolder(folder, new ParserConfiguration(), (file, result) -> {
+			names.add(file.getName());
+			threads.add(Thread.currentThread());
+		});
+		engine.sequential().prefetch(4, 64).parseFolder(folder, new ParserConfiguration(),
+				(file, result) -> names.remove(file.getName()));
+
+		// the executor of every run is shut down at its end
+		assertTrue(names.isEmpty());
+
+		for (Thread thread : threads) {
+			thread.join(1000);
+			assertFalse(thread.isAlive());
+		}
+	}
+
+	@Test
+	public void testScan(@TempDir Path folder) throws IOException {
+		Files.createDirectories(folder.resolve("app"));
+		Files.writeString(folder.resolve("app/Main.java"), "package app; import java.util.List; class Main {");
+		Files.writeString(folder.resolve("app/Other.java"), "package app; class Other {}");
+
+		Map<String, SourceHeader> headers = new HashMap<>();
+		Engine engine = new Engine();
+
+		engine.scanFolder(folder, (file) -> !file.getName().equals("Other.java"),
+				(file, header) -> headers.put(file.getName(), header));
+
+		assertEquals(1, headers.size());
+		assertEquals(List.of("java.util.List"), headers.get("Main.java").getImports());
+		assertEquals(2, engine.getProgress().getFiles());
+
+		headers.clear();
+		engine.scanZip(TestUtils.getInternFile("Analyzed.zip").toPath(), (file) -> true,
+				(file, header) -> headers.put(file.getPath(), header));
+
+		assertFalse(headers.isEmpty());
+		assertTrue(headers.values().stream().allMatch((header) -> header.getTypeName().isPresent()));
+	}
+
+	@Test
+	public void testParseSchedule(@TempDir Path folder) throws IOException {
+		for (int i = 1; i <= 5; i++) {
+			Files.writeString(folder.resolve("Test" + i + ".java"),
+					"class Test" + i + " {" + " void run() {}".repeat(i * 10) + " }");
+		}
+
+		List<String> walk = new ArrayList<>();
+		List<String> largestFirst = new ArrayList<>();
+		Engine engine = new Engine();
+
+		assertEquals(Schedule.AUTO, engine.getSchedule());
+
+		engine.parseFolder(folder, new ParserConfiguration(), (file, result) -> walk.add(file.getName()));
+		engine.schedule(Schedule.LARGEST_FIRST).stages(1, 1, 1).parseFolder(folder, new ParserConfiguration(),
+				(file, result) -> largestFirst.add(file.getName()));
+
+		assertEquals(engine.walk(folder).stream().map((source) -> source.getPath().getFileName().toString())
+				.collect(Collectors.toList()), walk);
+		assertEquals(List.of("Test5.java", "Test4.java", "Test3.java", "Test2.java", "Test1.java"), largestFirst);
+		assertEquals(Schedule.WALK, engine.schedule(Schedule.WALK).getSchedule());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		Engine engine = new Engine();
+		Path folder = TestUtils.getInternFile("analyzed").toPath();
+		Path zip = TestUtils.getInternFile("Analyzed.zip").toPath();
+
+		assertThrows(AssertionError.class, () -> engine.walk(null));
+		assertThrows(AssertionError.class, () -> engine.pathFilter(null));
+		assertThrows(AssertionError.class, () -> engine.charset(null));
+		assertThrows(AssertionError.class, () -> engine.schedule(null));
+		assertThrows(AssertionError.class, () -> engine.scanFolder(folder, null, (file, header) -> {}));
+		assertThrows(FileNotFoundException.class, () -> engine.scanZip(folder, (file) -> true, (file, header) -> {}));
+		assertThrows(IllegalArgumentException.class, () -> engine.stages(0, 1, 1));
+		assertThrows(IllegalArgumentException.class, () -> engine.queueDepth(0));
+		assertThrows(IllegalArgumentException.class, () -> engine.prefetch(-1, 1));
+		assertThrows(IllegalArgumentException.class, () -> engine.prefetch(1, 0));
+		assertThrows(IllegalArgumentException.class, () -> engine.walk(zip));
+
+		assertThrows(AssertionError.class, () -> engine.parseFolder(folder, null, (file, result) -> {}));
+		assertThrows(AssertionError.class, () -> engine.parseFolder(folder, new ParserConfiguration(), null));
+		assertThrows(AssertionError.class, () -> engine.parseZip(null, new ParserConfiguration(), (file, result) -> {}));
+		assertThrows(AssertionError.class,
+				() -> engine.parseFolder(folder, new ParserConfiguration(), null, (file, result) -> {}));
+		assertThrows(IOException.class, () -> engine.parseZip(folder, new ParserConfiguration(), (file, result) -> {}));
+	}
+}
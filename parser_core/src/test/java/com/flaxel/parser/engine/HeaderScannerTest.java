@@ -0,0 +1,91 @@
+package com.flaxel.parser.engine;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.StaticJavaParser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HeaderScannerTest {
+
+	@Test
+	public void testScan() {
+		String source = "/* package wrong; */\n"
+				+ "@Deprecated\n"
+				+ "package com.example.app;\n"
+				+ "\n"
+				+ "import java.util.List;\n"
+				+ "import com.example.core.*;\n"
+				+ "import static com.example.util.Strings.join;\n"
+				+ "import static org.junit.Assert.*;\n"
+				+ "\n"
+				+ "// class Comment {}\n"
+				+ "@SuppressWarnings({ \"class\", \"unchecked\" })\n"
+				+ "@com.example.Marker(type = Object.class)\n"
+				+ "public final class Service<T extends Comparable<T>> extends Base<List<T>>\n"
+				+ "\t\timplements Runnable, com.example.core.Named<T> {\n"
+				+ "\tclass Inner extends Other {}\n"
+				+ "}\n";
+		SourceHeader header = HeaderScanner.scan(source);
+
+		assertEquals("com.example.app", header.getPackageName());
+		assertEquals(List.of("java.util.List", "com.example.core.*"), header.getImports());
+		assertEquals(List.of("com.example.util.Strings.join", "org.junit.Assert.*"), header.getStaticImports());
+		assertEquals(Optional.of("Service"), header.getTypeName());
+		assertEquals(Optional.of("com.example.app.Service"), header.getQualifiedTypeName());
+		assertEquals(List.of("Base", "Runnable", "com.example.core.Named"), header.getSuperTypes());
+	}
+
+	@Test
+	public void testScanTypes() {
+		assertEquals(List.of("A", "B"), HeaderScanner.scan("interface I extends A, B {}").getSuperTypes());
+		assertEquals(List.of("X"), HeaderScanner.scan("enum E implements X { ONE }").getSuperTypes());
+		assertEquals(List.of("X"), HeaderScanner.scan("record R(int a, List<String> b) implements X {}")
+				.getSuperTypes());
+		assertEquals(List.of("Shape"), HeaderScanner.scan("sealed class S extends Shape permits T, U {}")
+				.getSuperTypes());
+		assertEquals(Optional.of("Marker"), HeaderScanner.scan("public @interface Marker {}").getTypeName());
+		assertEquals(Optional.of("Test"), HeaderScanner.scan("class Test {}").getQualifiedTypeName());
+	}
+
+	@Test
+	public void testScanWithoutType() {
+		SourceHeader header = HeaderScanner.scan("/** docs */\n@Generated(\"x\")\npackage com.example;\n");
+
+		assertEquals("com.example", header.getPackageName());
+		assertFalse(header.getTypeName().isPresent());
+		assertFalse(header.getQualifiedTypeName().isPresent());
+		assertEquals(List.of(), header.getSuperTypes());
+		assertFalse(HeaderScanner.scan("").getTypeName().isPresent());
+	}
+
+	@Test
+	public void testOf() {
+		String source = "package com.example; import java.util.*; import static java.lang.Math.max;\n"
+				+ "class Test<T> extends java.util.AbstractList<T> implements Runnable { public void run() {} }";
+		SourceHeader scanned = HeaderScanner.scan(source);
+		SourceHeader parsed = SourceHeader.of(StaticJavaParser.parse(source));
+
+		assertEquals(scanned.getPackageName(), parsed.getPackageName());
+		assertEquals(scanned.getImports(), parsed.getImports());
+		assertEquals(scanned.getStaticImports(), parsed.getStaticImports());
+		assertEquals(scanned.getTypeName(), parsed.getTypeName());
+		assertEquals(List.of("java.util.AbstractList", "Runnable"), parsed.getSuperTypes());
+		assertEquals(scanned.getSuperTypes(), parsed.getSuperTypes());
+		assertTrue(scanned.getNames().containsAll(List.of("AbstractList", "Runnable", "run")));
+		assertTrue(parsed.getNames().containsAll(List.of("AbstractList", "Runnable", "run")));
+		assertTrue(HeaderScanner.scan("import java.util.List; class Test { List list; }").getNames().isEmpty());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(AssertionError.class, () -> HeaderScanner.scan(null));
+		assertThrows(AssertionError.class, () -> SourceHeader.of(null));
+	}
+}
@@ -0,0 +1,89 @@
+package com.flaxel.parser.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrefetcherTest {
+
+	@Test
+	public void testTake() throws IOException {
+		AtomicInteger taken = new AtomicInteger();
+		AtomicInteger ahead = new AtomicInteger();
+		List<SourceTask> tasks = new ArrayList<>();
+
+		for (int i = 0; i < 20; i++) {
+			int index = i;
+			tasks.add(new SourceTask(new File("Test" + i + ".java"), 10, () -> {
+				ahead.accumulateAndGet(index - taken.get(), Math::max);
+				return "class Test" + index + " {}";
+			}, Optional.empty()));
+		}
+
+		try (Prefetcher prefetcher = new Prefetcher(tasks, (file) -> !file.getName().equals("Test5.java"), 2, 30, null)) {
+			for (int i = 0; i < 20; i++) {
+				Prefetcher.Entry entry = prefetcher.take();
+				taken.incrementAndGet();
+
+				assertSame(tasks.get(i), entry.getTask());
+				assertEquals(i != 5, entry.isAccepted());
+				assertEquals(i != 5 ? "class Test" + i + " {}" : null, entry.getContent());
+			}
+
+			assertNull(prefetcher.take());
+		}
+
+		assertTrue(ahead.get() <= 4);
+	}
+
+	@Test
+	public void testTakeWithoutThreads() throws IOException {
+		List<String> events = new ArrayList<>();
+		List<SourceTask> tasks = new ArrayList<>();
+
+		for (int i = 0; i < 3; i++) {
+			String name = "Test" + i + ".java";
+			tasks.add(new SourceTask(new File(name), 10, () -> {
+				events.add("load " + name);
+				return "";
+			}, Optional.empty()));
+		}
+
+		try (Prefetcher prefetcher = new Prefetcher(tasks, (file) -> events.add("filter " + file.getName()), 0, 1, null)) {
+			for (Prefetcher.Entry entry = prefetcher.take(); entry != null; entry = prefetcher.take()) {
+				events.add("take " + entry.getTask().getFile().getName());
+			}
+		}
+
+		assertEquals(List.of("filter Test0.java", "load Test0.java", "take Test0.java", "filter Test1.java",
+				"load Test1.java", "take Test1.java", "filter Test2.java", "load Test2.java", "take Test2.java"),
+				events);
+	}
+
+	@Test
+	public void testTakeFailure() throws IOException {
+		IOException failure = new IOException("read failed");
+		List<SourceTask> tasks = List.of(
+				new SourceTask(new File("Test.java"), 10, () -> "class Test {}", Optional.empty()),
+				new SourceTask(new File("Broken.java"), 10, () -> {
+					throw failure;
+				}, Optional.empty()));
+
+		try (Prefetcher prefetcher = new Prefetcher(tasks, (file) -> true, 1, 100, null)) {
+			assertFalse(prefetcher.take().getContent().isEmpty());
+			assertSame(failure, assertThrows(IOException.class, prefetcher::take));
+		}
+	}
+}
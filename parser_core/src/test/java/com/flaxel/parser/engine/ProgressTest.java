@@ -0,0 +1,49 @@
+package com.flaxel.parser.engine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProgressTest {
+
+	@Test
+	public void test() throws InterruptedException {
+		Progress progress = new Progress();
+
+		assertFalse(progress.isRunning());
+		assertEquals(Duration.ZERO, progress.getElapsedTime());
+		assertEquals(Optional.empty(), progress.getRemainingTime());
+
+		progress.start(4, 400);
+		progress.update(100, true);
+		progress.update(100, false);
+		Thread.sleep(5);
+
+		assertTrue(progress.isRunning());
+		assertEquals(2, progress.getFiles());
+		assertEquals(200, progress.getBytes());
+		assertEquals(1, progress.getErrors());
+		assertEquals(4, progress.getTotalFiles());
+		assertEquals(400, progress.getTotalBytes());
+		assertTrue(progress.getFilesPerSecond() > 0);
+		assertTrue(progress.getBytesPerSecond() > 0);
+		assertTrue(progress.getRemainingTime().isPresent());
+		assertTrue(progress.toString().startsWith("2/4 files"));
+
+		progress.finish();
+		Duration elapsed = progress.getElapsedTime();
+
+		assertFalse(progress.isRunning());
+		assertEquals(elapsed, progress.getElapsedTime());
+
+		progress.start(1, 0);
+
+		assertEquals(0, progress.getFiles());
+		assertEquals(0, progress.getErrors());
+	}
+}
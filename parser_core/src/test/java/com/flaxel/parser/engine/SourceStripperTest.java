@@ -0,0 +1,70 @@
+package com.flaxel.parser.engine;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SourceStripperTest {
+
+	@Test
+	public void testStripBodies() {
+		String source = "class Test {\n"
+				+ "\tString text = \"}\";\n"
+				+ "\tTest() { this.text = \"{\"; }\n"
+				+ "\tvoid run() {\n"
+				+ "\t\t// }\n"
+				+ "\t\tif (text != null) { text.length(); }\n"
+				+ "\t}\n"
+				+ "\t{ run(); }\n"
+				+ "}\n";
+		String stripped = SourceStripper.stripBodies(source);
+
+		assertEquals(source.length(), stripped.length());
+		assertEquals(source.lines().count(), stripped.lines().count());
+		assertFalse(stripped.contains("length"));
+		assertFalse(stripped.contains("this.text"));
+		assertTrue(stripped.contains("String text = \"}\";"));
+
+		CompilationUnit unit = StaticJavaParser.parse(stripped);
+		MethodDeclaration method = unit.findFirst(MethodDeclaration.class).get();
+
+		assertTrue(method.getBody().get().isEmpty());
+		assertEquals(4, method.getBegin().get().line);
+		assertEquals(7, method.getEnd().get().line);
+		assertTrue(unit.findFirst(ConstructorDeclaration.class).get().getBody().isEmpty());
+	}
+
+	@Test
+	public void testKeepTypes() {
+		String source = "enum Test {\n"
+				+ "\tA { void run() {} }, B;\n"
+				+ "\tRunnable runnable = new Runnable() { public void run() {} };\n"
+				+ "\tvoid local() { class Local {} }\n"
+				+ "\tvoid anonymous() { new Object() { public String toString() { return \"\"; } }; }\n"
+				+ "}\n";
+		String stripped = SourceStripper.stripBodies(source);
+		CompilationUnit unit = StaticJavaParser.parse(stripped);
+
+		assertEquals(source, stripped);
+		assertEquals(1, unit.findFirst(EnumConstantDeclaration.class).get().getClassBody().size());
+		assertTrue(unit.findFirst(ClassOrInterfaceDeclaration.class, (type) -> type.isLocalClassDeclaration())
+				.isPresent());
+		assertEquals(2, unit.findAll(ObjectCreationExpr.class).size());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(AssertionError.class, () -> SourceStripper.stripBodies(null));
+	}
+}
@@ -0,0 +1,81 @@
+package com.flaxel.parser.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExportReaderTest {
+
+	private File target;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		target = new File("export.bin");
+		Files.deleteIfExists(target.toPath());
+		target.deleteOnExit();
+	}
+
+	@Test
+	public void test() throws IOException {
+		try (ExportWriter writer = new ExportWriter(target.toPath())) {
+			int main = writer.addFile("Main.java");
+			int test = writer.addFile("Test.java");
+
+			writer.addDeclaration(main, DeclarationKind.CLASS, "Main", 1);
+			writer.addDeclaration(test, DeclarationKind.METHOD, "void test()", 5);
+			writer.addCall(test, "System.out.println(\"ä\")", 6, 9);
+		}
+
+		ExportReader reader = ExportReader.open(target.toPath());
+
+		assertEquals(2, reader.getFileCount());
+		assertEquals("Main.java", reader.getFile(0));
+		assertEquals("Test.java", reader.getFile(1));
+
+		assertEquals(2, reader.getDeclarationCount());
+		assertEquals(0, reader.getDeclarationFile(0));
+		assertEquals(DeclarationKind.CLASS, reader.getDeclarationKind(0));
+		assertEquals("Main", reader.getDeclarationName(0));
+		assertEquals(1, reader.getDeclarationLine(0));
+		assertEquals(1, reader.getDeclarationFile(1));
+		assertEquals(DeclarationKind.METHOD, reader.getDeclarationKind(1));
+		assertEquals("void test()", reader.getDeclarationName(1));
+		assertEquals(5, reader.getDeclarationLine(1));
+
+		assertEquals(1, reader.getCallCount());
+		assertEquals(1, reader.getCallFile(0));
+		assertEquals("System.out.println(\"ä\")", reader.getCall(0));
+		assertEquals(6, reader.getCallLine(0));
+		assertEquals(9, reader.getCallColumn(0));
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		new ExportWriter(target.toPath()).close();
+
+		ExportReader reader = ExportReader.open(target.toPath());
+
+		assertEquals(0, reader.getFileCount());
+		assertEquals(0, reader.getDeclarationCount());
+		assertEquals(0, reader.getCallCount());
+	}
+
+	@Test
+	public void testNonSuccessful() throws IOException {
+		assertThrows(AssertionError.class, () -> ExportReader.open(null));
+		assertThrows(IOException.class, () -> new ExportReader(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4 })));
+		assertThrows(IOException.class, () -> new ExportReader(ByteBuffer.allocate(8).putInt(ExportWriter.MAGIC)
+				.putInt(ExportWriter.VERSION).flip()));
+
+		new ExportWriter(target.toPath()).close();
+
+		assertThrows(IndexOutOfBoundsException.class, () -> ExportReader.open(target.toPath()).getFile(0));
+	}
+}
@@ -0,0 +1,61 @@
+package com.flaxel.parser.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExportWriterTest {
+
+	@Test
+	public void testDeduplication() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		try (ExportWriter writer = new ExportWriter(Channels.newChannel(output))) {
+			int file = writer.addFile("Main.java");
+			writer.addCall(file, "test()", 1, 1);
+			writer.addCall(file, "test()", 2, 1);
+			writer.addCall(file, "Main.java", 3, 1);
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(output.toByteArray());
+
+		assertEquals(ExportWriter.MAGIC, buffer.getInt());
+		assertEquals(ExportWriter.VERSION, buffer.getInt());
+		assertEquals(2, buffer.getInt());
+	}
+
+	@Test
+	public void testLargeString() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		String path = "a".repeat(100_000);
+
+		try (ExportWriter writer = new ExportWriter(Channels.newChannel(output))) {
+			writer.addFile(path);
+		}
+
+		assertEquals(path, new ExportReader(ByteBuffer.wrap(output.toByteArray())).getFile(0));
+	}
+
+	@Test
+	public void testNonSuccessful() throws IOException {
+		assertThrows(AssertionError.class, () -> new ExportWriter((Path) null));
+
+		ExportWriter writer = new ExportWriter(Channels.newChannel(new ByteArrayOutputStream()));
+		int file = writer.addFile("Main.java");
+
+		assertThrows(AssertionError.class, () -> writer.addFile(null));
+		assertThrows(AssertionError.class, () -> writer.addCall(file + 1, "test()", 1, 1));
+		assertThrows(AssertionError.class, () -> writer.addDeclaration(file, null, "Main", 1));
+
+		writer.close();
+
+		assertThrows(IllegalStateException.class, () -> writer.addFile("Test.java"));
+	}
+}
@@ -0,0 +1,38 @@
+package com.flaxel.parser.filter;
+
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CostPredicateTest {
+
+	@Test
+	public void test() {
+		Predicate<String> empty = String::isEmpty;
+		CostPredicate<String> predicate = new CostPredicate<>(empty, CostPredicate.NAME);
+
+		assertTrue(predicate.test(""));
+		assertFalse(predicate.test("test"));
+		assertEquals(empty, predicate.getPredicate());
+		assertEquals(CostPredicate.NAME, predicate.getCost());
+	}
+
+	@Test
+	public void testCostOf() {
+		assertEquals(CostPredicate.IO, CostPredicate.costOf(Predicates.FILE_HIDDEN));
+		assertEquals(CostPredicate.AST, CostPredicate.costOf(Predicates.UNIT_CONSTANTS));
+		assertEquals(CostPredicate.DEFAULT, CostPredicate.costOf((s) -> true));
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(AssertionError.class, () -> new CostPredicate<>(null, CostPredicate.NAME));
+		assertThrows(IllegalArgumentException.class, () -> new CostPredicate<>((s) -> true, -1));
+		assertThrows(AssertionError.class, () -> CostPredicate.costOf(null));
+	}
+}
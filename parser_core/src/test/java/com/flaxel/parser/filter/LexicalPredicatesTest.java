@@ -0,0 +1,101 @@
+package com.flaxel.parser.filter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flaxel.parser.utils.TestUtils;
+import com.github.javaparser.StaticJavaParser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LexicalPredicatesTest {
+
+	@Test
+	public void testFileConstants() throws IOException {
+		File file = TestUtils.getInternFile("filter/unitConstants.txt");
+		String text = TestUtils.readInternFile("filter/unitConstants.txt");
+		assertTrue(LexicalPredicates.FILE_CONSTANTS.testSource(file, text));
+
+		file = TestUtils.getInternFile("filter/fileRead.txt");
+		text = TestUtils.readInternFile("filter/fileRead.txt");
+		assertFalse(LexicalPredicates.FILE_CONSTANTS.testSource(file, text));
+
+		assertTrue(LexicalPredicates.FILE_CONSTANTS.testSource("class A { final public static int B = 1; }"));
+		assertFalse(LexicalPredicates.FILE_CONSTANTS.testSource("class A { static int b; final int c = 1; }"));
+		assertFalse(LexicalPredicates.FILE_CONSTANTS
+				.testSource("class A { /* static final */ String s = \"static final\"; }"));
+		String annotated = "class A { static @Deprecated final int B = 1; }";
+		assertTrue(LexicalPredicates.FILE_CONSTANTS.testSource(annotated));
+		assertTrue(Predicates.UNIT_CONSTANTS.test(StaticJavaParser.parse(annotated)));
+		assertTrue(LexicalPredicates.FILE_CONSTANTS
+				.testSource("class A { public static @a.B(value = (1 + 2), s = \")\") final int C = 1; }"));
+		assertFalse(LexicalPredicates.FILE_CONSTANTS.testSource("class A { static @Deprecated int b; final int c; }"));
+		assertEquals(CostPredicate.TEXT, LexicalPredicates.FILE_CONSTANTS.getCost());
+	}
+
+	@Test
+	public void testContainsIdentifier() {
+		LexicalPredicate predicate = LexicalPredicates.containsIdentifier("Main");
+
+		assertTrue(predicate.testSource("class A { Main main; }"));
+		assertFalse(predicate.testSource("class A { MainTest main; }"));
+		assertFalse(predicate.testSource("class A { // Main\n String s = \"Main\"; char c = '\\''; }"));
+	}
+
+	@Test
+	public void testDeclaresType() {
+		LexicalPredicate predicate = LexicalPredicates.declaresType(".*Test");
+
+		assertTrue(predicate.testSource("public class MainTest {}"));
+		assertTrue(predicate.testSource("@interface AnnotationTest {}"));
+		assertFalse(predicate.testSource("class Main { Class<?> c = MainTest.class; }"));
+		assertFalse(predicate.testSource("class Main { /* class MainTest */ }"));
+	}
+
+	@Test
+	public void testCombination() {
+		LexicalPredicate main = LexicalPredicates.containsIdentifier("Main");
+		LexicalPredicate test = LexicalPredicates.containsIdentifier("Test");
+
+		assertTrue(main.or(test).testSource("class Test {}"));
+		assertFalse(main.and(test).testSource("class Test {}"));
+		assertTrue(main.negate().testSource("class Test {}"));
+		assertTrue(main.negate().test(new File("Main.java")));
+	}
+
+	@Test
+	public void testNoRead() {
+		// the file is never read, the engine tests the source code after it has read the file
+		assertTrue(LexicalPredicates.FILE_CONSTANTS.test(new File("NotExisting.java")));
+		assertTrue(LexicalPredicates.FILE_CONSTANTS.test(TestUtils.getInternFile("filter/fileRead.txt")));
+	}
+
+	@Test
+	public void testPredicateCollection() {
+		File file = new File("Main.java");
+		PredicateCollection<File> all = new PredicateCollection<>(List.of((element) -> true,
+				LexicalPredicates.FILE_CONSTANTS));
+		PredicateCollection<File> any = all.disjunction();
+
+		assertTrue(all.test(file));
+		assertTrue(all.testSource(file, "class A { static final int B = 1; }"));
+		assertFalse(all.testSource(file, "class A {}"));
+		assertTrue(any.testSource(file, "class A {}"));
+		assertFalse(new PredicateCollection<File>(List.of((element) -> false, LexicalPredicates.FILE_CONSTANTS))
+				.disjunction().testSource(file, "class A {}"));
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(AssertionError.class, () -> LexicalPredicates.containsIdentifier(""));
+		assertThrows(AssertionError.class, () -> LexicalPredicates.declaresType(""));
+		assertThrows(AssertionError.class, () -> LexicalPredicates.FILE_CONSTANTS.test(null));
+		assertThrows(AssertionError.class, () -> LexicalPredicates.FILE_CONSTANTS.testSource(null));
+	}
+}
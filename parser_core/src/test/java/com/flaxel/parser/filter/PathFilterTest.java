@@ -0,0 +1,67 @@
+package com.flaxel.parser.filter;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathFilterTest {
+
+	@Test
+	public void testEmpty() {
+		PathFilter filter = new PathFilter();
+
+		assertTrue(filter.isEmpty());
+		assertTrue(filter.test(Path.of("com/flaxel/Main.java")));
+		assertTrue(filter.testFolder(Path.of("com/flaxel")));
+	}
+
+	@Test
+	public void testGlob() {
+		PathFilter filter = new PathFilter().exclude("**/generated/**").exclude("glob:**/*Test.java");
+
+		assertFalse(filter.isEmpty());
+		assertFalse(filter.test(Path.of("generated/Main.java")));
+		assertFalse(filter.test(Path.of("src/generated/com/Main.java")));
+		assertFalse(filter.test(Path.of("src/MainTest.java")));
+		assertTrue(filter.test(Path.of("src/Main.java")));
+
+		assertFalse(filter.testFolder(Path.of("generated")));
+		assertFalse(filter.testFolder(Path.of("src/generated")));
+		assertTrue(filter.testFolder(Path.of("src/generator")));
+	}
+
+	@Test
+	public void testRegex() {
+		PathFilter filter = new PathFilter().exclude("regex:(.*/)?vendor/.*");
+
+		assertFalse(filter.test(Path.of("vendor/Main.java")));
+		assertFalse(filter.test(Path.of("src/vendor/Main.java")));
+		assertFalse(filter.testFolder(Path.of("src/vendor")));
+		assertTrue(filter.testFolder(Path.of("src/vendors")));
+	}
+
+	@Test
+	public void testInclude() {
+		PathFilter filter = new PathFilter(List.of("**/api/**"), List.of("**/internal/**"));
+
+		assertTrue(filter.test(Path.of("src/api/Main.java")));
+		assertFalse(filter.test(Path.of("src/impl/Main.java")));
+		assertFalse(filter.test(Path.of("src/api/internal/Main.java")));
+		assertTrue(filter.testFolder(Path.of("src/impl")));
+		assertFalse(filter.testFolder(Path.of("src/api/internal")));
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(AssertionError.class, () -> new PathFilter().include(""));
+		assertThrows(AssertionError.class, () -> new PathFilter().exclude(null));
+		assertThrows(AssertionError.class, () -> new PathFilter(null, List.of()));
+		assertThrows(AssertionError.class, () -> new PathFilter().test(null));
+		assertThrows(AssertionError.class, () -> new PathFilter().testFolder(null));
+	}
+}
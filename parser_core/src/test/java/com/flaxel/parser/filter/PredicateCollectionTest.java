@@ -5,7 +5,10 @@ import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -31,6 +34,43 @@ public class PredicateCollectionTest {
 		assertTrue(new PredicateCollection<>(PREDICATE_TRUE, PREDICATE_TRUE).disjunction().test("test"));
 	}
 
+	@Test
+	public void testCostOrder() {
+		Predicate<String> expensive = new CostPredicate<>(PREDICATE_TRUE, CostPredicate.AST);
+		Predicate<String> cheap = new CostPredicate<>(PREDICATE_TRUE, CostPredicate.NAME);
+
+		assertEquals(List.of(cheap, expensive, PREDICATE_FALSE),
+				new PredicateCollection<>(expensive, PREDICATE_FALSE, cheap).getPredicates());
+	}
+
+	@Test
+	public void testImmutable() {
+		PredicateCollection<String> collection = new PredicateCollection<>(PREDICATE_FALSE, PREDICATE_TRUE);
+		PredicateCollection<String> disjunction = collection.disjunction();
+
+		assertNotSame(collection, disjunction);
+		assertSame(collection, collection.conjunction());
+		assertTrue(collection.isConjunction());
+		assertFalse(disjunction.isConjunction());
+		assertFalse(collection.test("test"));
+		assertTrue(disjunction.test("test"));
+	}
+
+	@Test
+	public void testAdaptive() {
+		PredicateCollection<String> collection = new PredicateCollection<>(PREDICATE_TRUE, PREDICATE_FALSE)
+				.adaptive(true);
+
+		assertTrue(collection.isAdaptive());
+		assertEquals(List.of(PREDICATE_TRUE, PREDICATE_FALSE), collection.getPredicates());
+
+		for (int i = 0; i < PredicateCollection.REORDER_INTERVAL; i++) {
+			assertFalse(collection.test("test"));
+		}
+
+		assertEquals(List.of(PREDICATE_FALSE, PREDICATE_TRUE), collection.getPredicates());
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void testNonSuccessful() {
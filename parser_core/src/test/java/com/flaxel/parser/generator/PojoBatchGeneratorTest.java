@@ -0,0 +1,51 @@
+package com.flaxel.parser.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.flaxel.parser.utils.TestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PojoBatchGeneratorTest {
+
+	@Test
+	public void testRead() throws IOException {
+		Path spec = TestUtils.getInternFile("generator/PojoBatch.txt").toPath();
+		List<PojoGenerator> generators = new PojoBatchGenerator().read(spec, StandardCharsets.UTF_8);
+
+		assertEquals(2, generators.size());
+		assertEquals(TestUtils.readInternFile("generator/Pojo.txt"), generators.get(0).get().toString());
+		assertEquals("OtherTest", generators.get(1).get().getType(0).getNameAsString());
+	}
+
+	@Test
+	public void testGenerate(@TempDir Path target) throws IOException {
+		Path spec = TestUtils.getInternFile("generator/PojoBatch.txt").toPath();
+		List<Path> files = new PojoBatchGenerator().parallelism(2).generate(spec, target, StandardCharsets.UTF_8);
+
+		assertEquals(List.of(target.resolve("java/parser/test/Test.java"),
+				target.resolve("java/parser/test/OtherTest.java")), files);
+		assertEquals(TestUtils.readInternFile("generator/Pojo.txt"), Files.readString(files.get(0)));
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		PojoBatchGenerator generator = new PojoBatchGenerator();
+
+		assertThrows(AssertionError.class, () -> new PojoBatchGenerator(null));
+		assertThrows(AssertionError.class, () -> generator.parallelism(0));
+		assertThrows(AssertionError.class, () -> generator.parse(null));
+
+		assertThrows(IllegalArgumentException.class, () -> generator.parse(List.of("Test")));
+		assertThrows(IllegalArgumentException.class, () -> generator.parse(List.of("Test name")));
+		assertThrows(IllegalArgumentException.class, () -> generator.parse(List.of("Test name:Unknown")));
+	}
+}
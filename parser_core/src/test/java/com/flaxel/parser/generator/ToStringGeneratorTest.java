@@ -56,6 +56,14 @@ public class ToStringGeneratorTest {
 		assertEquals(TestUtils.readInternFile("generator/ToString.txt"), code);
 	}
 
+	@Test
+	public void testTemplateReuse() throws IOException {
+		new ToStringGenerator(className, fieldTypes, List.of("other1", "other2", "other3")).get();
+		String code = new ToStringGenerator(className, fieldTypes, fieldNames).get().toString();
+
+		assertEquals(TestUtils.readInternFile("generator/ToString.txt"), code);
+	}
+
 	@Test
 	public void testNonSuccessful() {
 		assertThrows(AssertionError.class, () -> new ToStringGenerator("", fieldTypes, fieldNames));
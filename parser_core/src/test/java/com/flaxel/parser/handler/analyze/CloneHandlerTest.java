@@ -0,0 +1,229 @@
+package com.flaxel.parser.handler.analyze;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.flaxel.parser.Analyzer;
+import com.flaxel.parser.handler.analyze.CloneHandler.Clone;
+import com.github.javaparser.StaticJavaParser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CloneHandlerTest {
+
+	private static final String FIRST = "class A {\n"
+			+ "  int sum(int[] values) {\n"
+			+ "    int total = 0;\n"
+			+ "    for (int value : values) {\n"
+			+ "      if (value > 0) { total += value; }\n"
+			+ "    }\n"
+			+ "    return total;\n"
+			+ "  }\n"
+			+ "}";
+
+	private static final String RENAMED = "class B {\n"
+			+ "  long count(long[] items) {\n"
+			+ "    int result = 1;\n"
+			+ "    for (int item : items) {\n"
+			+ "      if (item > 7) { result += item; }\n"
+			+ "    }\n"
+			+ "    return result;\n"
+			+ "  }\n"
+			+ "}";
+
+	private static final String CHANGED = "class C {\n"
+			+ "  int sum(int[] values) {\n"
+			+ "    int total = 0;\n"
+			+ "    for (int value : values) {\n"
+			+ "      if (value < 0) { total -= value; }\n"
+			+ "    }\n"
+			+ "    return total;\n"
+			+ "  }\n"
+			+ "}";
+
+	private static final String RUNS = "class D {\n"
+			+ "  void first() {\n"
+			+ "    a = 1;\n"
+			+ "    b = a + 2;\n"
+			+ "    c = b * 3;\n"
+			+ "    d = c - 4;\n"
+			+ "  }\n"
+			+ "  void second() {\n"
+			+ "    x.run();\n"
+			+ "    e = 1;\n"
+			+ "    f = e + 2;\n"
+			+ "    g = f * 3;\n"
+			+ "    h = g - 4;\n"
+			+ "  }\n"
+			+ "}";
+
+	@Test
+	public void testRenamedClone() {
+		CloneHandler handler = new CloneHandler(new ByteArrayOutputStream()).minNodes(10);
+
+		handler.accept(new File("A.java"), StaticJavaParser.parse(FIRST));
+		handler.accept(new File("B.java"), StaticJavaParser.parse(RENAMED));
+		handler.accept(new File("C.java"), StaticJavaParser.parse(CHANGED));
+
+		List<Clone> clones = handler.getClones();
+
+		// the nested blocks of the clone are not reported again
+		assertEquals(1, clones.size());
+		assertEquals(2, clones.get(0).getCount());
+		assertFalse(clones.get(0).isRun());
+		assertEquals(List.of("A.java:2", "B.java:2"), clones.get(0).getLocations());
+	}
+
+	@Test
+	public void testNestedCloneElsewhere() {
+		CloneHandler handler = new CloneHandler(new ByteArrayOutputStream()).minNodes(10);
+
+		handler.accept(new File("A.java"), StaticJavaParser.parse(FIRST));
+		handler.accept(new File("B.java"), StaticJavaParser.parse(RENAMED));
+		handler.accept(new File("E.java"), StaticJavaParser.parse("class E {\n"
+				+ "  void run(int[] values) {\n"
+				+ "    log(values);\n"
+				+ "    for (int value : values) {\n"
+				+ "      if (value > 0) { total += value; }\n"
+				+ "    }\n"
+				+ "  }\n"
+				+ "}"));
+
+		List<Clone> clones = handler.getClones();
+
+		// the nested block is also enclosed by another fragment, so it is reported with all copies
+		assertEquals(2, clones.size());
+		assertEquals(List.of("A.java:2", "B.java:2"), clones.get(0).getLocations());
+		assertEquals(3, clones.get(1).getCount());
+		assertEquals(List.of("A.java:4", "B.java:4", "E.java:4"), clones.get(1).getLocations());
+	}
+
+	@Test
+	public void testNearDuplicate() {
+		CloneHandler handler = new CloneHandler(new ByteArrayOutputStream()).minNodes(10).window(3);
+
+		handler.accept(new File("D.java"), StaticJavaParser.parse(RUNS));
+
+		List<Clone> clones = handler.getClones();
+
+		assertEquals(1, clones.size());
+		assertTrue(clones.get(0).isRun());
+		assertEquals(List.of("D.java:3", "D.java:10"), clones.get(0).getLocations());
+
+		handler.clear();
+		handler.window(0).accept(new File("D.java"), StaticJavaParser.parse(RUNS));
+
+		assertTrue(handler.getClones().isEmpty());
+	}
+
+	@Test
+	public void testMerge() {
+		CloneIndex all = new CloneIndex(10, 3, 5);
+		CloneIndex first = new CloneIndex(10, 3, 5);
+		CloneIndex second = new CloneIndex(10, 3, 5);
+
+		all.add(new File("A.java"), StaticJavaParser.parse(FIRST)).add(new File("B.java"),
+				StaticJavaParser.parse(RENAMED)).add(new File("D.java"), StaticJavaParser.parse(RUNS));
+		first.add(new File("A.java"), StaticJavaParser.parse(FIRST));
+		second.add(new File("B.java"), StaticJavaParser.parse(RENAMED)).add(new File("D.java"),
+				StaticJavaParser.parse(RUNS));
+
+		CloneIndex merged = new CloneIndex(10, 3, 5).merge(first).merge(second);
+		CloneIndex reversed = new CloneIndex(10, 3, 5).merge(second).merge(first);
+
+		List<List<String>> expected = all.getClones().stream().map(Clone::getLocations).collect(Collectors.toList());
+
+		// the nested block of the clone in B is not reported, although another worker fingerprinted it
+		for (CloneIndex index : List.of(merged, reversed)) {
+			assertEquals(all.getFingerprints(), index.getFingerprints());
+			assertEquals(all.getFragments(), index.getFragments());
+			assertEquals(expected, index.getClones().stream().map(Clone::getLocations).collect(Collectors.toList()));
+			assertFalse(index.getClones().stream().anyMatch((clone) -> clone.getLocations().contains("B.java:4")));
+		}
+	}
+
+	@Test
+	public void testParallel(@TempDir Path folder) throws IOException {
+		ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+		ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+		List<String> sources = List.of(FIRST, RENAMED, CHANGED, RUNS);
+
+		for (int i = 0; i < 16; i++) {
+			Files.writeString(folder.resolve("P" + i + ".java"), sources.get(i % sources.size()));
+		}
+
+		CloneHandler first = new CloneHandler(sequential).minNodes(10);
+		CloneHandler second = new CloneHandler(parallel).minNodes(10);
+
+		Analyzer.analyzeFolder(folder, first);
+		first.printReport();
+
+		try {
+			Analyzer.getEngine().stages(1, 4, 4);
+			Analyzer.analyzeFolder(folder, second);
+			second.printReport();
+		} finally {
+			Analyzer.getEngine().sequential();
+		}
+
+		assertFalse(first.getClones().isEmpty());
+		assertEquals(sequential.toString(), parallel.toString());
+	}
+
+	@Test
+	public void testPrintReport() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		CloneHandler handler = new CloneHandler(output).minNodes(10).maxLocations(1);
+
+		handler.accept(new File("A.java"), StaticJavaParser.parse(FIRST));
+		handler.accept(new File("B.java"), StaticJavaParser.parse(FIRST));
+		handler.accept(new File("C.java"), StaticJavaParser.parse(RENAMED));
+		handler.printReport();
+
+		int nodes = handler.getClones().get(0).getNodes();
+
+		assertEquals(String.format("1 clones in %d fragments, %d distinct%n%n"
+				+ "3 x block of %d nodes%n"
+				+ "\tat A.java:2%n"
+				+ "\t... 2 more%n", handler.getFragments(), handler.getFingerprints(), nodes), output.toString());
+	}
+
+	@Test
+	public void testPrintReportJson() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		CloneHandler handler = new CloneHandler(output).minNodes(10).json(true);
+
+		handler.accept(new File("A.java"), StaticJavaParser.parse(FIRST));
+		handler.accept(new File("B.java"), StaticJavaParser.parse(RENAMED));
+		handler.printReport();
+
+		int nodes = handler.getClones().get(0).getNodes();
+
+		assertEquals(String.format("{\"type\":\"clone\",\"kind\":\"block\",\"nodes\":%d,\"count\":2,"
+				+ "\"locations\":\"A.java:2, B.java:2\"}\n"
+				+ "{\"type\":\"summary\",\"clones\":1,\"fragments\":%d,\"fingerprints\":%d}\n", nodes,
+				handler.getFragments(), handler.getFingerprints()), output.toString());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		CloneHandler handler = new CloneHandler(new ByteArrayOutputStream());
+
+		assertThrows(AssertionError.class, () -> new CloneHandler(null));
+		assertThrows(AssertionError.class, () -> handler.accept(new File("A.java"), null));
+		assertThrows(IllegalArgumentException.class, () -> handler.minNodes(0));
+		assertThrows(IllegalArgumentException.class, () -> handler.window(-1));
+		assertThrows(IllegalArgumentException.class, () -> handler.maxLocations(-1));
+	}
+}
@@ -0,0 +1,57 @@
+package com.flaxel.parser.handler.analyze;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flaxel.parser.filter.Predicates;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompositeHandlerTest {
+
+	@Test
+	public void testAccept() {
+		CompilationUnit unit = StaticJavaParser.parse("class Test { static final int VALUE = 1; }");
+		File source = new File("Test.java");
+		List<String> calls = new ArrayList<>();
+
+		CompositeHandler handler = new CompositeHandler()
+				.add((file, result) -> calls.add("all"))
+				.add(Predicates.UNIT_CONSTANTS, (file, result) -> calls.add("constants"))
+				.add((result) -> false, (file, result) -> calls.add("none"));
+		handler.accept(source, unit);
+
+		assertEquals(3, handler.size());
+		assertEquals(List.of("all", "constants"), calls);
+	}
+
+	@Test
+	public void testDeclarationsOnly() {
+		ListClassHandler listClass = new ListClassHandler(new ByteArrayOutputStream());
+
+		assertFalse(new CompositeHandler().isDeclarationsOnly());
+		assertTrue(new CompositeHandler().add(listClass).isDeclarationsOnly());
+		assertTrue(new CompositeHandler().add(Predicates.UNIT_CONSTANTS, listClass).isDeclarationsOnly());
+		assertFalse(new CompositeHandler().add((unit) -> true, listClass).isDeclarationsOnly());
+		assertFalse(new CompositeHandler().add(listClass).add((file, unit) -> {}).isDeclarationsOnly());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		CompositeHandler handler = new CompositeHandler();
+
+		assertThrows(AssertionError.class, () -> handler.add(null));
+		assertThrows(AssertionError.class, () -> handler.add(null, (file, unit) -> {}));
+		assertThrows(AssertionError.class, () -> handler.accept(null, new CompilationUnit()));
+		assertThrows(AssertionError.class, () -> handler.accept(new File("Test.java"), null));
+	}
+}
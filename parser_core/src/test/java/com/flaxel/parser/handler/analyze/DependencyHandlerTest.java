@@ -0,0 +1,71 @@
+package com.flaxel.parser.handler.analyze;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flaxel.parser.dependency.DependencyGraph;
+import com.flaxel.parser.dependency.DependencyLevel;
+import com.flaxel.parser.engine.DeclarationsOnly;
+import com.flaxel.parser.engine.HeaderScanner;
+import com.github.javaparser.StaticJavaParser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DependencyHandlerTest {
+
+	private static final List<String> SOURCES = List.of(
+			"package app; import core.Model; class Main {}",
+			"package core; import app.Main; public class Model {}",
+			"package core; class View extends Model {}");
+
+	@Test
+	public void testPrintReport() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DependencyHandler handler = new DependencyHandler(output, DependencyLevel.PACKAGE)
+				.layers(List.of("app", "core"));
+
+		for (String source : SOURCES) {
+			handler.accept(new File("Test.java"), StaticJavaParser.parse(source));
+		}
+
+		handler.printReport();
+
+		assertTrue(DeclarationsOnly.test(handler));
+		assertEquals(String.format("cycle of 2: app, core%n"
+				+ "layer violation: core -> app%n"
+				+ "2 nodes, 2 edges, 1 cycles, 1 layer violations%n"), output.toString());
+	}
+
+	@Test
+	public void testPrintReportJson() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DependencyHandler handler = new DependencyHandler(output, DependencyLevel.CLASS).json(true);
+
+		for (String source : SOURCES) {
+			handler.getHeaderHandler().accept(new File("Test.java"), HeaderScanner.scan(source));
+		}
+
+		DependencyGraph graph = handler.getGraph();
+		handler.printReport();
+
+		assertEquals(3, graph.size());
+		assertTrue(graph.hasEdge(graph.indexOf("core.View"), graph.indexOf("core.Model")));
+		assertEquals("{\"type\":\"cycle\",\"size\":2,\"nodes\":\"app.Main, core.Model\"}\n"
+				+ "{\"type\":\"summary\",\"nodes\":3,\"edges\":3,\"cycles\":1,\"violations\":0}\n", output.toString());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		DependencyHandler handler = new DependencyHandler(new ByteArrayOutputStream(), DependencyLevel.CLASS);
+
+		assertThrows(AssertionError.class, () -> new DependencyHandler(null, DependencyLevel.CLASS));
+		assertThrows(AssertionError.class, () -> new DependencyHandler(new ByteArrayOutputStream(), null));
+		assertThrows(AssertionError.class, () -> handler.layers(null));
+		assertThrows(AssertionError.class, () -> handler.accept(new File("Test.java"), null));
+	}
+}
@@ -0,0 +1,70 @@
+package com.flaxel.parser.handler.analyze;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.flaxel.parser.export.DeclarationKind;
+import com.flaxel.parser.export.ExportReader;
+import com.flaxel.parser.export.ExportWriter;
+import com.flaxel.parser.utils.TestUtils;
+import com.github.javaparser.StaticJavaParser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExportHandlerTest {
+
+	private File target;
+
+	private File source;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		target = new File("export.bin");
+		Files.deleteIfExists(target.toPath());
+		target.deleteOnExit();
+
+		source = TestUtils.getInternFile("handler/unit/ListMethodCallSource.txt");
+	}
+
+	@Test
+	public void test() throws IOException {
+		try (ExportWriter writer = new ExportWriter(target.toPath())) {
+			new ExportHandler(writer).accept(source, StaticJavaParser.parse(source));
+		}
+
+		ExportReader reader = ExportReader.open(target.toPath());
+
+		assertEquals(1, reader.getFileCount());
+		assertEquals(source.getAbsolutePath(), reader.getFile(0));
+
+		assertEquals(5, reader.getDeclarationCount());
+		assertEquals(DeclarationKind.CLASS, reader.getDeclarationKind(0));
+		assertEquals("ListMethodCallSource", reader.getDeclarationName(0));
+		assertEquals(5, reader.getDeclarationLine(0));
+		assertEquals(DeclarationKind.CONSTRUCTOR, reader.getDeclarationKind(1));
+		assertEquals(DeclarationKind.FIELD, reader.getDeclarationKind(2));
+		assertEquals("test1", reader.getDeclarationName(2));
+		assertEquals(DeclarationKind.METHOD, reader.getDeclarationKind(4));
+		assertEquals("void setTest2(String test2)", reader.getDeclarationName(4));
+
+		assertEquals(3, reader.getCallCount());
+		assertEquals("Objects.requireNonNull(test1)", reader.getCall(0));
+		assertEquals(12, reader.getCallLine(0));
+	}
+
+	@Test
+	public void testNonSuccessful() throws IOException {
+		assertThrows(AssertionError.class, () -> new ExportHandler(null));
+
+		try (ExportWriter writer = new ExportWriter(target.toPath())) {
+			assertThrows(AssertionError.class, () -> new ExportHandler(writer).accept(source, null));
+			assertThrows(AssertionError.class,
+					() -> new ExportHandler(writer).accept(null, StaticJavaParser.parse(source)));
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.flaxel.parser.handler.analyze;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flaxel.parser.metrics.Metric;
+import com.flaxel.parser.metrics.MetricsAccumulator;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.StaticJavaParser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsHandlerTest {
+
+	private static final String SOURCE = "class Main {\n"
+			+ "  int max(int a, int b) {\n"
+			+ "    return a > b ? a : b;\n"
+			+ "  }\n"
+			+ "}";
+
+	@Test
+	public void testDetails() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MetricsHandler handler = new MetricsHandler(output).details(true);
+
+		handler.accept(new File("Main.java"), StaticJavaParser.parse(SOURCE));
+
+		assertEquals(String.format("file Main.java: lines 5, classes 1%n"
+				+ "class Main at Main.java:1: lines 5, methods 1, fan-out 0%n"
+				+ "method Main.max at Main.java:2: lines 3, complexity 2, nesting 0, parameters 2, fan-out 0%n"),
+				output.toString());
+	}
+
+	@Test
+	public void testPrintReportJson() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MetricsHandler handler = new MetricsHandler(output).json(true);
+
+		handler.accept(new File("Main.java"), StaticJavaParser.parse(SOURCE));
+		handler.printReport();
+
+		String report = output.toString();
+
+		assertTrue(report.contains("{\"type\":\"metric\",\"name\":\"method.complexity\",\"count\":1,\"min\":2,"
+				+ "\"mean\":2.0,\"p50\":2,\"p90\":2,\"p99\":2,\"max\":2}\n"));
+		assertTrue(report.endsWith("{\"type\":\"summary\",\"files\":1,\"classes\":1,\"methods\":1}\n"));
+	}
+
+	@Test
+	public void testParallel() throws InterruptedException {
+		MetricsHandler handler = new MetricsHandler(new ByteArrayOutputStream());
+		List<Thread> threads = new ArrayList<>();
+
+		for (int i = 0; i < 4; i++) {
+			Thread thread = new Thread(() -> {
+				JavaParser parser = new JavaParser();
+
+				for (int j = 0; j < 25; j++) {
+					handler.accept(new File("Main.java"), parser.parse(SOURCE).getResult().get());
+				}
+			});
+
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		MetricsAccumulator accumulator = handler.getAccumulator();
+
+		assertEquals(100, accumulator.getFiles());
+		assertEquals(100, accumulator.getDistribution(Metric.METHOD_PARAMETERS).getCount());
+		assertEquals(200, accumulator.getDistribution(Metric.METHOD_PARAMETERS).getSum());
+
+		handler.clear();
+
+		assertEquals(0, handler.getAccumulator().getFiles());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		MetricsHandler handler = new MetricsHandler(new ByteArrayOutputStream());
+
+		assertThrows(AssertionError.class, () -> new MetricsHandler(null));
+		assertThrows(AssertionError.class, () -> handler.accept(new File("Main.java"), null));
+		assertThrows(AssertionError.class, () -> handler.accept(null, StaticJavaParser.parse(SOURCE)));
+	}
+}
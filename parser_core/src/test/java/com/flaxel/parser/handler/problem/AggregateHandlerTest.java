@@ -0,0 +1,100 @@
+package com.flaxel.parser.handler.problem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.JavaToken;
+import com.github.javaparser.Position;
+import com.github.javaparser.Problem;
+import com.github.javaparser.Range;
+import com.github.javaparser.TokenRange;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AggregateHandlerTest {
+
+	private TokenRange range;
+
+	@BeforeEach
+	public void setup() {
+		JavaToken token = new JavaToken(new Range(new Position(3, 7), new Position(3, 9)), 1, "test", null, null);
+		this.range = new TokenRange(token, token);
+	}
+
+	@Test
+	public void testAggregate() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		AggregateHandler handler = new AggregateHandler(output).maxLocations(2);
+
+		for (int i = 0; i < 4; i++) {
+			handler.accept(new File("Test" + i + ".java"), List.of(new Problem("broken", range, null)));
+		}
+
+		handler.accept(new File("Other.java"), List.of(new Problem("other", null, null)));
+
+		List<AggregateHandler.Group> groups = handler.getGroups();
+
+		assertEquals(5, handler.getFiles());
+		assertEquals(5, handler.getProblems());
+		assertEquals(2, groups.size());
+		assertEquals("broken", groups.get(0).getMessage());
+		assertEquals(4, groups.get(0).getCount());
+		assertEquals(List.of("Test0.java:3:7", "Test1.java:3:7"), groups.get(0).getLocations());
+		assertEquals(List.of("Other.java"), groups.get(1).getLocations());
+
+		handler.printSummary();
+		String summary = output.toString(StandardCharsets.UTF_8);
+
+		assertTrue(summary.startsWith(String.format("5 problems in 5 files%n")));
+		assertTrue(summary.contains(String.format("4 x broken%n\tat Test0.java:3:7%n\tat Test1.java:3:7%n\t... 2 more%n")));
+	}
+
+	@Test
+	public void testMaxGroups() {
+		AggregateHandler handler = new AggregateHandler(new ByteArrayOutputStream()).maxGroups(1).maxLocations(0);
+
+		handler.accept(new File("Test.java"), List.of(new Problem("first", range, null),
+				new Problem("second", range, null), new Problem("third", range, null)));
+
+		List<AggregateHandler.Group> groups = handler.getGroups();
+
+		assertEquals(2, groups.size());
+		assertEquals(AggregateHandler.OTHER_MESSAGE, groups.get(1).getMessage());
+		assertEquals(2, groups.get(1).getCount());
+		assertTrue(groups.get(1).getLocations().isEmpty());
+
+		handler.clear();
+		assertTrue(handler.getGroups().isEmpty());
+		assertEquals(0, handler.getProblems());
+	}
+
+	@Test
+	public void testJson() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		AggregateHandler handler = new AggregateHandler(output).json(true);
+
+		handler.accept(new File("Test.java"), List.of(new Problem("broken", range, null)));
+		handler.printSummary();
+
+		assertEquals("{\"message\":\"broken\",\"count\":1,\"locations\":\"Test.java:3:7\"}\n",
+				output.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		AggregateHandler handler = new AggregateHandler(new ByteArrayOutputStream());
+
+		assertThrows(AssertionError.class, () -> new AggregateHandler(null));
+		assertThrows(AssertionError.class, () -> handler.accept(null, List.of(new Problem("test", range, null))));
+		assertThrows(AssertionError.class, () -> handler.accept(new File("Test.java"), List.of()));
+		assertThrows(IllegalArgumentException.class, () -> handler.maxLocations(-1));
+		assertThrows(IllegalArgumentException.class, () -> handler.maxGroups(-1));
+	}
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import com.flaxel.parser.utils.JsonUtils;
 import com.flaxel.parser.utils.TestUtils;
 import com.github.javaparser.JavaToken;
 import com.github.javaparser.Position;
@@ -76,6 +77,19 @@ public class OutputHandlerTest {
 		assertEquals(TestUtils.readInternFile("handler/problem/ProblemOutput.txt"), content);
 	}
 
+	@Test
+	public void testJson() throws IOException {
+		OutputHandler handler = new OutputHandler(Files.newOutputStream(problemsFile.toPath())).json(true);
+		handler.accept(file, problems);
+
+		List<String> lines = Files.readAllLines(problemsFile.toPath());
+
+		String first = JsonUtils.line("file", "test.java", "message", problems.get(0).getVerboseMessage());
+		String second = JsonUtils.line("file", "test.java", "message", problems.get(1).getVerboseMessage());
+
+		assertEquals(List.of(first.strip(), second.strip()), lines);
+	}
+
 	@Test
 	public void testNonSuccessful() {
 		assertThrows(AssertionError.class, () -> new OutputHandler(null));
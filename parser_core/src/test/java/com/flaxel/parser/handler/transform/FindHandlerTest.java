@@ -5,6 +5,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +19,7 @@ import com.github.javaparser.printer.YamlPrinter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FindHandlerTest {
 
@@ -51,6 +53,28 @@ public class FindHandlerTest {
 				Files.readAllLines(target.toPath()));
 	}
 
+	@Test
+	public void testJson() throws IOException {
+		new FindHandler(new FileOutputStream(target), "Main").json(true).accept(source,
+				StaticJavaParser.parse(source));
+
+		List<String> lines = Files.readAllLines(target.toPath());
+
+		assertEquals(4, lines.size());
+		lines.forEach((line) -> {
+			assertTrue(line.startsWith("{\"file\":"));
+			assertTrue(line.endsWith("\"match\":\"Main\"}"));
+		});
+	}
+
+	@Test
+	public void testFind() throws IOException {
+		new FindHandler(new FileOutputStream(target), "Main").json(true).find(source,
+				Files.readString(source.toPath()));
+
+		assertEquals(4, Files.readAllLines(target.toPath()).size());
+	}
+
 	@Test
 	public void testNonSuccessful() {
 		File file = TestUtils.getInternFile("handler/unit/RenameSource.txt");
@@ -63,5 +87,6 @@ public class FindHandlerTest {
 		assertThrows(AssertionError.class, () -> new FindHandler(System.out, "test").accept(file, null));
 		assertThrows(AssertionError.class,
 				() -> new FindHandler(System.out, "test").accept(null, StaticJavaParser.parse(file)));
+		assertThrows(AssertionError.class, () -> new FindHandler(System.out, "test").find(file, null));
 	}
 }
@@ -1,22 +1,28 @@
 package com.flaxel.parser.handler.transform;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.flaxel.parser.utils.TestUtils;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.printer.YamlPrinter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RenameHandlerTest {
 
@@ -58,6 +64,53 @@ public class RenameHandlerTest {
 				Files.readAllLines(target.toPath()));
 	}
 
+	@Test
+	public void testReplaceSource(@TempDir Path folder) throws IOException, URISyntaxException {
+		Path copy = Files.copy(source.toPath(), folder.resolve("Main.java"));
+
+		new RenameHandler("Main", (old) -> "Test").accept(copy.toFile(), StaticJavaParser.parse(copy));
+
+		assertEquals(Files.readAllLines(TestUtils.getInternPath("handler/unit/Rename.txt")),
+				Files.readAllLines(copy));
+		assertEquals(1, Files.list(folder).count());
+	}
+
+	@Test
+	public void testReplaceSourceSync(@TempDir Path folder) throws IOException, URISyntaxException {
+		Path copy = Files.copy(source.toPath(), folder.resolve("Main.java"));
+
+		new RenameHandler("Main", (old) -> "Test").sync(true).accept(copy.toFile(), StaticJavaParser.parse(copy));
+
+		assertEquals(Files.readAllLines(TestUtils.getInternPath("handler/unit/Rename.txt")),
+				Files.readAllLines(copy));
+		assertEquals(1, Files.list(folder).count());
+	}
+
+	@Test
+	public void testReplaceSourceFailed(@TempDir Path folder) {
+		// a source file, which cannot be replaced, is reported and does not stop the run
+		File missing = folder.resolve("missing/Main.java").toFile();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		new RenameHandler("Main", (old) -> "Test").verbose(output)
+				.accept(missing, StaticJavaParser.parse("public class Main {}"));
+
+		assertTrue(output.toString().contains("The file " + missing + " could not be replaced"));
+		assertFalse(missing.exists());
+	}
+
+	@Test
+	public void testReplaceSourceUnmappable(@TempDir Path folder) throws IOException {
+		// a character, which the default charset cannot encode, must not empty the file
+		Path copy = folder.resolve("Main.java");
+		Files.writeString(copy, "public class Main {\n}\n");
+
+		new RenameHandler("Main", (old) -> "Test\u00e4\u20ac").accept(copy.toFile(), StaticJavaParser.parse(copy));
+
+		assertTrue(new String(Files.readAllBytes(copy), Charset.defaultCharset()).startsWith("public class Test"));
+		assertEquals(1, Files.list(folder).count());
+	}
+
 	@Test
 	public void testNonSuccessful() {
 		File file = TestUtils.getInternFile("handler/unit/RenameSource.txt");
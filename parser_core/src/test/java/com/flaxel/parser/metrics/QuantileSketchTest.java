@@ -0,0 +1,84 @@
+package com.flaxel.parser.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuantileSketchTest {
+
+	@Test
+	public void testQuantile() {
+		QuantileSketch sketch = new QuantileSketch();
+
+		for (int value = 0; value <= 100_000; value++) {
+			sketch.add(value);
+		}
+
+		assertEquals(100_001, sketch.getCount());
+		assertEquals(0, sketch.getMin());
+		assertEquals(100_000, sketch.getMax());
+		assertEquals(50_000.0, sketch.getMean());
+		assertEquals(0, sketch.getQuantile(0));
+		assertEquals(100_000, sketch.getQuantile(1));
+		assertTrue(Math.abs(sketch.getQuantile(0.5) - 50_000) <= 50_000 * QuantileSketch.ACCURACY);
+		assertTrue(Math.abs(sketch.getQuantile(0.99) - 99_000) <= 99_000 * QuantileSketch.ACCURACY);
+	}
+
+	@Test
+	public void testSmallValues() {
+		QuantileSketch sketch = new QuantileSketch();
+
+		for (int value = 1; value <= 40; value++) {
+			sketch.add(value);
+		}
+
+		for (int value = 1; value <= 40; value++) {
+			assertEquals(value, sketch.getQuantile(Math.min(1, (value - 0.9) / 39)));
+		}
+	}
+
+	@Test
+	public void testMerge() {
+		QuantileSketch all = new QuantileSketch();
+		QuantileSketch first = new QuantileSketch();
+		QuantileSketch second = new QuantileSketch();
+
+		for (int value = 0; value < 10_000; value++) {
+			all.add(value * 7 % 1000);
+			(value % 2 == 0 ? first : second).add(value * 7 % 1000);
+		}
+
+		first.merge(second).merge(new QuantileSketch());
+
+		assertEquals(all.getCount(), first.getCount());
+		assertEquals(all.getSum(), first.getSum());
+		assertEquals(all.getMin(), first.getMin());
+		assertEquals(all.getMax(), first.getMax());
+
+		for (double quantile = 0; quantile <= 1; quantile += 0.05) {
+			assertEquals(all.getQuantile(quantile), first.getQuantile(quantile));
+		}
+	}
+
+	@Test
+	public void testEmpty() {
+		QuantileSketch sketch = new QuantileSketch();
+
+		assertEquals(0, sketch.getCount());
+		assertEquals(0, sketch.getMin());
+		assertEquals(0, sketch.getMax());
+		assertEquals(0.0, sketch.getMean());
+		assertEquals(0, sketch.getQuantile(0.5));
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		QuantileSketch sketch = new QuantileSketch();
+
+		assertThrows(IllegalArgumentException.class, () -> sketch.add(-1));
+		assertThrows(IllegalArgumentException.class, () -> sketch.getQuantile(-0.1));
+		assertThrows(IllegalArgumentException.class, () -> sketch.getQuantile(1.1));
+	}
+}
@@ -0,0 +1,106 @@
+package com.flaxel.parser.metrics;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.StaticJavaParser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class UnitMetricsTest {
+
+	private static final String SOURCE = "package app;\n"
+			+ "import java.util.List;\n"
+			+ "public class Main {\n"
+			+ "  private List<Model> models;\n"
+			+ "  public Main(Model model) { models = List.of(model); }\n"
+			+ "  int check(int a, int b) {\n"
+			+ "    if (a > 0 && b > 0) {\n"
+			+ "      for (Model model : models) {\n"
+			+ "        while (model.next()) { model.update(); }\n"
+			+ "      }\n"
+			+ "    } else if (a < 0) {\n"
+			+ "      return a > b ? a : b;\n"
+			+ "    } else {\n"
+			+ "      try { model(); } catch (RuntimeException e) { return -1; }\n"
+			+ "    }\n"
+			+ "    switch (a) { case 1: return 1; case 2: return 2; default: return 0; }\n"
+			+ "  }\n"
+			+ "  static class Model {\n"
+			+ "    boolean next() { return false; }\n"
+			+ "    void update() {}\n"
+			+ "  }\n"
+			+ "}\n";
+
+	@Test
+	public void testOf() {
+		UnitMetrics metrics = UnitMetrics.of(StaticJavaParser.parse(SOURCE));
+
+		assertEquals(22, metrics.getLines());
+
+		List<ClassMetrics> classes = metrics.getClasses();
+		assertEquals(2, classes.size());
+		assertEquals("app.Main", classes.get(0).getName());
+		assertEquals(3, classes.get(0).getLine());
+		assertEquals(20, classes.get(0).getLines());
+		assertEquals(2, classes.get(0).getMethods());
+		assertEquals(Set.of("List", "Model", "RuntimeException"), classes.get(0).getDependencies());
+		assertEquals("app.Main.Model", classes.get(1).getName());
+		assertEquals(0, classes.get(1).getFanOut());
+
+		List<MethodMetrics> methods = metrics.getMethods();
+		assertEquals(4, methods.size());
+		assertEquals("Main", methods.get(0).getName());
+		assertEquals(1, methods.get(0).getComplexity());
+		assertEquals(1, methods.get(0).getFanOut());
+
+		MethodMetrics check = methods.get(1);
+		assertEquals("app.Main", check.getClassName());
+		assertEquals("check", check.getName());
+		assertEquals(6, check.getLine());
+		assertEquals(12, check.getLines());
+		// if, &&, for, while, else if, ?:, catch and two cases
+		assertEquals(10, check.getComplexity());
+		assertEquals(3, check.getNesting());
+		assertEquals(2, check.getParameters());
+		assertEquals(3, check.getFanOut());
+		assertEquals("app.Main.Model", methods.get(2).getClassName());
+	}
+
+	@Test
+	public void testAccumulator() {
+		UnitMetrics metrics = UnitMetrics.of(StaticJavaParser.parse(SOURCE));
+		UnitMetrics other = UnitMetrics.of(StaticJavaParser.parse("class Other { Main main; Model model; }"));
+		MetricsAccumulator first = new MetricsAccumulator().add(metrics);
+		MetricsAccumulator second = new MetricsAccumulator().add(other).add(metrics);
+
+		first.merge(second);
+
+		assertEquals(3, first.getFiles());
+		assertEquals(5, first.getClasses());
+		assertEquals(8, first.getMethods());
+		assertEquals(10, first.getDistribution(Metric.METHOD_COMPLEXITY).getMax());
+
+		// Main is used by Other, Model by both Main classes and Other
+		QuantileSketch fanIn = first.getDistribution(Metric.CLASS_FAN_IN);
+		assertEquals(5, fanIn.getCount());
+		assertEquals(0, fanIn.getMin());
+		assertEquals(3, fanIn.getMax());
+		assertEquals(1 + 1 + 3 + 3 + 0, fanIn.getSum());
+
+		first.clear();
+
+		assertEquals(0, first.getFiles());
+		assertEquals(0, first.getDistribution(Metric.CLASS_FAN_IN).getCount());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(AssertionError.class, () -> UnitMetrics.of(null));
+		assertThrows(AssertionError.class, () -> new MetricsAccumulator().add(null));
+		assertThrows(AssertionError.class, () -> new MetricsAccumulator().merge(null));
+	}
+}
@@ -0,0 +1,57 @@
+package com.flaxel.parser.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CharsetDetectorTest {
+
+	@Test
+	public void testDetectBom() {
+		ByteBuffer utf8 = ByteBuffer.wrap(new byte[] { (byte) 0xef, (byte) 0xbb, (byte) 0xbf, 'a' });
+		ByteBuffer utf16be = ByteBuffer.wrap(new byte[] { (byte) 0xfe, (byte) 0xff, 0, 'a' });
+		ByteBuffer utf16le = ByteBuffer.wrap(new byte[] { (byte) 0xff, (byte) 0xfe, 'a', 0 });
+
+		assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect(utf8, StandardCharsets.UTF_8));
+		assertEquals(3, utf8.position());
+		assertEquals(StandardCharsets.UTF_16BE, CharsetDetector.detect(utf16be, StandardCharsets.ISO_8859_1));
+		assertEquals(2, utf16be.position());
+		assertEquals(StandardCharsets.UTF_16LE, CharsetDetector.detect(utf16le, StandardCharsets.UTF_8));
+		assertEquals(2, utf16le.position());
+	}
+
+	@Test
+	public void testDetectScan() {
+		assertEquals(StandardCharsets.US_ASCII, CharsetDetector.detect("class Test {}".getBytes()));
+		assertEquals(StandardCharsets.US_ASCII, CharsetDetector.detect(new byte[0]));
+		assertEquals(StandardCharsets.UTF_8,
+				CharsetDetector.detect("String s = \"ä€😀\";".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(CharsetDetector.LEGACY_CHARSET,
+				CharsetDetector.detect("char c = 'ä';".getBytes(StandardCharsets.ISO_8859_1)));
+		assertEquals(CharsetDetector.LEGACY_CHARSET, CharsetDetector.detect(new byte[] { 'a', (byte) 0xc3 }));
+		assertEquals(StandardCharsets.UTF_16LE,
+				CharsetDetector.detect("class Test {}".getBytes(StandardCharsets.UTF_16LE)));
+		assertEquals(StandardCharsets.UTF_16BE,
+				CharsetDetector.detect("class Test {}".getBytes(StandardCharsets.UTF_16BE)));
+	}
+
+	@Test
+	public void testDetectFallback() {
+		byte[] bytes = "String s = \"ä\";".getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(StandardCharsets.ISO_8859_1, CharsetDetector.detect(ByteBuffer.wrap(bytes),
+				StandardCharsets.ISO_8859_1));
+		assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect(ByteBuffer.wrap(bytes), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(AssertionError.class, () -> CharsetDetector.detect(null));
+		assertThrows(AssertionError.class, () -> CharsetDetector.detect(null, StandardCharsets.UTF_8));
+		assertThrows(AssertionError.class, () -> CharsetDetector.detect(ByteBuffer.allocate(0), null));
+	}
+}
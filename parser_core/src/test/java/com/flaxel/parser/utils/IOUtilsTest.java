@@ -0,0 +1,112 @@
+package com.flaxel.parser.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class IOUtilsTest {
+
+	private String text;
+
+	@BeforeEach
+	public void setup() {
+		// multi-byte characters cross the chunk boundaries
+		this.text = "class T\u00e4st { String s = \"\u20ac\"; }\n".repeat(1000);
+	}
+
+	@Test
+	public void testWriteWriter() throws IOException {
+		StringWriter writer = new StringWriter();
+
+		assertEquals(text.length(), IOUtils.write(text, writer));
+		assertEquals(text, writer.toString());
+
+		writer = new StringWriter();
+		IOUtils.write(new StringBuilder(text), writer);
+		assertEquals(text, writer.toString());
+	}
+
+	@Test
+	public void testWriteChannel() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		long written = IOUtils.write(text, Channels.newChannel(output), StandardCharsets.UTF_8);
+
+		assertEquals(text.getBytes(StandardCharsets.UTF_8).length, written);
+		assertEquals(text, output.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testWriteAtomic(@TempDir Path folder) throws IOException {
+		Path path = folder.resolve("Test.java");
+		Files.writeString(path, "old content");
+
+		long written = IOUtils.writeAtomic(text, path, StandardCharsets.UTF_8);
+
+		assertEquals(Files.size(path), written);
+		assertEquals(text, Files.readString(path));
+		assertEquals(1, Files.list(folder).count());
+	}
+
+	@Test
+	public void testWriteAtomicBytes(@TempDir Path folder) throws IOException {
+		Path path = folder.resolve("Test.java");
+		byte[] content = text.getBytes(StandardCharsets.UTF_8);
+		Files.writeString(path, "old content");
+
+		assertEquals(content.length, IOUtils.writeAtomic(content, path, false));
+		assertEquals(text, Files.readString(path));
+
+		assertEquals(content.length, IOUtils.writeAtomic(content, path, true));
+		assertEquals(text, Files.readString(path));
+		assertEquals(1, Files.list(folder).count());
+	}
+
+	@Test
+	public void testWriteAtomicPermissions(@TempDir Path folder) throws IOException {
+		assumeTrue(folder.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+		Path path = folder.resolve("Test.java");
+		Files.writeString(path, "old content");
+		Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-r-----"));
+
+		IOUtils.writeAtomic(text, path, StandardCharsets.UTF_8);
+		assertEquals(PosixFilePermissions.fromString("rw-r-----"), Files.getPosixFilePermissions(path));
+
+		// a new file gets the same permissions as any other new file
+		Path created = Files.createFile(folder.resolve("Created.java"));
+		Path generated = folder.resolve("Generated.java");
+
+		IOUtils.writeAtomic(text, generated, StandardCharsets.UTF_8);
+		assertEquals(Files.getPosixFilePermissions(created), Files.getPosixFilePermissions(generated));
+	}
+
+	@Test
+	public void testNonSuccessful(@TempDir Path folder) throws IOException {
+		Path path = folder.resolve("Test.java");
+		Files.writeString(path, "old content");
+
+		assertThrows(CharacterCodingException.class,
+				() -> IOUtils.writeAtomic(text, path, StandardCharsets.US_ASCII));
+		assertEquals("old content", Files.readString(path));
+		assertEquals(1, Files.list(folder).count());
+
+		assertThrows(AssertionError.class, () -> IOUtils.write(null, new StringWriter()));
+		assertThrows(AssertionError.class, () -> IOUtils.writeAtomic(null, path, false));
+		assertThrows(AssertionError.class, () -> IOUtils.write(text, null, StandardCharsets.UTF_8));
+	}
+}
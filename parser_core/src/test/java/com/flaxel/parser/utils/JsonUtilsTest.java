@@ -0,0 +1,29 @@
+package com.flaxel.parser.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonUtilsTest {
+
+	@Test
+	public void testLine() {
+		assertEquals("{\"file\":\"Main.java\",\"line\":3,\"valid\":true,\"name\":null}\n",
+				JsonUtils.line("file", "Main.java", "line", 3, "valid", true, "name", null));
+		assertEquals("{}\n", JsonUtils.line());
+	}
+
+	@Test
+	public void testQuote() {
+		assertEquals("\"test\"", JsonUtils.quote("test"));
+		assertEquals("\"a\\\"b\\\\c\\nd\\te\\u0001\"", JsonUtils.quote("a\"b\\c\nd\te\u0001"));
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(IllegalArgumentException.class, () -> JsonUtils.line("file"));
+		assertThrows(AssertionError.class, () -> JsonUtils.line(null, "value"));
+		assertThrows(AssertionError.class, () -> JsonUtils.quote(null));
+	}
+}
@@ -0,0 +1,56 @@
+package com.flaxel.parser.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongIntMapTest {
+
+	@Test
+	public void testPut() {
+		LongIntMap map = new LongIntMap();
+
+		assertEquals(LongIntMap.MISSING, map.put(0L, 1));
+		assertEquals(LongIntMap.MISSING, map.put(-1L, 2));
+		assertEquals(1, map.put(0L, 3));
+		assertEquals(3, map.putIfAbsent(0L, 4));
+
+		assertEquals(3, map.get(0L));
+		assertEquals(2, map.get(-1L));
+		assertEquals(LongIntMap.MISSING, map.get(1L));
+		assertTrue(map.containsKey(-1L));
+		assertFalse(map.containsKey(1L));
+		assertEquals(2, map.size());
+	}
+
+	@Test
+	public void testGrow() {
+		LongIntMap map = new LongIntMap(0);
+
+		for (int i = 0; i < 100_000; i++) {
+			map.put(i * 0x100000000L, i);
+		}
+
+		assertEquals(100_000, map.size());
+
+		for (int i = 0; i < 100_000; i++) {
+			assertEquals(i, map.get(i * 0x100000000L));
+		}
+
+		map.clear();
+
+		assertEquals(0, map.size());
+		assertEquals(LongIntMap.MISSING, map.get(0L));
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		LongIntMap map = new LongIntMap();
+
+		assertThrows(IllegalArgumentException.class, () -> new LongIntMap(-1));
+		assertThrows(IllegalArgumentException.class, () -> map.put(1L, -1));
+	}
+}
@@ -0,0 +1,33 @@
+package com.flaxel.parser.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NonClosingOutputStreamTest {
+
+	@Test
+	public void testClose() throws IOException {
+		ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+		try (OutputStream output = new NonClosingOutputStream(target)) {
+			output.write("first".getBytes());
+		}
+
+		try (OutputStream output = new NonClosingOutputStream(target)) {
+			output.write("second".getBytes(), 0, 3);
+		}
+
+		assertEquals("firstsec", target.toString());
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(AssertionError.class, () -> new NonClosingOutputStream(null));
+	}
+}
@@ -0,0 +1,81 @@
+package com.flaxel.parser.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.printer.PrettyPrinter;
+import com.github.javaparser.printer.PrettyPrinterConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SharedPrinterTest {
+
+	private CompilationUnit unit;
+
+	@BeforeEach
+	public void setup() {
+		unit = new CompilationUnit();
+		unit.addClass("TestClass").setPublic(true).addField(int.class, "test");
+	}
+
+	@Test
+	public void test() {
+		assertEquals(new PrettyPrinter().print(unit), new SharedPrinter().apply(unit));
+		assertSame(SharedPrinter.getDefault(), SharedPrinter.getDefault());
+	}
+
+	@Test
+	public void testConfiguration() {
+		PrettyPrinterConfiguration configuration = new PrettyPrinterConfiguration().setIndentSize(2);
+		SharedPrinter printer = new SharedPrinter(configuration);
+
+		assertNotSame(configuration, printer.getConfiguration());
+		assertEquals(2, printer.getConfiguration().getIndentSize());
+		assertEquals(new PrettyPrinter(configuration).print(unit), printer.apply(unit));
+
+		// neither the given nor the returned configuration changes the printer
+		String expected = printer.apply(unit);
+		configuration.setIndentSize(8);
+		printer.getConfiguration().setIndentSize(8);
+		assertEquals(expected, printer.apply(unit));
+	}
+
+	@Test
+	public void testParallel() {
+		String expected = new PrettyPrinter().print(unit);
+		List<String> results = IntStream.range(0, 100)
+				.parallel()
+				.mapToObj((i) -> SharedPrinter.getDefault().apply(unit))
+				.collect(Collectors.toList());
+
+		results.forEach((result) -> assertEquals(expected, result));
+	}
+
+	@Test
+	public void testWrite() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		long written = SharedPrinter.getDefault().write(unit, Channels.newChannel(output), StandardCharsets.UTF_8);
+
+		assertEquals(new PrettyPrinter().print(unit), output.toString(StandardCharsets.UTF_8));
+		assertEquals(output.size(), written);
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(AssertionError.class, () -> new SharedPrinter(null));
+		assertThrows(AssertionError.class, () -> SharedPrinter.getDefault().apply(null));
+	}
+}
@@ -0,0 +1,111 @@
+package com.flaxel.parser.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SourceReaderTest {
+
+	@Test
+	public void testReadPath(@TempDir Path folder) throws IOException {
+		Path ascii = Files.writeString(folder.resolve("Ascii.java"), "class Ascii {}");
+		Path utf8 = Files.writeString(folder.resolve("Utf8.java"), "class Utf8 { String s = \"ä€\"; }");
+		Path latin = Files.writeString(folder.resolve("Latin.java"), "class Latin { char c = 'ä'; }",
+				StandardCharsets.ISO_8859_1);
+		Path utf16 = Files.writeString(folder.resolve("Utf16.java"), "class Utf16 {}", StandardCharsets.UTF_16LE);
+
+		assertEquals("class Ascii {}", SourceReader.read(ascii, StandardCharsets.UTF_8));
+		assertEquals("class Utf8 { String s = \"ä€\"; }", SourceReader.read(utf8, StandardCharsets.UTF_8));
+		assertEquals("class Latin { char c = 'ä'; }", SourceReader.read(latin, StandardCharsets.ISO_8859_1));
+		assertEquals("class Utf16 {}", SourceReader.read(utf16, StandardCharsets.UTF_16LE));
+		assertEquals("class Ascii {}", SourceReader.read(ascii, StandardCharsets.UTF_8));
+		assertEquals("", SourceReader.read(Files.createFile(folder.resolve("Empty.java")), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testReadDetect(@TempDir Path folder) throws IOException {
+		Path latin = Files.writeString(folder.resolve("Latin.java"), "class Latin { char c = 'ä'; }",
+				StandardCharsets.ISO_8859_1);
+		Path utf16 = Files.writeString(folder.resolve("Utf16.java"), "\ufeffclass Utf16 {}", StandardCharsets.UTF_16BE);
+		Path bom = Files.writeString(folder.resolve("Bom.java"), "\ufeffclass Bom { char c = 'ä'; }");
+
+		assertEquals("class Latin { char c = 'ä'; }", SourceReader.read(latin, StandardCharsets.UTF_8, true));
+		assertEquals("class Utf16 {}", SourceReader.read(utf16, StandardCharsets.UTF_8, true));
+		assertEquals("class Bom { char c = 'ä'; }", SourceReader.read(bom, StandardCharsets.UTF_8, true));
+		assertEquals("\ufeffclass Bom { char c = 'ä'; }", SourceReader.read(bom, StandardCharsets.UTF_8, false));
+
+		try (InputStream input = Files.newInputStream(latin)) {
+			assertEquals("class Latin { char c = 'ä'; }", SourceReader.read(input, StandardCharsets.UTF_8, true));
+		}
+	}
+
+	@Test
+	public void testReadMapped(@TempDir Path folder) throws IOException {
+		String content = "ä".repeat(SourceReader.MAP_THRESHOLD);
+		Path large = Files.writeString(folder.resolve("Large.java"), content);
+
+		assertEquals(content, SourceReader.read(large, StandardCharsets.UTF_8));
+		assertEquals(content, SourceReader.read(large, Charset.forName("UTF-8")));
+	}
+
+	@Test
+	public void testReadStream() throws IOException {
+		String content = "class Test {}\n".repeat(10000);
+		InputStream input = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_16BE));
+
+		assertEquals(content, SourceReader.read(input, StandardCharsets.UTF_16BE));
+		assertEquals("�", SourceReader.read(new ByteArrayInputStream(new byte[] { (byte) 0xff }),
+				StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testReadParallel(@TempDir Path folder) throws IOException {
+		List<Path> paths = new ArrayList<>();
+
+		for (int i = 0; i < 50; i++) {
+			paths.add(Files.writeString(folder.resolve("Test" + i + ".java"),
+					"class Test" + i + " { String s = \"\u00e4\u20ac\"; }\n".repeat(i * 100 + 1)));
+		}
+
+		// the pooled buffers are never used by two reads at once
+		paths.parallelStream().forEach((path) -> {
+			try {
+				assertEquals(Files.readString(path), SourceReader.read(path, StandardCharsets.UTF_8));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	@Test
+	public void testIsAscii() {
+		byte[] bytes = "abä".getBytes(StandardCharsets.UTF_8);
+
+		assertTrue(SourceReader.isAscii(bytes, 0, 2));
+		assertFalse(SourceReader.isAscii(bytes, 0, bytes.length));
+	}
+
+	@Test
+	public void testNonSuccessful(@TempDir Path folder) {
+		assertThrows(AssertionError.class, () -> SourceReader.read((Path) null, StandardCharsets.UTF_8));
+		assertThrows(AssertionError.class, () -> SourceReader.read(folder, null));
+		assertThrows(AssertionError.class, () -> SourceReader.read((InputStream) null, StandardCharsets.UTF_8));
+		assertThrows(IOException.class, () -> SourceReader.read(folder.resolve("Missing.java"), StandardCharsets.UTF_8));
+		assertThrows(IOException.class, () -> SourceReader.read(folder, StandardCharsets.UTF_8));
+	}
+}
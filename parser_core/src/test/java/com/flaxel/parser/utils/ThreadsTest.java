@@ -0,0 +1,42 @@
+package com.flaxel.parser.utils;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ThreadsTest {
+
+	@Test
+	public void testDaemonFactory() {
+		ThreadFactory factory = Threads.daemonFactory("test-");
+		Thread first = factory.newThread(() -> {});
+		Thread second = factory.newThread(() -> {});
+
+		assertEquals("test-1", first.getName());
+		assertEquals("test-2", second.getName());
+		assertTrue(first.isDaemon());
+	}
+
+	@Test
+	public void testNewVirtualThreadExecutor() throws InterruptedException, ExecutionException {
+		ExecutorService executor = Threads.newVirtualThreadExecutor();
+
+		try {
+			assertEquals("done", executor.submit(() -> "done").get());
+			assertEquals(Runtime.version().feature() >= 21, Threads.isVirtualSupported());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testNonSuccessful() {
+		assertThrows(AssertionError.class, () -> Threads.daemonFactory(null));
+	}
+}